@@ -17,11 +17,16 @@ package org.kie.workbench.common.screens.contributors.backend.dataset;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Event;
@@ -43,11 +48,15 @@ import org.guvnor.structure.organizationalunit.RemoveOrganizationalUnitEvent;
 import org.guvnor.structure.organizationalunit.RepoAddedToOrganizationalUnitEvent;
 import org.guvnor.structure.organizationalunit.RepoRemovedFromOrganizationalUnitEvent;
 import org.guvnor.structure.repositories.Repository;
+import org.guvnor.structure.repositories.RepositoryEnvironmentUpdatedEvent;
+import org.guvnor.structure.repositories.RepositoryRemovedEvent;
 import org.guvnor.structure.repositories.RepositoryService;
+import org.uberfire.backend.vfs.Path;
 import org.uberfire.commons.services.cdi.Startup;
 import org.uberfire.java.nio.base.version.VersionRecord;
 import org.uberfire.workbench.events.ResourceAddedEvent;
 import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceChange;
 import org.uberfire.workbench.events.ResourceCopiedEvent;
 import org.uberfire.workbench.events.ResourceDeletedEvent;
 import org.uberfire.workbench.events.ResourceRenamedEvent;
@@ -60,11 +69,29 @@ import static org.uberfire.commons.validation.PortablePreconditions.*;
 /**
  * This class is in charge of the initialization of a data set holding all the
  * contributions made to any of the GIT managed repositories.
+ *
+ * <p>The commits of every repository are kept in memory together with the last
+ * processed commit. When a resource changes only the commits made since the
+ * last processed commit are read from the repository history. As commits can
+ * also be pushed or fetched without any resource event being fired, the history
+ * is checked for new commits once a minute too. The whole history of a
+ * repository is only read again if its branch changes or if the last processed
+ * commit is no longer in the history, e.g. after a force push.</p>
  */
 @Startup
 @ApplicationScoped
 public class ContributorsManager implements DataSetGenerator {
 
+    /**
+     * Number of commits first read when looking for the new commits of a repository
+     */
+    protected static final int HISTORY_PAGE_SIZE = 100;
+
+    /**
+     * Time after which the history of a repository is checked for new commits, even if none of its resources changed
+     */
+    protected static final long HISTORY_TIME_TO_LIVE_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
     @Inject
     protected DataSetDefRegistry dataSetDefRegistry;
 
@@ -82,6 +109,11 @@ public class ContributorsManager implements DataSetGenerator {
      */
     protected Properties authorMappings = new Properties();
 
+    /**
+     * Commits processed so far, by repository alias
+     */
+    protected Map<String, RepositoryContributions> contributionsMap = new ConcurrentHashMap<String, RepositoryContributions>();
+
     /**
      * The GIT contributors data set definition
      */
@@ -112,13 +144,14 @@ public class ContributorsManager implements DataSetGenerator {
     }
 
     @Override
-    public DataSet buildDataSet(Map<String, String> params) {
+    public synchronized DataSet buildDataSet(Map<String, String> params) {
 
         DataSetBuilder dsBuilder = DataSetFactory.newDataSetBuilder();
         for (DataColumnDef columnDef : dataSetdef.getColumns()) {
             dsBuilder.column(columnDef.getId(), columnDef.getColumnType());
         }
 
+        Set<String> repoAliases = new HashSet<String>();
         Collection<OrganizationalUnit> orgUnitList = organizationalUnitService.getOrganizationalUnits();
         for (OrganizationalUnit orgUnit : orgUnitList) {
             String org = orgUnit.getName();
@@ -129,7 +162,8 @@ public class ContributorsManager implements DataSetGenerator {
             } else {
                 for (Repository repo : repoList) {
                     String repoAlias = repo.getAlias();
-                    List<VersionRecord> recordList = repositoryService.getRepositoryHistoryAll(repoAlias);
+                    List<VersionRecord> recordList = getContributions(repo).getRecords();
+                    repoAliases.add(repoAlias);
 
                     if (recordList.isEmpty()) {
                         dsBuilder.row(org, repoAlias, null, "Empty repository", null);
@@ -147,11 +181,163 @@ public class ContributorsManager implements DataSetGenerator {
             }
         }
 
+        // Forget the repositories no longer belonging to any organizational unit
+        contributionsMap.keySet().retainAll(repoAliases);
+
         DataSet dataSet = dsBuilder.buildDataSet();
         dataSet.setUUID(GIT_CONTRIB);
         return dataSet;
     }
 
+    /**
+     * Get the commits of a repository, reading from its history only those made
+     * since the last time the repository was processed.
+     */
+    protected RepositoryContributions getContributions(Repository repo) {
+        String repoAlias = repo.getAlias();
+        String branch = getBranch(repo.getRoot());
+        RepositoryContributions contributions = contributionsMap.get(repoAlias);
+
+        if (contributions == null || !contributions.isBranch(branch)) {
+            contributions = new RepositoryContributions(branch, repositoryService.getRepositoryHistoryAll(repoAlias));
+            contributionsMap.put(repoAlias, contributions);
+        } else if (contributions.isChanged() || contributions.isExpired()) {
+            // Reset first so that changes made whilst reading the history are not lost
+            contributions.setChanged(false);
+            contributions.setChecked();
+            contributions = updateContributions(repoAlias, contributions);
+            contributionsMap.put(repoAlias, contributions);
+        }
+        return contributions;
+    }
+
+    /**
+     * Add the commits made since the last processed commit. Each page of the history is read from the most recent
+     * commit, so the page size is doubled every time the last processed commit is not found in order to read at most
+     * about four times as many commits as there are new ones.
+     * @return The given contributions, or new contributions holding the whole history if the last processed commit
+     * is no longer in it
+     */
+    protected RepositoryContributions updateContributions(String repoAlias, RepositoryContributions contributions) {
+        String commitId = contributions.getLastCommitId();
+        int startIndex = 0;
+        int pageSize = HISTORY_PAGE_SIZE;
+        while (true) {
+            List<VersionRecord> history = repositoryService.getRepositoryHistory(repoAlias, 0, pageSize);
+            for (int i = startIndex; i < history.size(); i++) {
+                if (history.get(i).id().equals(commitId)) {
+                    contributions.addRecords(history.subList(0, i));
+                    return contributions;
+                }
+            }
+            if (history.size() < pageSize) {
+                // The whole history has been read, so there is no need to read it again if it has been rewritten
+                return new RepositoryContributions(contributions.getBranch(), history);
+            }
+            startIndex = history.size();
+            pageSize *= 2;
+        }
+    }
+
+    /**
+     * Flag the given repository as changed
+     */
+    protected void markChanged(Repository repo) {
+        if (repo == null) {
+            return;
+        }
+        RepositoryContributions contributions = contributionsMap.get(repo.getAlias());
+        if (contributions != null) {
+            contributions.setChanged(true);
+        }
+    }
+
+    /**
+     * Flag the repository containing the given path as changed
+     */
+    protected void markChanged(Path path) {
+        if (path == null) {
+            return;
+        }
+        String uri = path.toURI();
+        for (RepositoryContributions contributions : contributionsMap.values()) {
+            if (contributions.contains(uri)) {
+                contributions.setChanged(true);
+            }
+        }
+    }
+
+    protected void removeContributions(Repository repo) {
+        if (repo != null) {
+            contributionsMap.remove(repo.getAlias());
+        }
+    }
+
+    protected static String getBranch(Path root) {
+        return root == null ? null : root.toURI();
+    }
+
+    /**
+     * The commits of a repository branch, most recent first
+     */
+    protected static class RepositoryContributions {
+
+        private String branch;
+        private List<VersionRecord> records;
+        private volatile boolean changed = false;
+        protected volatile long lastChecked = System.currentTimeMillis();
+
+        public RepositoryContributions(String branch, List<VersionRecord> records) {
+            this.branch = branch;
+            this.records = new ArrayList<VersionRecord>(records);
+        }
+
+        public boolean isBranch(String branch) {
+            return this.branch == null ? branch == null : this.branch.equals(branch);
+        }
+
+        public String getBranch() {
+            return branch;
+        }
+
+        public boolean contains(String uri) {
+            if (branch == null) {
+                return false;
+            }
+            // Do not match the branches of other repositories whose alias starts with the same characters
+            String root = branch.endsWith("/") ? branch : branch + "/";
+            return uri.equals(branch) || uri.startsWith(root);
+        }
+
+        public List<VersionRecord> getRecords() {
+            return records;
+        }
+
+        public String getLastCommitId() {
+            return records.isEmpty() ? null : records.get(0).id();
+        }
+
+        public void addRecords(List<VersionRecord> newRecords) {
+            records.addAll(0, newRecords);
+        }
+
+        public boolean isChanged() {
+            return changed;
+        }
+
+        public void setChanged(boolean changed) {
+            this.changed = changed;
+        }
+
+        public boolean isExpired() {
+            return System.currentTimeMillis() - lastChecked > HISTORY_TIME_TO_LIVE_MILLIS;
+        }
+
+        public void setChecked() {
+            this.lastChecked = System.currentTimeMillis();
+        }
+    }
+
     protected void invalidateDataSet() {
         dataSetStaleEvent.fire(new DataSetStaleEvent(dataSetdef));
     }
@@ -165,6 +351,19 @@ public class ContributorsManager implements DataSetGenerator {
 
     public void onRepoRemovedFromOrgUnit(@Observes final RepoRemovedFromOrganizationalUnitEvent event) {
         checkNotNull("event", event);
+        removeContributions(event.getRepository());
+        invalidateDataSet();
+    }
+
+    public void onRepositoryRemoved(@Observes final RepositoryRemovedEvent event) {
+        checkNotNull("event", event);
+        removeContributions(event.getRepository());
+        invalidateDataSet();
+    }
+
+    public void onRepositoryEnvironmentUpdated(@Observes final RepositoryEnvironmentUpdatedEvent event) {
+        checkNotNull("event", event);
+        markChanged(event.getUpdatedRepository());
         invalidateDataSet();
     }
 
@@ -180,31 +379,40 @@ public class ContributorsManager implements DataSetGenerator {
 
     public void processResourceAdd(@Observes final ResourceAddedEvent event) {
         checkNotNull("event", event);
+        markChanged(event.getPath());
         invalidateDataSet();
     }
 
     public void processResourceDelete(@Observes final ResourceDeletedEvent event) {
         checkNotNull("event", event);
+        markChanged(event.getPath());
         invalidateDataSet();
     }
 
     public void processResourceUpdate(@Observes final ResourceUpdatedEvent event) {
         checkNotNull("event", event);
+        markChanged(event.getPath());
         invalidateDataSet();
     }
 
     public void processResourceCopied(@Observes final ResourceCopiedEvent event) {
         checkNotNull("event", event);
+        markChanged(event.getDestinationPath());
         invalidateDataSet();
     }
 
     public void processResourceRenamed(@Observes final ResourceRenamedEvent event) {
         checkNotNull("event", event);
+        markChanged(event.getPath());
+        markChanged(event.getDestinationPath());
         invalidateDataSet();
     }
 
     public void processBatchChanges(@Observes final ResourceBatchChangesEvent event) {
         checkNotNull("event", event);
+        for (Map.Entry<Path, Collection<ResourceChange>> entry : event.getBatch().entrySet()) {
+            markChanged(entry.getKey());
+        }
         invalidateDataSet();
     }
 }
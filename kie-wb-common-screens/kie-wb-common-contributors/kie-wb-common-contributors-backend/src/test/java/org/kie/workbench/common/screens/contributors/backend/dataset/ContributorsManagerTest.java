@@ -0,0 +1,220 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.screens.contributors.backend.dataset;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.enterprise.event.Event;
+
+import org.dashbuilder.dataset.events.DataSetStaleEvent;
+import org.guvnor.structure.repositories.Repository;
+import org.guvnor.structure.repositories.RepositoryEnvironmentUpdatedEvent;
+import org.guvnor.structure.repositories.RepositoryService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.java.nio.base.version.VersionRecord;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ContributorsManagerTest {
+
+    @Mock
+    RepositoryService repositoryService;
+
+    @Mock
+    Event<DataSetStaleEvent> dataSetStaleEvent;
+
+    ContributorsManager contributorsManager;
+
+    List<VersionRecord> history1 = new ArrayList<VersionRecord>();
+    List<VersionRecord> history2 = new ArrayList<VersionRecord>();
+
+    Repository repo1;
+    Repository repo2;
+
+    @Before
+    public void setUp() {
+        contributorsManager = new ContributorsManager();
+        contributorsManager.repositoryService = repositoryService;
+        contributorsManager.dataSetStaleEvent = dataSetStaleEvent;
+
+        // The alias of one repository is a prefix of the other's
+        repo1 = makeRepository("repo", "default://master@repo", history1);
+        repo2 = makeRepository("repo2", "default://master@repo2", history2);
+
+        addCommits(history1, "a", 250);
+        addCommits(history2, "b", 10);
+    }
+
+    @Test
+    public void testNewCommitsAreAdded() {
+        assertRecords(history1, contributorsManager.getContributions(repo1).getRecords());
+
+        addCommits(history1, "c", 150);
+        contributorsManager.markChanged(makePath("default://master@repo/src/main/resources/rule.drl"));
+        assertRecords(history1, contributorsManager.getContributions(repo1).getRecords());
+
+        // The page size is doubled until the last processed commit is found
+        verify(repositoryService).getRepositoryHistory("repo", 0, ContributorsManager.HISTORY_PAGE_SIZE);
+        verify(repositoryService).getRepositoryHistory("repo", 0, 2 * ContributorsManager.HISTORY_PAGE_SIZE);
+        verify(repositoryService, never()).getRepositoryHistory("repo", 0, 4 * ContributorsManager.HISTORY_PAGE_SIZE);
+        verify(repositoryService, times(1)).getRepositoryHistoryAll("repo");
+    }
+
+    @Test
+    public void testUnchangedRepositoryIsNotRead() {
+        contributorsManager.getContributions(repo1);
+        addCommits(history1, "c", 1);
+
+        assertEquals(250, contributorsManager.getContributions(repo1).getRecords().size());
+        verify(repositoryService, never()).getRepositoryHistory(anyString(), anyInt(), anyInt());
+        verify(repositoryService, times(1)).getRepositoryHistoryAll("repo");
+    }
+
+    @Test
+    public void testExpiredRepositoryIsRead() {
+        // Commits pushed to the repository do not fire resource events
+        contributorsManager.getContributions(repo1);
+        addCommits(history1, "c", 1);
+        contributorsManager.contributionsMap.get("repo").lastChecked -= ContributorsManager.HISTORY_TIME_TO_LIVE_MILLIS + 1;
+
+        assertRecords(history1, contributorsManager.getContributions(repo1).getRecords());
+        verify(repositoryService, times(1)).getRepositoryHistoryAll("repo");
+
+        // Checked again only once expired
+        addCommits(history1, "d", 1);
+        assertEquals(251, contributorsManager.getContributions(repo1).getRecords().size());
+    }
+
+    @Test
+    public void testRewrittenHistory() {
+        contributorsManager.getContributions(repo1);
+
+        // The last processed commit is no longer in the history, e.g. after a force push
+        history1.clear();
+        addCommits(history1, "c", 120);
+        contributorsManager.markChanged(makePath("default://master@repo/pom.xml"));
+
+        assertRecords(history1, contributorsManager.getContributions(repo1).getRecords());
+
+        // The whole history has been read whilst looking for the last processed commit
+        verify(repositoryService).getRepositoryHistory("repo", 0, 2 * ContributorsManager.HISTORY_PAGE_SIZE);
+        verify(repositoryService, times(1)).getRepositoryHistoryAll("repo");
+    }
+
+    @Test
+    public void testEmptyRepository() {
+        history1.clear();
+        assertTrue(contributorsManager.getContributions(repo1).getRecords().isEmpty());
+
+        addCommits(history1, "c", 3);
+        contributorsManager.markChanged(makePath("default://master@repo/pom.xml"));
+
+        assertRecords(history1, contributorsManager.getContributions(repo1).getRecords());
+    }
+
+    @Test
+    public void testBranchChanged() {
+        contributorsManager.getContributions(repo1);
+
+        Path root = makePath("default://develop@repo");
+        when(repo1.getRoot()).thenReturn(root);
+        history1.clear();
+        addCommits(history1, "c", 5);
+
+        assertRecords(history1, contributorsManager.getContributions(repo1).getRecords());
+        verify(repositoryService, times(2)).getRepositoryHistoryAll("repo");
+    }
+
+    @Test
+    public void testMarkChangedMatchesRepositoryRoot() {
+        contributorsManager.getContributions(repo1);
+        contributorsManager.getContributions(repo2);
+
+        contributorsManager.markChanged(makePath("default://master@repo2/pom.xml"));
+        assertFalse(contributorsManager.contributionsMap.get("repo").isChanged());
+        assertTrue(contributorsManager.contributionsMap.get("repo2").isChanged());
+
+        contributorsManager.markChanged(makePath("default://master@repo/pom.xml"));
+        assertTrue(contributorsManager.contributionsMap.get("repo").isChanged());
+
+        contributorsManager.markChanged((Path) null);
+    }
+
+    @Test
+    public void testMarkChangedMatchesRootWithTrailingSlash() {
+        Repository repo3 = makeRepository("repo3", "default://master@repo3/", new ArrayList<VersionRecord>());
+        contributorsManager.getContributions(repo3);
+
+        contributorsManager.markChanged(makePath("default://master@repo3/pom.xml"));
+        assertTrue(contributorsManager.contributionsMap.get("repo3").isChanged());
+    }
+
+    @Test
+    public void testRepositoryEnvironmentUpdated() {
+        contributorsManager.getContributions(repo1);
+        contributorsManager.getContributions(repo2);
+
+        contributorsManager.onRepositoryEnvironmentUpdated(new RepositoryEnvironmentUpdatedEvent(repo1));
+
+        assertTrue(contributorsManager.contributionsMap.get("repo").isChanged());
+        assertFalse(contributorsManager.contributionsMap.get("repo2").isChanged());
+        verify(dataSetStaleEvent).fire(any(DataSetStaleEvent.class));
+    }
+
+    private Repository makeRepository(String alias, String rootUri, final List<VersionRecord> history) {
+        Repository repo = mock(Repository.class);
+        Path root = makePath(rootUri);
+        when(repo.getAlias()).thenReturn(alias);
+        when(repo.getRoot()).thenReturn(root);
+
+        when(repositoryService.getRepositoryHistoryAll(alias)).thenAnswer(invocation -> new ArrayList<VersionRecord>(history));
+        when(repositoryService.getRepositoryHistory(eq(alias), anyInt(), anyInt())).thenAnswer(invocation -> {
+            int startIndex = Math.min((Integer) invocation.getArguments()[1], history.size());
+            int endIndex = Math.min((Integer) invocation.getArguments()[2], history.size());
+            return new ArrayList<VersionRecord>(history.subList(startIndex, endIndex));
+        });
+        return repo;
+    }
+
+    private Path makePath(String uri) {
+        Path path = mock(Path.class);
+        when(path.toURI()).thenReturn(uri);
+        return path;
+    }
+
+    // Add commits to the top of a history, most recent first
+    private void addCommits(List<VersionRecord> history, String prefix, int count) {
+        for (int i = 0; i < count; i++) {
+            VersionRecord record = mock(VersionRecord.class);
+            when(record.id()).thenReturn(prefix + i);
+            history.add(0, record);
+        }
+    }
+
+    private void assertRecords(List<VersionRecord> expected, List<VersionRecord> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).id(), actual.get(i).id());
+        }
+    }
+}
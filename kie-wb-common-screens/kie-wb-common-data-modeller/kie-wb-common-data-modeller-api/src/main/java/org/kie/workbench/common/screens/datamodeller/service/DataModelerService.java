@@ -37,8 +37,10 @@ import org.kie.workbench.common.services.datamodeller.driver.model.AnnotationPar
 import org.kie.workbench.common.services.datamodeller.driver.model.AnnotationParseResponse;
 import org.kie.workbench.common.services.datamodeller.driver.model.AnnotationSourceRequest;
 import org.kie.workbench.common.services.datamodeller.driver.model.AnnotationSourceResponse;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRow;
 import org.kie.workbench.common.services.shared.project.KieProject;
 import org.uberfire.backend.vfs.Path;
+import org.uberfire.paging.PageResponse;
 
 @Remote
 public interface DataModelerService {
@@ -90,8 +92,16 @@ public interface DataModelerService {
 
     List<Path> findClassUsages( Path currentPath, String className );
 
+    PageResponse<RefactoringPageRow> findClassUsages( Path currentPath, String className, int startRowIndex, int pageSize );
+
+    Boolean hasClassUsages( Path currentPath, String className );
+
     List<Path> findFieldUsages( Path currentPath, String className, String fieldName );
 
+    PageResponse<RefactoringPageRow> findFieldUsages( Path currentPath, String className, String fieldName, int startRowIndex, int pageSize );
+
+    Boolean hasFieldUsages( Path currentPath, String className, String fieldName );
+
     List<String> findPersistableClasses( final Path path );
 
     Boolean isPersistableClass( final String className, final Path path );
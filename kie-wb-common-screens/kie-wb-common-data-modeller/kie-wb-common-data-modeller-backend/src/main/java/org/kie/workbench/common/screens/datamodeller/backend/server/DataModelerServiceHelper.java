@@ -20,10 +20,12 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.StringTokenizer;
+import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -40,6 +42,7 @@ import org.jboss.forge.roaster.model.SyntaxError;
 import org.kie.api.builder.KieModule;
 import org.kie.scanner.KieModuleMetaData;
 import org.kie.workbench.common.screens.datamodeller.model.DataModelerError;
+import org.kie.workbench.common.services.backend.builder.Builder;
 import org.kie.workbench.common.services.backend.builder.LRUBuilderCache;
 import org.kie.workbench.common.services.backend.builder.LRUProjectDependenciesClassLoaderCache;
 import org.kie.workbench.common.services.datamodeller.driver.model.DriverError;
@@ -81,6 +84,34 @@ public class DataModelerServiceHelper {
     @Inject
     private CommentedOptionFactory commentedOptionFactory;
 
+    private static final int MAX_PROJECT_CLASS_LOADERS = 20;
+
+    //Project ClassLoaders by project root URI. Entries are removed when the project's Builder is invalidated or evicted.
+    private final Map<String, ProjectClassLoader> projectClassLoaders = new LinkedHashMap<String, ProjectClassLoader>( MAX_PROJECT_CLASS_LOADERS + 1,
+                                                                                                                      0.75f,
+                                                                                                                      true ) {
+        @Override
+        protected boolean removeEldestEntry( final Map.Entry<String, ProjectClassLoader> eldest ) {
+            return size() > MAX_PROJECT_CLASS_LOADERS;
+        }
+    };
+    private long projectClassLoadersVersion = 0;
+
+    @PostConstruct
+    public void init() {
+        builderCache.addInvalidationListener( this::invalidateProjectClassLoader );
+    }
+
+    void invalidateProjectClassLoader( final Project project ) {
+        if ( project.getRootPath() == null ) {
+            return;
+        }
+        synchronized ( projectClassLoaders ) {
+            projectClassLoaders.remove( project.getRootPath().toURI() );
+            projectClassLoadersVersion++;
+        }
+    }
+
     public List<DataModelerError> toDataModelerError( List<DriverError> errors ) {
         List<DataModelerError> result = new ArrayList<DataModelerError>();
         if ( errors == null ) {
@@ -186,10 +217,29 @@ public class DataModelerServiceHelper {
         return fileName.substring( 0, fileName.indexOf( "." ) );
     }
 
+    /**
+     * Get a ClassLoader for the project classes and dependencies. The same ClassLoader is returned until the project
+     * is built again, so that classes already loaded are reused when many files of the project are processed, e.g.
+     * when the project files are indexed.
+     */
     public ClassLoader getProjectClassLoader( KieProject project ) {
 
-        final KieModule module = builderCache.assertBuilder( project ).getKieModuleIgnoringErrors();
+        final Builder builder = builderCache.assertBuilder( project );
+        //read before the KieModule, so that a concurrent build can only cause the ClassLoader to be created again
+        final long publications = builder.getPublications();
+        final KieModule module = builder.getKieModuleIgnoringErrors();
         ClassLoader dependenciesClassLoader = dependenciesClassLoaderCache.assertDependenciesClassLoader( project );
+
+        ProjectClassLoader cached;
+        final long version;
+        synchronized ( projectClassLoaders ) {
+            cached = projectClassLoaders.get( project.getRootPath().toURI() );
+            version = projectClassLoadersVersion;
+        }
+        if ( cached != null && cached.isFor( module, publications, dependenciesClassLoader ) ) {
+            return cached.classLoader;
+        }
+
         ClassLoader projectClassLoader;
         if ( module instanceof InternalKieModule ) {
             //will always be an internal kie module
@@ -198,6 +248,13 @@ public class DataModelerServiceHelper {
         } else {
             projectClassLoader = KieModuleMetaData.Factory.newKieModuleMetaData( module ).getClassLoader();
         }
+        synchronized ( projectClassLoaders ) {
+            //Do not cache a ClassLoader created from a Builder invalidated in the meantime
+            if ( version == projectClassLoadersVersion ) {
+                projectClassLoaders.put( project.getRootPath().toURI(),
+                                         new ProjectClassLoader( module, publications, dependenciesClassLoader, projectClassLoader ) );
+            }
+        }
         return projectClassLoader;
     }
 
@@ -256,4 +313,28 @@ public class DataModelerServiceHelper {
         String packagePart = pathURI.substring( javaPathURI.length() + 1, pathURI.length() );
         return packagePart.replace( "/", "." );
     }
-}
\ No newline at end of file
+
+    private static class ProjectClassLoader {
+
+        private final KieModule module;
+        private final long publications;
+        private final ClassLoader dependenciesClassLoader;
+        private final ClassLoader classLoader;
+
+        private ProjectClassLoader( final KieModule module,
+                                    final long publications,
+                                    final ClassLoader dependenciesClassLoader,
+                                    final ClassLoader classLoader ) {
+            this.module = module;
+            this.publications = publications;
+            this.dependenciesClassLoader = dependenciesClassLoader;
+            this.classLoader = classLoader;
+        }
+
+        private boolean isFor( final KieModule module,
+                               final long publications,
+                               final ClassLoader dependenciesClassLoader ) {
+            return this.module == module && this.publications == publications && this.dependenciesClassLoader == dependenciesClassLoader;
+        }
+    }
+}
@@ -25,6 +25,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.StringTokenizer;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 import javax.annotation.PostConstruct;
@@ -101,6 +102,7 @@ import org.kie.workbench.common.services.refactoring.model.index.terms.valueterm
 import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueTypeIndexTerm;
 import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRequest;
 import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRow;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringPathPageRow;
 import org.kie.workbench.common.services.refactoring.service.RefactoringQueryService;
 import org.kie.workbench.common.services.shared.project.KieProject;
 import org.slf4j.Logger;
@@ -168,6 +170,9 @@ public class DataModelerServiceImpl
     @Inject
     private GenericValidator genericValidator;
 
+    @Inject
+    private ParsedJavaFileCaches parsedJavaFileCaches;
+
     @Inject
     @Any
     private Instance<DomainHandler> domainHandlers;
@@ -180,6 +185,8 @@ public class DataModelerServiceImpl
 
     private static final String DEFAULT_COMMIT_MESSAGE = "Data modeller generated action.";
 
+    private static final int REFERENCES_QUERY_PAGE_SIZE = 100;
+
     public DataModelerServiceImpl() {
     }
 
@@ -348,7 +355,8 @@ public class DataModelerServiceImpl
                                                                   Paths.convert( defaultPackage.getPackageMainSrcPath() ),
                                                                   true,
                                                                   classLoader,
-                                                                  filters );
+                                                                  filters,
+                                                                  parsedJavaFileCaches.getCache( project ) );
             ModelDriverResult result = modelDriver.loadModel();
             dataModel = result.getDataModel();
 
@@ -1075,9 +1083,23 @@ public class DataModelerServiceImpl
     public List<Path> findClassUsages( Path currentPath,
                                        String className ) {
 
-        HashSet<ValueIndexTerm> queryTerms = new HashSet<ValueIndexTerm>();
-        queryTerms.add( new ValueTypeIndexTerm( className ) );
-        return executeReferencesQuery( currentPath, "FindTypesQuery", queryTerms );
+        return executeReferencesQuery( currentPath, "FindTypesQuery", getClassUsagesQueryTerms( className ) );
+    }
+
+    @Override
+    public PageResponse<RefactoringPageRow> findClassUsages( Path currentPath,
+                                                             String className,
+                                                             int startRowIndex,
+                                                             int pageSize ) {
+
+        return executeReferencesQuery( currentPath, "FindTypesQuery", getClassUsagesQueryTerms( className ), startRowIndex, pageSize );
+    }
+
+    @Override
+    public Boolean hasClassUsages( Path currentPath,
+                                   String className ) {
+
+        return hasReferences( currentPath, "FindTypesQuery", getClassUsagesQueryTerms( className ) );
     }
 
     @Override
@@ -1085,10 +1107,38 @@ public class DataModelerServiceImpl
                                        String className,
                                        String fieldName ) {
 
+        return executeReferencesQuery( currentPath, "FindTypeFieldsQuery", getFieldUsagesQueryTerms( className, fieldName ) );
+    }
+
+    @Override
+    public PageResponse<RefactoringPageRow> findFieldUsages( Path currentPath,
+                                                             String className,
+                                                             String fieldName,
+                                                             int startRowIndex,
+                                                             int pageSize ) {
+
+        return executeReferencesQuery( currentPath, "FindTypeFieldsQuery", getFieldUsagesQueryTerms( className, fieldName ), startRowIndex, pageSize );
+    }
+
+    @Override
+    public Boolean hasFieldUsages( Path currentPath,
+                                   String className,
+                                   String fieldName ) {
+
+        return hasReferences( currentPath, "FindTypeFieldsQuery", getFieldUsagesQueryTerms( className, fieldName ) );
+    }
+
+    private HashSet<ValueIndexTerm> getClassUsagesQueryTerms( String className ) {
         HashSet<ValueIndexTerm> queryTerms = new HashSet<ValueIndexTerm>();
         queryTerms.add( new ValueTypeIndexTerm( className ) );
+        return queryTerms;
+    }
+
+    private HashSet<ValueIndexTerm> getFieldUsagesQueryTerms( String className,
+                                                              String fieldName ) {
+        HashSet<ValueIndexTerm> queryTerms = getClassUsagesQueryTerms( className );
         queryTerms.add( new ValueFieldIndexTerm( fieldName ) );
-        return executeReferencesQuery( currentPath, "FindTypeFieldsQuery", queryTerms );
+        return queryTerms;
     }
 
     @Override
@@ -1125,25 +1175,101 @@ public class DataModelerServiceImpl
         return false;
     }
 
+    /**
+     * Executes a references query, restricted to the project containing the current path, and returns every result.
+     */
     private List<Path> executeReferencesQuery( Path currentPath,
                                                String queryName,
                                                HashSet<ValueIndexTerm> queryTerms ) {
 
-        List<Path> results = new ArrayList<Path>();
-        final RefactoringPageRequest request = new RefactoringPageRequest( queryName,
-                                                                           queryTerms,
-                                                                           0,
-                                                                           100 );
+        final List<Path> results = new ArrayList<Path>();
+        visitReferences( currentPath,
+                         queryName,
+                         queryTerms,
+                         REFERENCES_QUERY_PAGE_SIZE,
+                         results::add );
+        return results;
+    }
+
+    /**
+     * Executes a references query, restricted to the project containing the current path, and returns one page of the
+     * results. Rows are numbered after restricting them to the project.
+     */
+    private PageResponse<RefactoringPageRow> executeReferencesQuery( Path currentPath,
+                                                                     String queryName,
+                                                                     HashSet<ValueIndexTerm> queryTerms,
+                                                                     int startRowIndex,
+                                                                     int pageSize ) {
+
+        final ReferencesPage page = new ReferencesPage( startRowIndex,
+                                                        pageSize );
+        visitReferences( currentPath,
+                         queryName,
+                         queryTerms,
+                         Math.min( startRowIndex + pageSize + 1,
+                                   REFERENCES_QUERY_PAGE_SIZE ),
+                         page );
+        return page.getResponse();
+    }
+
+    /**
+     * Checks if a references query has any results in the project containing the current path. Reading stops at the
+     * first result.
+     */
+    private Boolean hasReferences( Path currentPath,
+                                   String queryName,
+                                   HashSet<ValueIndexTerm> queryTerms ) {
+
+        final List<Path> results = new ArrayList<Path>();
+        visitReferences( currentPath,
+                         queryName,
+                         queryTerms,
+                         1,
+                         path -> !results.add( path ) );
+        return !results.isEmpty();
+    }
+
+    /**
+     * Visits the results of a references query, restricted to the project containing the current path. Results are
+     * read from the index in pages, starting with firstPageSize rows and doubling up to REFERENCES_QUERY_PAGE_SIZE, until
+     * the last page or until the visitor returns false.
+     */
+    private void visitReferences( Path currentPath,
+                                  String queryName,
+                                  HashSet<ValueIndexTerm> queryTerms,
+                                  int firstPageSize,
+                                  Predicate<Path> visitor ) {
+
+        final String projectURI = getProjectURI( currentPath );
+        int startRowIndex = 0;
+        int pageSize = Math.max( firstPageSize,
+                                 1 );
 
         try {
 
-            final PageResponse<RefactoringPageRow> response = queryService.query( request );
-            if ( response != null && response.getPageRowList() != null ) {
+            while ( true ) {
+                final RefactoringPageRequest request = new RefactoringPageRequest( queryName,
+                                                                                   queryTerms,
+                                                                                   startRowIndex,
+                                                                                   pageSize );
+                final PageResponse<RefactoringPageRow> response = queryService.query( request );
+                if ( response == null || response.getPageRowList() == null || response.getPageRowList().isEmpty() ) {
+                    return;
+                }
                 for ( RefactoringPageRow row : response.getPageRowList() ) {
-                    results.add( (org.uberfire.backend.vfs.Path) row.getValue() );
+                    final Path path = (org.uberfire.backend.vfs.Path) row.getValue();
+                    if ( ( projectURI == null || path.toURI().startsWith( projectURI ) ) && !visitor.test( path ) ) {
+                        return;
+                    }
                 }
+                if ( response.isLastPage() ) {
+                    return;
+                }
+                startRowIndex += response.getPageRowList().size();
+                pageSize = Math.min( pageSize * 2,
+                                     Math.max( REFERENCES_QUERY_PAGE_SIZE,
+                                               firstPageSize ) );
             }
-            return filterResults( currentPath, results );
 
         } catch ( Exception e ) {
             logger.error( "References query: " + queryName + ", couldn't be executed: " + e.getMessage(), e );
@@ -1151,33 +1277,23 @@ public class DataModelerServiceImpl
         }
     }
 
-    private List<Path> filterResults( Path currentPath,
-                                      List<Path> results ) {
+    private String getProjectURI( Path currentPath ) {
 
         if ( currentPath == null ) {
-            return results;
+            return null;
         }
 
         KieProject project = projectService.resolveProject( currentPath );
         if ( project == null ) {
-            return results;//uncommon case
+            return null;//uncommon case
         }
 
         Path rootPath = project.getRootPath();
         if ( rootPath == null ) {
-            return results;//uncommon case
+            return null;//uncommon case
         }
 
-        List<Path> filteredResults = new ArrayList<Path>();
-        String projectURI = rootPath.toURI();
-        if ( results != null ) {
-            for ( Path result : results ) {
-                if ( result.toURI().startsWith( projectURI ) ) {
-                    filteredResults.add( result );
-                }
-            }
-        }
-        return filteredResults;
+        return rootPath.toURI();
     }
 
     @Override
@@ -1368,4 +1484,49 @@ public class DataModelerServiceImpl
         return tokens;
     }
 
+    /**
+     * Collects the rows of one page of references. Visiting stops once a row after the page is found, so it is known
+     * whether the page is the last.
+     */
+    private static class ReferencesPage implements Predicate<Path> {
+
+        private final int startRowIndex;
+        private final int pageSize;
+        private final List<RefactoringPageRow> rows = new ArrayList<RefactoringPageRow>();
+        private int rowIndex = 0;
+        private boolean lastPage = true;
+
+        private ReferencesPage( int startRowIndex,
+                                int pageSize ) {
+            this.startRowIndex = startRowIndex;
+            this.pageSize = pageSize;
+        }
+
+        @Override
+        public boolean test( Path path ) {
+            if ( rowIndex++ < startRowIndex ) {
+                return true;
+            }
+            if ( rows.size() == pageSize ) {
+                lastPage = false;
+                return false;
+            }
+            final RefactoringPathPageRow row = new RefactoringPathPageRow();
+            row.setValue( path );
+            rows.add( row );
+            return true;
+        }
+
+        private PageResponse<RefactoringPageRow> getResponse() {
+            final PageResponse<RefactoringPageRow> response = new PageResponse<RefactoringPageRow>();
+            response.setPageRowList( rows );
+            response.setStartRowIndex( startRowIndex );
+            response.setLastPage( lastPage );
+            //All rows have been visited for the last page, otherwise only those up to the first row after the page
+            response.setTotalRowSize( rowIndex );
+            response.setTotalRowSizeExact( lastPage );
+            return response;
+        }
+    }
+
 }
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.datamodeller.backend.server;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+
+import org.guvnor.common.services.project.events.DeleteProjectEvent;
+import org.guvnor.common.services.project.events.RenameProjectEvent;
+import org.guvnor.common.services.project.model.Project;
+import org.kie.workbench.common.services.datamodeller.driver.impl.ParsedJavaFileCache;
+import org.kie.workbench.common.services.shared.project.KieProject;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.workbench.events.ResourceAddedEvent;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceCopiedEvent;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceRenamedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
+
+/**
+ * Holds the parsed java files of each project, so that loading the data model of a project only parses the java
+ * files that changed since it was last loaded. Changes to the project pom.xml can change how the types are resolved
+ * and hence discard all the parsed files of the project. The cache of a project is removed when the project is deleted
+ * or renamed.
+ */
+@ApplicationScoped
+public class ParsedJavaFileCaches {
+
+    private static final String JAVA_FILE_EXTENSION = ".java";
+
+    private static final String POM_FILE = "/pom.xml";
+
+    private final Map<String, ParsedJavaFileCache> caches = new ConcurrentHashMap<String, ParsedJavaFileCache>();
+
+    public ParsedJavaFileCache getCache( final KieProject project ) {
+        return caches.computeIfAbsent( project.getRootPath().toURI(),
+                                       uri -> new ParsedJavaFileCache() );
+    }
+
+    public void onProjectDeleted( @Observes final DeleteProjectEvent event ) {
+        removeCache( event.getProject() );
+    }
+
+    public void onProjectRenamed( @Observes final RenameProjectEvent event ) {
+        removeCache( event.getOldProject() );
+    }
+
+    void removeCache( final Project project ) {
+        if ( project == null || project.getRootPath() == null ) {
+            return;
+        }
+        caches.remove( project.getRootPath().toURI() );
+    }
+
+    int size() {
+        return caches.size();
+    }
+
+    public void onResourceAdded( @Observes final ResourceAddedEvent event ) {
+        invalidate( event.getPath() );
+    }
+
+    public void onResourceDeleted( @Observes final ResourceDeletedEvent event ) {
+        invalidate( event.getPath() );
+    }
+
+    public void onResourceUpdated( @Observes final ResourceUpdatedEvent event ) {
+        invalidate( event.getPath() );
+    }
+
+    public void onResourceCopied( @Observes final ResourceCopiedEvent event ) {
+        invalidate( event.getDestinationPath() );
+    }
+
+    public void onResourceRenamed( @Observes final ResourceRenamedEvent event ) {
+        invalidate( event.getPath() );
+        invalidate( event.getDestinationPath() );
+    }
+
+    public void onBatchChanges( @Observes final ResourceBatchChangesEvent event ) {
+        for ( Path path : event.getBatch().keySet() ) {
+            invalidate( path );
+        }
+    }
+
+    void invalidate( final Path path ) {
+        if ( path == null ) {
+            return;
+        }
+        final String uri = path.toURI();
+        if ( uri.endsWith( POM_FILE ) ) {
+            caches.remove( uri.substring( 0,
+                                          uri.length() - POM_FILE.length() ) );
+        } else if ( uri.endsWith( JAVA_FILE_EXTENSION ) ) {
+            for ( Map.Entry<String, ParsedJavaFileCache> entry : caches.entrySet() ) {
+                if ( uri.startsWith( entry.getKey() + "/" ) ) {
+                    entry.getValue().evict( uri );
+                }
+            }
+        }
+    }
+}
@@ -116,7 +116,6 @@ public class JavaFileIndexer implements Indexer {
         KObject index = null;
 
         try {
-            final String javaSource = ioService.readAllString( path );
             final KieProject project = getProject( path );
 
             if ( project == null ) {
@@ -131,6 +130,7 @@ public class JavaFileIndexer implements Indexer {
                 return null;
             }
 
+            final String javaSource = ioService.readAllString( path );
             JavaTypeIndexTerm.JAVA_TYPE javaTypeKind = null;
             String javaTypeName;
             DefaultIndexBuilder builder = new DefaultIndexBuilder( project,
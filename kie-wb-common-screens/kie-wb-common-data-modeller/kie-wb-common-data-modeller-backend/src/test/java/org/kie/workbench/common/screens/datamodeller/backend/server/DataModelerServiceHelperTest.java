@@ -0,0 +1,120 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.datamodeller.backend.server;
+
+import java.util.HashMap;
+import java.util.function.Consumer;
+
+import org.drools.compiler.kie.builder.impl.InternalKieModule;
+import org.guvnor.common.services.project.model.Project;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.services.backend.builder.Builder;
+import org.kie.workbench.common.services.backend.builder.LRUBuilderCache;
+import org.kie.workbench.common.services.backend.builder.LRUProjectDependenciesClassLoaderCache;
+import org.kie.workbench.common.services.shared.project.KieProject;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.vfs.Path;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DataModelerServiceHelperTest {
+
+    @Mock
+    private LRUBuilderCache builderCache;
+
+    @Mock
+    private LRUProjectDependenciesClassLoaderCache dependenciesClassLoaderCache;
+
+    @InjectMocks
+    private DataModelerServiceHelper helper;
+
+    private Consumer<Project> invalidationListener;
+
+    private KieProject project1;
+
+    private KieProject project2;
+
+    @Before
+    public void setup() {
+        helper.init();
+
+        final ArgumentCaptor<Consumer> listenerCaptor = ArgumentCaptor.forClass( Consumer.class );
+        verify( builderCache ).addInvalidationListener( listenerCaptor.capture() );
+        invalidationListener = listenerCaptor.getValue();
+
+        project1 = makeProject( "default://master@repo/project1" );
+        project2 = makeProject( "default://master@repo/project2" );
+    }
+
+    @Test
+    public void testClassLoaderReused() {
+        final ClassLoader classLoader = helper.getProjectClassLoader( project1 );
+
+        assertSame( classLoader,
+                    helper.getProjectClassLoader( project1 ) );
+        assertNotSame( classLoader,
+                       helper.getProjectClassLoader( project2 ) );
+    }
+
+    @Test
+    public void testClassLoaderRemovedWhenBuilderInvalidated() {
+        final ClassLoader classLoader1 = helper.getProjectClassLoader( project1 );
+        final ClassLoader classLoader2 = helper.getProjectClassLoader( project2 );
+
+        //The Builder and KieModule are unchanged, but the ClassLoader is no longer cached once the Builder is invalidated
+        invalidationListener.accept( project1 );
+
+        assertNotSame( classLoader1,
+                       helper.getProjectClassLoader( project1 ) );
+        assertSame( classLoader2,
+                    helper.getProjectClassLoader( project2 ) );
+    }
+
+    @Test
+    public void testClassLoaderRebuiltWhenBuilderPublishes() {
+        final ClassLoader classLoader = helper.getProjectClassLoader( project1 );
+
+        final Builder builder = builderCache.assertBuilder( project1 );
+        when( builder.getPublications() ).thenReturn( 1L );
+
+        assertNotSame( classLoader,
+                       helper.getProjectClassLoader( project1 ) );
+    }
+
+    private KieProject makeProject( final String rootURI ) {
+        final Path rootPath = mock( Path.class );
+        when( rootPath.toURI() ).thenReturn( rootURI );
+        final KieProject project = mock( KieProject.class );
+        when( project.getRootPath() ).thenReturn( rootPath );
+
+        final InternalKieModule module = mock( InternalKieModule.class );
+        when( module.getClassesMap( true ) ).thenReturn( new HashMap<String, byte[]>() );
+        final Builder builder = mock( Builder.class );
+        when( builder.getKieModuleIgnoringErrors() ).thenReturn( module );
+        when( builderCache.assertBuilder( project ) ).thenReturn( builder );
+        when( dependenciesClassLoaderCache.assertDependenciesClassLoader( project ) ).thenReturn( getClass().getClassLoader() );
+        return project;
+    }
+
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.datamodeller.backend.server;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRequest;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRow;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringPathPageRow;
+import org.kie.workbench.common.services.refactoring.service.RefactoringQueryService;
+import org.kie.workbench.common.services.shared.project.KieProject;
+import org.kie.workbench.common.services.shared.project.KieProjectService;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.backend.vfs.PathFactory;
+import org.uberfire.paging.PageResponse;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DataModelerServiceUsagesTest {
+
+    private static final Path PATH = PathFactory.newPath( "Sample.java", "default://project/src/main/java/Sample.java" );
+    private static final Path PROJECT_ROOT = PathFactory.newPath( "project", "default://project" );
+
+    @Mock
+    private RefactoringQueryService queryService;
+
+    @Mock
+    private KieProjectService projectService;
+
+    @Mock
+    private KieProject project;
+
+    @InjectMocks
+    private DataModelerServiceImpl dataModelerService;
+
+    @Before
+    public void setup() {
+        when( projectService.resolveProject( PATH ) ).thenReturn( project );
+        when( project.getRootPath() ).thenReturn( PROJECT_ROOT );
+    }
+
+    @Test
+    public void findClassUsagesReadsAllPages() {
+        final List<Path> page1 = new ArrayList<Path>();
+        for ( int i = 0; i < 100; i++ ) {
+            page1.add( PathFactory.newPath( "Usage" + i + ".drl", "default://project/src/main/resources/Usage" + i + ".drl" ) );
+        }
+        final List<Path> page2 = new ArrayList<Path>();
+        page2.add( PathFactory.newPath( "Usage.drl", "default://project/src/main/resources/Usage.drl" ) );
+        page2.add( PathFactory.newPath( "Other.drl", "default://other/src/main/resources/Other.drl" ) );
+
+        when( queryService.query( any( RefactoringPageRequest.class ) ) ).thenReturn( makeResponse( page1, 0, false ),
+                                                                                      makeResponse( page2, 100, true ) );
+
+        final List<Path> usages = dataModelerService.findClassUsages( PATH, "org.test.Sample" );
+
+        //Usages outside of the project are filtered out
+        assertEquals( 101, usages.size() );
+        assertTrue( usages.containsAll( page1 ) );
+        assertTrue( usages.contains( page2.get( 0 ) ) );
+
+        final ArgumentCaptor<RefactoringPageRequest> requestCaptor = ArgumentCaptor.forClass( RefactoringPageRequest.class );
+        verify( queryService, times( 2 ) ).query( requestCaptor.capture() );
+        assertEquals( 0, requestCaptor.getAllValues().get( 0 ).getStartRowIndex() );
+        assertEquals( 100, requestCaptor.getAllValues().get( 1 ).getStartRowIndex() );
+    }
+
+    @Test
+    public void findFieldUsagesWithoutResults() {
+        when( queryService.query( any( RefactoringPageRequest.class ) ) ).thenReturn( makeResponse( new ArrayList<Path>(), 0, true ) );
+
+        final List<Path> usages = dataModelerService.findFieldUsages( PATH, "org.test.Sample", "field" );
+
+        assertTrue( usages.isEmpty() );
+        verify( queryService, times( 1 ) ).query( any( RefactoringPageRequest.class ) );
+    }
+
+    @Test
+    public void findClassUsagesIsNotBounded() {
+        mockUsages( 1500 );
+
+        final List<Path> usages = dataModelerService.findClassUsages( PATH, "org.test.Sample" );
+
+        assertEquals( 1500, usages.size() );
+        verify( queryService, times( 15 ) ).query( any( RefactoringPageRequest.class ) );
+    }
+
+    @Test
+    public void hasClassUsagesStopsAtFirstUsage() {
+        mockUsages( 1500 );
+
+        assertTrue( dataModelerService.hasClassUsages( PATH, "org.test.Sample" ) );
+
+        //Only the first row is read
+        final ArgumentCaptor<RefactoringPageRequest> requestCaptor = ArgumentCaptor.forClass( RefactoringPageRequest.class );
+        verify( queryService, times( 1 ) ).query( requestCaptor.capture() );
+        assertEquals( 0, requestCaptor.getValue().getStartRowIndex() );
+        assertEquals( 1, (int) requestCaptor.getValue().getPageSize() );
+    }
+
+    @Test
+    public void hasFieldUsagesSkipsOtherProjects() {
+        final List<Path> page1 = new ArrayList<Path>();
+        page1.add( PathFactory.newPath( "Other.drl", "default://other/src/main/resources/Other.drl" ) );
+        final List<Path> page2 = new ArrayList<Path>();
+        page2.add( PathFactory.newPath( "Other2.drl", "default://other/src/main/resources/Other2.drl" ) );
+        page2.add( PathFactory.newPath( "Usage.drl", "default://project/src/main/resources/Usage.drl" ) );
+
+        when( queryService.query( any( RefactoringPageRequest.class ) ) ).thenReturn( makeResponse( page1, 0, false ),
+                                                                                      makeResponse( page2, 1, false ) );
+
+        assertTrue( dataModelerService.hasFieldUsages( PATH, "org.test.Sample", "field" ) );
+        verify( queryService, times( 2 ) ).query( any( RefactoringPageRequest.class ) );
+    }
+
+    @Test
+    public void hasClassUsagesWithoutResults() {
+        when( queryService.query( any( RefactoringPageRequest.class ) ) ).thenReturn( makeResponse( new ArrayList<Path>(), 0, true ) );
+
+        assertFalse( dataModelerService.hasClassUsages( PATH, "org.test.Sample" ) );
+    }
+
+    @Test
+    public void findClassUsagesPages() {
+        mockUsages( 250 );
+
+        final PageResponse<RefactoringPageRow> page1 = dataModelerService.findClassUsages( PATH, "org.test.Sample", 0, 10 );
+        assertEquals( 10, page1.getPageRowList().size() );
+        assertEquals( "Usage0.drl", ( (Path) page1.getPageRowList().get( 0 ).getValue() ).getFileName() );
+        assertFalse( page1.isLastPage() );
+        assertFalse( page1.isTotalRowSizeExact() );
+
+        final PageResponse<RefactoringPageRow> page2 = dataModelerService.findClassUsages( PATH, "org.test.Sample", 240, 20 );
+        assertEquals( 10, page2.getPageRowList().size() );
+        assertEquals( "Usage240.drl", ( (Path) page2.getPageRowList().get( 0 ).getValue() ).getFileName() );
+        assertEquals( 240, page2.getStartRowIndex() );
+        assertTrue( page2.isLastPage() );
+        assertTrue( page2.isTotalRowSizeExact() );
+        assertEquals( 250, page2.getTotalRowSize() );
+    }
+
+    //Mocks a references query with the given number of usages in the project
+    private void mockUsages( final int count ) {
+        when( queryService.query( any( RefactoringPageRequest.class ) ) ).thenAnswer( invocation -> {
+            final RefactoringPageRequest request = (RefactoringPageRequest) invocation.getArguments()[ 0 ];
+            final int startRowIndex = request.getStartRowIndex();
+            final int endRowIndex = Math.min( startRowIndex + request.getPageSize(), count );
+            final List<Path> page = new ArrayList<Path>();
+            for ( int i = startRowIndex; i < endRowIndex; i++ ) {
+                page.add( PathFactory.newPath( "Usage" + i + ".drl", "default://project/src/main/resources/Usage" + i + ".drl" ) );
+            }
+            return makeResponse( page, startRowIndex, endRowIndex == count );
+        } );
+    }
+
+    private PageResponse<RefactoringPageRow> makeResponse( final List<Path> paths,
+                                                           final int startRowIndex,
+                                                           final boolean lastPage ) {
+        final List<RefactoringPageRow> rows = new ArrayList<RefactoringPageRow>();
+        for ( Path path : paths ) {
+            final RefactoringPathPageRow row = new RefactoringPathPageRow();
+            row.setValue( path );
+            rows.add( row );
+        }
+        final PageResponse<RefactoringPageRow> response = new PageResponse<RefactoringPageRow>();
+        response.setPageRowList( rows );
+        response.setStartRowIndex( startRowIndex );
+        response.setLastPage( lastPage );
+        return response;
+    }
+}
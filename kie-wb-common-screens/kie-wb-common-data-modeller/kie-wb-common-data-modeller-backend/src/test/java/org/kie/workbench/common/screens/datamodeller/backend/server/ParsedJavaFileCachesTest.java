@@ -0,0 +1,103 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.datamodeller.backend.server;
+
+import org.guvnor.common.services.project.events.DeleteProjectEvent;
+import org.guvnor.common.services.project.events.RenameProjectEvent;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.services.datamodeller.driver.impl.ParsedJavaFileCache;
+import org.kie.workbench.common.services.shared.project.KieProject;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.vfs.Path;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith( MockitoJUnitRunner.class )
+public class ParsedJavaFileCachesTest {
+
+    @Mock
+    private KieProject project1;
+
+    @Mock
+    private KieProject project2;
+
+    private ParsedJavaFileCaches caches;
+
+    @Before
+    public void setup() {
+        mockRootPath( project1,
+                      "default://master@repo/project1" );
+        mockRootPath( project2,
+                      "default://master@repo/project2" );
+        caches = new ParsedJavaFileCaches();
+    }
+
+    @Test
+    public void testCachePerProject() {
+        final ParsedJavaFileCache cache1 = caches.getCache( project1 );
+        assertSame( cache1,
+                    caches.getCache( project1 ) );
+        assertNotSame( cache1,
+                       caches.getCache( project2 ) );
+        assertEquals( 2,
+                      caches.size() );
+    }
+
+    @Test
+    public void testCacheRemovedWhenProjectDeleted() {
+        final ParsedJavaFileCache cache1 = caches.getCache( project1 );
+        final ParsedJavaFileCache cache2 = caches.getCache( project2 );
+
+        final DeleteProjectEvent event = mock( DeleteProjectEvent.class );
+        when( event.getProject() ).thenReturn( project1 );
+        caches.onProjectDeleted( event );
+
+        assertEquals( 1,
+                      caches.size() );
+        assertNotSame( cache1,
+                       caches.getCache( project1 ) );
+        assertSame( cache2,
+                    caches.getCache( project2 ) );
+    }
+
+    @Test
+    public void testCacheRemovedWhenProjectRenamed() {
+        final ParsedJavaFileCache cache1 = caches.getCache( project1 );
+        caches.getCache( project2 );
+
+        final RenameProjectEvent event = mock( RenameProjectEvent.class );
+        when( event.getOldProject() ).thenReturn( project1 );
+        caches.onProjectRenamed( event );
+
+        assertEquals( 1,
+                      caches.size() );
+        assertNotSame( cache1,
+                       caches.getCache( project1 ) );
+    }
+
+    private void mockRootPath( final KieProject project,
+                               final String uri ) {
+        final Path rootPath = mock( Path.class );
+        when( rootPath.toURI() ).thenReturn( uri );
+        when( project.getRootPath() ).thenReturn( rootPath );
+    }
+
+}
@@ -56,6 +56,7 @@ import org.kie.workbench.common.services.datamodeller.driver.model.AnnotationPar
 import org.kie.workbench.common.services.datamodeller.driver.model.AnnotationParseResponse;
 import org.kie.workbench.common.services.datamodeller.driver.model.AnnotationSourceRequest;
 import org.kie.workbench.common.services.datamodeller.driver.model.AnnotationSourceResponse;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRow;
 import org.kie.workbench.common.services.shared.project.KieProject;
 import org.kie.workbench.common.widgets.metadata.client.KieEditorWrapperView;
 import org.kie.workbench.common.widgets.metadata.client.widget.OverviewWidgetPresenter;
@@ -63,6 +64,7 @@ import org.uberfire.backend.vfs.ObservablePath;
 import org.uberfire.backend.vfs.Path;
 import org.uberfire.ext.editor.commons.client.history.VersionRecordManager;
 import org.uberfire.mvp.PlaceRequest;
+import org.uberfire.paging.PageResponse;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
@@ -417,10 +419,26 @@ public class PersistenceDescriptorEditorPresenterTest {
                 return null;
             }
 
+            @Override public PageResponse<RefactoringPageRow> findClassUsages( Path currentPath, String className, int startRowIndex, int pageSize ) {
+                return null;
+            }
+
+            @Override public Boolean hasClassUsages( Path currentPath, String className ) {
+                return null;
+            }
+
             @Override public List<Path> findFieldUsages( Path currentPath, String className, String fieldName ) {
                 return null;
             }
 
+            @Override public PageResponse<RefactoringPageRow> findFieldUsages( Path currentPath, String className, String fieldName, int startRowIndex, int pageSize ) {
+                return null;
+            }
+
+            @Override public Boolean hasFieldUsages( Path currentPath, String className, String fieldName ) {
+                return null;
+            }
+
             @Override public List<String> findPersistableClasses( Path path ) {
                 List<String> classes = new ArrayList<String>();
                 classes.add( "Class3" );
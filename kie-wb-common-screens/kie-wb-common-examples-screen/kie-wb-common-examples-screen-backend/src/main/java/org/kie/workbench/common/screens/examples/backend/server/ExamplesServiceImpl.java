@@ -16,14 +16,19 @@
 
 package org.kie.workbench.common.screens.examples.backend.server;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Event;
@@ -78,6 +83,10 @@ public class ExamplesServiceImpl implements ExamplesService {
 
     private static final String PROJECT_DESCRIPTON = "project.description";
 
+    //Example Repositories are cloned again once their clone is older than this, so that changes to them are picked up.
+    //Replaced clones are removed once their Projects have not been returned for as long.
+    static final long CLONE_TIME_TO_LIVE_MILLIS = TimeUnit.HOURS.toMillis( 1 );
+
     private IOService ioService;
     private ConfigurationFactory configurationFactory;
     private RepositoryFactory repositoryFactory;
@@ -87,7 +96,12 @@ public class ExamplesServiceImpl implements ExamplesService {
     private Event<NewProjectEvent> newProjectEvent;
     private SafeSessionInfo sessionInfo;
 
-    private final Set<Repository> clonedRepositories = new HashSet<Repository>();
+    //Example Repositories cloned, or being cloned, and the Projects they contain, by Repository URL
+    private final Map<String, ClonedRepository> clonedRepositories = new HashMap<String, ClonedRepository>();
+    //Expired clones, whose ExampleProjects may still be used by a wizard. Guarded by clonedRepositories
+    private final List<ClonedRepository> replacedRepositories = new ArrayList<ClonedRepository>();
+    //Number of clones made of each Repository URL, so that every clone has its own alias. Guarded by clonedRepositories
+    private final Map<String, Integer> clones = new HashMap<String, Integer>();
     private final Set<ExampleRepository> exampleRepositories = new HashSet<ExampleRepository>();
 
     public ExamplesServiceImpl() {
@@ -156,20 +170,75 @@ public class ExamplesServiceImpl implements ExamplesService {
         if ( repositoryURL == null || repositoryURL.trim().isEmpty() ) {
             return Collections.emptySet();
         }
-        final Repository gitRepository = cloneRepository( repositoryURL );
-        if ( gitRepository == null ) {
-            return Collections.emptySet();
+
+        //Example Repositories are only cloned, and their Projects read, once until expired. Cloning happens outside
+        //the lock so that other Repositories can be read meanwhile; concurrent callers for the same Repository wait
+        //for the clone made by the first of them.
+        final ClonedRepository clonedRepository;
+        final List<ClonedRepository> unusedRepositories;
+        synchronized ( clonedRepositories ) {
+            final ClonedRepository existingRepository = clonedRepositories.get( repositoryURL );
+            if ( existingRepository == null || existingRepository.isExpired() ) {
+                clonedRepository = new ClonedRepository( repositoryURL,
+                                                         getCloneAlias( repositoryURL ) );
+                clonedRepositories.put( repositoryURL,
+                                        clonedRepository );
+                if ( existingRepository != null ) {
+                    replacedRepositories.add( existingRepository );
+                }
+            } else {
+                clonedRepository = existingRepository;
+            }
+            unusedRepositories = removeUnusedRepositories();
+        }
+        for ( ClonedRepository unusedRepository : unusedRepositories ) {
+            unusedRepository.dispose();
+        }
+
+        try {
+            return new HashSet<ExampleProject>( clonedRepository.getProjects() );
+        } catch ( RuntimeException e ) {
+            //Clone again on the next call
+            synchronized ( clonedRepositories ) {
+                if ( clonedRepositories.get( repositoryURL ) == clonedRepository ) {
+                    clonedRepositories.remove( repositoryURL );
+                }
+            }
+            throw e;
         }
+    }
+
+    long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
 
-        final Set<Project> projects = projectService.getProjects( gitRepository,
-                                                                  "master" );
-        return convert( projects );
+    //Must be called holding the clonedRepositories lock
+    private List<ClonedRepository> removeUnusedRepositories() {
+        final List<ClonedRepository> unusedRepositories = new ArrayList<ClonedRepository>();
+        final Iterator<ClonedRepository> itr = replacedRepositories.iterator();
+        while ( itr.hasNext() ) {
+            final ClonedRepository replacedRepository = itr.next();
+            if ( replacedRepository.isUnused() ) {
+                itr.remove();
+                unusedRepositories.add( replacedRepository );
+            }
+        }
+        return unusedRepositories;
     }
 
-    private Repository cloneRepository( final String repositoryURL ) {
+    //Must be called holding the clonedRepositories lock
+    private String getCloneAlias( final String repositoryURL ) {
+        final int clone = clones.merge( repositoryURL,
+                                        1,
+                                        Integer::sum ) - 1;
+        final String alias = getExampleAlias( repositoryURL );
+        return clone == 0 ? alias : alias + "-" + clone;
+    }
+
+    private Repository cloneRepository( final String repositoryURL,
+                                        final String alias ) {
         Repository repository = null;
         try {
-            final String alias = getExampleAlias( repositoryURL );
             final Map<String, Object> env = new HashMap<String, Object>() {{
                 put( "origin",
                      repositoryURL );
@@ -186,7 +255,6 @@ public class ExamplesServiceImpl implements ExamplesService {
             }
 
             repository = repositoryFactory.newRepository( repositoryConfig );
-            clonedRepositories.add( repository );
             return repository;
 
         } catch ( final Exception e ) {
@@ -329,12 +397,97 @@ public class ExamplesServiceImpl implements ExamplesService {
 
     @Override
     public void dispose() {
-        for ( Repository repository : clonedRepositories ) {
+        final List<ClonedRepository> repositories;
+        synchronized ( clonedRepositories ) {
+            repositories = new ArrayList<ClonedRepository>( clonedRepositories.values() );
+            repositories.addAll( replacedRepositories );
+            clonedRepositories.clear();
+            replacedRepositories.clear();
+        }
+        for ( ClonedRepository clonedRepository : repositories ) {
+            clonedRepository.dispose();
+        }
+    }
+
+    void deleteRepository( final Repository repository ) {
+        try {
+            ioService.delete( Paths.convert( repository.getRoot() ).getFileSystem().getPath( null ) );
+        } catch ( Exception e ) {
+            logger.warn( "Unable to remove transient Repository '" + repository.getAlias() + "'.",
+                         e );
+        }
+    }
+
+    //The clone of an Example Repository, made by the first caller to need its Projects
+    private class ClonedRepository {
+
+        private final long created = currentTimeMillis();
+        private final FutureTask<Set<ExampleProject>> projects;
+        private volatile long lastUsed = created;
+
+        //Guarded by this
+        private Repository repository;
+        private boolean isDisposed = false;
+
+        private ClonedRepository( final String repositoryURL,
+                                  final String alias ) {
+            this.projects = new FutureTask<Set<ExampleProject>>( () -> {
+                final Repository gitRepository = cloneRepository( repositoryURL,
+                                                                  alias );
+                if ( gitRepository == null ) {
+                    return Collections.emptySet();
+                }
+                setRepository( gitRepository );
+                return convert( projectService.getProjects( gitRepository,
+                                                            "master" ) );
+            } );
+        }
+
+        private Set<ExampleProject> getProjects() {
+            //Only the first caller clones the Repository, others wait for it
+            projects.run();
             try {
-                ioService.delete( Paths.convert( repository.getRoot() ).getFileSystem().getPath( null ) );
-            } catch ( Exception e ) {
-                logger.warn( "Unable to remove transient Repository '" + repository.getAlias() + "'.",
-                             e );
+                final Set<ExampleProject> exampleProjects = projects.get();
+                lastUsed = currentTimeMillis();
+                return exampleProjects;
+            } catch ( InterruptedException e ) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException( e );
+            } catch ( ExecutionException e ) {
+                if ( e.getCause() instanceof RuntimeException ) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new RuntimeException( e.getCause() );
+            }
+        }
+
+        private boolean isExpired() {
+            return projects.isDone() && currentTimeMillis() - created > CLONE_TIME_TO_LIVE_MILLIS;
+        }
+
+        //Wizards are not expected to hold ExampleProjects for longer than a clone lives
+        private boolean isUnused() {
+            return currentTimeMillis() - lastUsed > CLONE_TIME_TO_LIVE_MILLIS;
+        }
+
+        private synchronized void setRepository( final Repository repository ) {
+            //Disposed whilst being cloned
+            if ( isDisposed ) {
+                deleteRepository( repository );
+                return;
+            }
+            this.repository = repository;
+        }
+
+        private void dispose() {
+            final Repository repository;
+            synchronized ( this ) {
+                isDisposed = true;
+                repository = this.repository;
+                this.repository = null;
+            }
+            if ( repository != null ) {
+                deleteRepository( repository );
             }
         }
     }
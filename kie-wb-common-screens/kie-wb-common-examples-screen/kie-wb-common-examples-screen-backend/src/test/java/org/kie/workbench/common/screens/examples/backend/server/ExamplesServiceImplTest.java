@@ -21,6 +21,8 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import javax.enterprise.event.Event;
 
 import org.guvnor.common.services.project.context.ProjectContextChangeEvent;
@@ -30,6 +32,7 @@ import org.guvnor.structure.backend.config.ConfigurationFactoryImpl;
 import org.guvnor.structure.organizationalunit.OrganizationalUnit;
 import org.guvnor.structure.organizationalunit.OrganizationalUnitService;
 import org.guvnor.structure.organizationalunit.impl.OrganizationalUnitImpl;
+import org.guvnor.structure.repositories.Repository;
 import org.guvnor.structure.repositories.RepositoryEnvironmentConfigurations;
 import org.guvnor.structure.repositories.RepositoryService;
 import org.guvnor.structure.repositories.impl.git.GitRepository;
@@ -257,6 +260,209 @@ public class ExamplesServiceImplTest {
                                                            "custom description" ) ) );
     }
 
+    @Test
+    public void testGetProjects_Cached() {
+        final Path projectRoot = mock( Path.class );
+        final KieProject project = mock( KieProject.class );
+        when( project.getRootPath() ).thenReturn( projectRoot );
+        when( project.getProjectName() ).thenReturn( "project1" );
+        when( projectRoot.toURI() ).thenReturn( "default:///project1" );
+
+        final GitRepository repository = new GitRepository( "guvnorng-playground" );
+        when( repositoryFactory.newRepository( any( ConfigGroup.class ) ) ).thenReturn( repository );
+        when( projectService.getProjects( eq( repository ),
+                                          any( String.class ) ) ).thenReturn( new HashSet<Project>() {{
+            add( project );
+        }} );
+
+        final ExampleRepository exampleRepository = new ExampleRepository( "https://github.com/guvnorngtestuser1/guvnorng-playground.git" );
+        final Set<ExampleProject> projects1 = service.getProjects( exampleRepository );
+        final Set<ExampleProject> projects2 = service.getProjects( exampleRepository );
+
+        assertEquals( projects1,
+                      projects2 );
+        verify( repositoryFactory,
+                times( 1 ) ).newRepository( any( ConfigGroup.class ) );
+        verify( projectService,
+                times( 1 ) ).getProjects( eq( repository ),
+                                          any( String.class ) );
+    }
+
+    @Test
+    public void testGetProjects_Expired() {
+        final long[] now = new long[]{ 0 };
+        final ExamplesServiceImpl service = new ExamplesServiceImpl( ioService,
+                                                                     configurationFactory,
+                                                                     repositoryFactory,
+                                                                     projectService,
+                                                                     repositoryService,
+                                                                     ouService,
+                                                                     newProjectEvent,
+                                                                     sessionInfo ) {
+            @Override
+            long currentTimeMillis() {
+                return now[ 0 ];
+            }
+        };
+        final Path repositoryRoot = mock( Path.class );
+        final GitRepository repository = mock( GitRepository.class );
+        when( repository.getRoot() ).thenReturn( repositoryRoot );
+        when( repositoryRoot.toURI() ).thenReturn( "default:///" );
+        when( repositoryFactory.newRepository( any( ConfigGroup.class ) ) ).thenReturn( repository );
+        when( projectService.getProjects( eq( repository ),
+                                          any( String.class ) ) ).thenReturn( new HashSet<Project>() );
+
+        final ExampleRepository exampleRepository = new ExampleRepository( "https://github.com/guvnorngtestuser1/guvnorng-playground.git" );
+        service.getProjects( exampleRepository );
+        now[ 0 ] = ExamplesServiceImpl.CLONE_TIME_TO_LIVE_MILLIS;
+        service.getProjects( exampleRepository );
+
+        verify( repositoryFactory,
+                times( 1 ) ).newRepository( any( ConfigGroup.class ) );
+
+        now[ 0 ] = ExamplesServiceImpl.CLONE_TIME_TO_LIVE_MILLIS + 1;
+        service.getProjects( exampleRepository );
+
+        verify( repositoryFactory,
+                times( 2 ) ).newRepository( any( ConfigGroup.class ) );
+        verify( projectService,
+                times( 2 ) ).getProjects( eq( repository ),
+                                          any( String.class ) );
+    }
+
+    @Test
+    public void testGetProjects_ExpiredCloneKeptWhilstUsed() {
+        final long[] now = new long[]{ 0 };
+        final List<Repository> deletedRepositories = new ArrayList<Repository>();
+        final ExamplesServiceImpl service = new ExamplesServiceImpl( ioService,
+                                                                     configurationFactory,
+                                                                     repositoryFactory,
+                                                                     projectService,
+                                                                     repositoryService,
+                                                                     ouService,
+                                                                     newProjectEvent,
+                                                                     sessionInfo ) {
+            @Override
+            long currentTimeMillis() {
+                return now[ 0 ];
+            }
+
+            @Override
+            void deleteRepository( final Repository repository ) {
+                deletedRepositories.add( repository );
+            }
+        };
+        final List<String> aliases = new ArrayList<String>();
+        final List<Repository> repositories = new ArrayList<Repository>();
+        when( repositoryFactory.newRepository( any( ConfigGroup.class ) ) ).thenAnswer( invocation -> {
+            final ConfigGroup repositoryConfig = (ConfigGroup) invocation.getArguments()[ 0 ];
+            final GitRepository repository = new GitRepository( repositoryConfig.getName() );
+            aliases.add( repositoryConfig.getName() );
+            repositories.add( repository );
+            return repository;
+        } );
+        when( projectService.getProjects( any( Repository.class ),
+                                          any( String.class ) ) ).thenReturn( new HashSet<Project>() );
+
+        final ExampleRepository exampleRepository = new ExampleRepository( "https://github.com/guvnorngtestuser1/guvnorng-playground.git" );
+        service.getProjects( exampleRepository );
+        now[ 0 ] = ExamplesServiceImpl.CLONE_TIME_TO_LIVE_MILLIS;
+        service.getProjects( exampleRepository );
+
+        //The expired clone is replaced by a clone with its own alias, and is not removed whilst it may be used
+        now[ 0 ] = ExamplesServiceImpl.CLONE_TIME_TO_LIVE_MILLIS + 1;
+        service.getProjects( exampleRepository );
+        assertEquals( 2,
+                      aliases.size() );
+        assertEquals( "examples-guvnorng-playground",
+                      aliases.get( 0 ) );
+        assertNotEquals( aliases.get( 0 ),
+                         aliases.get( 1 ) );
+        assertTrue( deletedRepositories.isEmpty() );
+
+        //The expired clone is removed once its Projects have not been returned for as long as a clone lives
+        now[ 0 ] = 2 * ExamplesServiceImpl.CLONE_TIME_TO_LIVE_MILLIS + 1;
+        service.getProjects( exampleRepository );
+        assertEquals( 2,
+                      aliases.size() );
+        assertEquals( Collections.singletonList( repositories.get( 0 ) ),
+                      deletedRepositories );
+
+        //Current clones are removed when the service is disposed
+        service.dispose();
+        assertEquals( repositories,
+                      deletedRepositories );
+    }
+
+    @Test
+    public void testGetProjects_CloneFailure() {
+        when( repositoryFactory.newRepository( any( ConfigGroup.class ) ) ).thenThrow( new RuntimeException( "clone failed" ) );
+
+        final ExampleRepository exampleRepository = new ExampleRepository( "https://github.com/guvnorngtestuser1/guvnorng-playground.git" );
+        for ( int i = 0; i < 2; i++ ) {
+            try {
+                service.getProjects( exampleRepository );
+                fail( "Expected the clone to fail" );
+            } catch ( RuntimeException e ) {
+                //Expected
+            }
+        }
+
+        //Failed clones are not cached
+        verify( repositoryFactory,
+                times( 2 ) ).newRepository( any( ConfigGroup.class ) );
+    }
+
+    @Test
+    public void testGetProjects_ClonedOutsideLock() throws Exception {
+        final CountDownLatch cloning = new CountDownLatch( 1 );
+        final CountDownLatch release = new CountDownLatch( 1 );
+        final GitRepository slowRepository = new GitRepository( "examples-slow" );
+        final GitRepository fastRepository = new GitRepository( "examples-fast" );
+        when( repositoryFactory.newRepository( any( ConfigGroup.class ) ) ).thenAnswer( invocation -> {
+            final ConfigGroup repositoryConfig = (ConfigGroup) invocation.getArguments()[ 0 ];
+            if ( "examples-slow".equals( repositoryConfig.getName() ) ) {
+                cloning.countDown();
+                assertTrue( release.await( 10,
+                                           TimeUnit.SECONDS ) );
+                return slowRepository;
+            }
+            return fastRepository;
+        } );
+        when( projectService.getProjects( any( Repository.class ),
+                                          any( String.class ) ) ).thenReturn( new HashSet<Project>() );
+
+        final ExampleRepository slowExampleRepository = new ExampleRepository( "https://github.com/guvnorngtestuser1/slow.git" );
+        final List<Thread> slowCallers = new ArrayList<Thread>();
+        for ( int i = 0; i < 2; i++ ) {
+            final Thread slowCaller = new Thread( () -> service.getProjects( slowExampleRepository ) );
+            slowCaller.start();
+            slowCallers.add( slowCaller );
+        }
+        assertTrue( cloning.await( 10,
+                                   TimeUnit.SECONDS ) );
+
+        //Other Repositories can be read, and the service disposed, whilst a Repository is being cloned
+        service.getProjects( new ExampleRepository( "https://github.com/guvnorngtestuser1/fast.git" ) );
+        verify( projectService,
+                times( 1 ) ).getProjects( eq( fastRepository ),
+                                          any( String.class ) );
+        service.dispose();
+
+        release.countDown();
+        for ( Thread slowCaller : slowCallers ) {
+            slowCaller.join( 10000 );
+            assertFalse( slowCaller.isAlive() );
+        }
+
+        //Concurrent callers for the same Repository share a single clone
+        verify( repositoryFactory,
+                times( 2 ) ).newRepository( any( ConfigGroup.class ) );
+        verify( projectService,
+                times( 1 ) ).getProjects( eq( slowRepository ),
+                                          any( String.class ) );
+    }
+
     @Test
     public void testValidateRepositoryName() {
         final String name = "name";
@@ -19,13 +19,15 @@ package org.kie.workbench.common.screens.explorer.backend.server;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import javax.inject.Inject;
 import javax.inject.Named;
 
 import com.google.common.collect.Lists;
-import com.thoughtworks.xstream.XStream;
 import org.guvnor.common.services.backend.file.LinkedDotFileFilter;
 import org.guvnor.common.services.backend.file.LinkedRegularFileFilter;
 import org.guvnor.common.services.project.model.Package;
@@ -33,6 +35,7 @@ import org.guvnor.common.services.project.model.Project;
 import org.guvnor.common.services.shared.metadata.MetadataService;
 import org.guvnor.structure.organizationalunit.OrganizationalUnit;
 import org.guvnor.structure.repositories.Repository;
+import org.kie.workbench.common.screens.explorer.backend.server.FolderListingCache.CachedFile;
 import org.kie.workbench.common.screens.explorer.model.FolderItem;
 import org.kie.workbench.common.screens.explorer.model.FolderItemOperation;
 import org.kie.workbench.common.screens.explorer.model.FolderItemType;
@@ -47,8 +50,7 @@ import org.uberfire.backend.server.UserServicesImpl;
 import org.uberfire.backend.server.VFSLockServiceImpl;
 import org.uberfire.backend.server.util.Paths;
 import org.uberfire.backend.vfs.Path;
-import org.uberfire.commons.async.DescriptiveRunnable;
-import org.uberfire.commons.async.SimpleAsyncExecutorService;
+import org.uberfire.backend.vfs.impl.LockInfo;
 import org.uberfire.ext.editor.commons.service.CopyService;
 import org.uberfire.ext.editor.commons.service.DeleteService;
 import org.uberfire.ext.editor.commons.service.RenameService;
@@ -64,7 +66,6 @@ public class ExplorerServiceHelper {
 
     private LinkedDotFileFilter dotFileFilter = new LinkedDotFileFilter();
     private LinkedRegularFileFilter regularFileFilter = new LinkedRegularFileFilter( dotFileFilter );
-    private XStream xs = new XStream();
 
     private KieProjectService projectService;
     private FolderListingResolver folderListingResolver;
@@ -73,6 +74,8 @@ public class ExplorerServiceHelper {
     private VFSLockServiceImpl lockService;
     private MetadataService metadataService;
     private UserServicesImpl userServices;
+    private FolderListingCache folderListingCache;
+    private UserNavigationStateWriter navigationStateWriter;
 
     private DeleteService deleteService;
     private RenameService renameService;
@@ -92,7 +95,9 @@ public class ExplorerServiceHelper {
                                   final UserServicesImpl userServices,
                                   final DeleteService deleteService,
                                   final RenameService renameService,
-                                  final CopyService copyService ) {
+                                  final CopyService copyService,
+                                  final FolderListingCache folderListingCache,
+                                  final UserNavigationStateWriter navigationStateWriter ) {
         this.projectService = projectService;
         this.folderListingResolver = folderListingResolver;
         this.ioService = ioService;
@@ -103,6 +108,8 @@ public class ExplorerServiceHelper {
         this.deleteService = deleteService;
         this.renameService = renameService;
         this.copyService = copyService;
+        this.folderListingCache = folderListingCache;
+        this.navigationStateWriter = navigationStateWriter;
     }
 
     public FolderItem toFolderItem( final org.guvnor.common.services.project.model.Package pkg ) {
@@ -193,34 +200,40 @@ public class ExplorerServiceHelper {
             nioPath = nioPath.getParent();
         }
         final Path basePath = Paths.convert( nioPath );
+        final List<CachedFile> cachedFiles = folderListingCache.getFiles( basePath,
+                                                                          includeTags );
+        final List<Path> filePaths = new ArrayList<Path>();
+        final List<Path> folderPaths = new ArrayList<Path>();
         final DirectoryStream<org.uberfire.java.nio.file.Path> nioPaths = ioService.newDirectoryStream( nioPath,
                                                                                                         dotFileFilter );
         for ( org.uberfire.java.nio.file.Path np : nioPaths ) {
             if ( Files.isRegularFile( np ) ) {
-                final org.uberfire.backend.vfs.Path p = Paths.convert( np );
-                final String lockedBy = Paths.readLockedBy( p );
-                final FolderItem folderItem = new FolderItem( p,
-                                                              p.getFileName(),
-                                                              FolderItemType.FILE,
-                                                              false,
-                                                              lockedBy,
-                                                              includeTags ? metadataService.getTags( p ) : Collections.<String>emptyList(),
-                                                              getRestrictedOperations( p ) );
-                folderItems.add( folderItem );
+                if ( cachedFiles == null ) {
+                    filePaths.add( Paths.convert( np ) );
+                }
             } else if ( Files.isDirectory( np ) ) {
-                final org.uberfire.backend.vfs.Path p = Paths.convert( np );
-                boolean lockedItems = !lockService.retrieveLockInfos( Paths.convert( np ), true ).isEmpty();
-                final FolderItem folderItem = new FolderItem( p,
-                                                              p.getFileName(),
-                                                              FolderItemType.FOLDER,
-                                                              lockedItems,
-                                                              null,
-                                                              Collections.<String>emptyList(),
-                                                              getRestrictedOperations( p ) );
-                folderItems.add( folderItem );
+                folderPaths.add( Paths.convert( np ) );
             }
         }
 
+        folderItems.addAll( toFileItems( cachedFiles != null ? cachedFiles : loadFiles( basePath,
+                                                                                         filePaths,
+                                                                                         includeTags ),
+                                         includeTags ) );
+
+        final Set<String> foldersWithLockedItems = getFoldersWithLockedItems( basePath,
+                                                                              folderPaths );
+        for ( Path p : folderPaths ) {
+            final FolderItem folderItem = new FolderItem( p,
+                                                          p.getFileName(),
+                                                          FolderItemType.FOLDER,
+                                                          foldersWithLockedItems.contains( p.toURI() ),
+                                                          null,
+                                                          Collections.<String>emptyList(),
+                                                          getRestrictedOperations( p ) );
+            folderItems.add( folderItem );
+        }
+
         Collections.sort( folderItems, Sorters.ITEM_SORTER );
 
         return new FolderListing( toFolderItem( nioPath ),
@@ -273,10 +286,16 @@ public class ExplorerServiceHelper {
 
     private List<FolderItem> getItems( final Path packagePath,
                                        final ActiveOptions options ) {
-        final List<FolderItem> folderItems = new ArrayList<FolderItem>();
         final boolean includeTags = options.contains( Option.SHOW_TAG_FILTER );
         final org.uberfire.java.nio.file.Path nioPackagePath = Paths.convert( packagePath );
-        if ( Files.exists( nioPackagePath ) ) {
+        if ( !Files.exists( nioPackagePath ) ) {
+            return new ArrayList<FolderItem>();
+        }
+
+        List<CachedFile> files = folderListingCache.getFiles( packagePath,
+                                                              includeTags );
+        if ( files == null ) {
+            final List<Path> paths = new ArrayList<Path>();
             final DirectoryStream<org.uberfire.java.nio.file.Path> nioPaths = ioService.newDirectoryStream( nioPackagePath,
                                                                                                             regularFileFilter );
             for ( org.uberfire.java.nio.file.Path nioPath : nioPaths ) {
@@ -284,22 +303,94 @@ public class ExplorerServiceHelper {
                 if ( Paths.isLock( path ) ) {
                     continue;
                 }
+                paths.add( path );
+            }
+            files = loadFiles( packagePath,
+                               paths,
+                               includeTags );
+        }
 
-                final String lockedBy = Paths.readLockedBy( path );
-                final FolderItem folderItem = new FolderItem( path,
-                                                              path.getFileName(),
-                                                              FolderItemType.FILE,
-                                                              false,
-                                                              lockedBy,
-                                                              includeTags ? metadataService.getTags( path ) : Collections.<String>emptyList(),
-                                                              getRestrictedOperations( path ) );
-                folderItems.add( folderItem );
+        return toFileItems( files,
+                            includeTags );
+    }
+
+    /**
+     * Read the lock, tags and restricted operations of the files in a folder. The locks of all the files are read at
+     * once and the result is cached until the folder changes.
+     */
+    private List<CachedFile> loadFiles( final Path folder,
+                                        final List<Path> paths,
+                                        final boolean includeTags ) {
+        final Map<String, String> lockedBy = new HashMap<String, String>();
+        if ( !paths.isEmpty() ) {
+            for ( LockInfo lockInfo : lockService.retrieveLockInfos( folder,
+                                                                     false ) ) {
+                if ( lockInfo.isLocked() && lockInfo.getFile() != null ) {
+                    lockedBy.put( lockInfo.getFile().toURI(),
+                                  lockInfo.lockedBy() );
+                }
             }
         }
 
+        final List<CachedFile> files = new ArrayList<CachedFile>();
+        for ( Path path : paths ) {
+            final String pathLockedBy = lockedBy.get( path.toURI() );
+            files.add( new CachedFile( path,
+                                       pathLockedBy,
+                                       includeTags ? metadataService.getTags( path ) : Collections.<String>emptyList(),
+                                       pathLockedBy == null ? getRestrictedOperations( path ) : null ) );
+        }
+        folderListingCache.setFiles( folder,
+                                     includeTags,
+                                     files );
+        return files;
+    }
+
+    private List<FolderItem> toFileItems( final List<CachedFile> files,
+                                          final boolean includeTags ) {
+        final List<FolderItem> folderItems = new ArrayList<FolderItem>();
+        for ( CachedFile file : files ) {
+            final Path path = file.getPath();
+            final FolderItem folderItem = new FolderItem( path,
+                                                          path.getFileName(),
+                                                          FolderItemType.FILE,
+                                                          false,
+                                                          file.getLockedBy(),
+                                                          includeTags ? file.getTags() : Collections.<String>emptyList(),
+                                                          file.getRestrictedOperations() != null ? file.getRestrictedOperations() : getRestrictedOperations( path ) );
+            folderItems.add( folderItem );
+        }
         return folderItems;
     }
 
+    /**
+     * Find the folders containing items locked by other Users, reading the locks of the whole parent folder at once.
+     */
+    private Set<String> getFoldersWithLockedItems( final Path parent,
+                                                   final List<Path> folders ) {
+        final Set<String> result = new HashSet<String>();
+        if ( folders.isEmpty() ) {
+            return result;
+        }
+        final String parentURI = parent.toURI() + "/";
+        for ( LockInfo lockInfo : lockService.retrieveLockInfos( parent,
+                                                                 true ) ) {
+            if ( lockInfo.getFile() == null ) {
+                continue;
+            }
+            final String uri = lockInfo.getFile().toURI();
+            if ( uri.startsWith( parentURI ) ) {
+                final int separator = uri.indexOf( '/',
+                                                   parentURI.length() );
+                if ( separator > 0 ) {
+                    result.add( uri.substring( 0,
+                                               separator ) );
+                }
+            }
+        }
+        return result;
+    }
+
     public void store( final OrganizationalUnit selectedOrganizationalUnit,
                        final Repository selectedRepository,
                        final String branch,
@@ -325,23 +416,13 @@ public class ExplorerServiceHelper {
             _selectedPackage = null;
         }
 
-        SimpleAsyncExecutorService.getDefaultInstance().execute( new DescriptiveRunnable() {
-            @Override
-            public String getDescription() {
-                return "Serialize Navigation State";
-            }
-
-            @Override
-            public void run() {
-                try {
-                    store( userNavPath, lastUserNavPath, _selectedOrganizationalUnit,
-                           _selectedRepository, _branch, _selectedProject,
-                           _selectedPackage, _selectedItem, options );
-                } catch ( final Exception e ) {
-                    LOGGER.error( "Can't serialize user's state navigation", e );
-                }
-            }
-        } );
+        try {
+            store( userNavPath, lastUserNavPath, _selectedOrganizationalUnit,
+                   _selectedRepository, _branch, _selectedProject,
+                   _selectedPackage, _selectedItem, options );
+        } catch ( final Exception e ) {
+            LOGGER.error( "Can't serialize user's state navigation", e );
+        }
     }
 
     public void store( final org.uberfire.java.nio.file.Path userNav,
@@ -382,23 +463,22 @@ public class ExplorerServiceHelper {
             lastContent.setOptions( options );
         }
         if ( !content.isEmpty() ) {
-            try {
-                ioServiceConfig.startBatch( userNav.getFileSystem() );
-                ioServiceConfig.write( userNav,
-                                       xs.toXML( content ) );
-                ioServiceConfig.write( lastUserNav,
-                                       xs.toXML( lastContent ) );
-            } finally {
-                ioServiceConfig.endBatch();
-            }
+            navigationStateWriter.write( userNav,
+                                         lastUserNav,
+                                         content,
+                                         lastContent );
         }
     }
 
     public UserExplorerData loadUserContent( final org.uberfire.java.nio.file.Path path ) {
         try {
+            final UserExplorerData pendingContent = navigationStateWriter.getPendingUserContent( path );
+            if ( pendingContent != null ) {
+                return pendingContent;
+            }
             if ( ioServiceConfig.exists( path ) ) {
                 final String xml = ioServiceConfig.readAllString( path );
-                return (UserExplorerData) xs.fromXML( xml );
+                return (UserExplorerData) navigationStateWriter.fromXML( xml );
             }
         } catch ( final Exception ignored ) {
         }
@@ -426,9 +506,13 @@ public class ExplorerServiceHelper {
 
     public UserExplorerLastData getLastContent( final org.uberfire.java.nio.file.Path path ) {
         try {
+            final UserExplorerLastData pendingContent = navigationStateWriter.getPendingLastContent( path );
+            if ( pendingContent != null ) {
+                return pendingContent;
+            }
             if ( ioServiceConfig.exists( path ) ) {
                 final String xml = ioServiceConfig.readAllString( path );
-                return (UserExplorerLastData) xs.fromXML( xml );
+                return (UserExplorerLastData) navigationStateWriter.fromXML( xml );
             }
         } catch ( final Exception ignored ) {
         }
@@ -27,7 +27,6 @@ import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
 import javax.inject.Named;
 
-import com.thoughtworks.xstream.XStream;
 import org.guvnor.common.services.backend.exceptions.ExceptionUtilities;
 import org.guvnor.common.services.project.events.DeleteProjectEvent;
 import org.guvnor.common.services.project.events.RenameProjectEvent;
@@ -58,8 +57,6 @@ import org.uberfire.backend.server.VFSLockServiceImpl;
 import org.uberfire.backend.server.util.Paths;
 import org.uberfire.backend.vfs.Path;
 import org.uberfire.backend.vfs.impl.LockInfo;
-import org.uberfire.commons.async.DescriptiveRunnable;
-import org.uberfire.commons.async.SimpleAsyncExecutorService;
 import org.uberfire.ext.editor.commons.backend.service.helper.CopyHelper;
 import org.uberfire.ext.editor.commons.backend.service.helper.RenameHelper;
 import org.uberfire.ext.editor.commons.service.CopyService;
@@ -144,7 +141,8 @@ public class ExplorerServiceImpl
     //@AppResourcesAuthz
     private AuthorizationManager authorizationManager;
 
-    private XStream xs = new XStream();
+    @Inject
+    private UserNavigationStateWriter navigationStateWriter;
 
     public ExplorerServiceImpl() {
         // Boilerplate sacrifice for Weld
@@ -260,26 +258,16 @@ public class ExplorerServiceImpl
             final org.uberfire.java.nio.file.Path userNavPath = userServices.buildPath( "explorer", "user.nav" );
             final org.uberfire.java.nio.file.Path lastUserNavPath = userServices.buildPath( "explorer", "last.user.nav" );
 
-            SimpleAsyncExecutorService.getDefaultInstance().execute( new DescriptiveRunnable() {
-                @Override
-                public String getDescription() {
-                    return "Serialize Navigation State";
-                }
-
-                @Override
-                public void run() {
-                    try {
-                        Package pkg = null;
-                        if ( item.getItem() instanceof Package ) {
-                            pkg = (Package) item.getItem();
-                        }
-                        helper.store( userNavPath, lastUserNavPath, organizationalUnit,
-                                      repository, branch, project, pkg, item, options );
-                    } catch ( final Exception e ) {
-                        LOGGER.error( "Can't serialize user's state navigation", e );
-                    }
+            try {
+                Package pkg = null;
+                if ( item.getItem() instanceof Package ) {
+                    pkg = (Package) item.getItem();
                 }
-            } );
+                helper.store( userNavPath, lastUserNavPath, organizationalUnit,
+                              repository, branch, project, pkg, item, options );
+            } catch ( final Exception e ) {
+                LOGGER.error( "Can't serialize user's state navigation", e );
+            }
         }
 
         return result;
@@ -387,6 +375,9 @@ public class ExplorerServiceImpl
     }
 
     private void cleanup( final Project project ) {
+        //Write pending navigation state first, so that it is cleaned up too
+        navigationStateWriter.flush();
+
         final Collection<org.uberfire.java.nio.file.Path> lastNavs = userServicesBackend.getAllUsersData( "explorer", "last.user.nav" );
         final Collection<org.uberfire.java.nio.file.Path> userNavs = userServicesBackend.getAllUsersData( "explorer", "user.nav" );
 
@@ -397,7 +388,7 @@ public class ExplorerServiceImpl
                 final UserExplorerData userContent = helper.loadUserContent( path );
                 if ( userContent != null ) {
                     if ( userContent.deleteProject( project ) ) {
-                        ioServiceConfig.write( path, xs.toXML( userContent ) );
+                        ioServiceConfig.write( path, navigationStateWriter.toXML( userContent ) );
                     }
                 }
             }
@@ -406,7 +397,7 @@ public class ExplorerServiceImpl
                 final UserExplorerLastData lastUserContent = helper.getLastContent( lastNav );
                 if ( lastUserContent != null ) {
                     if ( lastUserContent.deleteProject( project ) ) {
-                        ioServiceConfig.write( lastNav, xs.toXML( lastUserContent ) );
+                        ioServiceConfig.write( lastNav, navigationStateWriter.toXML( lastUserContent ) );
                     }
                 }
             }
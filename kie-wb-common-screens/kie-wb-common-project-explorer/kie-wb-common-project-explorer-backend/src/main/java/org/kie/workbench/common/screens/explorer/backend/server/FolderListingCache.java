@@ -0,0 +1,184 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.explorer.backend.server;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+
+import org.kie.workbench.common.screens.explorer.model.FolderItemOperation;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.backend.vfs.impl.LockInfo;
+import org.uberfire.workbench.events.ResourceAddedEvent;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceCopiedEvent;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceRenamedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
+
+/**
+ * Short-lived cache of the files listed by {@link ExplorerServiceHelper}, keyed by the URI of the folder containing
+ * them. A folder is discarded when a file in it changes or is (un)locked, and otherwise once its time to live
+ * expires. The restricted operations of a locked file can depend on the User and hence are never cached.
+ */
+@ApplicationScoped
+public class FolderListingCache {
+
+    private static final int MAX_ENTRIES = 100;
+
+    private static final long TIME_TO_LIVE_MILLIS = TimeUnit.SECONDS.toMillis( 30 );
+
+    private final Map<String, CachedFolder> folders = new LinkedHashMap<String, CachedFolder>( MAX_ENTRIES + 1,
+                                                                                               0.75f,
+                                                                                               true ) {
+        @Override
+        protected boolean removeEldestEntry( final Map.Entry<String, CachedFolder> eldest ) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    /**
+     * Get the files of a folder
+     * @param folder The folder
+     * @param includeTags Whether the tags of the files are needed
+     * @return The files, or null if not cached or cached without tags when these are needed
+     */
+    public synchronized List<CachedFile> getFiles( final Path folder,
+                                                   final boolean includeTags ) {
+        final CachedFolder cachedFolder = folders.get( folder.toURI() );
+        if ( cachedFolder == null ) {
+            return null;
+        }
+        if ( System.currentTimeMillis() - cachedFolder.created > TIME_TO_LIVE_MILLIS ) {
+            folders.remove( folder.toURI() );
+            return null;
+        }
+        if ( includeTags && !cachedFolder.includesTags ) {
+            return null;
+        }
+        return cachedFolder.files;
+    }
+
+    public synchronized void setFiles( final Path folder,
+                                       final boolean includeTags,
+                                       final List<CachedFile> files ) {
+        folders.put( folder.toURI(),
+                     new CachedFolder( includeTags,
+                                       files ) );
+    }
+
+    public synchronized void invalidate() {
+        folders.clear();
+    }
+
+    public void onResourceAdded( @Observes final ResourceAddedEvent event ) {
+        invalidate( event.getPath() );
+    }
+
+    public void onResourceDeleted( @Observes final ResourceDeletedEvent event ) {
+        invalidate( event.getPath() );
+    }
+
+    public void onResourceUpdated( @Observes final ResourceUpdatedEvent event ) {
+        invalidate( event.getPath() );
+    }
+
+    public void onResourceCopied( @Observes final ResourceCopiedEvent event ) {
+        invalidate( event.getDestinationPath() );
+    }
+
+    public void onResourceRenamed( @Observes final ResourceRenamedEvent event ) {
+        invalidate( event.getPath() );
+        invalidate( event.getDestinationPath() );
+    }
+
+    public void onBatchChanges( @Observes final ResourceBatchChangesEvent event ) {
+        for ( Path path : event.getBatch().keySet() ) {
+            invalidate( path );
+        }
+    }
+
+    public void onLockChange( @Observes final LockInfo lockInfo ) {
+        invalidate( lockInfo.getFile() );
+    }
+
+    synchronized void invalidate( final Path path ) {
+        if ( path == null ) {
+            return;
+        }
+        final String uri = path.toURI();
+        folders.remove( uri );
+        final int lastSeparator = uri.lastIndexOf( '/' );
+        if ( lastSeparator > 0 ) {
+            folders.remove( uri.substring( 0,
+                                           lastSeparator ) );
+        }
+    }
+
+    public static class CachedFile {
+
+        private final Path path;
+        private final String lockedBy;
+        private final List<String> tags;
+        private final List<FolderItemOperation> restrictedOperations;
+
+        public CachedFile( final Path path,
+                           final String lockedBy,
+                           final List<String> tags,
+                           final List<FolderItemOperation> restrictedOperations ) {
+            this.path = path;
+            this.lockedBy = lockedBy;
+            this.tags = tags;
+            this.restrictedOperations = restrictedOperations;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        public String getLockedBy() {
+            return lockedBy;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        /**
+         * @return The restricted operations, or null if the file is locked
+         */
+        public List<FolderItemOperation> getRestrictedOperations() {
+            return restrictedOperations;
+        }
+    }
+
+    private static class CachedFolder {
+
+        private final long created = System.currentTimeMillis();
+        private final boolean includesTags;
+        private final List<CachedFile> files;
+
+        private CachedFolder( final boolean includesTags,
+                              final List<CachedFile> files ) {
+            this.includesTags = includesTags;
+            this.files = files;
+        }
+    }
+}
@@ -43,6 +43,7 @@ import org.kie.workbench.common.screens.explorer.service.ActiveOptions;
 import org.kie.workbench.common.screens.explorer.service.Option;
 import org.kie.workbench.common.screens.explorer.service.ProjectExplorerContentQuery;
 import org.kie.workbench.common.screens.explorer.utils.Sorters;
+import org.kie.workbench.common.services.backend.project.AuthorizedContentCache;
 import org.kie.workbench.common.services.shared.project.KieProjectService;
 import org.uberfire.backend.server.util.Paths;
 import org.uberfire.backend.vfs.Path;
@@ -65,6 +66,8 @@ public class ProjectExplorerContentResolver {
 
     private ExplorerServiceHelper explorerServiceHelper;
 
+    private AuthorizedContentCache authorizedContentCache;
+
     @Inject
     protected User identity;
 
@@ -73,12 +76,14 @@ public class ProjectExplorerContentResolver {
                                            final ExplorerServiceHelper helper,
                                            final AuthorizationManager authorizationManager,
                                            final OrganizationalUnitService organizationalUnitService,
-                                           final ExplorerServiceHelper explorerServiceHelper ) {
+                                           final ExplorerServiceHelper explorerServiceHelper,
+                                           final AuthorizedContentCache authorizedContentCache ) {
         this.projectService = projectService;
         this.helper = helper;
         this.authorizationManager = authorizationManager;
         this.organizationalUnitService = organizationalUnitService;
         this.explorerServiceHelper = explorerServiceHelper;
+        this.authorizedContentCache = authorizedContentCache;
     }
 
     public ProjectExplorerContent resolve( final ProjectExplorerContentQuery query ) {
@@ -565,6 +570,11 @@ public class ProjectExplorerContentResolver {
     }
 
     private Set<OrganizationalUnit> getOrganizationalUnits() {
+        return authorizedContentCache.getOrganizationalUnits( identity,
+                                                              this::getAuthorizedOrganizationalUnits );
+    }
+
+    private Set<OrganizationalUnit> getAuthorizedOrganizationalUnits() {
         final Collection<OrganizationalUnit> organizationalUnits = organizationalUnitService.getOrganizationalUnits();
         final Set<OrganizationalUnit> authorizedOrganizationalUnits = new HashSet<OrganizationalUnit>();
         for ( OrganizationalUnit organizationalUnit : organizationalUnits ) {
@@ -577,10 +587,16 @@ public class ProjectExplorerContentResolver {
     }
 
     private Map<String, Repository> getRepositories( final OrganizationalUnit organizationalUnit ) {
-        final Map<String, Repository> authorizedRepositories = new HashMap<String, Repository>();
         if ( organizationalUnit == null ) {
-            return authorizedRepositories;
+            return new HashMap<String, Repository>();
         }
+        return authorizedContentCache.getRepositories( identity,
+                                                       organizationalUnit,
+                                                       () -> getAuthorizedRepositories( organizationalUnit ) );
+    }
+
+    private Map<String, Repository> getAuthorizedRepositories( final OrganizationalUnit organizationalUnit ) {
+        final Map<String, Repository> authorizedRepositories = new HashMap<String, Repository>();
         //Reload OrganizationalUnit as the organizational unit's repository list might have been changed server-side
         final Collection<Repository> repositories = organizationalUnitService.getOrganizationalUnit( organizationalUnit.getName() ).getRepositories();
         for ( Repository repository : repositories ) {
@@ -595,23 +611,28 @@ public class ProjectExplorerContentResolver {
 
     private Map<String, Project> getProjects( final Repository repository,
                                               final String branch ) {
-        final Map<String, Project> authorizedProjects = new HashMap<String, Project>();
-
         if ( repository == null ) {
-            return authorizedProjects;
-        } else {
-            Set<Project> allProjects = projectService.getProjects( repository,
-                                                                   branch );
-
-            for ( Project project : allProjects ) {
-                if ( authorizationManager.authorize( project,
-                                                     identity ) ) {
-                    authorizedProjects.put( project.getProjectName(),
-                                            project );
-                }
-            }
+            return new HashMap<String, Project>();
+        }
+        return authorizedContentCache.getProjects( identity,
+                                                   repository,
+                                                   branch,
+                                                   () -> getAuthorizedProjects( repository,
+                                                                                branch ) );
+    }
 
-            return authorizedProjects;
+    private Map<String, Project> getAuthorizedProjects( final Repository repository,
+                                                        final String branch ) {
+        final Map<String, Project> authorizedProjects = new HashMap<String, Project>();
+        final Set<Project> allProjects = projectService.getProjects( repository,
+                                                                     branch );
+        for ( Project project : allProjects ) {
+            if ( authorizationManager.authorize( project,
+                                                 identity ) ) {
+                authorizedProjects.put( project.getProjectName(),
+                                        project );
+            }
         }
+        return authorizedProjects;
     }
 }
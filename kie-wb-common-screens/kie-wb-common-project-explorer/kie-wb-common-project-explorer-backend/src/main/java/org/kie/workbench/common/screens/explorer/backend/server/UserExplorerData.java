@@ -41,6 +41,24 @@ public class UserExplorerData {
     public UserExplorerData() {
     }
 
+    public UserExplorerData( final UserExplorerData data ) {
+        this.organizationalUnit = data.organizationalUnit;
+        this.content.putAll( data.content );
+        copyKeys( data.organizationalUnitKeys,
+                  organizationalUnitKeys );
+        copyKeys( data.repositoryKeys,
+                  repositoryKeys );
+        copyKeys( data.projectKeys,
+                  projectKeys );
+    }
+
+    private static void copyKeys( final Map<String, Set<String>> source,
+                                  final Map<String, Set<String>> target ) {
+        for ( Map.Entry<String, Set<String>> entry : source.entrySet() ) {
+            target.put( entry.getKey(), new HashSet<String>( entry.getValue() ) );
+        }
+    }
+
     public OrganizationalUnit getOrganizationalUnit() {
         return organizationalUnit;
     }
@@ -34,6 +34,15 @@ public class UserExplorerLastData {
     private LastFolderItem lastFolderItem = null;
     private Set<Option> options = new HashSet<Option>();
 
+    public UserExplorerLastData() {
+    }
+
+    public UserExplorerLastData( final UserExplorerLastData data ) {
+        this.lastPackage = data.lastPackage;
+        this.lastFolderItem = data.lastFolderItem;
+        this.options.addAll( data.options );
+    }
+
     public boolean isDataEmpty() {
         return lastPackage == null && lastFolderItem == null;
     }
@@ -0,0 +1,280 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.explorer.backend.server;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.io.xml.CompactWriter;
+import org.guvnor.common.services.project.model.Package;
+import org.guvnor.common.services.project.model.Project;
+import org.guvnor.structure.organizationalunit.impl.OrganizationalUnitImpl;
+import org.guvnor.structure.repositories.impl.git.GitRepository;
+import org.kie.workbench.common.screens.explorer.model.FolderItem;
+import org.kie.workbench.common.services.shared.project.KieProject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.Path;
+
+/**
+ * Persists the Users' explorer navigation state. Navigating quickly used to serialize and commit the state to the
+ * User's folder in the system repository on every click. Instead, only the newest state of each User is kept pending
+ * and written once the User has not navigated for a short quiet period, or when the server shuts down. Pending state
+ * is returned by the getters so that it is visible to the User's following requests before it is written.
+ */
+@ApplicationScoped
+public class UserNavigationStateWriter {
+
+    static final long QUIET_PERIOD_MILLIS = TimeUnit.SECONDS.toMillis( 2 );
+
+    private static final Logger LOGGER = LoggerFactory.getLogger( UserNavigationStateWriter.class );
+
+    private final XStream xs = createXStream();
+
+    private final Map<String, PendingState> pendingStates = new HashMap<String, PendingState>();
+
+    private IOService ioServiceConfig;
+
+    private ScheduledExecutorService executor;
+
+    public UserNavigationStateWriter() {
+        //Empty constructor for Weld
+    }
+
+    @Inject
+    public UserNavigationStateWriter( @Named("configIO") final IOService ioServiceConfig ) {
+        this.ioServiceConfig = ioServiceConfig;
+        this.executor = Executors.newSingleThreadScheduledExecutor( runnable -> {
+            final Thread thread = new Thread( runnable,
+                                              "kie-explorer-navigation-writer" );
+            thread.setDaemon( true );
+            return thread;
+        } );
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdownNow();
+        flush();
+    }
+
+    /**
+     * Schedule the navigation state of a User to be written, replacing any state pending for the User.
+     * The state is owned by this writer from now on and should not be modified by the caller.
+     */
+    public void write( final Path userNav,
+                       final Path lastUserNav,
+                       final UserExplorerData content,
+                       final UserExplorerLastData lastContent ) {
+        final String key = getKey( userNav );
+        synchronized ( pendingStates ) {
+            final PendingState pendingState = pendingStates.get( key );
+            if ( pendingState != null ) {
+                pendingState.update( content,
+                                     lastContent );
+                return;
+            }
+            pendingStates.put( key,
+                               new PendingState( userNav,
+                                                 lastUserNav,
+                                                 content,
+                                                 lastContent ) );
+        }
+        schedule( key,
+                  QUIET_PERIOD_MILLIS );
+    }
+
+    /**
+     * @return A copy of the User's pending navigation state, or null if no state is waiting to be written.
+     */
+    public UserExplorerData getPendingUserContent( final Path userNav ) {
+        synchronized ( pendingStates ) {
+            final PendingState pendingState = pendingStates.get( getKey( userNav ) );
+            if ( pendingState == null || !pendingState.userNav.equals( userNav ) ) {
+                return null;
+            }
+            return new UserExplorerData( pendingState.content );
+        }
+    }
+
+    /**
+     * @return A copy of the User's pending last navigation state, or null if no state is waiting to be written.
+     */
+    public UserExplorerLastData getPendingLastContent( final Path lastUserNav ) {
+        synchronized ( pendingStates ) {
+            final PendingState pendingState = pendingStates.get( getKey( lastUserNav ) );
+            if ( pendingState == null || !pendingState.lastUserNav.equals( lastUserNav ) ) {
+                return null;
+            }
+            return new UserExplorerLastData( pendingState.lastContent );
+        }
+    }
+
+    /**
+     * Write the navigation state pending for all Users.
+     */
+    public void flush() {
+        final List<String> keys;
+        synchronized ( pendingStates ) {
+            keys = new ArrayList<String>( pendingStates.keySet() );
+        }
+        for ( String key : keys ) {
+            flush( key,
+                   true );
+        }
+    }
+
+    public String toXML( final Object state ) {
+        final StringWriter writer = new StringWriter();
+        xs.marshal( state,
+                    new CompactWriter( writer ) );
+        return writer.toString();
+    }
+
+    public Object fromXML( final String xml ) {
+        return xs.fromXML( xml );
+    }
+
+    private void schedule( final String key,
+                           final long delayMillis ) {
+        if ( executor.isShutdown() ) {
+            return;
+        }
+        executor.schedule( () -> flush( key,
+                                        false ),
+                           delayMillis,
+                           TimeUnit.MILLISECONDS );
+    }
+
+    void flush( final String key,
+                final boolean force ) {
+        final PendingState pendingState;
+        final UserExplorerData content;
+        final UserExplorerLastData lastContent;
+        final long version;
+        synchronized ( pendingStates ) {
+            pendingState = pendingStates.get( key );
+            if ( pendingState == null ) {
+                return;
+            }
+            final long quietMillis = System.currentTimeMillis() - pendingState.lastUpdate;
+            if ( !force && quietMillis < QUIET_PERIOD_MILLIS ) {
+                schedule( key,
+                          QUIET_PERIOD_MILLIS - quietMillis );
+                return;
+            }
+            content = pendingState.content;
+            lastContent = pendingState.lastContent;
+            version = pendingState.version;
+        }
+
+        //The state is only replaced, never modified, once handed to the writer; so it can be serialized outside the lock
+        try {
+            final String userNavXML = toXML( content );
+            final String lastUserNavXML = toXML( lastContent );
+            try {
+                ioServiceConfig.startBatch( pendingState.userNav.getFileSystem() );
+                ioServiceConfig.write( pendingState.userNav,
+                                       userNavXML );
+                ioServiceConfig.write( pendingState.lastUserNav,
+                                       lastUserNavXML );
+            } finally {
+                ioServiceConfig.endBatch();
+            }
+        } catch ( final Exception e ) {
+            LOGGER.error( "Can't serialize user's state navigation",
+                          e );
+        }
+
+        synchronized ( pendingStates ) {
+            //Keep the state pending if the User navigated whilst it was being written
+            if ( pendingState.version == version ) {
+                pendingStates.remove( key );
+                return;
+            }
+        }
+        schedule( key,
+                  QUIET_PERIOD_MILLIS );
+    }
+
+    private String getKey( final Path path ) {
+        //Both files of a User's navigation state are in the same folder
+        return path.getParent().toUri().toString();
+    }
+
+    static XStream createXStream() {
+        final XStream xs = new XStream();
+        //Short aliases for the types stored in every file; files written with the fully qualified names can still be read
+        xs.alias( "userExplorerData",
+                  UserExplorerData.class );
+        xs.alias( "userExplorerLastData",
+                  UserExplorerLastData.class );
+        xs.alias( "organizationalUnit",
+                  OrganizationalUnitImpl.class );
+        xs.alias( "gitRepository",
+                  GitRepository.class );
+        xs.alias( "project",
+                  Project.class );
+        xs.alias( "kieProject",
+                  KieProject.class );
+        xs.alias( "package",
+                  Package.class );
+        xs.alias( "folderItem",
+                  FolderItem.class );
+        return xs;
+    }
+
+    private static class PendingState {
+
+        private final Path userNav;
+        private final Path lastUserNav;
+        private UserExplorerData content;
+        private UserExplorerLastData lastContent;
+        private long lastUpdate = System.currentTimeMillis();
+        private long version = 0;
+
+        private PendingState( final Path userNav,
+                              final Path lastUserNav,
+                              final UserExplorerData content,
+                              final UserExplorerLastData lastContent ) {
+            this.userNav = userNav;
+            this.lastUserNav = lastUserNav;
+            this.content = content;
+            this.lastContent = lastContent;
+        }
+
+        private void update( final UserExplorerData content,
+                             final UserExplorerLastData lastContent ) {
+            this.content = content;
+            this.lastContent = lastContent;
+            this.lastUpdate = System.currentTimeMillis();
+            this.version++;
+        }
+    }
+}
@@ -42,6 +42,8 @@ import org.uberfire.ext.editor.commons.service.DeleteService;
 import org.uberfire.ext.editor.commons.service.RenameService;
 import org.uberfire.io.IOService;
 import org.uberfire.java.nio.fs.file.SimpleFileSystemProvider;
+import org.uberfire.rpc.SessionInfo;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
@@ -84,6 +86,9 @@ public class ExplorerServiceHelperTest {
     @Mock
     private CopyService copyService;
 
+    @Mock
+    private UserNavigationStateWriter navigationStateWriter;
+
     @Mock
     private Package pkg;
 
@@ -100,6 +105,7 @@ public class ExplorerServiceHelperTest {
     private Path testResourcesPath;
 
     private org.uberfire.java.nio.file.Path path;
+    private FolderListingCache folderListingCache;
     private ExplorerServiceHelper helper;
 
     private final List<String> tags = new ArrayList<String>() {{
@@ -140,6 +146,8 @@ public class ExplorerServiceHelperTest {
             }
         } );
 
+        folderListingCache = new FolderListingCache();
+
         helper = new ExplorerServiceHelper( projectService,
                                             folderListingResolver,
                                             ioService,
@@ -149,7 +157,9 @@ public class ExplorerServiceHelperTest {
                                             userServices,
                                             deleteService,
                                             renameService,
-                                            copyService );
+                                            copyService,
+                                            folderListingCache,
+                                            navigationStateWriter );
     }
 
     @Test
@@ -206,6 +216,50 @@ public class ExplorerServiceHelperTest {
                 fis.get( 3 ).getTags().size() );
     }
 
+    @Test
+    public void testFolderFilesAreCached() {
+        getFolderItems( Option.BUSINESS_CONTENT, Option.SHOW_TAG_FILTER );
+        final List<FolderItem> fis = getFolderItems( Option.BUSINESS_CONTENT, Option.SHOW_TAG_FILTER );
+        checkFolderItemsWithTags( fis );
+
+        //All package folders resolve to the same path, so its files are only read once
+        verify( ioService,
+                times( 1 ) ).newDirectoryStream( any( org.uberfire.java.nio.file.Path.class ),
+                                                 any( LinkedFilter.class ) );
+        verify( lockService,
+                times( 1 ) ).retrieveLockInfos( any( Path.class ),
+                                                eq( false ) );
+        verify( metadataService,
+                times( 1 ) ).getTags( any( Path.class ) );
+        verify( deleteService,
+                times( 1 ) ).hasRestriction( any( Path.class ) );
+    }
+
+    @Test
+    public void testFolderFilesTagsAreReadWhenNeeded() {
+        checkFolderItemsWithoutTags( getFolderItems( Option.BUSINESS_CONTENT ) );
+        verify( metadataService,
+                never() ).getTags( any( Path.class ) );
+
+        checkFolderItemsWithTags( getFolderItems( Option.BUSINESS_CONTENT, Option.SHOW_TAG_FILTER ) );
+        verify( metadataService,
+                times( 1 ) ).getTags( any( Path.class ) );
+    }
+
+    @Test
+    public void testFolderFilesAreReadAgainWhenChanged() {
+        getFolderItems( Option.BUSINESS_CONTENT, Option.SHOW_TAG_FILTER );
+
+        folderListingCache.onResourceUpdated( new ResourceUpdatedEvent( PathFactory.newPath( "file.txt",
+                                                                                               path.toUri().toString() + "/file.txt" ),
+                                                                        "message",
+                                                                        mock( SessionInfo.class ) ) );
+
+        getFolderItems( Option.BUSINESS_CONTENT, Option.SHOW_TAG_FILTER );
+        verify( metadataService,
+                times( 2 ) ).getTags( any( Path.class ) );
+    }
+
     protected List<FolderItem> getFolderItems( Option... options ) {
         final ActiveOptions activeOptions = new ActiveOptions( options );
         return helper.getItems( pkg, activeOptions );
@@ -28,6 +28,7 @@ import org.guvnor.structure.organizationalunit.OrganizationalUnit;
 import org.guvnor.structure.organizationalunit.OrganizationalUnitService;
 import org.guvnor.structure.organizationalunit.impl.OrganizationalUnitImpl;
 import org.guvnor.structure.repositories.Repository;
+import org.guvnor.structure.repositories.RepositoryRemovedEvent;
 import org.guvnor.structure.repositories.impl.git.GitRepository;
 import org.jboss.errai.security.shared.api.identity.User;
 import org.junit.Before;
@@ -39,6 +40,7 @@ import org.kie.workbench.common.screens.explorer.model.ProjectExplorerContent;
 import org.kie.workbench.common.screens.explorer.service.ActiveOptions;
 import org.kie.workbench.common.screens.explorer.service.Option;
 import org.kie.workbench.common.screens.explorer.service.ProjectExplorerContentQuery;
+import org.kie.workbench.common.services.backend.project.AuthorizedContentCache;
 import org.kie.workbench.common.services.shared.project.KieProjectService;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
@@ -55,6 +57,7 @@ public class ProjectExplorerContentResolverDefaultSelectionsTest {
 
     private SimpleFileSystemProvider fs = new SimpleFileSystemProvider();
     private ProjectExplorerContentResolver resolver;
+    private AuthorizedContentCache authorizedContentCache;
     private OrganizationalUnit organizationalUnit;
 
     private GitRepository repository1;
@@ -143,11 +146,13 @@ public class ProjectExplorerContentResolverDefaultSelectionsTest {
         when( projectService.resolveDefaultPackage( repository2Project1 ) ).thenReturn( createPackage( "master",
                                                                                                        repository2Project1.getProjectName() ) );
 
+        authorizedContentCache = new AuthorizedContentCache();
         resolver = new ProjectExplorerContentResolver( projectService,
                                                        helper,
                                                        authorizationManager,
                                                        organizationalUnitService,
-                                                       explorerServiceHelper );
+                                                       explorerServiceHelper,
+                                                       authorizedContentCache );
     }
 
     @Test
@@ -215,6 +220,7 @@ public class ProjectExplorerContentResolverDefaultSelectionsTest {
 
         //Delete the Repository
         organizationalUnit.getRepositories().remove( repository2 );
+        authorizedContentCache.onRepositoryRemoved( new RepositoryRemovedEvent( repository2 ) );
 
         final ProjectExplorerContent content2 = resolver.resolve( getContentQuery( repository2,
                                                                                    "master",
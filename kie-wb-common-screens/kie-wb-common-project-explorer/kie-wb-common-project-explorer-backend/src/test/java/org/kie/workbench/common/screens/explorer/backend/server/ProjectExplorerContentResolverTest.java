@@ -39,6 +39,7 @@ import org.kie.workbench.common.screens.explorer.model.ProjectExplorerContent;
 import org.kie.workbench.common.screens.explorer.service.ActiveOptions;
 import org.kie.workbench.common.screens.explorer.service.Option;
 import org.kie.workbench.common.screens.explorer.service.ProjectExplorerContentQuery;
+import org.kie.workbench.common.services.backend.project.AuthorizedContentCache;
 import org.kie.workbench.common.services.shared.project.KieProjectService;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
@@ -57,6 +58,9 @@ public class ProjectExplorerContentResolverTest {
     private ProjectExplorerContentResolver resolver;
     private OrganizationalUnit organizationalUnit;
     private GitRepository repository;
+    private KieProjectService projectService;
+    private OrganizationalUnitService organizationalUnitService;
+    private AuthorizedContentCache authorizedContentCache;
     private Set<Project> masterProjects;
     private Set<Project> devProjects;
 
@@ -68,10 +72,10 @@ public class ProjectExplorerContentResolverTest {
         //Ensure URLs use the default:// scheme
         fs.forceAsDefault();
 
-        KieProjectService projectService = mock( KieProjectService.class );
+        projectService = mock( KieProjectService.class );
         ExplorerServiceHelper helper = mock( ExplorerServiceHelper.class );
         AuthorizationManager authorizationManager = mock( AuthorizationManager.class );
-        OrganizationalUnitService organizationalUnitService = mock( OrganizationalUnitService.class );
+        organizationalUnitService = mock( OrganizationalUnitService.class );
         ExplorerServiceHelper explorerServiceHelper = mock( ExplorerServiceHelper.class );
 
         repository = getGitRepository();
@@ -116,12 +120,14 @@ public class ProjectExplorerContentResolverTest {
         when( projectService.getProjects( repository, "dev-1.0.0" ) ).thenReturn( devProjects );
         when( projectService.resolveDefaultPackage( any( Project.class ) ) ).thenReturn( new Package() );
 
+        authorizedContentCache = new AuthorizedContentCache();
         resolver = new ProjectExplorerContentResolver(
                 projectService,
                 helper,
                 authorizationManager,
                 organizationalUnitService,
-                explorerServiceHelper );
+                explorerServiceHelper,
+                authorizedContentCache );
     }
 
     private FolderItem getFileItem() {
@@ -232,6 +238,28 @@ public class ProjectExplorerContentResolverTest {
 
     }
 
+    @Test
+    public void testAuthorizedContentIsCached() throws Exception {
+        resolver.resolve( getContentQuery( "master", createProject( "master", "project 1" ), Option.BUSINESS_CONTENT ) );
+        helperWrapper.reset();
+        resolver.resolve( getContentQuery( "master", createProject( "master", "project 2" ), Option.BUSINESS_CONTENT ) );
+        helperWrapper.reset();
+
+        verify( organizationalUnitService, times( 1 ) ).getOrganizationalUnits();
+        verify( organizationalUnitService, times( 1 ) ).getOrganizationalUnit( "demo" );
+        verify( projectService, times( 1 ) ).getProjects( repository, "master" );
+
+        //Changes to the content discard the cached authorized content
+        authorizedContentCache.invalidate();
+
+        final ProjectExplorerContent content = resolver.resolve( getContentQuery( "master", createProject( "master", "project 2" ), Option.BUSINESS_CONTENT ) );
+
+        assertEquals( "master@project 2", content.getProject().getRootPath().toURI() );
+        verify( organizationalUnitService, times( 2 ) ).getOrganizationalUnits();
+        verify( organizationalUnitService, times( 2 ) ).getOrganizationalUnit( "demo" );
+        verify( projectService, times( 2 ) ).getProjects( repository, "master" );
+    }
+
     @Test
     public void testChangeProjectOnTechnicalView() {
 
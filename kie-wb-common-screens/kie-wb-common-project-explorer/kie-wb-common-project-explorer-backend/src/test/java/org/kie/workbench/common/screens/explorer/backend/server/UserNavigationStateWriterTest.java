@@ -0,0 +1,114 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.explorer.backend.server;
+
+import java.net.URI;
+
+import com.thoughtworks.xstream.XStream;
+import org.guvnor.structure.organizationalunit.impl.OrganizationalUnitImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.FileSystem;
+import org.uberfire.java.nio.file.Path;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class UserNavigationStateWriterTest {
+
+    @Mock
+    private IOService ioServiceConfig;
+
+    @Mock
+    private Path explorerFolder;
+
+    @Mock
+    private Path userNav;
+
+    @Mock
+    private Path lastUserNav;
+
+    private UserNavigationStateWriter writer;
+
+    @Before
+    public void setup() {
+        when( explorerFolder.toUri() ).thenReturn( URI.create( "default://user/explorer" ) );
+        when( userNav.getParent() ).thenReturn( explorerFolder );
+        when( lastUserNav.getParent() ).thenReturn( explorerFolder );
+
+        writer = new UserNavigationStateWriter( ioServiceConfig );
+    }
+
+    @After
+    public void tearDown() {
+        writer.destroy();
+    }
+
+    @Test
+    public void testOnlyNewestStateIsWritten() {
+        final UserExplorerData content1 = new UserExplorerData();
+        content1.setOrganizationalUnit( new OrganizationalUnitImpl( "ou1", "owner", "group" ) );
+        final UserExplorerData content2 = new UserExplorerData();
+        content2.setOrganizationalUnit( new OrganizationalUnitImpl( "ou2", "owner", "group" ) );
+
+        writer.write( userNav, lastUserNav, content1, new UserExplorerLastData() );
+        writer.write( userNav, lastUserNav, content2, new UserExplorerLastData() );
+
+        //Pending state is visible before it is written
+        final UserExplorerData pendingContent = writer.getPendingUserContent( userNav );
+        assertNotSame( content2, pendingContent );
+        assertEquals( "ou2", pendingContent.getOrganizationalUnit().getName() );
+        assertNotNull( writer.getPendingLastContent( lastUserNav ) );
+        verify( ioServiceConfig, never() ).write( any( Path.class ), anyString() );
+
+        writer.flush();
+
+        final ArgumentCaptor<String> xmlCaptor = ArgumentCaptor.forClass( String.class );
+        verify( ioServiceConfig, times( 1 ) ).startBatch( any( FileSystem.class ) );
+        verify( ioServiceConfig, times( 1 ) ).write( eq( userNav ), xmlCaptor.capture() );
+        verify( ioServiceConfig, times( 1 ) ).write( eq( lastUserNav ), anyString() );
+        verify( ioServiceConfig, times( 1 ) ).endBatch();
+
+        final UserExplorerData writtenContent = (UserExplorerData) writer.fromXML( xmlCaptor.getValue() );
+        assertEquals( "ou2", writtenContent.getOrganizationalUnit().getName() );
+
+        assertNull( writer.getPendingUserContent( userNav ) );
+        assertNull( writer.getPendingLastContent( lastUserNav ) );
+    }
+
+    @Test
+    public void testCompactFormatCanReadPreviousFormat() {
+        final UserExplorerData content = new UserExplorerData();
+        content.setOrganizationalUnit( new OrganizationalUnitImpl( "ou", "owner", "group" ) );
+
+        final String xml = writer.toXML( content );
+        final String previousXml = new XStream().toXML( content );
+
+        assertFalse( xml.contains( "\n" ) );
+        assertTrue( xml.length() < previousXml.length() );
+
+        assertEquals( "ou", ( (UserExplorerData) writer.fromXML( xml ) ).getOrganizationalUnit().getName() );
+        assertEquals( "ou", ( (UserExplorerData) writer.fromXML( previousXml ) ).getOrganizationalUnit().getName() );
+    }
+}
@@ -42,6 +42,7 @@ import org.kie.workbench.common.screens.search.model.QueryMetadataPageRequest;
 import org.kie.workbench.common.screens.search.model.SearchPageRow;
 import org.kie.workbench.common.screens.search.model.SearchTermPageRequest;
 import org.kie.workbench.common.screens.search.service.SearchService;
+import org.kie.workbench.common.services.backend.project.AuthorizedContentCache;
 import org.kie.workbench.common.services.shared.project.KieProject;
 import org.kie.workbench.common.services.shared.project.KieProjectService;
 import org.uberfire.backend.server.util.Paths;
@@ -50,8 +51,10 @@ import org.uberfire.ext.metadata.model.KObject;
 import org.uberfire.ext.metadata.search.DateRange;
 import org.uberfire.ext.metadata.search.IOSearchService;
 import org.uberfire.io.IOService;
+import org.uberfire.io.attribute.DublinCoreAttributes;
 import org.uberfire.io.attribute.DublinCoreView;
 import org.uberfire.java.nio.base.version.VersionAttributeView;
+import org.uberfire.java.nio.base.version.VersionAttributes;
 import org.uberfire.java.nio.file.Path;
 import org.uberfire.paging.PageResponse;
 import org.uberfire.security.authz.AuthorizationManager;
@@ -75,6 +78,8 @@ public class SearchServiceImpl implements SearchService {
 
     private Instance<ResourceTypeDefinition> typeRegister;
 
+    private AuthorizedContentCache authorizedContentCache;
+
     private Map<String, ResourceTypeDefinition> types = new HashMap<String, ResourceTypeDefinition>();
 
     private PageResponse<SearchPageRow> emptyResponse = null;
@@ -90,7 +95,8 @@ public class SearchServiceImpl implements SearchService {
                               final KieProjectService projectService,
                               final User identity,
                               final AuthorizationManager authorizationManager,
-                              @Any final Instance<ResourceTypeDefinition> typeRegister ) {
+                              @Any final Instance<ResourceTypeDefinition> typeRegister,
+                              final AuthorizedContentCache authorizedContentCache ) {
         this.ioSearchService = PortablePreconditions.checkNotNull( "ioSearchService",
                                                                    ioSearchService );
         this.ioService = PortablePreconditions.checkNotNull( "ioService",
@@ -105,6 +111,8 @@ public class SearchServiceImpl implements SearchService {
                                                                         authorizationManager );
         this.typeRegister = PortablePreconditions.checkNotNull( "typeRegister",
                                                                 typeRegister );
+        this.authorizedContentCache = PortablePreconditions.checkNotNull( "authorizedContentCache",
+                                                                          authorizedContentCache );
     }
 
     @PostConstruct
@@ -124,14 +132,15 @@ public class SearchServiceImpl implements SearchService {
     public PageResponse<SearchPageRow> fullTextSearch( final SearchTermPageRequest pageRequest ) {
         try {
             //hits is an approximation at this stage, since we've not filtered by Authorised Project
+            final Path[] authorizedRoots = getAuthorizedRepositoryRoots();
             final int totalNumHitsEstimate = ioSearchService.fullTextSearchHits( pageRequest.getTerm(),
-                                                                                 getAuthorizedRepositoryRoots() );
+                                                                                 authorizedRoots );
             if ( totalNumHitsEstimate > 0 ) {
                 final PagedCountingFilter filter = new PagedCountingFilter( pageRequest.getStartRowIndex(),
                                                                             pageRequest.getPageSize() );
                 final List<Path> pathResult = ioSearchService.fullTextSearch( pageRequest.getTerm(),
                                                                               filter,
-                                                                              getAuthorizedRepositoryRoots() );
+                                                                              authorizedRoots );
                 return buildResponse( pathResult,
                                       pageRequest.getPageSize(),
                                       pageRequest.getStartRowIndex(),
@@ -159,14 +168,15 @@ public class SearchServiceImpl implements SearchService {
             }
 
             //hits is an approximation at this stage, since we've not filtered by Authorised Project
+            final Path[] authorizedRoots = getAuthorizedRepositoryRoots();
             final int totalNumHitsEstimate = ioSearchService.searchByAttrsHits( attrs,
-                                                                                getAuthorizedRepositoryRoots() );
+                                                                                authorizedRoots );
             if ( totalNumHitsEstimate > 0 ) {
                 final PagedCountingFilter filter = new PagedCountingFilter( pageRequest.getStartRowIndex(),
                                                                             pageRequest.getPageSize() );
                 final List<Path> pathResult = ioSearchService.searchByAttrs( attrs,
                                                                              filter,
-                                                                             getAuthorizedRepositoryRoots() );
+                                                                             authorizedRoots );
                 return buildResponse( pathResult,
                                       pageRequest.getPageSize(),
                                       pageRequest.getStartRowIndex(),
@@ -185,16 +195,17 @@ public class SearchServiceImpl implements SearchService {
                                                        final int hitsTotalCount ) {
         final List<SearchPageRow> result = new ArrayList<SearchPageRow>( pathResult.size() );
         for ( final Path path : pathResult ) {
-            final DublinCoreView dcoreView = ioService.getFileAttributeView( path,
-                                                                             DublinCoreView.class );
-            final VersionAttributeView versionAttributeView = ioService.getFileAttributeView( path,
-                                                                                              VersionAttributeView.class );
-
-            final String creator = extractCreator( versionAttributeView );
-            final Date createdDate = extractCreatedDate( versionAttributeView );
-            final String lastContributor = extractLastContributor( versionAttributeView );
-            final Date lastModifiedDate = extractLastModifiedDate( versionAttributeView );
-            final String description = extractDescription( dcoreView );
+            //Reading the attributes walks the file's history, so only read them once per file
+            final DublinCoreAttributes dcoreAttributes = ioService.getFileAttributeView( path,
+                                                                                         DublinCoreView.class ).readAttributes();
+            final VersionAttributes versionAttributes = ioService.getFileAttributeView( path,
+                                                                                        VersionAttributeView.class ).readAttributes();
+
+            final String creator = extractCreator( versionAttributes );
+            final Date createdDate = extractCreatedDate( versionAttributes );
+            final String lastContributor = extractLastContributor( versionAttributes );
+            final Date lastModifiedDate = extractLastModifiedDate( versionAttributes );
+            final String description = extractDescription( dcoreAttributes );
 
             final SearchPageRow row = new SearchPageRow( Paths.convert( path ),
                                                          creator,
@@ -215,38 +226,44 @@ public class SearchServiceImpl implements SearchService {
         return response;
     }
 
-    private String extractCreator( final VersionAttributeView versionAttributeView ) {
-        if ( versionAttributeView.readAttributes().history().records().size() > 0 ) {
-            return versionAttributeView.readAttributes().history().records().get( 0 ).author();
+    private String extractCreator( final VersionAttributes versionAttributes ) {
+        if ( versionAttributes.history().records().size() > 0 ) {
+            return versionAttributes.history().records().get( 0 ).author();
         }
         return "";
     }
 
-    private Date extractCreatedDate( final VersionAttributeView versionAttributeView ) {
-        return new Date( versionAttributeView.readAttributes().creationTime().toMillis() );
+    private Date extractCreatedDate( final VersionAttributes versionAttributes ) {
+        return new Date( versionAttributes.creationTime().toMillis() );
     }
 
-    private String extractLastContributor( final VersionAttributeView versionAttributeView ) {
-        if ( versionAttributeView.readAttributes().history().records().size() > 0 ) {
-            final int lastIndex = versionAttributeView.readAttributes().history().records().size() - 1;
-            return versionAttributeView.readAttributes().history().records().get( lastIndex ).author();
+    private String extractLastContributor( final VersionAttributes versionAttributes ) {
+        if ( versionAttributes.history().records().size() > 0 ) {
+            final int lastIndex = versionAttributes.history().records().size() - 1;
+            return versionAttributes.history().records().get( lastIndex ).author();
         }
         return "";
     }
 
-    private Date extractLastModifiedDate( final VersionAttributeView versionAttributeView ) {
-        return new Date( versionAttributeView.readAttributes().lastModifiedTime().toMillis() );
+    private Date extractLastModifiedDate( final VersionAttributes versionAttributes ) {
+        return new Date( versionAttributes.lastModifiedTime().toMillis() );
     }
 
-    private String extractDescription( final DublinCoreView dcoreView ) {
-        if ( dcoreView.readAttributes().descriptions().size() > 0 ) {
-            return dcoreView.readAttributes().descriptions().get( 0 );
+    private String extractDescription( final DublinCoreAttributes dcoreAttributes ) {
+        if ( dcoreAttributes.descriptions().size() > 0 ) {
+            return dcoreAttributes.descriptions().get( 0 );
         }
         return "";
     }
 
     //Only search the Repositories for which the User has permission to access
     Path[] getAuthorizedRepositoryRoots() {
+        return authorizedContentCache.get( "searchRoots",
+                                           identity,
+                                           this::resolveAuthorizedRepositoryRoots ).clone();
+    }
+
+    private Path[] resolveAuthorizedRepositoryRoots() {
         //First get a collection of OU's to which the User has access
         final Collection<OrganizationalUnit> organizationalUnits = organizationalUnitService.getOrganizationalUnits();
         final Collection<OrganizationalUnit> authorizedOrganizationalUnits = new ArrayList<OrganizationalUnit>();
@@ -302,6 +319,11 @@ public class SearchServiceImpl implements SearchService {
         private final int startRow;
         private final int pageSize;
 
+        //Resources in the same folder belong to the same Project, and access is granted per Project, so resolve
+        //and authorize each folder and Project only once
+        private final Map<String, Boolean> authorizedFolders = new HashMap<String, Boolean>();
+        private final Map<String, Boolean> authorizedProjects = new HashMap<String, Boolean>();
+
         PagedCountingFilter( final int startRow,
                              final int pageSize ) {
             this.startRow = startRow;
@@ -311,17 +333,7 @@ public class SearchServiceImpl implements SearchService {
         @Override
         public boolean accept( final KObject kObject ) {
             final Path path = ioService.get( URI.create( kObject.getKey() ) );
-            final org.uberfire.backend.vfs.Path vfsPath = Paths.convert( path );
-            final KieProject project = projectService.resolveProject( vfsPath );
-
-            //All Users are granted access to Resources outside the Project structure
-            boolean authorized = true;
-            if ( project != null ) {
-                authorized = authorizationManager.authorize( project,
-                                                             identity );
-            }
-
-            if ( authorized ) {
+            if ( isAuthorized( path ) ) {
                 hitsTotalCount++;
                 hitsStartIndex++;
                 if ( hitsStartIndex >= startRow && hitsPageCount < pageSize ) {
@@ -336,6 +348,44 @@ public class SearchServiceImpl implements SearchService {
             return hitsTotalCount;
         }
 
+        private boolean isAuthorized( final Path path ) {
+            final Path folder = path == null ? null : path.getParent();
+            if ( folder == null ) {
+                return resolveAuthorization( path );
+            }
+            final String folderURI = folder.toUri().toString();
+            Boolean authorized = authorizedFolders.get( folderURI );
+            if ( authorized == null ) {
+                authorized = resolveAuthorization( path );
+                authorizedFolders.put( folderURI,
+                                       authorized );
+            }
+            return authorized;
+        }
+
+        private boolean resolveAuthorization( final Path path ) {
+            final org.uberfire.backend.vfs.Path vfsPath = Paths.convert( path );
+            final KieProject project = projectService.resolveProject( vfsPath );
+
+            //All Users are granted access to Resources outside the Project structure
+            if ( project == null ) {
+                return true;
+            }
+            final String projectURI = project.getRootPath() == null ? null : project.getRootPath().toURI();
+            if ( projectURI == null ) {
+                return authorizationManager.authorize( project,
+                                                       identity );
+            }
+            Boolean authorized = authorizedProjects.get( projectURI );
+            if ( authorized == null ) {
+                authorized = authorizationManager.authorize( project,
+                                                             identity );
+                authorizedProjects.put( projectURI,
+                                        authorized );
+            }
+            return authorized;
+        }
+
     }
 
 }
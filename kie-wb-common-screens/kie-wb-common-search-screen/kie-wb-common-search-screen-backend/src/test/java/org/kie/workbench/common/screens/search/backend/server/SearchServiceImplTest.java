@@ -28,12 +28,14 @@ import org.guvnor.structure.organizationalunit.OrganizationalUnit;
 import org.guvnor.structure.organizationalunit.OrganizationalUnitService;
 import org.guvnor.structure.organizationalunit.impl.OrganizationalUnitImpl;
 import org.guvnor.structure.repositories.Repository;
+import org.guvnor.structure.repositories.RepositoryEnvironmentUpdatedEvent;
 import org.jboss.errai.security.shared.api.identity.User;
 import org.junit.Before;
 import org.junit.Test;
 import org.kie.workbench.common.screens.search.model.QueryMetadataPageRequest;
 import org.kie.workbench.common.screens.search.model.SearchPageRow;
 import org.kie.workbench.common.screens.search.model.SearchTermPageRequest;
+import org.kie.workbench.common.services.backend.project.AuthorizedContentCache;
 import org.kie.workbench.common.services.shared.project.KieProject;
 import org.kie.workbench.common.services.shared.project.KieProjectService;
 import org.mockito.Matchers;
@@ -70,6 +72,8 @@ public class SearchServiceImplTest {
 
     private Instance<ResourceTypeDefinition> typeRegister;
 
+    private AuthorizedContentCache authorizedContentCache;
+
     private SearchServiceImpl searchService;
 
     private final OrganizationalUnit ou1 = new OrganizationalUnitImpl( "ou1",
@@ -93,6 +97,7 @@ public class SearchServiceImplTest {
         identity = mock( User.class );
         authorizationManager = mock( AuthorizationManager.class );
         typeRegister = new MockTypeRegister();
+        authorizedContentCache = new AuthorizedContentCache();
 
         searchService = new SearchServiceImpl( ioSearchService,
                                                ioService,
@@ -100,7 +105,8 @@ public class SearchServiceImplTest {
                                                projectService,
                                                identity,
                                                authorizationManager,
-                                               typeRegister );
+                                               typeRegister,
+                                               authorizedContentCache );
         searchService.init();
 
         final Collection<OrganizationalUnit> allOUs = new ArrayList<OrganizationalUnit>();
@@ -822,4 +828,73 @@ public class SearchServiceImplTest {
         }
     }
 
+    @Test
+    public void testAuthorizedRepositoryRootsCached() {
+        when( authorizationManager.authorize( any( OrganizationalUnit.class ),
+                                              eq( identity ) ) ).thenReturn( true );
+        when( authorizationManager.authorize( any( Repository.class ),
+                                              eq( identity ) ) ).thenReturn( true );
+
+        assertEquals( 2,
+                      searchService.getAuthorizedRepositoryRoots().length );
+        assertEquals( 2,
+                      searchService.getAuthorizedRepositoryRoots().length );
+
+        verify( organizationalUnitService,
+                times( 1 ) ).getOrganizationalUnits();
+
+        //Changes to Organizational Units or Repositories invalidate the cached roots
+        authorizedContentCache.onRepositoryRemoved( null );
+        when( authorizationManager.authorize( repo2,
+                                              identity ) ).thenReturn( false );
+
+        assertEquals( 1,
+                      searchService.getAuthorizedRepositoryRoots().length );
+        verify( organizationalUnitService,
+                times( 2 ) ).getOrganizationalUnits();
+
+        //As do changes to their security settings
+        authorizedContentCache.onRepositoryEnvironmentUpdated( new RepositoryEnvironmentUpdatedEvent( repo2 ) );
+        when( authorizationManager.authorize( repo2,
+                                              identity ) ).thenReturn( true );
+
+        assertEquals( 2,
+                      searchService.getAuthorizedRepositoryRoots().length );
+        verify( organizationalUnitService,
+                times( 3 ) ).getOrganizationalUnits();
+
+        authorizedContentCache.onSystemRepositoryChanged( null );
+        when( authorizationManager.authorize( ou2,
+                                              identity ) ).thenReturn( false );
+
+        assertEquals( 1,
+                      searchService.getAuthorizedRepositoryRoots().length );
+        verify( organizationalUnitService,
+                times( 4 ) ).getOrganizationalUnits();
+    }
+
+    @Test
+    public void testProjectAuthorizedOncePerSearch() {
+        final org.uberfire.backend.vfs.Path project1Root = mock( org.uberfire.backend.vfs.Path.class );
+        when( project1Root.toURI() ).thenReturn( "default://project1" );
+        when( project1.getRootPath() ).thenReturn( project1Root );
+        when( authorizationManager.authorize( project1,
+                                              identity ) ).thenReturn( true );
+        when( projectService.resolveProject( any( org.uberfire.backend.vfs.Path.class ) ) ).thenReturn( project1 );
+
+        final SearchServiceImpl.PagedCountingFilter filter = searchService.new PagedCountingFilter( 0,
+                                                                                                    5 );
+        for ( int i = 0; i < 3; i++ ) {
+            final KObject kObject = mock( KObject.class );
+            when( kObject.getKey() ).thenReturn( "default://project1/file" + i );
+            assertTrue( filter.accept( kObject ) );
+        }
+
+        assertEquals( 3,
+                      filter.getHitsTotalCount() );
+        verify( authorizationManager,
+                times( 1 ) ).authorize( project1,
+                                        identity );
+    }
+
 }
@@ -24,8 +24,10 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.commons.lang3.StringUtils;
 import org.drools.core.base.ClassTypeResolver;
@@ -70,6 +72,7 @@ import org.kie.workbench.common.services.datamodeller.driver.model.DriverResult;
 import org.kie.workbench.common.services.datamodeller.driver.model.ModelDriverResult;
 import org.kie.workbench.common.services.datamodeller.util.DataModelUtils;
 import org.kie.workbench.common.services.datamodeller.util.DriverUtils;
+import org.kie.workbench.common.services.datamodeller.util.FileHashingUtils;
 import org.kie.workbench.common.services.datamodeller.util.FileUtils;
 import org.kie.workbench.common.services.datamodeller.util.NamingUtils;
 import org.slf4j.Logger;
@@ -99,6 +102,8 @@ public class JavaRoasterModelDriver implements ModelDriver {
 
     private Collection<SourceFilter> filters;
 
+    private ParsedJavaFileCache parsedFileCache;
+
     private static final String DATA_OBJECT_LOAD_ERROR = "It was not possible to create or load DataObject: \"{0}\" .";
 
     private static final String ANNOTATION_LOAD_ERROR = "It was not possible to create or load a DataObject or Field annotation for annotation class name: \"{0}\" .";
@@ -133,6 +138,16 @@ public class JavaRoasterModelDriver implements ModelDriver {
         this.filters = filters;
     }
 
+    public JavaRoasterModelDriver( IOService ioService,
+                                   Path javaRootPath,
+                                   boolean recursiveScan,
+                                   ClassLoader classLoader,
+                                   Collection<SourceFilter> filters,
+                                   ParsedJavaFileCache parsedFileCache ) {
+        this( ioService, javaRootPath, recursiveScan, classLoader, filters );
+        this.parsedFileCache = parsedFileCache;
+    }
+
     @Override
     public List<AnnotationDefinition> getConfiguredAnnotations() {
         return configuredAnnotations;
@@ -167,6 +182,13 @@ public class JavaRoasterModelDriver implements ModelDriver {
 
         Collection<FileUtils.ScanResult> scanResults = FileUtils.getInstance().scan( ioService, rootPaths, ".java", true );
         if ( scanResults != null ) {
+            if ( parsedFileCache != null ) {
+                Set<String> fileURIs = new HashSet<String>();
+                for ( FileUtils.ScanResult scanResult : scanResults ) {
+                    fileURIs.add( scanResult.getFile().toUri().toString() );
+                }
+                parsedFileCache.startLoad( fileURIs );
+            }
             for ( FileUtils.ScanResult scanResult : scanResults ) {
 
                 logger.debug( "Starting file loading into model, file: " + scanResult.getFile() );
@@ -175,6 +197,20 @@ public class JavaRoasterModelDriver implements ModelDriver {
                     logger.debug( "file: " + scanResult.getFile() + " is empty." );
                     continue;
                 }
+                String fileURI = null;
+                String contentHash = null;
+                if ( parsedFileCache != null ) {
+                    fileURI = scanResult.getFile().toUri().toString();
+                    contentHash = FileHashingUtils.md5Hex( fileContent );
+                    ParsedJavaFileCache.ParsedJavaFile parsedFile = parsedFileCache.get( fileURI, contentHash );
+                    if ( parsedFile != null ) {
+                        logger.debug( "file: " + scanResult.getFile() + " has not changed since it was last loaded." );
+                        addParsedFile( result, scanResult.getFile(), parsedFile );
+                        continue;
+                    }
+                    //only the files that were successfully loaded are cached.
+                    parsedFileCache.evict( fileURI );
+                }
                 try {
                     JavaType<?> javaType = Roaster.parse( fileContent );
                     final boolean isClass = javaType.isClass();
@@ -187,22 +223,27 @@ public class JavaRoasterModelDriver implements ModelDriver {
                             try {
                                 //try to load the data object.
                                 Pair<DataObject, List<ObjectProperty>> pair = parseDataObject( ( JavaClassSource ) javaType );
-                                if ( pair.getK1() != null ) {
-                                    dataModel.addDataObject( pair.getK1() );
-                                    result.setClassPath( pair.getK1().getClassName(), Paths.convert( scanResult.getFile() ) );
-                                    result.setUnmanagedProperties( pair.getK1().getClassName(), pair.getK2() );
+                                ParsedJavaFileCache.ParsedJavaFile parsedFile = new ParsedJavaFileCache.ParsedJavaFile( contentHash, pair.getK1(), pair.getK2() );
+                                addParsedFile( result, scanResult.getFile(), parsedFile );
+                                if ( parsedFileCache != null ) {
+                                    parsedFileCache.put( fileURI, parsedFile );
                                 }
                             } catch ( ModelDriverException e ) {
                                 logger.error( "An error was produced when file: " + scanResult.getFile() + " was being loaded into a DataObject.", e );
                                 addModelDriverError( result, scanResult.getFile(), e );
                             }
                         }
-                    } else if ( vetoed ) {
-                        logger.debug( "The class, {}, in the file, {}, was vetoed and will be skipped.",
-                                      javaType.getQualifiedName(),
-                                      scanResult.getFile() );
                     } else {
-                        logger.debug( "No Class definition was found for file: " + scanResult.getFile() + ", it will be skipped." );
+                        if ( vetoed ) {
+                            logger.debug( "The class, {}, in the file, {}, was vetoed and will be skipped.",
+                                          javaType.getQualifiedName(),
+                                          scanResult.getFile() );
+                        } else {
+                            logger.debug( "No Class definition was found for file: " + scanResult.getFile() + ", it will be skipped." );
+                        }
+                        if ( parsedFileCache != null ) {
+                            parsedFileCache.put( fileURI, new ParsedJavaFileCache.ParsedJavaFile( contentHash, null, null ) );
+                        }
                     }
                 } catch ( Exception e ) {
                     //Unexpected parsing o model loading exception.
@@ -214,6 +255,15 @@ public class JavaRoasterModelDriver implements ModelDriver {
         return result;
     }
 
+    private void addParsedFile( ModelDriverResult result, Path file, ParsedJavaFileCache.ParsedJavaFile parsedFile ) {
+        DataObject dataObject = parsedFile.getDataObject();
+        if ( dataObject != null ) {
+            result.getDataModel().addDataObject( dataObject );
+            result.setClassPath( dataObject.getClassName(), Paths.convert( file ) );
+            result.setUnmanagedProperties( dataObject.getClassName(), parsedFile.getUnmanagedProperties() );
+        }
+    }
+
     private boolean isVetoed( final JavaType<?> javaType ) {
         return filters.stream().anyMatch( filter -> filter.veto( javaType ) );
     }
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodeller.driver.impl;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.kie.workbench.common.services.datamodeller.core.DataObject;
+import org.kie.workbench.common.services.datamodeller.core.ObjectProperty;
+import org.kie.workbench.common.services.datamodeller.util.DataModelUtils;
+
+/**
+ * Results of parsing the java files of a project, so that {@link JavaRoasterModelDriver#loadModel()} only needs to
+ * parse the files that were added or modified since the model was last loaded. Results are keyed by file URI and are
+ * only reused when the file content hash still matches. Files that could not be loaded are never cached.
+ * <p>
+ * Type names in a file are resolved against the other classes of the project, so all results are discarded when
+ * the set of java files of the project changes. Loaded models can be modified, so the cache keeps its own copy of
+ * each result and every model is given a copy of it; copying a DataObject is far cheaper than parsing its file.
+ */
+public class ParsedJavaFileCache {
+
+    private final Map<String, ParsedJavaFile> files = new HashMap<String, ParsedJavaFile>();
+
+    private Set<String> fileURIs = Collections.emptySet();
+
+    /**
+     * Start loading a model.
+     * @param scannedFileURIs URIs of all the java files that will be loaded.
+     */
+    synchronized void startLoad( final Set<String> scannedFileURIs ) {
+        if ( !fileURIs.equals( scannedFileURIs ) ) {
+            files.clear();
+            fileURIs = new HashSet<String>( scannedFileURIs );
+        }
+    }
+
+    /**
+     * @return The result of parsing the file, or null if the file was not parsed or has changed since.
+     */
+    ParsedJavaFile get( final String fileURI,
+                        final String contentHash ) {
+        final ParsedJavaFile parsedFile;
+        synchronized ( this ) {
+            parsedFile = files.get( fileURI );
+        }
+        if ( parsedFile == null || !parsedFile.contentHash.equals( contentHash ) ) {
+            return null;
+        }
+        return parsedFile.copy();
+    }
+
+    void put( final String fileURI,
+              final ParsedJavaFile parsedFile ) {
+        final ParsedJavaFile copy = parsedFile.copy();
+        synchronized ( this ) {
+            files.put( fileURI,
+                       copy );
+        }
+    }
+
+    /**
+     * Discard the result of parsing a file.
+     * @param fileURI URI of the file.
+     */
+    public synchronized void evict( final String fileURI ) {
+        files.remove( fileURI );
+    }
+
+    /**
+     * Discard all results, e.g. when the project dependencies have changed.
+     */
+    public synchronized void clear() {
+        files.clear();
+        fileURIs = Collections.emptySet();
+    }
+
+    public synchronized int size() {
+        return files.size();
+    }
+
+    static class ParsedJavaFile {
+
+        private final String contentHash;
+
+        //null when the file does not define a class to be loaded into the model
+        private final DataObject dataObject;
+
+        private final List<ObjectProperty> unmanagedProperties;
+
+        ParsedJavaFile( final String contentHash,
+                        final DataObject dataObject,
+                        final List<ObjectProperty> unmanagedProperties ) {
+            this.contentHash = contentHash;
+            this.dataObject = dataObject;
+            this.unmanagedProperties = unmanagedProperties;
+        }
+
+        DataObject getDataObject() {
+            return dataObject;
+        }
+
+        List<ObjectProperty> getUnmanagedProperties() {
+            return unmanagedProperties;
+        }
+
+        private ParsedJavaFile copy() {
+            if ( dataObject == null ) {
+                return this;
+            }
+            return new ParsedJavaFile( contentHash,
+                                       DataModelUtils.copy( dataObject ),
+                                       DataModelUtils.copy( unmanagedProperties ) );
+        }
+    }
+}
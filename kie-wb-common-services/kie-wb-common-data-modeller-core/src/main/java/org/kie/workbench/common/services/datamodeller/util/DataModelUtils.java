@@ -20,12 +20,15 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 
 import org.kie.api.definition.type.Key;
 import org.kie.api.definition.type.Position;
 import org.kie.workbench.common.services.datamodeller.core.Annotation;
 import org.kie.workbench.common.services.datamodeller.core.DataObject;
 import org.kie.workbench.common.services.datamodeller.core.ObjectProperty;
+import org.kie.workbench.common.services.datamodeller.core.impl.AnnotationImpl;
+import org.kie.workbench.common.services.datamodeller.core.impl.DataObjectImpl;
 import org.kie.workbench.common.services.datamodeller.core.impl.ObjectPropertyImpl;
 
 public class DataModelUtils {
@@ -295,4 +298,84 @@ public class DataModelUtils {
         return str1 != null ? str1.equals( str2 ) : str2 == null;
     }
 
+    /**
+     * @return a copy of a given data object, its properties and annotations, that can be modified without changing the
+     * original. Annotation definitions are shared.
+     */
+    public static DataObject copy( DataObject dataObject ) {
+        DataObject copy = new DataObjectImpl( dataObject.getPackageName(),
+                                              dataObject.getName(),
+                                              dataObject.getVisibilty(),
+                                              dataObject.isAbstract(),
+                                              dataObject.isFinal() );
+        copy.setSuperClassName( dataObject.getSuperClassName() );
+        copy.getInterfaces().addAll( dataObject.getInterfaces() );
+        //nested types are not loaded into data objects
+        copy.getNestedTypes().addAll( dataObject.getNestedTypes() );
+        for ( Annotation annotation : dataObject.getAnnotations() ) {
+            copy.addAnnotation( copy( annotation ) );
+        }
+        for ( ObjectProperty property : dataObject.getProperties() ) {
+            copy.addProperty( copy( property ) );
+        }
+        return copy;
+    }
+
+    /**
+     * @return a copy of a given property and its annotations.
+     */
+    public static ObjectProperty copy( ObjectProperty property ) {
+        ObjectPropertyImpl copy = new ObjectPropertyImpl( property.getName(),
+                                                          property.getClassName(),
+                                                          property.isMultiple(),
+                                                          property.getBag(),
+                                                          property.getVisibilty(),
+                                                          property.isStatic(),
+                                                          property.isFinal() );
+        if ( property instanceof ObjectPropertyImpl ) {
+            copy.setFileOrder( ( (ObjectPropertyImpl) property ).getFileOrder() );
+        }
+        for ( Annotation annotation : property.getAnnotations() ) {
+            copy.addAnnotation( copy( annotation ) );
+        }
+        return copy;
+    }
+
+    public static List<ObjectProperty> copy( List<ObjectProperty> properties ) {
+        if ( properties == null ) {
+            return null;
+        }
+        List<ObjectProperty> copy = new ArrayList<ObjectProperty>( properties.size() );
+        for ( ObjectProperty property : properties ) {
+            copy.add( copy( property ) );
+        }
+        return copy;
+    }
+
+    /**
+     * @return a copy of a given annotation, including the annotations and lists it holds as values.
+     */
+    public static Annotation copy( Annotation annotation ) {
+        Annotation copy = new AnnotationImpl( annotation.getAnnotationDefinition() );
+        for ( Map.Entry<String, Object> value : annotation.getValues().entrySet() ) {
+            copy.setValue( value.getKey(),
+                           copyValue( value.getValue() ) );
+        }
+        return copy;
+    }
+
+    private static Object copyValue( Object value ) {
+        if ( value instanceof Annotation ) {
+            return copy( (Annotation) value );
+        } else if ( value instanceof List ) {
+            List<Object> copy = new ArrayList<Object>( ( (List<?>) value ).size() );
+            for ( Object element : (List<?>) value ) {
+                copy.add( copyValue( element ) );
+            }
+            return copy;
+        }
+        //other values are strings, numbers and characters
+        return value;
+    }
+
 }
@@ -18,6 +18,8 @@ package org.kie.workbench.common.services.datamodeller.driver;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.fail;
 
 import java.io.BufferedReader;
@@ -66,6 +68,7 @@ import org.kie.workbench.common.services.datamodeller.core.impl.AnnotationImpl;
 import org.kie.workbench.common.services.datamodeller.core.impl.DataModelImpl;
 import org.kie.workbench.common.services.datamodeller.core.impl.DataObjectImpl;
 import org.kie.workbench.common.services.datamodeller.driver.impl.JavaRoasterModelDriver;
+import org.kie.workbench.common.services.datamodeller.driver.impl.ParsedJavaFileCache;
 import org.kie.workbench.common.services.datamodeller.driver.impl.UpdateInfo;
 import org.kie.workbench.common.services.datamodeller.driver.model.ModelDriverResult;
 import org.kie.workbench.common.services.datamodeller.util.DriverUtils;
@@ -154,6 +157,73 @@ public class JavaRoasterModelDriverTest {
         }
     }
 
+    @Test
+    public void modelCachedReadTest() {
+        try {
+            String uriToResource = this.getClass().getResource( "projectRoot.txt" ).toURI().toString();
+            URI uriToRootPath = URI.create( uriToResource.substring( 0, uriToResource.length() - "projectRoot.txt".length() ) );
+            Path rootPath = simpleFileSystemProvider.getPath( uriToRootPath );
+
+            ParsedJavaFileCache parsedFileCache = new ParsedJavaFileCache();
+            ModelDriverResult firstResult = new JavaRoasterModelDriver( ioService,
+                                                                        rootPath,
+                                                                        true,
+                                                                        getClass().getClassLoader(),
+                                                                        Collections.emptySet(),
+                                                                        parsedFileCache ).loadModel();
+            ModelDriverResult secondResult = new JavaRoasterModelDriver( ioService,
+                                                                         rootPath,
+                                                                         true,
+                                                                         getClass().getClassLoader(),
+                                                                         Collections.emptySet(),
+                                                                         parsedFileCache ).loadModel();
+
+            DataModel dataModelOriginal = createModel();
+
+            assertEquals( dataModelOriginal.getDataObjects().size(), secondResult.getDataModel().getDataObjects().size() );
+            for ( DataObject dataObject : dataModelOriginal.getDataObjects() ) {
+                //unchanged files are not parsed again, but every model is given its own copy of the cached results
+                assertNotSame( firstResult.getDataModel().getDataObject( dataObject.getClassName() ),
+                               secondResult.getDataModel().getDataObject( dataObject.getClassName() ) );
+                DataModelerAssert.assertEqualsDataObject( dataObject, secondResult.getDataModel().getDataObject( dataObject.getClassName() ) );
+                assertEquals( firstResult.getClassPath( dataObject.getClassName() ), secondResult.getClassPath( dataObject.getClassName() ) );
+                assertEquals( firstResult.getDataModel().getDataObject( dataObject.getClassName() ),
+                              secondResult.getDataModel().getDataObject( dataObject.getClassName() ) );
+            }
+
+            //changes to a loaded model are not seen by the models loaded afterwards
+            for ( DataObject dataObject : firstResult.getDataModel().getDataObjects() ) {
+                dataObject.addProperty( "addedProperty", String.class.getName() );
+                for ( ObjectProperty property : dataObject.getProperties() ) {
+                    property.getAnnotations().clear();
+                }
+            }
+            for ( DataObject dataObject : secondResult.getDataModel().getDataObjects() ) {
+                dataObject.getAnnotations().clear();
+            }
+
+            DataObject evictedDataObject = dataModelOriginal.getDataObjects().iterator().next();
+            parsedFileCache.evict( secondResult.getClassPath( evictedDataObject.getClassName() ).toURI() );
+
+            ModelDriverResult thirdResult = new JavaRoasterModelDriver( ioService,
+                                                                        rootPath,
+                                                                        true,
+                                                                        getClass().getClassLoader(),
+                                                                        Collections.emptySet(),
+                                                                        parsedFileCache ).loadModel();
+
+            assertEquals( dataModelOriginal.getDataObjects().size(), thirdResult.getDataModel().getDataObjects().size() );
+            for ( DataObject dataObject : dataModelOriginal.getDataObjects() ) {
+                DataModelerAssert.assertEqualsDataObject( dataObject, thirdResult.getDataModel().getDataObject( dataObject.getClassName() ) );
+                assertNull( thirdResult.getDataModel().getDataObject( dataObject.getClassName() ).getProperty( "addedProperty" ) );
+            }
+
+        } catch ( Exception e ) {
+            e.printStackTrace();
+            fail( "Test failed: " + e.getMessage() );
+        }
+    }
+
     @Test
     public void updateAnnotationsTest() {
 
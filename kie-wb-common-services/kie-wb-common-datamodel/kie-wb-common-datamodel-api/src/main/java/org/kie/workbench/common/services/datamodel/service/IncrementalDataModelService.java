@@ -15,6 +15,8 @@
  */
 package org.kie.workbench.common.services.datamodel.service;
 
+import java.util.Set;
+
 import org.drools.workbench.models.datamodel.imports.Imports;
 import org.jboss.errai.bus.server.annotations.Remote;
 import org.kie.workbench.common.services.datamodel.model.PackageDataModelOracleIncrementalPayload;
@@ -30,4 +32,15 @@ public interface IncrementalDataModelService {
                                                          final Imports imports,
                                                          final String factType );
 
+    /**
+     * Get incremental updates for multiple Fact Types in a single round-trip
+     * @param resourcePath Path of the resource for which the updates are required
+     * @param imports Imports of the resource, used to resolve simple Fact Type names
+     * @param factTypes Fact Types for which the updates are required
+     * @return Payload containing the content for all recognised Fact Types
+     */
+    PackageDataModelOracleIncrementalPayload getUpdates( final Path resourcePath,
+                                                         final Imports imports,
+                                                         final Set<String> factTypes );
+
 }
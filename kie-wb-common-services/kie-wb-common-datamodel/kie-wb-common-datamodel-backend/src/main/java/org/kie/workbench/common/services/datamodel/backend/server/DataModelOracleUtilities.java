@@ -250,6 +250,14 @@ public class DataModelOracleUtilities {
                                           final String usedFullyQualifiedClassName ) {
         final Set<String> usedFullyQualifiedClassNames = new HashSet<String>();
         usedFullyQualifiedClassNames.add( usedFullyQualifiedClassName );
+        populateDataModel( oracle,
+                           dataModel,
+                           usedFullyQualifiedClassNames );
+    }
+
+    public static void populateDataModel( final PackageDataModelOracle oracle,
+                                          final PackageDataModelOracleIncrementalPayload dataModel,
+                                          final Set<String> usedFullyQualifiedClassNames ) {
         dataModel.setModelFields( filterModelFields( usedFullyQualifiedClassNames,
                                                      oracle.getProjectModelFields() ) );
         dataModel.setFieldParametersType( filterFieldParametersTypes( usedFullyQualifiedClassNames,
@@ -26,6 +26,7 @@ import org.drools.workbench.models.datamodel.oracle.PackageDataModelOracle;
 import org.drools.workbench.models.datamodel.oracle.ProjectDataModelOracle;
 import org.guvnor.common.services.backend.exceptions.ExceptionUtilities;
 import org.guvnor.common.services.project.model.Package;
+import org.kie.workbench.common.services.datamodel.backend.server.cache.DataModelCacheWarmer;
 import org.kie.workbench.common.services.datamodel.backend.server.cache.LRUDataModelOracleCache;
 import org.kie.workbench.common.services.datamodel.backend.server.cache.LRUProjectDataModelOracleCache;
 import org.kie.workbench.common.services.datamodel.backend.server.service.DataModelService;
@@ -49,6 +50,9 @@ public class DataModelServiceImpl
     @Inject
     private KieProjectService projectService;
 
+    @Inject
+    private DataModelCacheWarmer cacheWarmer;
+
     @Override
     public PackageDataModelOracle getDataModel( final Path resourcePath ) {
         try {
@@ -65,6 +69,7 @@ public class DataModelServiceImpl
             //Retrieve (or build) oracle
             final PackageDataModelOracle oracle = cachePackages.assertPackageDataModelOracle( project,
                                                                                               pkg );
+            cacheWarmer.onPackageUsed( pkg );
             return oracle;
 
         } catch ( Exception e ) {
@@ -15,6 +15,9 @@
  */
 package org.kie.workbench.common.services.datamodel.backend.server;
 
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -60,12 +63,31 @@ public class IncrementalDataModelServiceImpl implements IncrementalDataModelServ
     public PackageDataModelOracleIncrementalPayload getUpdates( final Path resourcePath,
                                                                 final Imports imports,
                                                                 final String factType ) {
+        PortablePreconditions.checkNotNull( "factType",
+                                            factType );
+        return makeUpdates( resourcePath,
+                            imports,
+                            Collections.singleton( factType ) );
+    }
+
+    @Override
+    public PackageDataModelOracleIncrementalPayload getUpdates( final Path resourcePath,
+                                                                final Imports imports,
+                                                                final Set<String> factTypes ) {
+        PortablePreconditions.checkNotNull( "factTypes",
+                                            factTypes );
+        return makeUpdates( resourcePath,
+                            imports,
+                            factTypes );
+    }
+
+    private PackageDataModelOracleIncrementalPayload makeUpdates( final Path resourcePath,
+                                                                  final Imports imports,
+                                                                  final Set<String> factTypes ) {
         PortablePreconditions.checkNotNull( "resourcePath",
                                             resourcePath );
         PortablePreconditions.checkNotNull( "imports",
                                             imports );
-        PortablePreconditions.checkNotNull( "factType",
-                                            factType );
 
         final PackageDataModelOracleIncrementalPayload dataModel = new PackageDataModelOracleIncrementalPayload();
 
@@ -81,42 +103,68 @@ public class IncrementalDataModelServiceImpl implements IncrementalDataModelServ
                 return dataModel;
             }
 
-            //Get the fully qualified class name of the fact type
-            String fullyQualifiedClassName = factType;
-
-            //Retrieve (or build) oracle and populate incremental content
+            //Retrieve (or build) oracle once for all Fact Types
             final PackageDataModelOracle oracle = cachePackages.assertPackageDataModelOracle( project,
                                                                                               pkg );
 
-            // Check if the FactType is already known to the DataModelOracle, otherwise we need to find the FQCN
-            if ( oracle.getProjectModelFields().get( fullyQualifiedClassName ) == null ) {
-                for ( Import imp : imports.getImports() ) {
-                    if ( imp.getType().endsWith( factType ) ) {
-                        fullyQualifiedClassName = imp.getType();
-                        break;
-                    }
+            //Get the fully qualified class names of the Fact Types, ignoring those that are not recognised
+            final Set<String> fullyQualifiedClassNames = new HashSet<String>();
+            for ( String factType : factTypes ) {
+                final String fullyQualifiedClassName = resolveFullyQualifiedClassName( oracle,
+                                                                                       pkg,
+                                                                                       imports,
+                                                                                       factType );
+                if ( fullyQualifiedClassName != null ) {
+                    fullyQualifiedClassNames.add( fullyQualifiedClassName );
                 }
             }
 
-            //If the FactType isn't recognised try using the Package Name
-            if ( oracle.getProjectModelFields().get( fullyQualifiedClassName ) == null ) {
-                fullyQualifiedClassName = pkg.getPackageName() + "." + factType;
-            }
-
-            //If the FactType still isn't recognised return an empty payload
-            if ( oracle.getProjectModelFields().get( fullyQualifiedClassName ) == null ) {
+            //If no FactType is recognised return an empty payload
+            if ( fullyQualifiedClassNames.isEmpty() ) {
                 return dataModel;
             }
 
             DataModelOracleUtilities.populateDataModel( oracle,
                                                         dataModel,
-                                                        fullyQualifiedClassName );
+                                                        fullyQualifiedClassNames );
             return dataModel;
 
         } catch ( Exception e ) {
             throw ExceptionUtilities.handleException( e );
         }
+    }
+
+    private String resolveFullyQualifiedClassName( final PackageDataModelOracle oracle,
+                                                   final Package pkg,
+                                                   final Imports imports,
+                                                   final String factType ) {
+        if ( factType == null ) {
+            return null;
+        }
+
+        //Get the fully qualified class name of the fact type
+        String fullyQualifiedClassName = factType;
+
+        // Check if the FactType is already known to the DataModelOracle, otherwise we need to find the FQCN
+        if ( oracle.getProjectModelFields().get( fullyQualifiedClassName ) == null ) {
+            for ( Import imp : imports.getImports() ) {
+                if ( imp.getType().endsWith( factType ) ) {
+                    fullyQualifiedClassName = imp.getType();
+                    break;
+                }
+            }
+        }
 
+        //If the FactType isn't recognised try using the Package Name
+        if ( oracle.getProjectModelFields().get( fullyQualifiedClassName ) == null ) {
+            fullyQualifiedClassName = pkg.getPackageName() + "." + factType;
+        }
+
+        //If the FactType still isn't recognised it cannot be loaded
+        if ( oracle.getProjectModelFields().get( fullyQualifiedClassName ) == null ) {
+            return null;
+        }
+        return fullyQualifiedClassName;
     }
 
     private KieProject resolveProject( final Path resourcePath ) {
@@ -44,7 +44,7 @@ public final class PackageDataModelOracleBuilder {
 
     private final String packageName;
 
-    private PackageDataModelOracleImpl packageOracle = new PackageDataModelOracleImpl();
+    private PackageDataModelOracleImpl packageOracle;
     private ProjectDataModelOracle projectOracle = new ProjectDataModelOracleImpl();
 
     private Map<String, String[]> factFieldEnums = new HashMap<String, String[]>();
@@ -167,19 +167,8 @@ public final class PackageDataModelOracleBuilder {
     }
 
     public PackageDataModelOracle build() {
-        //Copy Project DMO into Package DMO
-        final ProjectDataModelOracleImpl pd = (ProjectDataModelOracleImpl) projectOracle;
-        packageOracle.addProjectModelFields( pd.getProjectModelFields() );
-        packageOracle.addProjectFieldParametersType( pd.getProjectFieldParametersType() );
-        packageOracle.addProjectJavaEnumDefinitions( pd.getProjectJavaEnumDefinitions() );
-        packageOracle.addProjectMethodInformation( pd.getProjectMethodInformation() );
-        packageOracle.addProjectCollectionTypes( pd.getProjectCollectionTypes() );
-        packageOracle.addProjectEventTypes( pd.getProjectEventTypes() );
-        packageOracle.addProjectTypeSources( pd.getProjectTypeSources() );
-        packageOracle.addProjectSuperTypes( pd.getProjectSuperTypes() );
-        packageOracle.addProjectTypeAnnotations( pd.getProjectTypeAnnotations() );
-        packageOracle.addProjectTypeFieldsAnnotations( pd.getProjectTypeFieldsAnnotations() );
-        packageOracle.addProjectPackageNames( pd.getProjectPackageNames() );
+        //Share Project DMO with Package DMO
+        packageOracle = new ProjectBackedPackageDataModelOracle( (ProjectDataModelOracleImpl) projectOracle );
 
         //Add Package DMO specifics
         loadEnums();
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.workbench.common.services.datamodel.backend.server.builder.packages;
+
+import java.util.Collections;
+
+import org.drools.workbench.models.commons.backend.oracle.PackageDataModelOracleImpl;
+import org.drools.workbench.models.commons.backend.oracle.ProjectDataModelOracleImpl;
+
+/**
+ * PackageDataModelOracle sharing the Project-level structures of its ProjectDataModelOracle, rather than holding a copy
+ * of them. All Packages of a Project therefore add only their Package-level structures to the heap. The Project-level
+ * structures are read-only views, as they belong to the ProjectDataModelOracle.
+ */
+class ProjectBackedPackageDataModelOracle extends PackageDataModelOracleImpl {
+
+    ProjectBackedPackageDataModelOracle( final ProjectDataModelOracleImpl projectOracle ) {
+        this.projectModelFields = Collections.unmodifiableMap( projectOracle.getProjectModelFields() );
+        this.projectFieldParametersType = Collections.unmodifiableMap( projectOracle.getProjectFieldParametersType() );
+        this.projectJavaEnumDefinitions = Collections.unmodifiableMap( projectOracle.getProjectJavaEnumDefinitions() );
+        this.projectMethodInformation = Collections.unmodifiableMap( projectOracle.getProjectMethodInformation() );
+        this.projectCollectionTypes = Collections.unmodifiableMap( projectOracle.getProjectCollectionTypes() );
+        this.projectEventTypes = Collections.unmodifiableMap( projectOracle.getProjectEventTypes() );
+        this.projectTypeSources = Collections.unmodifiableMap( projectOracle.getProjectTypeSources() );
+        this.projectSuperTypes = Collections.unmodifiableMap( projectOracle.getProjectSuperTypes() );
+        this.projectTypeAnnotations = Collections.unmodifiableMap( projectOracle.getProjectTypeAnnotations() );
+        this.projectTypeFieldsAnnotations = Collections.unmodifiableMap( projectOracle.getProjectTypeFieldsAnnotations() );
+        this.projectPackageNames = Collections.unmodifiableList( projectOracle.getProjectPackageNames() );
+    }
+
+}
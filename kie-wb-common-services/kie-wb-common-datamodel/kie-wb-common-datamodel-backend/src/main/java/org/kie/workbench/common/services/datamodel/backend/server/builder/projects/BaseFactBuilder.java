@@ -83,7 +83,7 @@ public abstract class BaseFactBuilder implements FactBuilder {
     }
 
     private String getFullClassName( final Class<?> clazz ) {
-        return clazz.getName();
+        return clazz.getName().intern();
     }
 
     public String getType() {
@@ -17,8 +17,6 @@ package org.kie.workbench.common.services.datamodel.backend.server.builder.proje
 
 import java.io.IOException;
 import java.lang.reflect.Field;
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
@@ -31,8 +29,6 @@ import org.drools.workbench.models.datamodel.oracle.Annotation;
 import org.drools.workbench.models.datamodel.oracle.MethodInfo;
 import org.drools.workbench.models.datamodel.oracle.ModelField;
 import org.drools.workbench.models.datamodel.oracle.TypeSource;
-import org.kie.workbench.common.services.datamodel.backend.server.builder.util.AnnotationUtils;
-import org.kie.workbench.common.services.datamodel.backend.server.builder.util.BlackLists;
 
 /**
  * Builder for Fact Types originating from a .class
@@ -70,9 +66,13 @@ public class ClassFactBuilder extends BaseFactBuilder {
                clazz,
                isEvent,
                typeSource );
-        this.superTypes = getSuperTypes( clazz );
-        this.annotations.addAll( AnnotationUtils.getClassAnnotations( clazz ) );
-        loadClassFields( clazz,
+        final Map<String, Class<?>> fieldTypes = new HashMap<String, Class<?>>();
+        final ClassFacts facts = getClassFacts( clazz,
+                                                fieldTypes );
+        this.superTypes = new ArrayList<String>( facts.getSuperTypes() );
+        this.annotations.addAll( facts.getAnnotations() );
+        loadClassFields( facts,
+                         fieldTypes,
                          discoveredFieldFactBuilders );
     }
 
@@ -86,88 +86,120 @@ public class ClassFactBuilder extends BaseFactBuilder {
         oracle.addProjectTypeFieldsAnnotations( buildTypeFieldsAnnotations() );
     }
 
-    private List<String> getSuperTypes( final Class<?> clazz ) {
-        ArrayList<String> strings = new ArrayList<String>();
-        Class<?> superType = clazz.getSuperclass();
-        while ( superType != null ) {
-            strings.add( superType.getName() );
-            superType = superType.getSuperclass();
+    //Information for classes shared between Projects is re-used from the ClassFactCache. The classes it references by
+    //name are resolved from the ClassLoader of the class, falling back to inspecting the class if resolution fails.
+    private ClassFacts getClassFacts( final Class<?> clazz,
+                                      final Map<String, Class<?>> fieldTypes ) throws IOException {
+        final ClassFactCache cache = builder.getClassFactCache();
+        if ( cache != null ) {
+            final ClassFacts facts = cache.getClassFacts( clazz );
+            if ( facts != null && resolveFieldTypes( clazz,
+                                                     facts,
+                                                     fieldTypes ) ) {
+                return facts;
+            }
+        }
+        fieldTypes.clear();
+        final ClassFacts facts = ClassFacts.inspect( clazz,
+                                                     typeSystemConverter,
+                                                     fieldTypes );
+        if ( cache != null ) {
+            cache.setClassFacts( clazz,
+                                 facts );
         }
+        return facts;
+    }
+
+    private boolean resolveFieldTypes( final Class<?> clazz,
+                                       final ClassFacts facts,
+                                       final Map<String, Class<?>> fieldTypes ) {
+        try {
+            for ( final ClassFacts.FieldFacts f : facts.getFields() ) {
+                if ( f.isEnum() || f.isDiscoverable() ) {
+                    resolveFieldType( clazz,
+                                      f.getReturnType(),
+                                      fieldTypes );
+                }
+                if ( f.isDiscoverable() ) {
+                    for ( final String parameterType : f.getParameterTypes() ) {
+                        resolveFieldType( clazz,
+                                          parameterType,
+                                          fieldTypes );
+                    }
+                }
+            }
+            return true;
 
-        return strings;
+        } catch ( ClassNotFoundException | LinkageError e ) {
+            return false;
+        }
     }
 
-    private void loadClassFields( final Class<?> clazz,
-                                  final Map<String, FactBuilder> discoveredFieldFactBuilders ) throws IOException {
-        if ( clazz == null ) {
-            return;
+    private void resolveFieldType( final Class<?> clazz,
+                                   final String className,
+                                   final Map<String, Class<?>> fieldTypes ) throws ClassNotFoundException {
+        if ( !fieldTypes.containsKey( className ) ) {
+            fieldTypes.put( className,
+                            Class.forName( className,
+                                           false,
+                                           clazz.getClassLoader() ) );
         }
+    }
 
+    private void loadClassFields( final ClassFacts facts,
+                                  final Map<String, Class<?>> fieldTypes,
+                                  final Map<String, FactBuilder> discoveredFieldFactBuilders ) throws IOException {
         final String factType = getType();
 
-        //Get all getters and setters for the class. This does not handle delegated properties
-        //- FIELDS need a getter ("getXXX", "isXXX") or setter ("setXXX") or are public properties
-        //- METHODS are any accessor that does not have a getter or setter
-        final ClassFieldInspector inspector = new ClassFieldInspector( clazz );
-        final Set<String> fieldNames = inspector.getFieldNames();
-
-        for ( final String fieldName : fieldNames ) {
-            final ClassFieldInspector.FieldInfo f = inspector.getFieldTypesFieldInfo().get( fieldName );
+        for ( final ClassFacts.FieldFacts f : facts.getFields() ) {
+            final String fieldName = f.getName();
             addParametricTypeForField( factType,
                                        fieldName,
-                                       f.getGenericType() );
+                                       f.getParametricType() );
 
-            final Class<?> returnType = f.getReturnType();
-            final String genericReturnType = typeSystemConverter.translateClassToGenericType( returnType );
+            final String genericReturnType = f.getGenericReturnType();
 
             addField( new ModelField( fieldName,
-                                      returnType.getName(),
+                                      f.getReturnType(),
                                       ModelField.FIELD_CLASS_TYPE.REGULAR_CLASS,
                                       f.getOrigin(),
                                       f.getAccessorAndMutator(),
                                       genericReturnType ) );
 
-            addEnumsForField( factType,
-                              fieldName,
-                              returnType );
+            if ( f.isEnum() ) {
+                addEnumsForField( factType,
+                                  fieldName,
+                                  fieldTypes.get( f.getReturnType() ) );
+            }
 
             //To prevent recursion we keep track of all ClassFactBuilder's created and re-use where applicable
-            if ( BlackLists.isReturnTypeBlackListed( returnType ) ) {
+            if ( !f.isDiscoverable() ) {
                 continue;
             }
 
-            discoverFieldFactBuilder( genericReturnType, returnType, discoveredFieldFactBuilders );
+            discoverFieldFactBuilder( genericReturnType,
+                                      fieldTypes.get( f.getReturnType() ),
+                                      discoveredFieldFactBuilders );
 
             // Check types on generic arguments
-            if ( f.getGenericType() instanceof ParameterizedType ) {
-                ParameterizedType parameterizedType = (ParameterizedType) f.getGenericType();
-
-                for ( Type parameterType : parameterizedType.getActualTypeArguments() ) {
-                    if ( discoveredFieldFactBuilders.containsKey( parameterType.getTypeName() ) ) {
-                        continue;
-                    }
-
-                    if ( parameterType instanceof Class ) {
-                        Class<?> parameterClazz = (Class<?>) parameterType;
-                        discoverFieldFactBuilder( parameterClazz.getName(),
-                                                  parameterClazz,
-                                                  discoveredFieldFactBuilders );
-                    }
+            for ( final String parameterType : f.getParameterTypes() ) {
+                if ( discoveredFieldFactBuilders.containsKey( parameterType ) ) {
+                    continue;
                 }
-
+                discoverFieldFactBuilder( parameterType,
+                                          fieldTypes.get( parameterType ),
+                                          discoveredFieldFactBuilders );
             }
 
-            Set<Annotation> fieldAnnotations = f.getAnnotations();
+            final Set<Annotation> fieldAnnotations = f.getAnnotations();
             if ( fieldAnnotations != null && !fieldAnnotations.isEmpty() ) {
-                this.fieldAnnotations.put( fieldName, f.getAnnotations() );
+                this.fieldAnnotations.put( fieldName,
+                                           fieldAnnotations );
             }
         }
 
         //Methods for use in Expressions and ActionCallMethod's
-        ClassMethodInspector methodInspector = new ClassMethodInspector( clazz,
-                                                                         typeSystemConverter );
-
-        final List<MethodInfo> methodInformation = methodInspector.getMethodInfos();
+        final List<MethodInfo> methodInformation = new ArrayList<MethodInfo>( facts.getMethodInformation() );
         for ( final MethodInfo mi : methodInformation ) {
             final String genericType = mi.getParametricReturnType();
             if ( genericType != null ) {
@@ -180,7 +212,6 @@ public class ClassFactBuilder extends BaseFactBuilder {
                                     methodInformation );
     }
 
-
     protected void discoverFieldFactBuilder( final String genericTypeName,
                                              final Class<?> genericType,
                                              final Map<String, FactBuilder> discoveredFieldFactBuilders ) throws IOException {
@@ -227,34 +258,14 @@ public class ClassFactBuilder extends BaseFactBuilder {
 
     private void addParametricTypeForField( final String className,
                                             final String fieldName,
-                                            final Type type ) {
+                                            final String parametricType ) {
         final String qualifiedFactFieldName = className + "#" + fieldName;
-        final String parametricType = getParametricType( type );
         if ( parametricType != null ) {
             fieldParametersType.put( qualifiedFactFieldName,
                                      parametricType );
         }
     }
 
-    private String getParametricType( final Type type ) {
-        if ( type instanceof ParameterizedType ) {
-            final ParameterizedType pt = (ParameterizedType) type;
-            Type parameter = null;
-            for ( final Type t : pt.getActualTypeArguments() ) {
-                parameter = t;
-            }
-            if ( parameter != null ) {
-                if ( parameter instanceof Class<?> ) {
-                    return ( (Class<?>) parameter ).getName();
-                }
-                return null;
-            } else {
-                return null;
-            }
-        }
-        return null;
-    }
-
     private Map<String, List<String>> buildSuperTypes() {
         final Map<String, List<String>> loadableSuperTypes = new HashMap<String, List<String>>();
         loadableSuperTypes.put( getType(),
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.workbench.common.services.datamodel.backend.server.builder.projects;
+
+import java.io.File;
+import java.net.URL;
+import java.security.CodeSource;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import javax.enterprise.context.ApplicationScoped;
+
+/**
+ * Server-wide cache of {@link ClassFacts} for classes loaded from JARs, or the JDK, so that classes shared by Projects
+ * (e.g. common domain model JARs and java.util types) are only inspected once. Entries are keyed by class name and the
+ * identity (location, size and modification time) of the JARs defining the class, its super-classes and all the
+ * interfaces they implement.
+ * Classes not loaded from a JAR, such as those of the Project itself, are never cached.
+ */
+@ApplicationScoped
+public class ClassFactCache {
+
+    private static final int MAX_ENTRIES = 10000;
+
+    private static final String JDK_IDENTITY = "jdk:" + System.getProperty( "java.version" );
+
+    private final Map<String, ClassFacts> facts = new LinkedHashMap<String, ClassFacts>( MAX_ENTRIES + 1,
+                                                                                         0.75f,
+                                                                                         true ) {
+        @Override
+        protected boolean removeEldestEntry( final Map.Entry<String, ClassFacts> eldest ) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    public ClassFacts getClassFacts( final Class<?> clazz ) {
+        final String key = getKey( clazz );
+        if ( key == null ) {
+            return null;
+        }
+        synchronized ( facts ) {
+            return facts.get( key );
+        }
+    }
+
+    public void setClassFacts( final Class<?> clazz,
+                               final ClassFacts classFacts ) {
+        final String key = getKey( clazz );
+        if ( key == null ) {
+            return;
+        }
+        synchronized ( facts ) {
+            facts.put( key,
+                       classFacts );
+        }
+    }
+
+    public int size() {
+        synchronized ( facts ) {
+            return facts.size();
+        }
+    }
+
+    //ClassFieldInspector inspects the fields and methods of super-classes and interfaces, so their JARs are also part of the key
+    static String getKey( final Class<?> clazz ) {
+        final StringBuilder key = new StringBuilder( clazz.getName() );
+        for ( Class<?> c : getHierarchy( clazz ) ) {
+            final String identity = getIdentity( c );
+            if ( identity == null ) {
+                return null;
+            }
+            key.append( '|' ).append( identity );
+        }
+        return key.toString();
+    }
+
+    private static Set<Class<?>> getHierarchy( final Class<?> clazz ) {
+        final Set<Class<?>> hierarchy = new LinkedHashSet<Class<?>>();
+        for ( Class<?> c = clazz; c != null; c = c.getSuperclass() ) {
+            addWithInterfaces( hierarchy,
+                               c );
+        }
+        return hierarchy;
+    }
+
+    private static void addWithInterfaces( final Set<Class<?>> hierarchy,
+                                           final Class<?> clazz ) {
+        if ( !hierarchy.add( clazz ) ) {
+            return;
+        }
+        for ( Class<?> i : clazz.getInterfaces() ) {
+            addWithInterfaces( hierarchy,
+                               i );
+        }
+    }
+
+    private static String getIdentity( final Class<?> clazz ) {
+        if ( clazz.getClassLoader() == null ) {
+            return JDK_IDENTITY;
+        }
+        final CodeSource codeSource = clazz.getProtectionDomain().getCodeSource();
+        if ( codeSource == null ) {
+            return null;
+        }
+        final URL location = codeSource.getLocation();
+        if ( location == null || !"file".equals( location.getProtocol() ) ) {
+            return null;
+        }
+        try {
+            final File file = new File( location.toURI() );
+            if ( !file.isFile() ) {
+                return null;
+            }
+            return file.getAbsolutePath() + ':' + file.length() + ':' + file.lastModified();
+
+        } catch ( Exception e ) {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.workbench.common.services.datamodel.backend.server.builder.projects;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.drools.workbench.models.datamodel.oracle.Annotation;
+import org.drools.workbench.models.datamodel.oracle.FieldAccessorsAndMutators;
+import org.drools.workbench.models.datamodel.oracle.MethodInfo;
+import org.drools.workbench.models.datamodel.oracle.ModelField;
+import org.kie.workbench.common.services.datamodel.backend.server.builder.util.AnnotationUtils;
+import org.kie.workbench.common.services.datamodel.backend.server.builder.util.BlackLists;
+
+/**
+ * Information about a class found by reflection, used by {@link ClassFactBuilder}. Types are held by name so that the
+ * information does not reference the ClassLoader of the class and can be shared between Projects; see {@link ClassFactCache}.
+ */
+public class ClassFacts {
+
+    private final List<String> superTypes;
+    private final Set<Annotation> annotations;
+    private final List<FieldFacts> fields;
+    private final List<MethodInfo> methodInformation;
+
+    private ClassFacts( final List<String> superTypes,
+                        final Set<Annotation> annotations,
+                        final List<FieldFacts> fields,
+                        final List<MethodInfo> methodInformation ) {
+        this.superTypes = Collections.unmodifiableList( superTypes );
+        this.annotations = Collections.unmodifiableSet( annotations );
+        this.fields = Collections.unmodifiableList( fields );
+        this.methodInformation = Collections.unmodifiableList( methodInformation );
+    }
+
+    /**
+     * Inspect a class.
+     * @param clazz Class to inspect
+     * @param converter Converter for field and method types
+     * @param fieldTypes Populated with the classes referenced by name from the fields of the result
+     * @return Information about the class
+     * @throws IOException
+     */
+    public static ClassFacts inspect( final Class<?> clazz,
+                                      final ClassToGenericClassConverter converter,
+                                      final Map<String, Class<?>> fieldTypes ) throws IOException {
+        final List<FieldFacts> fields = new ArrayList<FieldFacts>();
+
+        //Get all getters and setters for the class. This does not handle delegated properties
+        //- FIELDS need a getter ("getXXX", "isXXX") or setter ("setXXX") or are public properties
+        //- METHODS are any accessor that does not have a getter or setter
+        final ClassFieldInspector inspector = new ClassFieldInspector( clazz );
+        for ( final String fieldName : inspector.getFieldNames() ) {
+            final ClassFieldInspector.FieldInfo f = inspector.getFieldTypesFieldInfo().get( fieldName );
+            final Class<?> returnType = f.getReturnType();
+            fieldTypes.put( returnType.getName(),
+                            returnType );
+
+            // Check types on generic arguments
+            final List<String> parameterTypes = new ArrayList<String>();
+            if ( f.getGenericType() instanceof ParameterizedType ) {
+                final ParameterizedType parameterizedType = (ParameterizedType) f.getGenericType();
+                for ( Type parameterType : parameterizedType.getActualTypeArguments() ) {
+                    if ( parameterType instanceof Class ) {
+                        final Class<?> parameterClazz = (Class<?>) parameterType;
+                        parameterTypes.add( intern( parameterClazz.getName() ) );
+                        fieldTypes.put( parameterClazz.getName(),
+                                        parameterClazz );
+                    }
+                }
+            }
+
+            fields.add( new FieldFacts( intern( fieldName ),
+                                        intern( returnType.getName() ),
+                                        intern( converter.translateClassToGenericType( returnType ) ),
+                                        intern( getParametricType( f.getGenericType() ) ),
+                                        parameterTypes,
+                                        returnType.isEnum(),
+                                        !BlackLists.isReturnTypeBlackListed( returnType ),
+                                        f.getAccessorAndMutator(),
+                                        f.getOrigin(),
+                                        f.getAnnotations() ) );
+        }
+
+        //Methods for use in Expressions and ActionCallMethod's
+        final ClassMethodInspector methodInspector = new ClassMethodInspector( clazz,
+                                                                               converter );
+
+        return new ClassFacts( getSuperTypes( clazz ),
+                               new LinkedHashSet<Annotation>( AnnotationUtils.getClassAnnotations( clazz ) ),
+                               fields,
+                               methodInspector.getMethodInfos() );
+    }
+
+    private static List<String> getSuperTypes( final Class<?> clazz ) {
+        final List<String> strings = new ArrayList<String>();
+        Class<?> superType = clazz.getSuperclass();
+        while ( superType != null ) {
+            strings.add( intern( superType.getName() ) );
+            superType = superType.getSuperclass();
+        }
+        return strings;
+    }
+
+    //The same classes are loaded by the ClassLoader of each Project; intern their names so all Projects share one copy
+    private static String intern( final String value ) {
+        return value == null ? null : value.intern();
+    }
+
+    private static String getParametricType( final Type type ) {
+        if ( type instanceof ParameterizedType ) {
+            final ParameterizedType pt = (ParameterizedType) type;
+            Type parameter = null;
+            for ( final Type t : pt.getActualTypeArguments() ) {
+                parameter = t;
+            }
+            if ( parameter != null ) {
+                if ( parameter instanceof Class<?> ) {
+                    return ( (Class<?>) parameter ).getName();
+                }
+                return null;
+            } else {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    public List<String> getSuperTypes() {
+        return superTypes;
+    }
+
+    public Set<Annotation> getAnnotations() {
+        return annotations;
+    }
+
+    public List<FieldFacts> getFields() {
+        return fields;
+    }
+
+    public List<MethodInfo> getMethodInformation() {
+        return methodInformation;
+    }
+
+    public static class FieldFacts {
+
+        private final String name;
+        private final String returnType;
+        private final String genericReturnType;
+        private final String parametricType;
+        private final List<String> parameterTypes;
+        private final boolean isEnum;
+        private final boolean isDiscoverable;
+        private final FieldAccessorsAndMutators accessorAndMutator;
+        private final ModelField.FIELD_ORIGIN origin;
+        private final Set<Annotation> annotations;
+
+        private FieldFacts( final String name,
+                            final String returnType,
+                            final String genericReturnType,
+                            final String parametricType,
+                            final List<String> parameterTypes,
+                            final boolean isEnum,
+                            final boolean isDiscoverable,
+                            final FieldAccessorsAndMutators accessorAndMutator,
+                            final ModelField.FIELD_ORIGIN origin,
+                            final Set<Annotation> annotations ) {
+            this.name = name;
+            this.returnType = returnType;
+            this.genericReturnType = genericReturnType;
+            this.parametricType = parametricType;
+            this.parameterTypes = Collections.unmodifiableList( parameterTypes );
+            this.isEnum = isEnum;
+            this.isDiscoverable = isDiscoverable;
+            this.accessorAndMutator = accessorAndMutator;
+            this.origin = origin;
+            this.annotations = annotations;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getReturnType() {
+            return returnType;
+        }
+
+        public String getGenericReturnType() {
+            return genericReturnType;
+        }
+
+        /**
+         * @return The class name of the last generic argument of the field type, or null if not a parameterized type.
+         */
+        public String getParametricType() {
+            return parametricType;
+        }
+
+        /**
+         * @return The class names of the generic arguments of the field type that are classes.
+         */
+        public List<String> getParameterTypes() {
+            return parameterTypes;
+        }
+
+        public boolean isEnum() {
+            return isEnum;
+        }
+
+        /**
+         * @return true if Fact Types should be discovered for the field type, i.e. it is neither an array nor primitive.
+         */
+        public boolean isDiscoverable() {
+            return isDiscoverable;
+        }
+
+        public FieldAccessorsAndMutators getAccessorAndMutator() {
+            return accessorAndMutator;
+        }
+
+        public ModelField.FIELD_ORIGIN getOrigin() {
+            return origin;
+        }
+
+        public Set<Annotation> getAnnotations() {
+            return annotations;
+        }
+    }
+
+}
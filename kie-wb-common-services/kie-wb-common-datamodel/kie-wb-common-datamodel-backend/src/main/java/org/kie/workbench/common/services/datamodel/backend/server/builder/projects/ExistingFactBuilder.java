@@ -0,0 +1,160 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.workbench.common.services.datamodel.backend.server.builder.projects;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.drools.workbench.models.commons.backend.oracle.ProjectDataModelOracleImpl;
+import org.drools.workbench.models.datamodel.oracle.ProjectDataModelOracle;
+
+/**
+ * Builder for Fact Types copied from an existing ProjectDataModelOracle, used to avoid re-inspecting classes that
+ * have not changed since the existing ProjectDataModelOracle was built.
+ */
+public class ExistingFactBuilder implements FactBuilder {
+
+    private final ProjectDataModelOracleBuilder builder;
+    private final ExistingOracle existingOracle;
+    private final String type;
+
+    private final Map<String, FactBuilder> internalBuilders = new HashMap<String, FactBuilder>();
+
+    ExistingFactBuilder( final ProjectDataModelOracleBuilder builder,
+                         final ExistingOracle existingOracle,
+                         final String type ) {
+        this.builder = builder;
+        this.existingOracle = existingOracle;
+        this.type = type;
+    }
+
+    @Override
+    public String getType() {
+        return type;
+    }
+
+    @Override
+    public ProjectDataModelOracleBuilder end() {
+        return builder;
+    }
+
+    ExistingFactBuilder addInternalFact( final String internalType ) {
+        internalBuilders.put( internalType,
+                              new ExistingFactBuilder( builder,
+                                                       existingOracle,
+                                                       internalType ) );
+        return this;
+    }
+
+    @Override
+    public Map<String, FactBuilder> getInternalBuilders() {
+        return internalBuilders;
+    }
+
+    @Override
+    public void build( final ProjectDataModelOracleImpl oracle ) {
+        final ProjectDataModelOracle existing = existingOracle.getOracle();
+        if ( existing.getProjectModelFields().containsKey( type ) ) {
+            oracle.addProjectModelFields( Collections.singletonMap( type,
+                                                                    existing.getProjectModelFields().get( type ) ) );
+        }
+        if ( existing.getProjectCollectionTypes().containsKey( type ) ) {
+            oracle.addProjectCollectionTypes( Collections.singletonMap( type,
+                                                                        existing.getProjectCollectionTypes().get( type ) ) );
+        }
+        if ( existing.getProjectEventTypes().containsKey( type ) ) {
+            oracle.addProjectEventTypes( Collections.singletonMap( type,
+                                                                   existing.getProjectEventTypes().get( type ) ) );
+        }
+        if ( existing.getProjectTypeSources().containsKey( type ) ) {
+            oracle.addProjectTypeSources( Collections.singletonMap( type,
+                                                                    existing.getProjectTypeSources().get( type ) ) );
+        }
+        if ( existing.getProjectSuperTypes().containsKey( type ) ) {
+            oracle.addProjectSuperTypes( Collections.singletonMap( type,
+                                                                   existing.getProjectSuperTypes().get( type ) ) );
+        }
+        if ( existing.getProjectTypeAnnotations().containsKey( type ) ) {
+            oracle.addProjectTypeAnnotations( Collections.singletonMap( type,
+                                                                        existing.getProjectTypeAnnotations().get( type ) ) );
+        }
+        if ( existing.getProjectTypeFieldsAnnotations().containsKey( type ) ) {
+            oracle.addProjectTypeFieldsAnnotations( Collections.singletonMap( type,
+                                                                              existing.getProjectTypeFieldsAnnotations().get( type ) ) );
+        }
+        if ( existing.getProjectMethodInformation().containsKey( type ) ) {
+            oracle.addProjectMethodInformation( Collections.singletonMap( type,
+                                                                          existing.getProjectMethodInformation().get( type ) ) );
+        }
+        oracle.addProjectFieldParametersType( existingOracle.getFieldParametersType( type ) );
+        oracle.addProjectJavaEnumDefinitions( existingOracle.getJavaEnumDefinitions( type ) );
+    }
+
+    /**
+     * An existing ProjectDataModelOracle, with the entries keyed by Fact Type and field ("FactType#field") grouped by
+     * Fact Type so they can be copied without scanning the whole ProjectDataModelOracle for each Fact Type.
+     */
+    static class ExistingOracle {
+
+        private final ProjectDataModelOracle oracle;
+        private final Map<String, Map<String, String>> fieldParametersType;
+        private final Map<String, Map<String, String[]>> javaEnumDefinitions;
+
+        ExistingOracle( final ProjectDataModelOracle oracle ) {
+            this.oracle = oracle;
+            this.fieldParametersType = groupByFactType( oracle.getProjectFieldParametersType() );
+            this.javaEnumDefinitions = groupByFactType( oracle.getProjectJavaEnumDefinitions() );
+        }
+
+        ProjectDataModelOracle getOracle() {
+            return oracle;
+        }
+
+        Map<String, String> getFieldParametersType( final String type ) {
+            final Map<String, String> entries = fieldParametersType.get( type );
+            return entries == null ? Collections.<String, String>emptyMap() : entries;
+        }
+
+        Map<String, String[]> getJavaEnumDefinitions( final String type ) {
+            final Map<String, String[]> entries = javaEnumDefinitions.get( type );
+            return entries == null ? Collections.<String, String[]>emptyMap() : entries;
+        }
+
+        private static <V> Map<String, Map<String, V>> groupByFactType( final Map<String, V> entries ) {
+            final Map<String, Map<String, V>> grouped = new HashMap<String, Map<String, V>>();
+            for ( Map.Entry<String, V> e : entries.entrySet() ) {
+                final String qualifiedFactField = e.getKey();
+                final int separator = qualifiedFactField.indexOf( '#' );
+                if ( separator < 0 ) {
+                    continue;
+                }
+                final String factType = qualifiedFactField.substring( 0,
+                                                                      separator );
+                Map<String, V> factTypeEntries = grouped.get( factType );
+                if ( factTypeEntries == null ) {
+                    factTypeEntries = new HashMap<String, V>();
+                    grouped.put( factType,
+                                 factTypeEntries );
+                }
+                factTypeEntries.put( qualifiedFactField,
+                                     e.getValue() );
+            }
+            return grouped;
+        }
+    }
+
+}
@@ -24,6 +24,8 @@ import org.drools.workbench.models.commons.backend.oracle.ProjectDataModelOracle
  */
 public interface FactBuilder {
 
+    public String getType();
+
     public ProjectDataModelOracleBuilder end();
 
     public Map<String, FactBuilder> getInternalBuilders();
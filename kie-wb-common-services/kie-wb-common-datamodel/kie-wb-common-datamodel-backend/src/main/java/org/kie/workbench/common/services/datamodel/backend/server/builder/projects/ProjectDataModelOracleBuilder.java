@@ -19,8 +19,10 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.drools.workbench.models.commons.backend.oracle.ProjectDataModelOracleImpl;
 import org.drools.workbench.models.datamodel.oracle.ProjectDataModelOracle;
@@ -34,19 +36,38 @@ public final class ProjectDataModelOracleBuilder {
 
     private ProjectDataModelOracleImpl oracle = new ProjectDataModelOracleImpl();
 
+    private final ClassFactCache classFactCache;
+
     private Map<String, FactBuilder> factTypeBuilders = new HashMap<String, FactBuilder>();
     private Map<String, String[]> factFieldEnums = new HashMap<String, String[]>();
     private List<String> packageNames = new ArrayList<String>();
 
     private final Map<String, FactBuilder> discoveredFieldFactBuilders = new HashMap<String, FactBuilder>();
 
+    private final Map<String, Set<String>> factTypeDependencies = new HashMap<String, Set<String>>();
+    private ExistingFactBuilder.ExistingOracle existingOracle;
+
     private List<String> errors = new ArrayList<String>();
 
     public static ProjectDataModelOracleBuilder newProjectOracleBuilder() {
-        return new ProjectDataModelOracleBuilder();
+        return new ProjectDataModelOracleBuilder( null );
+    }
+
+    /**
+     * Create a builder re-using the information of classes already inspected for other Projects.
+     * @param classFactCache Server-wide cache of class information
+     * @return The builder
+     */
+    public static ProjectDataModelOracleBuilder newProjectOracleBuilder( final ClassFactCache classFactCache ) {
+        return new ProjectDataModelOracleBuilder( classFactCache );
     }
 
-    private ProjectDataModelOracleBuilder() {
+    private ProjectDataModelOracleBuilder( final ClassFactCache classFactCache ) {
+        this.classFactCache = classFactCache;
+    }
+
+    ClassFactCache getClassFactCache() {
+        return classFactCache;
     }
 
     //Used by tests
@@ -101,6 +122,31 @@ public final class ProjectDataModelOracleBuilder {
         return this;
     }
 
+    /**
+     * Add a Fact Type, and the Fact Types of its fields, copied from an existing ProjectDataModelOracle. This avoids
+     * re-inspecting classes that have not changed since the existing ProjectDataModelOracle was built.
+     * @param factType Fact Type to copy
+     * @param internalFactTypes Fact Types discovered from the fields of the Fact Type, see {@link #getFactTypeDependencies()}
+     * @param oracle Existing ProjectDataModelOracle. All Fact Types added by this method must come from the same one.
+     * @return this
+     */
+    public ProjectDataModelOracleBuilder addExistingFact( final String factType,
+                                                         final Collection<String> internalFactTypes,
+                                                         final ProjectDataModelOracle oracle ) {
+        if ( existingOracle == null || existingOracle.getOracle() != oracle ) {
+            existingOracle = new ExistingFactBuilder.ExistingOracle( oracle );
+        }
+        final ExistingFactBuilder builder = new ExistingFactBuilder( this,
+                                                                     existingOracle,
+                                                                     factType );
+        for ( final String internalFactType : internalFactTypes ) {
+            builder.addInternalFact( internalFactType );
+        }
+        factTypeBuilders.put( factType,
+                              builder );
+        return this;
+    }
+
     public ProjectDataModelOracleBuilder addEnum( final String factType,
                                                   final String fieldName,
                                                   final String[] values ) {
@@ -147,7 +193,14 @@ public final class ProjectDataModelOracleBuilder {
     private void loadFactTypes() {
 
         for ( final FactBuilder factBuilder : new ArrayList<FactBuilder>( this.factTypeBuilders.values() ) ) {
-            this.factTypeBuilders.putAll( factBuilder.getInternalBuilders() );
+            final Map<String, FactBuilder> internalBuilders = factBuilder.getInternalBuilders();
+            final Set<String> internalFactTypes = new HashSet<String>();
+            for ( final FactBuilder internalBuilder : internalBuilders.values() ) {
+                internalFactTypes.add( internalBuilder.getType() );
+            }
+            this.factTypeDependencies.put( factBuilder.getType(),
+                                           internalFactTypes );
+            this.factTypeBuilders.putAll( internalBuilders );
         }
 
         for ( final FactBuilder factBuilder : this.factTypeBuilders.values() ) {
@@ -166,6 +219,14 @@ public final class ProjectDataModelOracleBuilder {
         oracle.addProjectJavaEnumDefinitions( loadableEnums );
     }
 
+    /**
+     * The Fact Types discovered from the fields of each Fact Type added to this builder. Available once built.
+     * @return Map of Fact Type to the Fact Types discovered from its fields
+     */
+    public Map<String, Set<String>> getFactTypeDependencies() {
+        return factTypeDependencies;
+    }
+
     public void addPackage( String packageName ) {
         this.packageNames.add( packageName );
     }
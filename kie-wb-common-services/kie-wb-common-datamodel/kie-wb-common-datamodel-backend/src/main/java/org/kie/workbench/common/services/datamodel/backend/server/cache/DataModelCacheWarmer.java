@@ -0,0 +1,330 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodel.backend.server.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.guvnor.common.services.project.builder.events.InvalidateDMOPackageCacheEvent;
+import org.guvnor.common.services.project.builder.events.InvalidateDMOProjectCacheEvent;
+import org.guvnor.common.services.project.model.Package;
+import org.guvnor.common.services.project.model.Project;
+import org.kie.workbench.common.services.shared.project.KieProject;
+import org.kie.workbench.common.services.shared.project.KieProjectService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.commons.services.cdi.Startup;
+import org.uberfire.io.IOService;
+
+/**
+ * Re-creates the Package DataModelOracles (and hence the Builders and Project DataModelOracles) of the Packages most
+ * recently used by editors, so the next user opening an asset does not wait for a full build. Packages are warmed on a
+ * single low priority thread, scheduled once neither an editor has requested a DataModelOracle nor a cache has been
+ * invalidated for a "quiet period", so warming never competes with interactive requests and repeated invalidations
+ * are merged into one warm. Packages are warmed when their, or their Project's, caches are invalidated and, if System
+ * Property {@link #RECENT_PACKAGES_FILE} is set, on start-up for the Packages used before the server stopped.
+ */
+@Startup
+@ApplicationScoped
+public class DataModelCacheWarmer {
+
+    /**
+     * System Property to configure the file in which the most recently used Packages are stored across restarts.
+     */
+    public static final String RECENT_PACKAGES_FILE = "org.kie.workbench.datamodel.warmer.file";
+
+    /**
+     * System Property to configure the time, in milliseconds, without interactive requests before a Package is warmed.
+     */
+    public static final String QUIET_PERIOD = "org.kie.workbench.datamodel.warmer.quietPeriod";
+
+    private static final Logger logger = LoggerFactory.getLogger( DataModelCacheWarmer.class );
+
+    private static final int MAX_RECENT_PACKAGES = 20;
+    private static final long DEFAULT_QUIET_PERIOD = 5000;
+
+    private IOService ioService;
+    private KieProjectService projectService;
+    private LRUDataModelOracleCache cachePackages;
+
+    private File recentPackagesFile;
+    private long quietPeriod;
+
+    //URIs of the main resources folder of the most recently used Packages, least recently used first
+    private final Map<String, Boolean> recentPackages = new LinkedHashMap<String, Boolean>( MAX_RECENT_PACKAGES + 1,
+                                                                                            0.75f,
+                                                                                            true ) {
+        @Override
+        protected boolean removeEldestEntry( final Map.Entry<String, Boolean> eldest ) {
+            return size() > MAX_RECENT_PACKAGES;
+        }
+    };
+
+    private final Set<String> pendingPackages = new LinkedHashSet<String>();
+    private ScheduledFuture<?> scheduledWarm;
+    private long lastInvalidation = 0;
+
+    private volatile long lastInteractiveRequest = 0;
+
+    private ScheduledExecutorService executor;
+
+    public DataModelCacheWarmer() {
+        //Empty constructor for Weld
+    }
+
+    @Inject
+    public DataModelCacheWarmer( final @Named("ioStrategy") IOService ioService,
+                                 final KieProjectService projectService,
+                                 final @Named("PackageDataModelOracleCache") LRUDataModelOracleCache cachePackages ) {
+        this( ioService,
+              projectService,
+              cachePackages,
+              getRecentPackagesFile(),
+              Long.getLong( QUIET_PERIOD,
+                            DEFAULT_QUIET_PERIOD ) );
+    }
+
+    DataModelCacheWarmer( final IOService ioService,
+                          final KieProjectService projectService,
+                          final LRUDataModelOracleCache cachePackages,
+                          final File recentPackagesFile,
+                          final long quietPeriod ) {
+        this.ioService = ioService;
+        this.projectService = projectService;
+        this.cachePackages = cachePackages;
+        this.recentPackagesFile = recentPackagesFile;
+        this.quietPeriod = quietPeriod;
+    }
+
+    @PostConstruct
+    public void init() {
+        executor = Executors.newSingleThreadScheduledExecutor( ( runnable ) -> {
+            final Thread thread = new Thread( runnable,
+                                              "datamodel-cache-warmer" );
+            thread.setDaemon( true );
+            thread.setPriority( Thread.MIN_PRIORITY );
+            return thread;
+        } );
+
+        final List<String> packages = loadRecentPackages();
+        synchronized ( this ) {
+            for ( String uri : packages ) {
+                recentPackages.put( uri,
+                                    Boolean.TRUE );
+            }
+            pendingPackages.addAll( packages );
+        }
+        scheduleWarm( 0 );
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if ( executor != null ) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Record that a Package's DataModelOracle has been requested by a user.
+     * @param pkg The Package
+     */
+    public void onPackageUsed( final Package pkg ) {
+        lastInteractiveRequest = System.currentTimeMillis();
+        if ( pkg == null || pkg.getPackageMainResourcesPath() == null ) {
+            return;
+        }
+        final String uri = pkg.getPackageMainResourcesPath().toURI();
+        final boolean added;
+        synchronized ( this ) {
+            added = recentPackages.put( uri,
+                                        Boolean.TRUE ) == null;
+        }
+        //The order of use is only persisted when a Package is added to avoid writing on every request
+        if ( added && recentPackagesFile != null ) {
+            executor.execute( this::saveRecentPackages );
+        }
+    }
+
+    public void onInvalidateDMOProjectCache( @Observes final InvalidateDMOProjectCacheEvent event ) {
+        final Project project = event.getProject();
+        if ( project == null || project.getRootPath() == null ) {
+            return;
+        }
+        final String rootUri = project.getRootPath().toURI();
+        final String projectUri = rootUri.endsWith( "/" ) ? rootUri : rootUri + "/";
+        final List<String> packages = new ArrayList<String>();
+        synchronized ( this ) {
+            for ( String uri : recentPackages.keySet() ) {
+                if ( uri.startsWith( projectUri ) ) {
+                    packages.add( uri );
+                }
+            }
+        }
+        warm( packages );
+    }
+
+    //Only the invalidated Package needs to be warmed when the enumerations, DSLs or globals of a Package change
+    public void onInvalidateDMOPackageCache( @Observes final InvalidateDMOPackageCacheEvent event ) {
+        final Package pkg = projectService.resolvePackage( event.getResourcePath() );
+        if ( pkg == null || pkg.getPackageMainResourcesPath() == null ) {
+            return;
+        }
+        final String uri = pkg.getPackageMainResourcesPath().toURI();
+        final List<String> packages = new ArrayList<String>();
+        synchronized ( this ) {
+            if ( recentPackages.containsKey( uri ) ) {
+                packages.add( uri );
+            }
+        }
+        warm( packages );
+    }
+
+    synchronized List<String> getRecentPackages() {
+        return new ArrayList<String>( recentPackages.keySet() );
+    }
+
+    private void warm( final List<String> packages ) {
+        if ( packages.isEmpty() ) {
+            return;
+        }
+        synchronized ( this ) {
+            pendingPackages.addAll( packages );
+            lastInvalidation = System.currentTimeMillis();
+        }
+        scheduleWarm( quietPeriod );
+    }
+
+    private synchronized void scheduleWarm( final long delay ) {
+        if ( scheduledWarm != null || pendingPackages.isEmpty() || executor.isShutdown() ) {
+            return;
+        }
+        scheduledWarm = executor.schedule( this::warmPendingPackages,
+                                           delay,
+                                           TimeUnit.MILLISECONDS );
+    }
+
+    private void warmPendingPackages() {
+        synchronized ( this ) {
+            scheduledWarm = null;
+        }
+        while ( !Thread.currentThread().isInterrupted() ) {
+            final String uri;
+            synchronized ( this ) {
+                //Wait for the remainder of the quiet period without holding the thread
+                final long wait = Math.max( lastInteractiveRequest,
+                                            lastInvalidation ) + quietPeriod - System.currentTimeMillis();
+                if ( wait > 0 ) {
+                    scheduleWarm( wait );
+                    return;
+                }
+                final Iterator<String> itr = pendingPackages.iterator();
+                if ( !itr.hasNext() ) {
+                    return;
+                }
+                uri = itr.next();
+                itr.remove();
+            }
+            try {
+                warmPackage( uri );
+
+            } catch ( Exception e ) {
+                logger.debug( "Unable to warm DataModelOracle cache for '" + uri + "': " + e.getMessage() );
+            }
+        }
+    }
+
+    private void warmPackage( final String uri ) {
+        final Path path = Paths.convert( ioService.get( URI.create( uri ) ) );
+        final KieProject project = projectService.resolveProject( path );
+        final Package pkg = projectService.resolvePackage( path );
+        if ( project == null || pkg == null ) {
+            synchronized ( this ) {
+                recentPackages.remove( uri );
+            }
+            return;
+        }
+        //Packages whose DataModelOracle has been re-created since being invalidated need not be warmed
+        if ( cachePackages.hasPackageDataModelOracle( pkg ) ) {
+            return;
+        }
+        cachePackages.assertPackageDataModelOracle( project,
+                                                    pkg );
+    }
+
+    private List<String> loadRecentPackages() {
+        final List<String> packages = new ArrayList<String>();
+        if ( recentPackagesFile == null || !recentPackagesFile.isFile() ) {
+            return packages;
+        }
+        try {
+            for ( String line : java.nio.file.Files.readAllLines( recentPackagesFile.toPath(),
+                                                                  StandardCharsets.UTF_8 ) ) {
+                if ( !line.trim().isEmpty() ) {
+                    packages.add( line.trim() );
+                }
+            }
+        } catch ( IOException e ) {
+            logger.warn( "Unable to read recently used Packages from '" + recentPackagesFile.getAbsolutePath() + "': " + e.getMessage() );
+        }
+        return packages;
+    }
+
+    private void saveRecentPackages() {
+        try {
+            final File parent = recentPackagesFile.getAbsoluteFile().getParentFile();
+            if ( parent != null && !parent.isDirectory() && !parent.mkdirs() ) {
+                logger.warn( "Unable to create directory '" + parent.getAbsolutePath() + "'." );
+                return;
+            }
+            java.nio.file.Files.write( recentPackagesFile.toPath(),
+                                       getRecentPackages(),
+                                       StandardCharsets.UTF_8 );
+        } catch ( IOException e ) {
+            logger.warn( "Unable to write recently used Packages to '" + recentPackagesFile.getAbsolutePath() + "': " + e.getMessage() );
+        }
+    }
+
+    private static File getRecentPackagesFile() {
+        final String value = System.getProperty( RECENT_PACKAGES_FILE );
+        if ( value == null || value.trim().isEmpty() ) {
+            return null;
+        }
+        return new File( value.trim() );
+    }
+
+}
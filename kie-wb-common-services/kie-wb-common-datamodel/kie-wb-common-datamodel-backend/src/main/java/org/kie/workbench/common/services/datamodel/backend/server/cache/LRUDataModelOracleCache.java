@@ -77,7 +77,9 @@ public class LRUDataModelOracleCache extends LRUCache<Package, PackageDataModelO
     @Inject
     private LRUBuilderCache builderCache;
 
-    public synchronized void invalidatePackageCache( @Observes final InvalidateDMOPackageCacheEvent event ) {
+    private final SingleFlightLoader<Package, PackageDataModelOracle> loader = new SingleFlightLoader<Package, PackageDataModelOracle>();
+
+    public void invalidatePackageCache( @Observes final InvalidateDMOPackageCacheEvent event ) {
         PortablePreconditions.checkNotNull( "event",
                                             event );
         final Path resourcePath = event.getResourcePath();
@@ -85,11 +87,15 @@ public class LRUDataModelOracleCache extends LRUCache<Package, PackageDataModelO
 
         //If resource was not within a Package there's nothing to invalidate
         if ( pkg != null ) {
-            invalidateCache( pkg );
+            //Invalidate Oracles being created before removing any existing Oracle, without holding this cache's lock
+            loader.invalidate( pkg );
+            synchronized ( this ) {
+                invalidateCache( pkg );
+            }
         }
     }
 
-    public synchronized void invalidateProjectPackagesCache( @Observes final InvalidateDMOProjectCacheEvent event ) {
+    public void invalidateProjectPackagesCache( @Observes final InvalidateDMOProjectCacheEvent event ) {
         PortablePreconditions.checkNotNull( "event",
                                             event );
         final Path resourcePath = event.getResourcePath();
@@ -101,38 +107,74 @@ public class LRUDataModelOracleCache extends LRUCache<Package, PackageDataModelO
         }
 
         final String projectUri = project.getRootPath().toURI();
-        final List<Package> cacheEntriesToInvalidate = new ArrayList<Package>();
-        for ( final Package pkg : getKeys() ) {
-            final Path packageMainSrcPath = pkg.getPackageMainSrcPath();
-            final Path packageTestSrcPath = pkg.getPackageTestSrcPath();
-            final Path packageMainResourcesPath = pkg.getPackageMainResourcesPath();
-            final Path packageTestResourcesPath = pkg.getPackageTestResourcesPath();
-            if ( packageMainSrcPath != null && packageMainSrcPath.toURI().startsWith( projectUri ) ) {
-                cacheEntriesToInvalidate.add( pkg );
-            } else if ( packageTestSrcPath != null && packageTestSrcPath.toURI().startsWith( projectUri ) ) {
-                cacheEntriesToInvalidate.add( pkg );
-            } else if ( packageMainResourcesPath != null && packageMainResourcesPath.toURI().startsWith( projectUri ) ) {
-                cacheEntriesToInvalidate.add( pkg );
-            } else if ( packageTestResourcesPath != null && packageTestResourcesPath.toURI().startsWith( projectUri ) ) {
-                cacheEntriesToInvalidate.add( pkg );
+
+        //Invalidate Oracles being created before removing any existing Oracles, without holding this cache's lock
+        loader.invalidate( ( pkg ) -> isPackageInProject( pkg,
+                                                          projectUri ) );
+        synchronized ( this ) {
+            final List<Package> cacheEntriesToInvalidate = new ArrayList<Package>();
+            for ( final Package pkg : new ArrayList<Package>( getKeys() ) ) {
+                if ( isPackageInProject( pkg,
+                                         projectUri ) ) {
+                    cacheEntriesToInvalidate.add( pkg );
+                }
+            }
+            for ( final Package pkg : cacheEntriesToInvalidate ) {
+                invalidateCache( pkg );
             }
         }
-        for ( final Package pkg : cacheEntriesToInvalidate ) {
-            invalidateCache( pkg );
+    }
+
+    private boolean isPackageInProject( final Package pkg,
+                                        final String projectUri ) {
+        final Path packageMainSrcPath = pkg.getPackageMainSrcPath();
+        final Path packageTestSrcPath = pkg.getPackageTestSrcPath();
+        final Path packageMainResourcesPath = pkg.getPackageMainResourcesPath();
+        final Path packageTestResourcesPath = pkg.getPackageTestResourcesPath();
+        if ( packageMainSrcPath != null && packageMainSrcPath.toURI().startsWith( projectUri ) ) {
+            return true;
+        } else if ( packageTestSrcPath != null && packageTestSrcPath.toURI().startsWith( projectUri ) ) {
+            return true;
+        } else if ( packageMainResourcesPath != null && packageMainResourcesPath.toURI().startsWith( projectUri ) ) {
+            return true;
+        } else if ( packageTestResourcesPath != null && packageTestResourcesPath.toURI().startsWith( projectUri ) ) {
+            return true;
         }
+        return false;
     }
 
     //Check the DataModelOracle for the Package has been created, otherwise create one!
-    public synchronized PackageDataModelOracle assertPackageDataModelOracle( final KieProject project,
-                                                                             final Package pkg ) {
-        PackageDataModelOracle oracle = getEntry( pkg );
-        if ( oracle == null ) {
-            oracle = makePackageDataModelOracle( project,
-                                                 pkg );
-            setEntry( pkg,
-                      oracle );
+    //Oracles for different Packages are created concurrently; concurrent requests for the same Package share one creation.
+    public PackageDataModelOracle assertPackageDataModelOracle( final KieProject project,
+                                                                final Package pkg ) {
+        final PackageDataModelOracle oracle = getPackageOracle( pkg );
+        if ( oracle != null ) {
+            return oracle;
         }
-        return oracle;
+        return loader.load( pkg,
+                            () -> makePackageDataModelOracle( project,
+                                                              pkg ),
+                            ( packageOracle ) -> setPackageOracle( pkg,
+                                                                   packageOracle ) );
+    }
+
+    /**
+     * @param pkg The Package
+     * @return true if the DataModelOracle for the Package has been created and not since been invalidated
+     */
+    public boolean hasPackageDataModelOracle( final Package pkg ) {
+        return getPackageOracle( pkg ) != null;
+    }
+
+    //The underlying map is access-ordered, so reads change it too and must hold the same lock as writes
+    private synchronized PackageDataModelOracle getPackageOracle( final Package pkg ) {
+        return getEntry( pkg );
+    }
+
+    private synchronized void setPackageOracle( final Package pkg,
+                                                final PackageDataModelOracle oracle ) {
+        setEntry( pkg,
+                  oracle );
     }
 
     private PackageDataModelOracle makePackageDataModelOracle( final KieProject project,
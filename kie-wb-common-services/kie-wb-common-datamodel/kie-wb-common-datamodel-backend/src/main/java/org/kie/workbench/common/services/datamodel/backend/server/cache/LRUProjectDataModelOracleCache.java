@@ -15,6 +15,8 @@
 
 package org.kie.workbench.common.services.datamodel.backend.server.cache;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Observes;
 import javax.inject.Inject;
@@ -23,6 +25,9 @@ import javax.inject.Named;
 import org.drools.workbench.models.datamodel.oracle.ProjectDataModelOracle;
 import org.guvnor.common.services.backend.cache.LRUCache;
 import org.guvnor.common.services.project.builder.events.InvalidateDMOProjectCacheEvent;
+import org.guvnor.common.services.project.events.DeleteProjectEvent;
+import org.guvnor.common.services.project.events.RenameProjectEvent;
+import org.guvnor.common.services.project.model.Project;
 import org.kie.workbench.common.services.backend.builder.LRUBuilderCache;
 import org.kie.workbench.common.services.shared.project.KieProject;
 import org.kie.workbench.common.services.shared.project.KieProjectService;
@@ -30,17 +35,32 @@ import org.uberfire.backend.vfs.Path;
 import org.uberfire.commons.validation.PortablePreconditions;
 
 /**
- * A simple LRU cache for Project DataModelOracles
+ * A simple LRU cache for Project DataModelOracles. The Fact Types of the most recently built DataModelOracles are
+ * retained following invalidation so that only those Fact Types whose classes have changed need to be re-inspected.
+ * They are discarded once the Project is deleted or renamed.
  */
 @ApplicationScoped
 @Named("ProjectDataModelOracleCache")
 public class LRUProjectDataModelOracleCache
         extends LRUCache<KieProject, ProjectDataModelOracle> {
 
+    private static final int MAX_PREVIOUS_TYPES = 20;
+
     private ProjectDataModelOracleBuilderProvider builderProvider;
     private KieProjectService projectService;
     private LRUBuilderCache cache;
 
+    private final SingleFlightLoader<KieProject, ProjectDataModelOracleTypes> loader = new SingleFlightLoader<KieProject, ProjectDataModelOracleTypes>();
+
+    private final Map<KieProject, ProjectDataModelOracleTypes> previousTypes = new LinkedHashMap<KieProject, ProjectDataModelOracleTypes>( MAX_PREVIOUS_TYPES + 1,
+                                                                                                                                            0.75f,
+                                                                                                                                            true ) {
+        @Override
+        protected boolean removeEldestEntry( final Map.Entry<KieProject, ProjectDataModelOracleTypes> eldest ) {
+            return size() > MAX_PREVIOUS_TYPES;
+        }
+    };
+
     public LRUProjectDataModelOracleCache() {
     }
 
@@ -53,7 +73,7 @@ public class LRUProjectDataModelOracleCache
         this.cache = cache;
     }
 
-    public synchronized void invalidateProjectCache( @Observes final InvalidateDMOProjectCacheEvent event ) {
+    public void invalidateProjectCache( @Observes final InvalidateDMOProjectCacheEvent event ) {
         PortablePreconditions.checkNotNull( "event",
                                             event );
         final Path resourcePath = event.getResourcePath();
@@ -61,24 +81,68 @@ public class LRUProjectDataModelOracleCache
 
         //If resource was not within a Project there's nothing to invalidate
         if ( project != null ) {
-            invalidateCache( project );
+            //Invalidate Oracles being created before removing any existing Oracle, without holding this cache's lock
+            loader.invalidate( project );
+            synchronized ( this ) {
+                invalidateCache( project );
+            }
+        }
+    }
+
+    public void onProjectDeleted( @Observes final DeleteProjectEvent event ) {
+        PortablePreconditions.checkNotNull( "event",
+                                            event );
+        removeProject( event.getProject() );
+    }
+
+    public void onProjectRenamed( @Observes final RenameProjectEvent event ) {
+        PortablePreconditions.checkNotNull( "event",
+                                            event );
+        removeProject( event.getOldProject() );
+    }
+
+    private void removeProject( final Project project ) {
+        if ( !( project instanceof KieProject ) ) {
+            return;
+        }
+        final KieProject kieProject = (KieProject) project;
+        loader.invalidate( kieProject );
+        synchronized ( this ) {
+            invalidateCache( kieProject );
+            previousTypes.remove( kieProject );
         }
     }
 
     //Check the ProjectOracle for the Project has been created, otherwise create one!
-    public synchronized ProjectDataModelOracle assertProjectDataModelOracle( final KieProject project ) {
-        ProjectDataModelOracle projectOracle = getEntry( project );
-        if ( projectOracle == null ) {
-            projectOracle = makeProjectOracle( project );
-            setEntry( project,
-                      projectOracle );
+    //Oracles for different Projects are created concurrently; concurrent requests for the same Project share one creation.
+    public ProjectDataModelOracle assertProjectDataModelOracle( final KieProject project ) {
+        final ProjectDataModelOracle projectOracle = getEntry( project );
+        if ( projectOracle != null ) {
+            return projectOracle;
         }
-        return projectOracle;
+        return loader.load( project,
+                            () -> makeProjectOracle( project ),
+                            ( types ) -> setProjectOracle( project,
+                                                           types ) ).getOracle();
+    }
+
+    private synchronized ProjectDataModelOracleTypes getPreviousTypes( final KieProject project ) {
+        return previousTypes.get( project );
+    }
+
+    private synchronized void setProjectOracle( final KieProject project,
+                                                final ProjectDataModelOracleTypes types ) {
+        setEntry( project,
+                  types.getOracle() );
+        previousTypes.put( project,
+                           types );
     }
 
-    private ProjectDataModelOracle makeProjectOracle( final KieProject project ) {
-        return builderProvider.newBuilder( project,
-                                           cache.assertBuilder( project ) ).build();
+    private ProjectDataModelOracleTypes makeProjectOracle( final KieProject project ) {
+        final ProjectDataModelOracleBuilderProvider.InnerBuilder builder = builderProvider.newBuilder( project,
+                                                                                                       cache.assertBuilder( project ) );
+        builder.build( getPreviousTypes( project ) );
+        return builder.getTypes();
     }
 
 }
@@ -16,8 +16,16 @@
 package org.kie.workbench.common.services.datamodel.backend.server.cache;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import javax.inject.Inject;
 
@@ -28,6 +36,7 @@ import org.kie.scanner.KieModuleMetaData;
 import org.kie.workbench.common.services.backend.builder.Builder;
 import org.kie.workbench.common.services.backend.builder.TypeSourceResolver;
 import org.kie.workbench.common.services.backend.whitelist.PackageNameWhiteListServiceImpl;
+import org.kie.workbench.common.services.datamodel.backend.server.builder.projects.ClassFactCache;
 import org.kie.workbench.common.services.datamodel.backend.server.builder.projects.ProjectDataModelOracleBuilder;
 import org.kie.workbench.common.services.shared.project.KieProject;
 import org.kie.workbench.common.services.shared.project.ProjectImportsService;
@@ -44,15 +53,18 @@ class ProjectDataModelOracleBuilderProvider {
 
     private ProjectImportsService importsService;
     private PackageNameWhiteListService packageNameWhiteListService;
+    private ClassFactCache classFactCache;
 
     public ProjectDataModelOracleBuilderProvider() {
     }
 
     @Inject
     public ProjectDataModelOracleBuilderProvider( final PackageNameWhiteListService packageNameWhiteListService,
-                                                  final ProjectImportsService importsService ) {
+                                                  final ProjectImportsService importsService,
+                                                  final ClassFactCache classFactCache ) {
         this.packageNameWhiteListService = packageNameWhiteListService;
         this.importsService = importsService;
+        this.classFactCache = classFactCache;
     }
 
     public InnerBuilder newBuilder( final KieProject project,
@@ -68,12 +80,17 @@ class ProjectDataModelOracleBuilderProvider {
 
     class InnerBuilder {
 
-        private final ProjectDataModelOracleBuilder pdBuilder = ProjectDataModelOracleBuilder.newProjectOracleBuilder();
+        private final ProjectDataModelOracleBuilder pdBuilder = ProjectDataModelOracleBuilder.newProjectOracleBuilder( classFactCache );
 
         private final KieProject project;
         private final KieModuleMetaData kieModuleMetaData;
         private final TypeSourceResolver typeSourceResolver;
 
+        private final Map<String, String> digests = new HashMap<String, String>();
+        private final Map<String, byte[]> classDigests = new HashMap<String, byte[]>();
+        private ProjectDataModelOracleTypes previousTypes;
+        private ProjectDataModelOracleTypes types;
+
         private InnerBuilder( final KieProject project,
                               final KieModuleMetaData kieModuleMetaData,
                               final TypeSourceResolver typeSourceResolver ) {
@@ -83,12 +100,31 @@ class ProjectDataModelOracleBuilderProvider {
         }
 
         public ProjectDataModelOracle build() {
+            return build( null );
+        }
+
+        /**
+         * Build the ProjectDataModelOracle, copying Fact Types whose classes are unchanged from a previous build.
+         * @param previousTypes Fact Types of the previous ProjectDataModelOracle for the Project. Can be null.
+         * @return The ProjectDataModelOracle
+         */
+        public ProjectDataModelOracle build( final ProjectDataModelOracleTypes previousTypes ) {
+            this.previousTypes = previousTypes;
 
             addFromKieModuleMetadata();
 
             addExternalImports();
 
-            return pdBuilder.build();
+            final ProjectDataModelOracle oracle = pdBuilder.build();
+            types = makeTypes( oracle );
+            return oracle;
+        }
+
+        /**
+         * @return Fact Types of the ProjectDataModelOracle built, to be passed to the next build for the Project.
+         */
+        public ProjectDataModelOracleTypes getTypes() {
+            return types;
         }
 
         /**
@@ -147,9 +183,19 @@ class ProjectDataModelOracleBuilderProvider {
             try {
                 final Class clazz = kieModuleMetaData.getClass( packageName,
                                                                 className );
+                final boolean isEvent = kieModuleMetaData.getTypeMetaInfo( clazz ).isEvent();
+                final TypeSource typeSource = typeSourceResolver.getTypeSource( clazz );
+                if ( isUnchanged( clazz.getName(),
+                                  isEvent,
+                                  typeSource ) ) {
+                    pdBuilder.addExistingFact( clazz.getName(),
+                                               previousTypes.getFactTypeDependencies( clazz.getName() ),
+                                               previousTypes.getOracle() );
+                    return;
+                }
                 pdBuilder.addClass( clazz,
-                                    kieModuleMetaData.getTypeMetaInfo( clazz ).isEvent(),
-                                    typeSourceResolver.getTypeSource( clazz ) );
+                                    isEvent,
+                                    typeSource );
 
             } catch (Throwable e) {
                 //Class resolution would have happened in Builder and reported as warnings so log error here at debug level to avoid flooding logs
@@ -160,5 +206,142 @@ class ProjectDataModelOracleBuilderProvider {
         private List<Import> getImports() {
             return importsService.load( project.getImportsPath() ).getImports().getImports();
         }
+
+        //A Fact Type is unchanged if its class and those of its fields have the same bytecode as when previously built.
+        //Event and source are not always held in the bytecode (e.g. "declare" statements in DRL) and are hence also checked.
+        private boolean isUnchanged( final String factType,
+                                     final boolean isEvent,
+                                     final TypeSource typeSource ) {
+            if ( previousTypes == null ) {
+                return false;
+            }
+            final ProjectDataModelOracle previousOracle = previousTypes.getOracle();
+            if ( !Boolean.valueOf( isEvent ).equals( previousOracle.getProjectEventTypes().get( factType ) ) ) {
+                return false;
+            }
+            if ( typeSource != previousOracle.getProjectTypeSources().get( factType ) ) {
+                return false;
+            }
+            return previousTypes.isUnchanged( factType,
+                                              this::getDigest );
+        }
+
+        private ProjectDataModelOracleTypes makeTypes( final ProjectDataModelOracle oracle ) {
+            final Map<String, Set<String>> factTypeDependencies = pdBuilder.getFactTypeDependencies();
+            final Map<String, String> factTypeDigests = new HashMap<String, String>();
+            for ( Map.Entry<String, Set<String>> e : factTypeDependencies.entrySet() ) {
+                addDigest( e.getKey(),
+                           factTypeDigests );
+                for ( final String dependency : e.getValue() ) {
+                    addDigest( dependency,
+                               factTypeDigests );
+                }
+            }
+            return new ProjectDataModelOracleTypes( oracle,
+                                                    factTypeDependencies,
+                                                    factTypeDigests );
+        }
+
+        private void addDigest( final String className,
+                                final Map<String, String> factTypeDigests ) {
+            final String digest = getDigest( className );
+            if ( digest != null ) {
+                factTypeDigests.put( className,
+                                     digest );
+            }
+        }
+
+        private String getDigest( final String className ) {
+            if ( digests.containsKey( className ) ) {
+                return digests.get( className );
+            }
+            final String digest = readDigest( className );
+            digests.put( className,
+                         digest );
+            return digest;
+        }
+
+        //ClassFieldInspector adds the fields and methods of super-classes and interfaces to a Fact Type, so the digest of a
+        //class covers the bytecode of its whole type hierarchy. JDK classes do not change and are not read.
+        //Classes whose bytecode cannot be read have no digest and are always re-inspected
+        private String readDigest( final String className ) {
+            final ClassLoader classLoader = kieModuleMetaData.getClassLoader();
+            try {
+                final Class<?> clazz = Class.forName( className,
+                                                      false,
+                                                      classLoader );
+                final MessageDigest md = MessageDigest.getInstance( "SHA-1" );
+                for ( Class<?> type : getTypeHierarchy( clazz ) ) {
+                    if ( type.getClassLoader() == null ) {
+                        continue;
+                    }
+                    final byte[] classDigest = getClassDigest( type.getName() );
+                    if ( classDigest == null ) {
+                        return null;
+                    }
+                    md.update( type.getName().getBytes( StandardCharsets.UTF_8 ) );
+                    md.update( classDigest );
+                }
+                return Base64.getEncoder().encodeToString( md.digest() );
+
+            } catch ( ClassNotFoundException | LinkageError | NoSuchAlgorithmException e ) {
+                log.debug( e.getMessage() );
+                return null;
+            }
+        }
+
+        private Set<Class<?>> getTypeHierarchy( final Class<?> clazz ) {
+            final Set<Class<?>> types = new LinkedHashSet<Class<?>>();
+            addTypeHierarchy( clazz,
+                              types );
+            return types;
+        }
+
+        private void addTypeHierarchy( final Class<?> clazz,
+                                       final Set<Class<?>> types ) {
+            if ( clazz == null || !types.add( clazz ) ) {
+                return;
+            }
+            addTypeHierarchy( clazz.getSuperclass(),
+                              types );
+            for ( Class<?> iface : clazz.getInterfaces() ) {
+                addTypeHierarchy( iface,
+                                  types );
+            }
+        }
+
+        //Super-classes are shared by many Fact Types, so the digest of each class' own bytecode is only read once
+        private byte[] getClassDigest( final String className ) {
+            if ( classDigests.containsKey( className ) ) {
+                return classDigests.get( className );
+            }
+            final byte[] digest = readClassDigest( className );
+            classDigests.put( className,
+                              digest );
+            return digest;
+        }
+
+        private byte[] readClassDigest( final String className ) {
+            final ClassLoader classLoader = kieModuleMetaData.getClassLoader();
+            try ( InputStream is = classLoader.getResourceAsStream( className.replace( '.',
+                                                                                       '/' ) + ".class" ) ) {
+                if ( is == null ) {
+                    return null;
+                }
+                final MessageDigest md = MessageDigest.getInstance( "SHA-1" );
+                final byte[] buffer = new byte[ 8192 ];
+                int read;
+                while ( ( read = is.read( buffer ) ) != -1 ) {
+                    md.update( buffer,
+                               0,
+                               read );
+                }
+                return md.digest();
+
+            } catch ( IOException | NoSuchAlgorithmException e ) {
+                log.debug( e.getMessage() );
+                return null;
+            }
+        }
     }
 }
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodel.backend.server.cache;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.drools.workbench.models.datamodel.oracle.ProjectDataModelOracle;
+
+/**
+ * The Fact Types of a ProjectDataModelOracle, together with digests of the bytecode of the classes, and their type
+ * hierarchies, from which they were built. This is used to determine which Fact Types need to be re-inspected when the ProjectDataModelOracle is re-created.
+ */
+class ProjectDataModelOracleTypes {
+
+    private final ProjectDataModelOracle oracle;
+    private final Map<String, Set<String>> factTypeDependencies;
+    private final Map<String, String> digests;
+
+    ProjectDataModelOracleTypes( final ProjectDataModelOracle oracle,
+                                 final Map<String, Set<String>> factTypeDependencies,
+                                 final Map<String, String> digests ) {
+        this.oracle = oracle;
+        this.factTypeDependencies = factTypeDependencies;
+        this.digests = digests;
+    }
+
+    ProjectDataModelOracle getOracle() {
+        return oracle;
+    }
+
+    Set<String> getFactTypeDependencies( final String factType ) {
+        final Set<String> dependencies = factTypeDependencies.get( factType );
+        return dependencies == null ? Collections.<String>emptySet() : dependencies;
+    }
+
+    /**
+     * Check whether a Fact Type can be copied from the ProjectDataModelOracle. This is the case if neither the class for
+     * the Fact Type nor the classes of the Fact Types discovered from its fields have changed, including their
+     * super-classes and interfaces.
+     * @param factType Fact Type
+     * @param currentDigests Provides the digest of the current bytecode of a class and its type hierarchy, or null if it
+     * cannot be read
+     * @return true if the Fact Type is unchanged
+     */
+    boolean isUnchanged( final String factType,
+                         final Function<String, String> currentDigests ) {
+        final Set<String> dependencies = factTypeDependencies.get( factType );
+        if ( dependencies == null ) {
+            return false;
+        }
+        if ( !isUnchangedClass( factType,
+                                currentDigests ) ) {
+            return false;
+        }
+        for ( final String dependency : dependencies ) {
+            if ( !isUnchangedClass( dependency,
+                                    currentDigests ) ) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isUnchangedClass( final String className,
+                                      final Function<String, String> currentDigests ) {
+        final String digest = digests.get( className );
+        return digest != null && digest.equals( currentDigests.apply( className ) );
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodel.backend.server.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Co-ordinates the creation of cache entries so that concurrent requests for the same key share a single computation,
+ * whilst requests for different keys never wait for each other. Keys invalidated whilst their value is being computed
+ * are not stored in the cache; the value is still returned to the requests waiting for it.
+ * @param <K> Cache key
+ * @param <V> Cache value
+ */
+class SingleFlightLoader<K, V> {
+
+    private final ConcurrentHashMap<K, Computation<V>> inFlight = new ConcurrentHashMap<K, Computation<V>>();
+
+    /**
+     * Compute a value, or wait for the computation already in progress for the same key.
+     * @param key Cache key
+     * @param loader Computes the value
+     * @param store Stores the value in the cache, unless the key was invalidated during computation
+     * @return The value
+     */
+    V load( final K key,
+            final Supplier<V> loader,
+            final Consumer<V> store ) {
+        final Computation<V> computation = new Computation<V>();
+        final Computation<V> existing = inFlight.putIfAbsent( key,
+                                                              computation );
+        if ( existing != null ) {
+            return existing.join();
+        }
+
+        try {
+            final V value = loader.get();
+            synchronized ( computation ) {
+                if ( !computation.stale ) {
+                    store.accept( value );
+                }
+            }
+            computation.future.complete( value );
+            return value;
+
+        } catch ( RuntimeException | Error e ) {
+            computation.future.completeExceptionally( e );
+            throw e;
+
+        } finally {
+            inFlight.remove( key,
+                             computation );
+        }
+    }
+
+    /**
+     * Invalidate the computation in progress for a key. This should be called before the key is removed from the cache.
+     * @param key Cache key
+     */
+    void invalidate( final K key ) {
+        final Computation<V> computation = inFlight.remove( key );
+        if ( computation != null ) {
+            computation.markStale();
+        }
+    }
+
+    /**
+     * Invalidate the computations in progress for all keys matching a predicate. This should be called before the keys
+     * are removed from the cache.
+     * @param predicate Keys to invalidate
+     */
+    void invalidate( final Predicate<K> predicate ) {
+        for ( K key : inFlight.keySet() ) {
+            if ( predicate.test( key ) ) {
+                invalidate( key );
+            }
+        }
+    }
+
+    private static class Computation<V> {
+
+        private final CompletableFuture<V> future = new CompletableFuture<V>();
+        private boolean stale = false;
+
+        private synchronized void markStale() {
+            stale = true;
+        }
+
+        private V join() {
+            try {
+                return future.join();
+            } catch ( CompletionException e ) {
+                final Throwable cause = e.getCause();
+                if ( cause instanceof RuntimeException ) {
+                    throw (RuntimeException) cause;
+                } else if ( cause instanceof Error ) {
+                    throw (Error) cause;
+                }
+                throw e;
+            }
+        }
+    }
+
+}
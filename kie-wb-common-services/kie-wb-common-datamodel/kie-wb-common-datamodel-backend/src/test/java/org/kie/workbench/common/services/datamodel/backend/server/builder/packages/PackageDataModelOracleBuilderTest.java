@@ -0,0 +1,122 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodel.backend.server.builder.packages;
+
+import java.util.Collections;
+
+import org.drools.workbench.models.datamodel.oracle.ModelField;
+import org.drools.workbench.models.datamodel.oracle.PackageDataModelOracle;
+import org.drools.workbench.models.datamodel.oracle.ProjectDataModelOracle;
+import org.drools.workbench.models.datamodel.oracle.TypeSource;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.services.datamodel.backend.server.builder.projects.ProjectDataModelOracleBuilder;
+import org.kie.workbench.common.services.datamodel.backend.server.testclasses.Product;
+
+import static org.junit.Assert.*;
+
+public class PackageDataModelOracleBuilderTest {
+
+    private static final String PRODUCT = Product.class.getName();
+
+    private ProjectDataModelOracle projectOracle;
+
+    private PackageDataModelOracle packageOracle1;
+
+    private PackageDataModelOracle packageOracle2;
+
+    @Before
+    public void setup() throws Exception {
+        projectOracle = ProjectDataModelOracleBuilder.newProjectOracleBuilder()
+                .addClass( Product.class,
+                           false,
+                           TypeSource.JAVA_PROJECT )
+                .build();
+
+        packageOracle1 = PackageDataModelOracleBuilder.newPackageOracleBuilder( "org.test1" )
+                .setProjectOracle( projectOracle )
+                .addGlobals( "global java.lang.String g1;" )
+                .build();
+        packageOracle2 = PackageDataModelOracleBuilder.newPackageOracleBuilder( "org.test2" )
+                .setProjectOracle( projectOracle )
+                .build();
+    }
+
+    @Test
+    public void testPackageOraclesExposeProjectOracle() {
+        for ( PackageDataModelOracle packageOracle : new PackageDataModelOracle[]{ packageOracle1, packageOracle2 } ) {
+            assertTrue( packageOracle instanceof ProjectBackedPackageDataModelOracle );
+
+            assertArrayEquals( projectOracle.getProjectModelFields().get( PRODUCT ),
+                               packageOracle.getProjectModelFields().get( PRODUCT ) );
+            assertArrayEquals( projectOracle.getProjectJavaEnumDefinitions().get( PRODUCT + "#colour" ),
+                               packageOracle.getProjectJavaEnumDefinitions().get( PRODUCT + "#colour" ) );
+            assertNotNull( packageOracle.getProjectJavaEnumDefinitions().get( PRODUCT + "#colour" ) );
+            assertEquals( projectOracle.getProjectMethodInformation().get( PRODUCT ),
+                          packageOracle.getProjectMethodInformation().get( PRODUCT ) );
+            assertFalse( packageOracle.getProjectMethodInformation().get( PRODUCT ).isEmpty() );
+            assertEquals( projectOracle.getProjectTypeSources(),
+                          packageOracle.getProjectTypeSources() );
+        }
+
+        //Package-level structures are not shared
+        assertEquals( "org.test1",
+                      packageOracle1.getPackageName() );
+        assertEquals( "org.test2",
+                      packageOracle2.getPackageName() );
+        assertTrue( packageOracle1.getPackageGlobals().containsKey( "g1" ) );
+        assertFalse( packageOracle2.getPackageGlobals().containsKey( "g1" ) );
+    }
+
+    @Test
+    public void testPackageOraclesShareProjectOracle() {
+        //The Package oracles hold views of the Project oracle's maps, rather than copies of them
+        final ModelField[] fields = projectOracle.getProjectModelFields().get( PRODUCT );
+        projectOracle.addProjectModelFields( Collections.singletonMap( "org.test.Added",
+                                                                       fields ) );
+
+        assertSame( fields,
+                    packageOracle1.getProjectModelFields().get( "org.test.Added" ) );
+        assertSame( fields,
+                    packageOracle2.getProjectModelFields().get( "org.test.Added" ) );
+        assertSame( packageOracle1.getProjectModelFields().get( PRODUCT ),
+                    packageOracle2.getProjectModelFields().get( PRODUCT ) );
+    }
+
+    @Test
+    public void testProjectLevelMutationThroughPackageOracleFails() {
+        final ModelField[] fields = projectOracle.getProjectModelFields().get( PRODUCT );
+        try {
+            packageOracle1.addProjectModelFields( Collections.singletonMap( "org.test.Added",
+                                                                            fields ) );
+            fail( "Project-level structures should not be modifiable through a Package oracle" );
+        } catch ( UnsupportedOperationException e ) {
+            //Expected
+        }
+        try {
+            packageOracle1.getProjectJavaEnumDefinitions().clear();
+            fail( "Project-level structures should not be modifiable through a Package oracle" );
+        } catch ( UnsupportedOperationException e ) {
+            //Expected
+        }
+
+        assertFalse( projectOracle.getProjectModelFields().containsKey( "org.test.Added" ) );
+        assertFalse( packageOracle2.getProjectModelFields().containsKey( "org.test.Added" ) );
+        assertNotNull( packageOracle2.getProjectJavaEnumDefinitions().get( PRODUCT + "#colour" ) );
+    }
+
+}
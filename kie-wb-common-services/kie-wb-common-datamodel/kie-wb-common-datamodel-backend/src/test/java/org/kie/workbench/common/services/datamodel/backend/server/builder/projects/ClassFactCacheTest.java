@@ -0,0 +1,159 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.workbench.common.services.datamodel.backend.server.builder.projects;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.drools.workbench.models.datamodel.oracle.ModelField;
+import org.drools.workbench.models.datamodel.oracle.ProjectDataModelOracle;
+import org.drools.workbench.models.datamodel.oracle.TypeSource;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.kie.workbench.common.services.datamodel.backend.server.testclasses.ProductOrder;
+
+import static org.junit.Assert.*;
+
+public class ClassFactCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    public interface Identified {
+
+        String getId();
+    }
+
+    public interface Named extends Identified {
+
+        String getName();
+    }
+
+    public static abstract class NamedFact implements Named {
+
+    }
+
+    @Test
+    public void testKeys() {
+        assertNotNull( ClassFactCache.getKey( Date.class ) );
+        assertNotEquals( ClassFactCache.getKey( Date.class ),
+                         ClassFactCache.getKey( HashMap.class ) );
+
+        //Classes not loaded from a JAR are not cached
+        assertNull( ClassFactCache.getKey( ProductOrder.class ) );
+    }
+
+    @Test
+    public void testClassFactsReused() throws Exception {
+        final ClassFactCache cache = new ClassFactCache();
+
+        final ProjectDataModelOracle oracle1 = ProjectDataModelOracleBuilder.newProjectOracleBuilder( cache )
+                .addClass( ProductOrder.class,
+                           false,
+                           TypeSource.JAVA_PROJECT )
+                .build();
+        final int size = cache.size();
+        assertTrue( size > 0 );
+        assertNull( cache.getClassFacts( ProductOrder.class ) );
+
+        final ProjectDataModelOracle oracle2 = ProjectDataModelOracleBuilder.newProjectOracleBuilder( cache )
+                .addClass( ProductOrder.class,
+                           false,
+                           TypeSource.JAVA_PROJECT )
+                .build();
+        assertEquals( size,
+                      cache.size() );
+
+        assertEquals( oracle1.getProjectModelFields().keySet(),
+                      oracle2.getProjectModelFields().keySet() );
+        for ( String factType : oracle1.getProjectModelFields().keySet() ) {
+            final ModelField[] fields1 = oracle1.getProjectModelFields().get( factType );
+            final ModelField[] fields2 = oracle2.getProjectModelFields().get( factType );
+            assertEquals( fields1.length,
+                          fields2.length );
+        }
+        assertEquals( oracle1.getProjectMethodInformation().keySet(),
+                      oracle2.getProjectMethodInformation().keySet() );
+        assertEquals( oracle1.getProjectFieldParametersType(),
+                      oracle2.getProjectFieldParametersType() );
+        assertEquals( oracle1.getProjectSuperTypes(),
+                      oracle2.getProjectSuperTypes() );
+    }
+
+    @Test
+    public void testKeysIncludeInterfaces() throws Exception {
+        //The class and the interface it implements are loaded from the same JAR, whereas the super-interface is not
+        final File classesJar = writeJar( "classes.jar",
+                                          NamedFact.class,
+                                          Named.class );
+        final File interfaceJar1 = writeJar( "interface1.jar",
+                                             Identified.class );
+        final File interfaceJar2 = writeJar( "interface2.jar",
+                                             Identified.class,
+                                             Named.class );
+
+        final String key1 = getKey( classesJar,
+                                    interfaceJar1 );
+        assertNotNull( key1 );
+        assertEquals( key1,
+                      getKey( classesJar,
+                              interfaceJar1 ) );
+
+        //Only the JAR defining the super-interface differs
+        assertNotEquals( key1,
+                         getKey( classesJar,
+                                 interfaceJar2 ) );
+    }
+
+    private String getKey( final File... jars ) throws Exception {
+        final URL[] urls = new URL[ jars.length ];
+        for ( int i = 0; i < jars.length; i++ ) {
+            urls[ i ] = jars[ i ].toURI().toURL();
+        }
+        try ( URLClassLoader classLoader = new URLClassLoader( urls,
+                                                               null ) ) {
+            final Class<?> clazz = classLoader.loadClass( NamedFact.class.getName() );
+            assertEquals( classLoader,
+                          clazz.getInterfaces()[ 0 ].getClassLoader() );
+            return ClassFactCache.getKey( clazz );
+        }
+    }
+
+    private File writeJar( final String name,
+                           final Class<?>... classes ) throws Exception {
+        final File jar = folder.newFile( name );
+        try ( JarOutputStream jos = new JarOutputStream( new FileOutputStream( jar ) ) ) {
+            for ( Class<?> clazz : classes ) {
+                final String entryName = clazz.getName().replace( '.',
+                                                                  '/' ) + ".class";
+                jos.putNextEntry( new JarEntry( entryName ) );
+                jos.write( Files.readAllBytes( Paths.get( getClass().getClassLoader().getResource( entryName ).toURI() ) ) );
+                jos.closeEntry();
+            }
+        }
+        return jar;
+    }
+
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.workbench.common.services.datamodel.backend.server.builder.projects;
+
+import java.util.Set;
+
+import org.drools.workbench.models.datamodel.oracle.ProjectDataModelOracle;
+import org.drools.workbench.models.datamodel.oracle.TypeSource;
+import org.junit.Test;
+import org.kie.workbench.common.services.datamodel.backend.server.testclasses.Product;
+import org.kie.workbench.common.services.datamodel.backend.server.testclasses.ProductOrder;
+
+import static org.junit.Assert.*;
+
+public class ExistingFactBuilderTest {
+
+    @Test
+    public void testFactTypeDependencies() throws Exception {
+        final ProjectDataModelOracleBuilder builder = ProjectDataModelOracleBuilder.newProjectOracleBuilder();
+        builder.addClass( ProductOrder.class,
+                          false,
+                          TypeSource.JAVA_PROJECT );
+        builder.build();
+
+        final Set<String> dependencies = builder.getFactTypeDependencies().get( ProductOrder.class.getName() );
+        assertNotNull( dependencies );
+        assertTrue( dependencies.contains( Product.class.getName() ) );
+    }
+
+    @Test
+    public void testCopyExistingFact() throws Exception {
+        final ProjectDataModelOracleBuilder builder = ProjectDataModelOracleBuilder.newProjectOracleBuilder();
+        builder.addClass( ProductOrder.class,
+                          true,
+                          TypeSource.JAVA_PROJECT );
+        final ProjectDataModelOracle existing = builder.build();
+
+        final ProjectDataModelOracleBuilder incrementalBuilder = ProjectDataModelOracleBuilder.newProjectOracleBuilder();
+        incrementalBuilder.addExistingFact( ProductOrder.class.getName(),
+                                            builder.getFactTypeDependencies().get( ProductOrder.class.getName() ),
+                                            existing );
+        final ProjectDataModelOracle oracle = incrementalBuilder.build();
+
+        assertEquals( existing.getProjectModelFields().keySet(),
+                      oracle.getProjectModelFields().keySet() );
+        assertArrayEquals( existing.getProjectModelFields().get( ProductOrder.class.getName() ),
+                           oracle.getProjectModelFields().get( ProductOrder.class.getName() ) );
+        assertEquals( existing.getProjectFieldParametersType(),
+                      oracle.getProjectFieldParametersType() );
+        assertEquals( existing.getProjectMethodInformation().keySet(),
+                      oracle.getProjectMethodInformation().keySet() );
+        assertEquals( existing.getProjectSuperTypes(),
+                      oracle.getProjectSuperTypes() );
+        assertTrue( oracle.getProjectEventTypes().get( ProductOrder.class.getName() ) );
+    }
+
+}
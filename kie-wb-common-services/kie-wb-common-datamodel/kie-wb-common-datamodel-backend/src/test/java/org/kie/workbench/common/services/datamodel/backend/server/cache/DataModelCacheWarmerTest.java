@@ -0,0 +1,192 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodel.backend.server.cache;
+
+import java.io.File;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.guvnor.common.services.project.builder.events.InvalidateDMOPackageCacheEvent;
+import org.guvnor.common.services.project.builder.events.InvalidateDMOProjectCacheEvent;
+import org.guvnor.common.services.project.model.Package;
+import org.guvnor.common.services.project.model.Project;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.services.shared.project.KieProjectService;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.io.IOService;
+import org.uberfire.rpc.SessionInfo;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DataModelCacheWarmerTest {
+
+    private static final String PROJECT1_PACKAGE = "default://master@repo/project1/src/main/resources/org/test";
+    private static final String PROJECT2_PACKAGE = "default://master@repo/project2/src/main/resources/org/test";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Mock
+    private IOService ioService;
+
+    @Mock
+    private KieProjectService projectService;
+
+    @Mock
+    private LRUDataModelOracleCache cachePackages;
+
+    private DataModelCacheWarmer warmer;
+
+    @After
+    public void tearDown() {
+        if ( warmer != null ) {
+            warmer.destroy();
+        }
+    }
+
+    @Test
+    public void testRecentPackagesAreBounded() {
+        warmer = makeWarmer( null );
+        for ( int i = 0; i < 30; i++ ) {
+            warmer.onPackageUsed( makePackage( PROJECT1_PACKAGE + i ) );
+        }
+        warmer.onPackageUsed( makePackage( PROJECT1_PACKAGE + 15 ) );
+
+        assertEquals( 20,
+                      warmer.getRecentPackages().size() );
+        assertFalse( warmer.getRecentPackages().contains( PROJECT1_PACKAGE + 0 ) );
+        assertEquals( PROJECT1_PACKAGE + 15,
+                      warmer.getRecentPackages().get( 19 ) );
+    }
+
+    @Test
+    public void testInvalidationWarmsProjectPackages() {
+        warmer = makeWarmer( null );
+        warmer.onPackageUsed( makePackage( PROJECT1_PACKAGE ) );
+        warmer.onPackageUsed( makePackage( PROJECT2_PACKAGE ) );
+
+        final Project project = mock( Project.class );
+        final Path projectRoot = mock( Path.class );
+        when( project.getRootPath() ).thenReturn( projectRoot );
+        when( projectRoot.toURI() ).thenReturn( "default://master@repo/project1" );
+        warmer.onInvalidateDMOProjectCache( new InvalidateDMOProjectCacheEvent( mock( SessionInfo.class ),
+                                                                                project,
+                                                                                projectRoot ) );
+
+        verify( ioService,
+                timeout( 5000 ) ).get( URI.create( PROJECT1_PACKAGE ) );
+        verify( ioService,
+                never() ).get( URI.create( PROJECT2_PACKAGE ) );
+    }
+
+    @Test
+    public void testRepeatedInvalidationsAreMerged() throws Exception {
+        warmer = makeWarmer( null,
+                             200 );
+        warmer.onPackageUsed( makePackage( PROJECT1_PACKAGE ) );
+
+        final Project project = mock( Project.class );
+        final Path projectRoot = mock( Path.class );
+        when( project.getRootPath() ).thenReturn( projectRoot );
+        when( projectRoot.toURI() ).thenReturn( "default://master@repo/project1" );
+        for ( int i = 0; i < 5; i++ ) {
+            warmer.onInvalidateDMOProjectCache( new InvalidateDMOProjectCacheEvent( mock( SessionInfo.class ),
+                                                                                    project,
+                                                                                    projectRoot ) );
+        }
+
+        //Nothing is warmed during the quiet period following the last invalidation
+        verify( ioService,
+                never() ).get( URI.create( PROJECT1_PACKAGE ) );
+        verify( ioService,
+                timeout( 5000 ) ).get( URI.create( PROJECT1_PACKAGE ) );
+        Thread.sleep( 500 );
+        verify( ioService,
+                times( 1 ) ).get( URI.create( PROJECT1_PACKAGE ) );
+    }
+
+    @Test
+    public void testPackageInvalidationWarmsOnlyThePackage() {
+        warmer = makeWarmer( null );
+        final Package pkg = makePackage( PROJECT1_PACKAGE );
+        warmer.onPackageUsed( pkg );
+        warmer.onPackageUsed( makePackage( PROJECT1_PACKAGE + "2" ) );
+
+        final Path resourcePath = mock( Path.class );
+        when( projectService.resolvePackage( resourcePath ) ).thenReturn( pkg );
+        final InvalidateDMOPackageCacheEvent event = mock( InvalidateDMOPackageCacheEvent.class );
+        when( event.getResourcePath() ).thenReturn( resourcePath );
+        warmer.onInvalidateDMOPackageCache( event );
+
+        verify( ioService,
+                timeout( 5000 ) ).get( URI.create( PROJECT1_PACKAGE ) );
+        verify( ioService,
+                never() ).get( URI.create( PROJECT1_PACKAGE + "2" ) );
+    }
+
+    @Test
+    public void testRecentPackagesWarmedOnStartup() throws Exception {
+        final File file = folder.newFile( "recent-packages" );
+        java.nio.file.Files.write( file.toPath(),
+                                   Arrays.asList( PROJECT1_PACKAGE,
+                                                  PROJECT2_PACKAGE ),
+                                   StandardCharsets.UTF_8 );
+        warmer = makeWarmer( file );
+
+        assertEquals( Arrays.asList( PROJECT1_PACKAGE,
+                                     PROJECT2_PACKAGE ),
+                      warmer.getRecentPackages() );
+        verify( ioService,
+                timeout( 5000 ) ).get( URI.create( PROJECT1_PACKAGE ) );
+        verify( ioService,
+                timeout( 5000 ) ).get( URI.create( PROJECT2_PACKAGE ) );
+    }
+
+    private DataModelCacheWarmer makeWarmer( final File file ) {
+        return makeWarmer( file,
+                           0 );
+    }
+
+    private DataModelCacheWarmer makeWarmer( final File file,
+                                             final long quietPeriod ) {
+        final DataModelCacheWarmer warmer = new DataModelCacheWarmer( ioService,
+                                                                      projectService,
+                                                                      cachePackages,
+                                                                      file,
+                                                                      quietPeriod );
+        warmer.init();
+        return warmer;
+    }
+
+    private Package makePackage( final String uri ) {
+        final Package pkg = mock( Package.class );
+        final Path path = mock( Path.class );
+        when( pkg.getPackageMainResourcesPath() ).thenReturn( path );
+        when( path.toURI() ).thenReturn( uri );
+        return pkg;
+    }
+
+}
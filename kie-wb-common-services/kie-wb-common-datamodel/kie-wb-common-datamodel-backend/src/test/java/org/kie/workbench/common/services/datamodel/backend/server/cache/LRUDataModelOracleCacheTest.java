@@ -0,0 +1,165 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodel.backend.server.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.drools.workbench.models.datamodel.oracle.PackageDataModelOracle;
+import org.guvnor.common.services.backend.file.FileDiscoveryService;
+import org.guvnor.common.services.project.builder.events.InvalidateDMOProjectCacheEvent;
+import org.guvnor.common.services.project.model.Package;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.services.backend.builder.LRUBuilderCache;
+import org.kie.workbench.common.services.shared.project.KieProject;
+import org.kie.workbench.common.services.shared.project.KieProjectService;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.io.IOService;
+import org.uberfire.rpc.SessionInfo;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class LRUDataModelOracleCacheTest {
+
+    private static final String PROJECT1_URI = "default://master@repo/project1";
+    private static final String PROJECT2_URI = "default://master@repo/project2";
+
+    @Mock
+    private IOService ioService;
+
+    @Mock
+    private FileDiscoveryService fileDiscoveryService;
+
+    @Mock
+    private LRUProjectDataModelOracleCache cacheProjects;
+
+    @Mock
+    private KieProjectService projectService;
+
+    @Mock
+    private LRUBuilderCache builderCache;
+
+    @Mock
+    private KieProject project1;
+
+    @Mock
+    private KieProject project2;
+
+    @Mock
+    private Path project1Root;
+
+    @InjectMocks
+    private LRUDataModelOracleCache cache;
+
+    private final List<Package> project1Packages = new ArrayList<Package>();
+    private final List<Package> project2Packages = new ArrayList<Package>();
+
+    @Before
+    public void setUp() {
+        when( project1Root.toURI() ).thenReturn( PROJECT1_URI );
+        when( project1.getRootPath() ).thenReturn( project1Root );
+        when( projectService.resolveProject( project1Root ) ).thenReturn( project1 );
+
+        for ( int i = 0; i < 4; i++ ) {
+            project1Packages.add( makePackage( PROJECT1_URI + "/src/main/resources/pkg" + i ) );
+        }
+        for ( int i = 0; i < 2; i++ ) {
+            project2Packages.add( makePackage( PROJECT2_URI + "/src/main/resources/pkg" + i ) );
+        }
+        for ( Package pkg : project2Packages ) {
+            cache.setEntry( pkg,
+                            mock( PackageDataModelOracle.class ) );
+        }
+    }
+
+    @Test
+    public void testInvalidateProjectWhileReading() throws Exception {
+        final AtomicBoolean running = new AtomicBoolean( true );
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        final CountDownLatch started = new CountDownLatch( 4 );
+        final List<Thread> readers = new ArrayList<Thread>();
+        for ( int i = 0; i < 4; i++ ) {
+            final Thread reader = new Thread( () -> {
+                started.countDown();
+                try {
+                    while ( running.get() ) {
+                        for ( Package pkg : project2Packages ) {
+                            assertNotNull( cache.assertPackageDataModelOracle( project2,
+                                                                               pkg ) );
+                        }
+                    }
+                } catch ( Throwable t ) {
+                    failure.compareAndSet( null,
+                                           t );
+                }
+            } );
+            reader.start();
+            readers.add( reader );
+        }
+        started.await();
+
+        try {
+            for ( int i = 0; i < 500; i++ ) {
+                synchronized ( cache ) {
+                    for ( Package pkg : project1Packages ) {
+                        cache.setEntry( pkg,
+                                        mock( PackageDataModelOracle.class ) );
+                    }
+                }
+                cache.invalidateProjectPackagesCache( new InvalidateDMOProjectCacheEvent( mock( SessionInfo.class ),
+                                                                                          project1,
+                                                                                          project1Root ) );
+
+                //Every Package of the Project is invalidated, even whilst other Packages are being read
+                synchronized ( cache ) {
+                    for ( Package pkg : project1Packages ) {
+                        assertNull( cache.getEntry( pkg ) );
+                    }
+                }
+            }
+        } finally {
+            running.set( false );
+            for ( Thread reader : readers ) {
+                reader.join();
+            }
+        }
+
+        assertNull( failure.get() );
+        for ( Package pkg : project2Packages ) {
+            assertNotNull( cache.getEntry( pkg ) );
+        }
+    }
+
+    private Package makePackage( final String uri ) {
+        final Package pkg = mock( Package.class );
+        final Path path = mock( Path.class );
+        when( path.toURI() ).thenReturn( uri );
+        when( pkg.getPackageMainResourcesPath() ).thenReturn( path );
+        return pkg;
+    }
+
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodel.backend.server.cache;
+
+import org.drools.workbench.models.datamodel.oracle.ProjectDataModelOracle;
+import org.guvnor.common.services.project.builder.events.InvalidateDMOProjectCacheEvent;
+import org.guvnor.common.services.project.events.DeleteProjectEvent;
+import org.guvnor.common.services.project.events.RenameProjectEvent;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.services.backend.builder.Builder;
+import org.kie.workbench.common.services.backend.builder.LRUBuilderCache;
+import org.kie.workbench.common.services.shared.project.KieProject;
+import org.kie.workbench.common.services.shared.project.KieProjectService;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.rpc.SessionInfo;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class LRUProjectDataModelOracleCacheTest {
+
+    @Mock
+    private ProjectDataModelOracleBuilderProvider builderProvider;
+
+    @Mock
+    private KieProjectService projectService;
+
+    @Mock
+    private LRUBuilderCache builderCache;
+
+    @Mock
+    private KieProject project;
+
+    @Mock
+    private Path projectRoot;
+
+    @Mock
+    private ProjectDataModelOracleBuilderProvider.InnerBuilder builder1;
+
+    @Mock
+    private ProjectDataModelOracleBuilderProvider.InnerBuilder builder2;
+
+    @Mock
+    private ProjectDataModelOracleTypes types1;
+
+    @Mock
+    private ProjectDataModelOracleTypes types2;
+
+    private LRUProjectDataModelOracleCache cache;
+
+    @Before
+    public void setUp() {
+        when( projectService.resolveProject( projectRoot ) ).thenReturn( project );
+        when( builderProvider.newBuilder( eq( project ),
+                                          any( Builder.class ) ) ).thenReturn( builder1,
+                                                                               builder2 );
+        when( builder1.getTypes() ).thenReturn( types1 );
+        when( builder2.getTypes() ).thenReturn( types2 );
+        when( types1.getOracle() ).thenReturn( mock( ProjectDataModelOracle.class ) );
+        when( types2.getOracle() ).thenReturn( mock( ProjectDataModelOracle.class ) );
+
+        cache = new LRUProjectDataModelOracleCache( builderProvider,
+                                                    projectService,
+                                                    builderCache );
+    }
+
+    @Test
+    public void testPreviousTypesRetainedWhenInvalidated() {
+        assertSame( types1.getOracle(),
+                    cache.assertProjectDataModelOracle( project ) );
+        verify( builder1 ).build( null );
+
+        cache.invalidateProjectCache( new InvalidateDMOProjectCacheEvent( mock( SessionInfo.class ),
+                                                                          project,
+                                                                          projectRoot ) );
+
+        assertSame( types2.getOracle(),
+                    cache.assertProjectDataModelOracle( project ) );
+        verify( builder2 ).build( types1 );
+    }
+
+    @Test
+    public void testPreviousTypesRemovedWhenProjectDeleted() {
+        cache.assertProjectDataModelOracle( project );
+
+        final DeleteProjectEvent event = mock( DeleteProjectEvent.class );
+        when( event.getProject() ).thenReturn( project );
+        cache.onProjectDeleted( event );
+
+        assertNull( cache.getEntry( project ) );
+        assertSame( types2.getOracle(),
+                    cache.assertProjectDataModelOracle( project ) );
+        verify( builder2 ).build( null );
+    }
+
+    @Test
+    public void testPreviousTypesRemovedWhenProjectRenamed() {
+        cache.assertProjectDataModelOracle( project );
+
+        final RenameProjectEvent event = mock( RenameProjectEvent.class );
+        when( event.getOldProject() ).thenReturn( project );
+        cache.onProjectRenamed( event );
+
+        assertNull( cache.getEntry( project ) );
+        assertSame( types2.getOracle(),
+                    cache.assertProjectDataModelOracle( project ) );
+        verify( builder2 ).build( null );
+    }
+
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodel.backend.server.cache;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.drools.core.rule.TypeMetaInfo;
+import org.drools.workbench.models.datamodel.oracle.ModelField;
+import org.drools.workbench.models.datamodel.oracle.ProjectDataModelOracle;
+import org.drools.workbench.models.datamodel.oracle.TypeSource;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.kie.scanner.KieModuleMetaData;
+import org.kie.workbench.common.services.backend.builder.Builder;
+import org.kie.workbench.common.services.backend.builder.TypeSourceResolver;
+import org.kie.workbench.common.services.datamodel.backend.server.builder.projects.ClassFactCache;
+import org.kie.workbench.common.services.shared.project.KieProject;
+import org.kie.workbench.common.services.shared.project.ProjectImportsService;
+import org.kie.workbench.common.services.shared.whitelist.PackageNameWhiteListService;
+import org.kie.workbench.common.services.shared.whitelist.WhiteList;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.vfs.PathFactory;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ProjectDataModelOracleBuilderProviderTest {
+
+    private static final String PACKAGE_NAME = "org.test";
+
+    private static final String SUB_SOURCE = "package org.test;\n" +
+            "public class Sub extends Super {\n" +
+            "    private String b;\n" +
+            "    public String getB() { return b; }\n" +
+            "}\n";
+
+    private static final String SUPER_SOURCE = "package org.test;\n" +
+            "public class Super {\n" +
+            "    private String a;\n" +
+            "    public String getA() { return a; }\n" +
+            "}\n";
+
+    private static final String CHANGED_SUPER_SOURCE = "package org.test;\n" +
+            "public class Super {\n" +
+            "    private String a;\n" +
+            "    private String c;\n" +
+            "    public String getA() { return a; }\n" +
+            "    public String getC() { return c; }\n" +
+            "}\n";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Mock
+    private PackageNameWhiteListService packageNameWhiteListService;
+
+    @Mock
+    private ProjectImportsService importsService;
+
+    @Mock
+    private KieProject project;
+
+    private ProjectDataModelOracleBuilderProvider provider;
+
+    @Before
+    public void setUp() throws Exception {
+        when( packageNameWhiteListService.filterPackageNames( eq( project ),
+                                                              anyCollectionOf( String.class ) ) ).thenReturn( new WhiteList( Collections.singleton( PACKAGE_NAME ) ) );
+        when( project.getImportsPath() ).thenReturn( PathFactory.newPath( "project.imports",
+                                                                          new File( folder.getRoot(),
+                                                                                    "project.imports" ).toURI().toString() ) );
+        provider = new ProjectDataModelOracleBuilderProvider( packageNameWhiteListService,
+                                                              importsService,
+                                                              new ClassFactCache() );
+    }
+
+    @Test
+    public void testSubTypeRebuiltWhenSuperClassChanges() throws Exception {
+        final ProjectDataModelOracleBuilderProvider.InnerBuilder builder1 = provider.newBuilder( project,
+                                                                                                 makeBuilder( compile( "v1",
+                                                                                                                       SUPER_SOURCE ) ) );
+        final ProjectDataModelOracle oracle1 = builder1.build();
+        assertEquals( new HashSet<String>( Arrays.asList( "this", "a", "b" ) ),
+                      getFieldNames( oracle1 ) );
+
+        //Sub's bytecode is unchanged, but it inherits a new field
+        final ProjectDataModelOracleBuilderProvider.InnerBuilder builder2 = provider.newBuilder( project,
+                                                                                                 makeBuilder( compile( "v2",
+                                                                                                                       CHANGED_SUPER_SOURCE ) ) );
+        final ProjectDataModelOracle oracle2 = builder2.build( builder1.getTypes() );
+        assertEquals( new HashSet<String>( Arrays.asList( "this", "a", "b", "c" ) ),
+                      getFieldNames( oracle2 ) );
+    }
+
+    @Test
+    public void testSubTypeCopiedWhenHierarchyUnchanged() throws Exception {
+        final ProjectDataModelOracleBuilderProvider.InnerBuilder builder1 = provider.newBuilder( project,
+                                                                                                 makeBuilder( compile( "v1",
+                                                                                                                       SUPER_SOURCE ) ) );
+        final ProjectDataModelOracle oracle1 = builder1.build();
+
+        final ProjectDataModelOracleBuilderProvider.InnerBuilder builder2 = provider.newBuilder( project,
+                                                                                                 makeBuilder( compile( "v1copy",
+                                                                                                                       SUPER_SOURCE ) ) );
+        final ProjectDataModelOracle oracle2 = builder2.build( builder1.getTypes() );
+
+        assertEquals( getFieldNames( oracle1 ),
+                      getFieldNames( oracle2 ) );
+        assertEquals( oracle1.getProjectSuperTypes(),
+                      oracle2.getProjectSuperTypes() );
+    }
+
+    private Set<String> getFieldNames( final ProjectDataModelOracle oracle ) {
+        final Set<String> fieldNames = new HashSet<String>();
+        for ( ModelField field : oracle.getProjectModelFields().get( PACKAGE_NAME + ".Sub" ) ) {
+            fieldNames.add( field.getName() );
+        }
+        return fieldNames;
+    }
+
+    private Builder makeBuilder( final ClassLoader classLoader ) throws Exception {
+        final KieModuleMetaData kieModuleMetaData = mock( KieModuleMetaData.class );
+        when( kieModuleMetaData.getPackages() ).thenReturn( Collections.singleton( PACKAGE_NAME ) );
+        when( kieModuleMetaData.getClasses( PACKAGE_NAME ) ).thenReturn( Collections.singleton( "Sub" ) );
+        when( kieModuleMetaData.getClass( PACKAGE_NAME,
+                                          "Sub" ) ).thenReturn( (Class) classLoader.loadClass( PACKAGE_NAME + ".Sub" ) );
+        when( kieModuleMetaData.getTypeMetaInfo( any( Class.class ) ) ).thenReturn( mock( TypeMetaInfo.class ) );
+        when( kieModuleMetaData.getClassLoader() ).thenReturn( classLoader );
+
+        final TypeSourceResolver typeSourceResolver = mock( TypeSourceResolver.class );
+        when( typeSourceResolver.getTypeSource( any( Class.class ) ) ).thenReturn( TypeSource.JAVA_PROJECT );
+
+        final Builder builder = mock( Builder.class );
+        when( builder.getKieModuleMetaDataIgnoringErrors() ).thenReturn( kieModuleMetaData );
+        when( builder.getTypeSourceResolver( kieModuleMetaData ) ).thenReturn( typeSourceResolver );
+        return builder;
+    }
+
+    private ClassLoader compile( final String version,
+                                 final String superSource ) throws Exception {
+        final File directory = folder.newFolder( version );
+        final File sourceDirectory = new File( directory,
+                                               "org/test" );
+        assertTrue( sourceDirectory.mkdirs() );
+        final File superFile = new File( sourceDirectory,
+                                         "Super.java" );
+        final File subFile = new File( sourceDirectory,
+                                       "Sub.java" );
+        java.nio.file.Files.write( superFile.toPath(),
+                                   superSource.getBytes( StandardCharsets.UTF_8 ) );
+        java.nio.file.Files.write( subFile.toPath(),
+                                   SUB_SOURCE.getBytes( StandardCharsets.UTF_8 ) );
+
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertEquals( 0,
+                      compiler.run( null,
+                                    null,
+                                    null,
+                                    "-d",
+                                    directory.getPath(),
+                                    superFile.getPath(),
+                                    subFile.getPath() ) );
+        return new URLClassLoader( new URL[]{ directory.toURI().toURL() },
+                                   getClass().getClassLoader() );
+    }
+
+}
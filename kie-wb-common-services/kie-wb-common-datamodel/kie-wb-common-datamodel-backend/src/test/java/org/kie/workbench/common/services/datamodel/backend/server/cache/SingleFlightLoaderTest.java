@@ -0,0 +1,158 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodel.backend.server.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SingleFlightLoaderTest {
+
+    private SingleFlightLoader<String, String> loader;
+    private Map<String, String> cache;
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        loader = new SingleFlightLoader<String, String>();
+        cache = new HashMap<String, String>();
+        executor = Executors.newFixedThreadPool( 2 );
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testConcurrentLoadsShareComputation() throws Exception {
+        final AtomicInteger computations = new AtomicInteger();
+        final CountDownLatch started = new CountDownLatch( 1 );
+        final CountDownLatch release = new CountDownLatch( 1 );
+
+        final Future<String> first = executor.submit( () -> loader.load( "key",
+                                                                         () -> {
+                                                                             computations.incrementAndGet();
+                                                                             started.countDown();
+                                                                             await( release );
+                                                                             return "value";
+                                                                         },
+                                                                         ( v ) -> cache.put( "key",
+                                                                                             v ) ) );
+        assertTrue( started.await( 5,
+                                   TimeUnit.SECONDS ) );
+
+        final Future<String> second = executor.submit( () -> loader.load( "key",
+                                                                          () -> {
+                                                                              computations.incrementAndGet();
+                                                                              return "other";
+                                                                          },
+                                                                          ( v ) -> cache.put( "key",
+                                                                                              v ) ) );
+        //Give the second request time to join the computation in progress
+        Thread.sleep( 250 );
+        release.countDown();
+
+        assertEquals( "value",
+                      first.get( 5,
+                                 TimeUnit.SECONDS ) );
+        assertEquals( "value",
+                      second.get( 5,
+                                  TimeUnit.SECONDS ) );
+        assertEquals( "value",
+                      cache.get( "key" ) );
+        assertEquals( 1,
+                      computations.get() );
+    }
+
+    @Test
+    public void testInvalidatedComputationIsNotStored() throws Exception {
+        final CountDownLatch started = new CountDownLatch( 1 );
+        final CountDownLatch release = new CountDownLatch( 1 );
+
+        final Future<String> result = executor.submit( () -> loader.load( "key",
+                                                                          () -> {
+                                                                              started.countDown();
+                                                                              await( release );
+                                                                              return "stale";
+                                                                          },
+                                                                          ( v ) -> cache.put( "key",
+                                                                                              v ) ) );
+        assertTrue( started.await( 5,
+                                   TimeUnit.SECONDS ) );
+        loader.invalidate( ( key ) -> key.startsWith( "k" ) );
+        release.countDown();
+
+        assertEquals( "stale",
+                      result.get( 5,
+                                  TimeUnit.SECONDS ) );
+        assertFalse( cache.containsKey( "key" ) );
+
+        //A subsequent load is computed and stored
+        assertEquals( "fresh",
+                      loader.load( "key",
+                                   () -> "fresh",
+                                   ( v ) -> cache.put( "key",
+                                                       v ) ) );
+        assertEquals( "fresh",
+                      cache.get( "key" ) );
+    }
+
+    @Test
+    public void testFailedComputationIsNotStored() {
+        try {
+            loader.load( "key",
+                         () -> {
+                             throw new IllegalStateException( "failed" );
+                         },
+                         ( v ) -> cache.put( "key",
+                                             v ) );
+            fail( "Expected IllegalStateException" );
+        } catch ( IllegalStateException e ) {
+            assertEquals( "failed",
+                          e.getMessage() );
+        }
+        assertTrue( cache.isEmpty() );
+
+        assertEquals( "value",
+                      loader.load( "key",
+                                   () -> "value",
+                                   ( v ) -> cache.put( "key",
+                                                       v ) ) );
+    }
+
+    private static void await( final CountDownLatch latch ) {
+        try {
+            latch.await( 5,
+                         TimeUnit.SECONDS );
+        } catch ( InterruptedException e ) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -27,6 +27,7 @@ import javax.inject.Named;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.search.TopScoreDocCollector;
 import org.apache.lucene.search.TotalHitCountCollector;
 import org.drools.workbench.models.datamodel.util.PortablePreconditions;
@@ -53,6 +54,7 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
     private LuceneConfig config;
     private NamedQueries namedQueries;
     private PageResponse<RefactoringPageRow> emptyResponse;
+    private SearchAfterCursors cursors = new SearchAfterCursors();
 
     public RefactoringQueryServiceImpl() {
         //Make proxyable
@@ -67,6 +69,15 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
                                             namedQueries );
     }
 
+    RefactoringQueryServiceImpl( final LuceneConfig config,
+                                 final NamedQueries namedQueries,
+                                 final SearchAfterCursors cursors ) {
+        this( config,
+              namedQueries );
+        this.cursors = PortablePreconditions.checkNotNull( "cursors",
+                                                           cursors );
+    }
+
     @PostConstruct
     public void init() {
         emptyResponse = new PageResponse<RefactoringPageRow>();
@@ -102,16 +113,19 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
         final Query query = namedQuery.toQuery( request.getQueryTerms(),
                                                 request.useWildcards() );
 
-        if ( searchHits( query ) > 0 ) {
-            final int pageSize = request.getPageSize();
-            final int startIndex = request.getStartRowIndex();
-            final List<KObject> kObjects = search( query,
-                                                   pageSize,
-                                                   startIndex );
+        final int pageSize = request.getPageSize();
+        final int startIndex = request.getStartRowIndex();
+        final List<KObject> kObjects = new ArrayList<KObject>( pageSize );
+        final int totalHits = search( query,
+                                      pageSize,
+                                      startIndex,
+                                      kObjects );
 
+        if ( totalHits > 0 ) {
             final ResponseBuilder responseBuilder = namedQuery.getResponseBuilder();
             return responseBuilder.buildResponse( pageSize,
                                                   startIndex,
+                                                  totalHits,
                                                   kObjects );
         } else {
             return emptyResponse;
@@ -165,30 +179,55 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
         }
     }
 
-    private List<KObject> search( final Query query,
-                                  final int pageSize,
-                                  final int startIndex,
-                                  final ClusterSegment... clusterSegments ) {
+    /**
+     * Collect a page of hits and count the total hits in a single search. If the last hit of the preceding page is
+     * known, for the same generation of the index reader, only the hits following it are collected; otherwise all hits up to the end of
+     * the page are collected.
+     * @return The total number of hits
+     */
+    private int search( final Query query,
+                        final int pageSize,
+                        final int startIndex,
+                        final List<KObject> result,
+                        final ClusterSegment... clusterSegments ) {
         final LuceneIndexManager indexManager = ( (LuceneIndexManager) config.getIndexManager() );
-        final TopScoreDocCollector collector = TopScoreDocCollector.create( ( startIndex + 1 ) * pageSize );
         final IndexSearcher index = indexManager.getIndexSearcher( clusterSegments );
-        final List<KObject> result = new ArrayList<KObject>( pageSize );
         try {
-            index.search( query,
-                          collector );
-            final ScoreDoc[] hits = collector.topDocs( startIndex ).scoreDocs;
-            int iterations = hits.length > pageSize ? pageSize : hits.length;
-            for ( int i = 0; i < iterations; i++ ) {
+            final List<Object> readerKeys = SearchAfterCursors.getReaderKeys( index.getIndexReader() );
+            final ScoreDoc after = startIndex > 0 ? cursors.get( readerKeys,
+                                                                 query,
+                                                                 startIndex ) : null;
+            final TopDocs topDocs;
+            final int offset;
+            if ( after != null ) {
+                topDocs = index.searchAfter( after,
+                                             query,
+                                             pageSize );
+                offset = 0;
+            } else {
+                topDocs = index.search( query,
+                                        startIndex + pageSize );
+                offset = startIndex;
+            }
+
+            final ScoreDoc[] hits = topDocs.scoreDocs;
+            for ( int i = offset; i < hits.length; i++ ) {
                 result.add( toKObject( index.doc( hits[ i ].doc ) ) );
             }
+            if ( hits.length > offset ) {
+                cursors.put( readerKeys,
+                             query,
+                             startIndex + hits.length - offset,
+                             hits[ hits.length - 1 ] );
+            }
+            return topDocs.totalHits;
+
         } catch ( final Exception ex ) {
             throw new RuntimeException( "Error during Query!",
                                         ex );
         } finally {
             indexManager.release( index );
         }
-
-        return result;
     }
 
     private List<KObject> search( final Query query,
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.refactoring.backend.server.query;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+
+/**
+ * Remembers the last hit of the pages returned by {@link RefactoringQueryServiceImpl} so that the following page can
+ * be collected with a "search after" from that hit, rather than by collecting all hits preceding the page. Lucene
+ * document numbers are only valid for the index reader that returned them, and hence a cursor is only returned for
+ * a reader with the same generation: the same segments, with the same deletions, in the same order. A new top-level
+ * reader wrapping unchanged segments has the same generation.
+ */
+class SearchAfterCursors {
+
+    private static final int MAX_ENTRIES = 100;
+
+    private final Map<CursorKey, Cursor> cursors = new LinkedHashMap<CursorKey, Cursor>( MAX_ENTRIES + 1,
+                                                                                        0.75f,
+                                                                                        true ) {
+        @Override
+        protected boolean removeEldestEntry( final Map.Entry<CursorKey, Cursor> eldest ) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    /**
+     * Get the hit preceding a row
+     * @param readerKeys Generation of the index reader being searched, see {@link #getReaderKeys(IndexReader)}
+     * @param query The query
+     * @param rowIndex Index of the row
+     * @return The hit preceding the row, or null if unknown
+     */
+    synchronized ScoreDoc get( final List<Object> readerKeys,
+                               final Query query,
+                               final int rowIndex ) {
+        final CursorKey key = new CursorKey( query,
+                                             rowIndex );
+        final Cursor cursor = cursors.get( key );
+        if ( cursor == null ) {
+            return null;
+        }
+        if ( !cursor.isGeneration( readerKeys ) ) {
+            cursors.remove( key );
+            return null;
+        }
+        return cursor.scoreDoc;
+    }
+
+    /**
+     * Remember the hit preceding a row
+     * @param readerKeys Generation of the index reader that returned the hit, see {@link #getReaderKeys(IndexReader)}
+     * @param query The query
+     * @param rowIndex Index of the row following the hit
+     * @param scoreDoc The hit
+     */
+    synchronized void put( final List<Object> readerKeys,
+                           final Query query,
+                           final int rowIndex,
+                           final ScoreDoc scoreDoc ) {
+        cursors.put( new CursorKey( query,
+                                    rowIndex ),
+                     new Cursor( readerKeys,
+                                 scoreDoc ) );
+    }
+
+    /**
+     * Get the generation of an index reader. The top-level reader can be re-opened or re-wrapped for every search,
+     * whereas its segments, and their keys, are only replaced when the index changes.
+     * @param reader The index reader
+     * @return The keys of the reader's segments, including their deletions, in order
+     */
+    static List<Object> getReaderKeys( final IndexReader reader ) {
+        final List<LeafReaderContext> leaves = reader.leaves();
+        final List<Object> readerKeys = new ArrayList<Object>( leaves.size() );
+        for ( LeafReaderContext leaf : leaves ) {
+            readerKeys.add( leaf.reader().getCombinedCoreAndDeletesKey() );
+        }
+        return readerKeys;
+    }
+
+    private static class CursorKey {
+
+        private final Query query;
+        private final int rowIndex;
+
+        private CursorKey( final Query query,
+                           final int rowIndex ) {
+            this.query = query;
+            this.rowIndex = rowIndex;
+        }
+
+        @Override
+        public boolean equals( final Object o ) {
+            if ( this == o ) {
+                return true;
+            }
+            if ( !( o instanceof CursorKey ) ) {
+                return false;
+            }
+            final CursorKey that = (CursorKey) o;
+            return rowIndex == that.rowIndex && query.equals( that.query );
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * query.hashCode() + rowIndex;
+        }
+    }
+
+    private static class Cursor {
+
+        //Segments are closed when the index changes, so do not keep their keys reachable
+        private final List<WeakReference<Object>> readerKeys;
+        private final ScoreDoc scoreDoc;
+
+        private Cursor( final List<Object> readerKeys,
+                        final ScoreDoc scoreDoc ) {
+            this.readerKeys = new ArrayList<WeakReference<Object>>( readerKeys.size() );
+            for ( Object readerKey : readerKeys ) {
+                this.readerKeys.add( new WeakReference<Object>( readerKey ) );
+            }
+            this.scoreDoc = scoreDoc;
+        }
+
+        private boolean isGeneration( final List<Object> readerKeys ) {
+            if ( this.readerKeys.size() != readerKeys.size() ) {
+                return false;
+            }
+            for ( int i = 0; i < readerKeys.size(); i++ ) {
+                if ( this.readerKeys.get( i ).get() != readerKeys.get( i ) ) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+}
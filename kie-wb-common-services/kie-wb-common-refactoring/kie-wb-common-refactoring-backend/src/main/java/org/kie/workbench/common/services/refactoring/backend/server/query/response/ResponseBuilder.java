@@ -27,6 +27,28 @@ public interface ResponseBuilder {
                                                     final int startRow,
                                                     final List<KObject> kObjects );
 
+    /**
+     * Build a page of a response when the total number of hits of the query is known. The page is built by
+     * {@link #buildResponse(int, int, List)} and its total size and last page are then set from the total hits.
+     * @param pageSize Size of the page requested
+     * @param startRow Index of the first row of the page
+     * @param totalHits Total number of hits of the query
+     * @param kObjects The hits of the page
+     * @return The page of the response
+     */
+    default PageResponse<RefactoringPageRow> buildResponse( final int pageSize,
+                                                            final int startRow,
+                                                            final int totalHits,
+                                                            final List<KObject> kObjects ) {
+        final PageResponse<RefactoringPageRow> response = buildResponse( pageSize,
+                                                                         startRow,
+                                                                         kObjects );
+        response.setTotalRowSize( totalHits );
+        response.setTotalRowSizeExact( true );
+        response.setLastPage( startRow + kObjects.size() >= totalHits );
+        return response;
+    }
+
     List<RefactoringPageRow> buildResponse( final List<KObject> kObjects );
 
 }
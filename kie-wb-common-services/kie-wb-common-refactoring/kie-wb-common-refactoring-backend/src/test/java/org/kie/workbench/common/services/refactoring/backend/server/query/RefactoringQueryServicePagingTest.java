@@ -0,0 +1,196 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.refactoring.backend.server.query;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.enterprise.inject.Instance;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.junit.Test;
+import org.kie.workbench.common.services.refactoring.backend.server.BaseIndexingTest;
+import org.kie.workbench.common.services.refactoring.backend.server.TestIndexer;
+import org.kie.workbench.common.services.refactoring.backend.server.drl.TestDrlFileIndexer;
+import org.kie.workbench.common.services.refactoring.backend.server.drl.TestDrlFileTypeDefinition;
+import org.kie.workbench.common.services.refactoring.backend.server.indexing.RuleAttributeNameAnalyzer;
+import org.kie.workbench.common.services.refactoring.backend.server.query.response.DefaultResponseBuilder;
+import org.kie.workbench.common.services.refactoring.backend.server.query.response.ResponseBuilder;
+import org.kie.workbench.common.services.refactoring.backend.server.query.standard.FindTypesQuery;
+import org.kie.workbench.common.services.refactoring.model.index.terms.ProjectRootPathIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.index.terms.RuleAttributeIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueTypeIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRequest;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRow;
+import org.uberfire.ext.metadata.backend.lucene.analyzer.FilenameAnalyzer;
+import org.uberfire.paging.PageResponse;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class RefactoringQueryServicePagingTest extends BaseIndexingTest<TestDrlFileTypeDefinition> {
+
+    private static final int FILES = 5;
+
+    private static final int PAGE_SIZE = 2;
+
+    private Set<NamedQuery> queries = new HashSet<NamedQuery>() {{
+        add( new FindTypesQuery() {
+            @Override
+            public ResponseBuilder getResponseBuilder() {
+                return new DefaultResponseBuilder( ioService() );
+            }
+        } );
+    }};
+
+    //Counts the pages collected with a "search after" from the last hit of the preceding page
+    private int cursorsUsed = 0;
+
+    private final SearchAfterCursors cursors = new SearchAfterCursors() {
+        @Override
+        synchronized ScoreDoc get( final List<Object> readerKeys,
+                                   final Query query,
+                                   final int rowIndex ) {
+            final ScoreDoc after = super.get( readerKeys,
+                                              query,
+                                              rowIndex );
+            if ( after != null ) {
+                cursorsUsed++;
+            }
+            return after;
+        }
+    };
+
+    @Test
+    public void testPagesFollowingCursors() throws IOException, InterruptedException {
+        final Instance<NamedQuery> namedQueriesProducer = mock( Instance.class );
+        when( namedQueriesProducer.iterator() ).thenReturn( queries.iterator() );
+
+        final RefactoringQueryServiceImpl service = new RefactoringQueryServiceImpl( getConfig(),
+                                                                                     new NamedQueries( namedQueriesProducer ),
+                                                                                     cursors );
+        service.init();
+
+        //Add test files
+        final String drl = loadText( "findtypes/drl1.drl" );
+        for ( int i = 0; i < FILES; i++ ) {
+            ioService().write( basePath.resolve( "drl" + i + ".drl" ),
+                               drl );
+        }
+
+        Thread.sleep( 5000 ); //wait for events to be consumed from jgit -> (notify changes -> watcher -> index) -> lucene index
+
+        final List<String> allFileNames = getFileNames( service.query( makeRequest( 0,
+                                                                                    FILES * 2 ) ).getPageRowList() );
+        assertEquals( FILES,
+                      allFileNames.size() );
+        assertEquals( 0,
+                      cursorsUsed );
+
+        //Every page requested after the first follows the last hit of the page before, from the same index segments
+        final List<String> pagedFileNames = new ArrayList<String>();
+        for ( int startRow = 0; startRow < FILES; startRow += PAGE_SIZE ) {
+            final PageResponse<RefactoringPageRow> response = service.query( makeRequest( startRow,
+                                                                                          PAGE_SIZE ) );
+            assertEquals( FILES,
+                          response.getTotalRowSize() );
+            assertTrue( response.isTotalRowSizeExact() );
+            assertEquals( startRow + PAGE_SIZE >= FILES,
+                          response.isLastPage() );
+            pagedFileNames.addAll( getFileNames( response.getPageRowList() ) );
+        }
+        assertEquals( ( FILES - 1 ) / PAGE_SIZE,
+                      cursorsUsed );
+        assertEquals( allFileNames,
+                      pagedFileNames );
+
+        //A page requested again follows the same cursor whilst the index is unchanged
+        cursorsUsed = 0;
+        assertEquals( allFileNames.subList( PAGE_SIZE,
+                                            PAGE_SIZE * 2 ),
+                      getFileNames( service.query( makeRequest( PAGE_SIZE,
+                                                                PAGE_SIZE ) ).getPageRowList() ) );
+        assertEquals( 1,
+                      cursorsUsed );
+
+        //Cursors are not followed once the index has changed
+        ioService().write( basePath.resolve( "drl" + FILES + ".drl" ),
+                           drl );
+
+        Thread.sleep( 5000 ); //wait for events to be consumed from jgit -> (notify changes -> watcher -> index) -> lucene index
+
+        cursorsUsed = 0;
+        final PageResponse<RefactoringPageRow> response = service.query( makeRequest( PAGE_SIZE,
+                                                                                      PAGE_SIZE ) );
+        assertEquals( FILES + 1,
+                      response.getTotalRowSize() );
+        assertEquals( PAGE_SIZE,
+                      response.getPageRowList().size() );
+        assertEquals( 0,
+                      cursorsUsed );
+    }
+
+    private RefactoringPageRequest makeRequest( final int startRow,
+                                                final int pageSize ) {
+        return new RefactoringPageRequest( "FindTypesQuery",
+                                           new HashSet<ValueIndexTerm>() {{
+                                               add( new ValueTypeIndexTerm( "org.kie.workbench.common.services.refactoring.backend.server.drl.classes.Applicant" ) );
+                                           }},
+                                           startRow,
+                                           pageSize );
+    }
+
+    private List<String> getFileNames( final List<RefactoringPageRow> rows ) {
+        final List<String> fileNames = new ArrayList<String>();
+        for ( RefactoringPageRow row : rows ) {
+            fileNames.add( ( (org.uberfire.backend.vfs.Path) row.getValue() ).getFileName() );
+        }
+        return fileNames;
+    }
+
+    @Override
+    protected TestIndexer getIndexer() {
+        return new TestDrlFileIndexer();
+    }
+
+    @Override
+    public Map<String, Analyzer> getAnalyzers() {
+        return new HashMap<String, Analyzer>() {{
+            put( RuleAttributeIndexTerm.TERM,
+                 new RuleAttributeNameAnalyzer() );
+            put( ProjectRootPathIndexTerm.TERM,
+                 new FilenameAnalyzer() );
+        }};
+    }
+
+    @Override
+    protected TestDrlFileTypeDefinition getResourceTypeDefinition() {
+        return new TestDrlFileTypeDefinition();
+    }
+
+    @Override
+    protected String getRepositoryName() {
+        return this.getClass().getSimpleName();
+    }
+
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.refactoring.backend.server.query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.TermQuery;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SearchAfterCursorsTest {
+
+    private final SearchAfterCursors cursors = new SearchAfterCursors();
+
+    private final Object segmentKey1 = new Object();
+
+    private final Object segmentKey2 = new Object();
+
+    private final List<Object> readerKeys = Arrays.asList( segmentKey1,
+                                                           segmentKey2 );
+
+    private final Query query = new TermQuery( new Term( "field",
+                                                         "value" ) );
+
+    private final ScoreDoc scoreDoc = new ScoreDoc( 10,
+                                                    1.0f );
+
+    @Test
+    public void testSameReader() {
+        cursors.put( readerKeys,
+                     query,
+                     20,
+                     scoreDoc );
+
+        assertSame( scoreDoc,
+                    cursors.get( readerKeys,
+                                 new TermQuery( new Term( "field",
+                                                          "value" ) ),
+                                 20 ) );
+    }
+
+    @Test
+    public void testDifferentRow() {
+        cursors.put( readerKeys,
+                     query,
+                     20,
+                     scoreDoc );
+
+        assertNull( cursors.get( readerKeys,
+                                 query,
+                                 40 ) );
+    }
+
+    @Test
+    public void testDifferentQuery() {
+        cursors.put( readerKeys,
+                     query,
+                     20,
+                     scoreDoc );
+
+        assertNull( cursors.get( readerKeys,
+                                 new TermQuery( new Term( "field",
+                                                          "other" ) ),
+                                 20 ) );
+    }
+
+    @Test
+    public void testDifferentReader() {
+        cursors.put( readerKeys,
+                     query,
+                     20,
+                     scoreDoc );
+
+        assertNull( cursors.get( Arrays.asList( segmentKey1,
+                                                new Object() ),
+                                 query,
+                                 20 ) );
+        //Cursors for a stale reader are discarded
+        assertNull( cursors.get( readerKeys,
+                                 query,
+                                 20 ) );
+    }
+
+    @Test
+    public void testSameSegmentsOfDifferentReader() {
+        cursors.put( readerKeys,
+                     query,
+                     20,
+                     scoreDoc );
+
+        //A reader re-wrapping the same segments has the same generation
+        assertSame( scoreDoc,
+                    cursors.get( new ArrayList<Object>( readerKeys ),
+                                 query,
+                                 20 ) );
+    }
+
+    @Test
+    public void testSegmentAdded() {
+        cursors.put( readerKeys,
+                     query,
+                     20,
+                     scoreDoc );
+
+        assertNull( cursors.get( Arrays.asList( segmentKey1,
+                                                segmentKey2,
+                                                new Object() ),
+                                 query,
+                                 20 ) );
+    }
+
+}
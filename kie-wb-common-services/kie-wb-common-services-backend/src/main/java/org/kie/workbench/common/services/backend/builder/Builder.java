@@ -23,22 +23,29 @@ import static org.kie.workbench.common.services.backend.builder.MessageConverter
 import static org.kie.workbench.common.services.backend.builder.MessageConverter.convertValidationMessages;
 import static org.uberfire.commons.validation.PortablePreconditions.checkNotNull;
 
-import java.io.BufferedInputStream;
-import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Predicate;
 
+import org.drools.compiler.compiler.io.memory.MemoryFileSystem;
 import org.drools.compiler.kie.builder.impl.InternalKieModule;
 import org.drools.compiler.kie.builder.impl.KieBuilderImpl;
 import org.drools.compiler.kie.builder.impl.KieContainerImpl;
 import org.drools.compiler.kie.builder.impl.KieModuleKieProject;
+import org.drools.compiler.kie.builder.impl.KieRepositoryImpl;
+import org.drools.compiler.kie.builder.impl.MemoryKieModule;
 import org.drools.compiler.kproject.xml.DependencyFilter;
 import org.drools.compiler.kproject.xml.PomModel;
 import org.drools.workbench.models.datamodel.imports.Import;
@@ -84,6 +91,8 @@ public class Builder {
 
     private static final Logger logger = LoggerFactory.getLogger( Builder.class );
 
+    private final static long LOCK_WAIT_LOG_THRESHOLD_NANOS = TimeUnit.SECONDS.toNanos( 1 );
+
     private final static String ERROR_CLASS_NOT_FOUND = "Definition of class \"{0}\" was not found.\n" +
             "Please check the necessary external dependencies for this project are configured correctly.";
 
@@ -99,6 +108,13 @@ public class Builder {
     private final Handles handles = new Handles();
     private final KieProjectService     projectService;
     private       KieBuilder  kieBuilder;
+
+    //Writers (full and incremental builds) hold the lock; readers use the last published KieModule without locking
+    private final ReentrantLock buildLock = new ReentrantLock();
+    private volatile PublishedKieModule published;
+    private volatile long publications;
+    private final LongAdder lockWaitTimeNanos = new LongAdder();
+    private final LongAdder lockAcquisitions = new LongAdder();
     private final ProjectImportsService importsService;
     private final List<BuildValidationHelper> buildValidationHelpers;
 
@@ -110,12 +126,19 @@ public class Builder {
 
     private final Set<String> javaResources = new HashSet<String>();
 
+    //Digest of the content last written to KieFileSystem, keyed by KieFileSystem path
+    private final Map<String, String> resourceDigests = new HashMap<String, String>();
+
     private LRUProjectDependenciesClassLoaderCache dependenciesClassLoaderCache;
     private LRUPomModelCache            pomModelCache;
     private PackageNameWhiteListService packageNameWhiteListService;
 
     private final Predicate<String> classFilter;
 
+    private final KieModuleSnapshotStore snapshotStore;
+    private boolean snapshotLoaded = false;
+    private KieModule snapshotKieModule;
+
     public Builder( final Project project,
                     final IOService ioService,
                     final KieProjectService projectService,
@@ -125,6 +148,28 @@ public class Builder {
                     final LRUPomModelCache pomModelCache,
                     final PackageNameWhiteListService packageNameWhiteListService,
                     final Predicate<String> classFilter ) {
+        this( project,
+              ioService,
+              projectService,
+              importsService,
+              buildValidationHelpers,
+              dependenciesClassLoaderCache,
+              pomModelCache,
+              packageNameWhiteListService,
+              classFilter,
+              null );
+    }
+
+    public Builder( final Project project,
+                    final IOService ioService,
+                    final KieProjectService projectService,
+                    final ProjectImportsService importsService,
+                    final List<BuildValidationHelper> buildValidationHelpers,
+                    final LRUProjectDependenciesClassLoaderCache dependenciesClassLoaderCache,
+                    final LRUPomModelCache pomModelCache,
+                    final PackageNameWhiteListService packageNameWhiteListService,
+                    final Predicate<String> classFilter,
+                    final KieModuleSnapshotStore snapshotStore ) {
         this.project = project;
         this.ioService = ioService;
         this.projectService = projectService;
@@ -139,22 +184,26 @@ public class Builder {
         this.kieFileSystem = kieServices.newKieFileSystem();
         this.dependenciesClassLoaderCache = dependenciesClassLoaderCache;
         this.pomModelCache = pomModelCache;
+        this.snapshotStore = snapshotStore;
 
         DirectoryStream<org.uberfire.java.nio.file.Path> directoryStream = Files.newDirectoryStream( projectRoot );
         visitPaths( directoryStream );
     }
 
     public BuildResults build() {
-        synchronized ( kieFileSystem ) {
+        lock();
+        try {
             //KieBuilder is not re-usable for successive "full" builds
-            kieBuilder = createKieBuilder( kieFileSystem );
+            final KieBuilder kieBuilder = createKieBuilder( kieFileSystem );
 
             //Record RTEs from KieBuilder - that can fail if a rule uses an inaccessible class
             final BuildResults results = new BuildResults( projectGAV );
+            boolean completed = false;
             try {
                 final Results kieResults = ((InternalKieBuilder) kieBuilder).buildAll( classFilter ).getResults();
                 results.addAllBuildMessages( convertMessages( kieResults.getMessages(),
                                                               handles ) );
+                completed = true;
 
             } catch ( LinkageError e ) {
                 final String msg = MessageFormat.format( ERROR_CLASS_NOT_FOUND,
@@ -175,6 +224,12 @@ public class Builder {
                 }
             }
 
+            //Readers, and incremental builds, keep using the last completed build if KieBuilder failed
+            if ( completed ) {
+                this.kieBuilder = kieBuilder;
+                publish();
+            }
+
             //Add validate messages from external helpers
             for ( Map.Entry<Path, BuildValidationHelper> e : nonKieResourceValidationHelpers.entrySet() ) {
                 final org.uberfire.backend.vfs.Path vfsPath = Paths.convert( e.getKey() );
@@ -204,6 +259,11 @@ public class Builder {
                 }
             }
 
+            snapshotKieModule = null;
+            if ( !completed ) {
+                return results;
+            }
+
             //At the end we are interested to ensure that external .jar files referenced as dependencies don't have
             // referential inconsistencies. We will at least provide a basic algorithm to ensure that if an external class
             // X references another external class Y, Y is also accessible by the class loader.
@@ -215,7 +275,94 @@ public class Builder {
 
             results.addAllBuildMessages( verifyClasses( kieModuleMetaData ) );
 
+            //A successfully built KieModule can be re-used following a restart
+            if ( results.getErrorMessages().isEmpty() ) {
+                saveSnapshot();
+            }
+
             return results;
+        } finally {
+            unlock();
+        }
+    }
+
+    private boolean isSnapshotStoreEnabled() {
+        return snapshotStore != null && snapshotStore.isEnabled();
+    }
+
+    private void saveSnapshot() {
+        if ( !isSnapshotStoreEnabled() ) {
+            return;
+        }
+        try {
+            final String revisionId = snapshotStore.getRevisionId( projectRoot,
+                                                                   project.getPom().getDependencies() );
+            if ( revisionId != null ) {
+                snapshotStore.save( projectRoot,
+                                    revisionId,
+                                    published.getBytes() );
+            }
+        } catch ( Exception e ) {
+            logger.warn( "Unable to save KieModule snapshot for Project '" + project.getProjectName() + "': " + e.getMessage() );
+        }
+    }
+
+    /**
+     * Returns the KieModule stored for the Project's current commit, if the Project has not yet been built.
+     * @return The KieModule or null if no snapshot exists for the current commit.
+     */
+    private KieModule getSnapshotKieModule() {
+        if ( !isSnapshotStoreEnabled() ) {
+            return null;
+        }
+        lock();
+        try {
+            if ( published != null ) {
+                return null;
+            }
+            if ( !snapshotLoaded ) {
+                snapshotLoaded = true;
+                final byte[] bytes = snapshotStore.load( projectRoot,
+                                                         snapshotStore.getRevisionId( projectRoot,
+                                                                                      project.getPom().getDependencies() ) );
+                if ( bytes != null ) {
+                    try {
+                        final InternalKieModule kieModule = (InternalKieModule) kieServices.getRepository().addKieModule( kieServices.getResources().newByteArrayResource( bytes ) );
+                        addKieDependencies( kieModule );
+
+                        //As a full build, store the project dependencies ClassLoader for optimization purposes.
+                        updateDependenciesClassLoader( project,
+                                                       KieModuleMetaData.Factory.newKieModuleMetaData( kieModule,
+                                                                                                       DependencyFilter.COMPILE_FILTER ) );
+                        snapshotKieModule = kieModule;
+                    } catch ( Exception e ) {
+                        logger.warn( "Unable to restore KieModule snapshot for Project '" + project.getProjectName() + "': " + e.getMessage() );
+                        snapshotStore.delete( projectRoot );
+                    }
+                }
+            }
+            return snapshotKieModule;
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * KieBuilder adds the KieModules of the Project's dependencies to the KieModule it builds. KieModules restored from
+     * a snapshot only contain the Project's own resources, so add the dependencies as KieBuilder would.
+     */
+    private void addKieDependencies( final InternalKieModule kieModule ) {
+        final PomModel pomModel = kieModule.getPomModel();
+        if ( pomModel == null ) {
+            return;
+        }
+        final KieRepositoryImpl repository = (KieRepositoryImpl) kieServices.getRepository();
+        for ( ReleaseId dependency : pomModel.getDependencies( DependencyFilter.COMPILE_FILTER ) ) {
+            final KieModule dependencyKieModule = repository.getKieModule( dependency,
+                                                                           pomModel );
+            if ( dependencyKieModule != null ) {
+                kieModule.addKieDependency( (InternalKieModule) dependencyKieModule );
+            }
         }
     }
 
@@ -249,7 +396,8 @@ public class Builder {
     }
 
     public IncrementalBuildResults addResource( final Path resource ) {
-        synchronized ( kieFileSystem ) {
+        lock();
+        try {
             checkNotNull( "resource",
                           resource );
 
@@ -260,8 +408,17 @@ public class Builder {
 
             checkAFullBuildHasBeenPerformed();
 
-            //Resource Type might require "external" validation (i.e. it's not covered by Kie)
+            //Resources whose content has not changed do not need to be rebuilt
             final IncrementalBuildResults results = new IncrementalBuildResults( projectGAV );
+            final String destinationPath = resource.toUri().toString().substring( projectPrefix.length() + 1 );
+            final byte[] content = ioService.readAllBytes( resource );
+            final String digest = digest( content );
+            if ( isUnchanged( destinationPath,
+                              digest ) ) {
+                return results;
+            }
+
+            //Resource Type might require "external" validation (i.e. it's not covered by Kie)
             final BuildValidationHelper validator = getBuildValidationHelper( resource );
             if ( validator != null ) {
                 final List<ValidationMessage> addedValidationMessages = validator.validate( Paths.convert( resource ) );
@@ -276,11 +433,9 @@ public class Builder {
             }
 
             //Add new resource
-            final String destinationPath = resource.toUri().toString().substring( projectPrefix.length() + 1 );
-            final InputStream is = ioService.newInputStream( resource );
-            final BufferedInputStream bis = new BufferedInputStream( is );
-            kieFileSystem.write( destinationPath,
-                                 KieServices.Factory.get().getResources().newInputStreamResource( bis ) );
+            writeResource( destinationPath,
+                           content,
+                           digest );
             addJavaClass( resource );
             handles.put( getBaseFileName( destinationPath ),
                          Paths.convert( resource ) );
@@ -289,11 +444,14 @@ public class Builder {
                                 destinationPath );
 
             return results;
+        } finally {
+            unlock();
         }
     }
 
     public IncrementalBuildResults deleteResource( final Path resource ) {
-        synchronized ( kieFileSystem ) {
+        lock();
+        try {
             checkNotNull( "resource",
                           resource );
             //The file has already been deleted so we can't check if the Path is a file or folder :(
@@ -310,24 +468,30 @@ public class Builder {
 
             //Delete resource
             final String destinationPath = resource.toUri().toString().substring( projectPrefix.length() + 1 );
-            kieFileSystem.delete( destinationPath );
+            deleteResource( destinationPath );
             removeJavaClass( resource );
 
             buildIncrementally( results,
                                 destinationPath );
 
             return results;
+        } finally {
+            unlock();
         }
     }
 
     public IncrementalBuildResults updateResource( final Path resource ) {
-        synchronized ( kieFileSystem ) {
+        lock();
+        try {
             return addResource( resource );
+        } finally {
+            unlock();
         }
     }
 
     public IncrementalBuildResults applyBatchResourceChanges( final Map<org.uberfire.backend.vfs.Path, Collection<ResourceChange>> changes ) {
-        synchronized ( kieFileSystem ) {
+        lock();
+        try {
             checkNotNull( "changes",
                           changes );
 
@@ -349,22 +513,26 @@ public class Builder {
                                   resource );
 
                     final String destinationPath = resource.toUri().toString().substring( projectPrefix.length() + 1 );
-                    changedFilesKieBuilderPaths.add( destinationPath );
                     switch ( type ) {
                         case ADD:
                         case UPDATE:
                             //Only files can be processed
                             if ( !Files.isRegularFile( resource ) ) {
+                                changedFilesKieBuilderPaths.add( destinationPath );
                                 continue;
                             }
 
-                            update( nonKieResourceValidatorAddedMessages,
-                                    nonKieResourceValidatorRemovedMessages,
-                                    resource,
-                                    destinationPath );
+                            //Resources whose content has not changed do not need to be rebuilt
+                            if ( update( nonKieResourceValidatorAddedMessages,
+                                         nonKieResourceValidatorRemovedMessages,
+                                         resource,
+                                         destinationPath ) ) {
+                                changedFilesKieBuilderPaths.add( destinationPath );
+                            }
 
                             break;
                         case DELETE:
+                            changedFilesKieBuilderPaths.add( destinationPath );
                             delete( nonKieResourceValidatorRemovedMessages,
                                     resource,
                                     destinationPath );
@@ -375,14 +543,18 @@ public class Builder {
 
             //Perform the Incremental build and get messages from incremental build
             final IncrementalBuildResults results = new IncrementalBuildResults( projectGAV );
-            buildIncrementally( results,
-                                toArray( changedFilesKieBuilderPaths ) );
+            if ( !changedFilesKieBuilderPaths.isEmpty() ) {
+                buildIncrementally( results,
+                                    toArray( changedFilesKieBuilderPaths ) );
+            }
 
             //Copy in BuildMessages for non-KIE resources
             results.addAllAddedMessages( convertValidationMessages( nonKieResourceValidatorAddedMessages ) );
             results.addAllRemovedMessages( convertValidationMessages( nonKieResourceValidatorRemovedMessages ) );
 
             return results;
+        } finally {
+            unlock();
         }
     }
 
@@ -405,14 +577,21 @@ public class Builder {
         }
 
         //The file has already been deleted so we can't check if the Path is a file or folder :(
-        kieFileSystem.delete( destinationPath );
+        deleteResource( destinationPath );
         removeJavaClass( resource );
     }
 
-    private void update( final List<ValidationMessage> nonKieResourceValidatorAddedMessages,
+    private boolean update( final List<ValidationMessage> nonKieResourceValidatorAddedMessages,
                          final List<ValidationMessage> nonKieResourceValidatorRemovedMessages,
                          final Path resource,
                          final String destinationPath ) {
+        final byte[] content = ioService.readAllBytes( resource );
+        final String digest = digest( content );
+        if ( isUnchanged( destinationPath,
+                          digest ) ) {
+            return false;
+        }
+
         //Resource Type might require "external" validation (i.e. it's not covered by Kie)
         final BuildValidationHelper validator = getBuildValidationHelper( resource );
         if ( validator != null ) {
@@ -437,19 +616,55 @@ public class Builder {
         }
 
         //Add new resource
-        final InputStream is = ioService.newInputStream( resource );
-        final BufferedInputStream bis = new BufferedInputStream( is );
-        kieFileSystem.write( destinationPath,
-                             KieServices.Factory.get().getResources().newInputStreamResource( bis ) );
+        writeResource( destinationPath,
+                       content,
+                       digest );
         addJavaClass( resource );
         handles.put( getBaseFileName( destinationPath ),
                      Paths.convert( resource ) );
+        return true;
+    }
+
+    private boolean isUnchanged( final String destinationPath,
+                                 final String digest ) {
+        return digest != null && digest.equals( resourceDigests.get( destinationPath ) );
+    }
+
+    private void writeResource( final String destinationPath,
+                                final byte[] content,
+                                final String digest ) {
+        kieFileSystem.write( destinationPath,
+                             content );
+        if ( digest == null ) {
+            resourceDigests.remove( destinationPath );
+        } else {
+            resourceDigests.put( destinationPath,
+                                 digest );
+        }
+    }
+
+    private void deleteResource( final String destinationPath ) {
+        kieFileSystem.delete( destinationPath );
+        resourceDigests.remove( destinationPath );
+    }
+
+    private static String digest( final byte[] content ) {
+        try {
+            return Base64.getEncoder().encodeToString( MessageDigest.getInstance( "SHA-1" ).digest( content ) );
+        } catch ( NoSuchAlgorithmException e ) {
+            //Without a digest every change is treated as a modification
+            logger.warn( e.getMessage() );
+            return null;
+        }
     }
 
     private void buildIncrementally( final IncrementalBuildResults results,
                                      final String... destinationPath ) {
         try {
+            //Readers of the last publication must not see KieBuilder update its KieModule
+            published.seal();
             final IncrementalResults incrementalResults = ( (InternalKieBuilder) kieBuilder ).createFileSet( destinationPath ).build();
+            publish();
             results.addAllAddedMessages( convertMessages( incrementalResults.getAddedMessages(), handles ) );
             results.addAllRemovedMessages( convertMessages( incrementalResults.getRemovedMessages(), handles ) );
 
@@ -479,23 +694,27 @@ public class Builder {
     }
 
     public KieModule getKieModule() {
-        //Kie classes are only available once built
+        //Kie classes are only available once built, or restored from a snapshot
         if ( !isBuilt() ) {
+            final KieModule kieModule = getSnapshotKieModule();
+            if ( kieModule != null ) {
+                return kieModule;
+            }
             build();
         }
-        synchronized ( kieFileSystem ) {
-            return kieBuilder.getKieModule();
-        }
+        return getPublished().getKieModule();
     }
 
     public KieModule getKieModuleIgnoringErrors() {
-        //Kie classes are only available once built
+        //Kie classes are only available once built, or restored from a snapshot
         if ( !isBuilt() ) {
+            final KieModule kieModule = getSnapshotKieModule();
+            if ( kieModule != null ) {
+                return kieModule;
+            }
             build();
         }
-        synchronized ( kieFileSystem ) {
-            return ( (InternalKieBuilder) kieBuilder ).getKieModuleIgnoringErrors();
-        }
+        return getPublished().getKieModuleIgnoringErrors();
     }
 
     public KieModuleMetaData getKieModuleMetaDataIgnoringErrors() {
@@ -510,37 +729,94 @@ public class Builder {
     }
 
     public KieContainer getKieContainer() {
-        BuildResults results = null;
-
-        //Kie classes are only available once built
+        //Kie classes are only available once built, or restored from a snapshot. Snapshots are only stored without errors.
         if ( !isBuilt() ) {
-            results = build();
-        } else {
-            results = new BuildResults();
-            results.addAllBuildMessages( convertMessages( kieBuilder.getResults().getMessages(), handles ) );
+            final KieModule kieModule = getSnapshotKieModule();
+            if ( kieModule != null ) {
+                return newKieContainer( kieModule );
+            }
+            if ( !build().getErrorMessages().isEmpty() ) {
+                return null;
+            }
         }
         //It's impossible to retrieve a KieContainer if the KieModule contains errors
-        if ( results.getErrorMessages().isEmpty() ) {
-            // Do not retrieve the KieContainer with KieServices.newKieContainer(releaseId) since this looks-up the KieModule to
-            // create the KieContainer from KieRepository. This holds the most recent KieModule (for the ReleaseId) that was built with
-            // kieBuilder.buildAll() which *may* be a KieModule created during asset validation and hence will lack many assets.
-            // See https://bugzilla.redhat.com/show_bug.cgi?id=1202551
-            final KieModule kieModule = kieBuilder.getKieModule();
-            final ReleaseId releaseId = kieModule.getReleaseId();
-            final org.drools.compiler.kie.builder.impl.KieProject kieProject = new KieModuleKieProject( (InternalKieModule) kieBuilder.getKieModule(), null );
-            final KieContainer kieContainer = new KieContainerImpl( kieProject,
-                                                                    KieServices.Factory.get().getRepository(),
-                                                                    releaseId );
-            return kieContainer;
-        } else {
+        final PublishedKieModule published = getPublished();
+        if ( published.hasErrors() ) {
             return null;
         }
+        // Do not retrieve the KieContainer with KieServices.newKieContainer(releaseId) since this looks-up the KieModule to
+        // create the KieContainer from KieRepository. This holds the most recent KieModule (for the ReleaseId) that was built with
+        // kieBuilder.buildAll() which *may* be a KieModule created during asset validation and hence will lack many assets.
+        // See https://bugzilla.redhat.com/show_bug.cgi?id=1202551
+        return newKieContainer( published.getKieModule() );
+    }
+
+    private KieContainer newKieContainer( final KieModule kieModule ) {
+        final ReleaseId releaseId = kieModule.getReleaseId();
+        final org.drools.compiler.kie.builder.impl.KieProject kieProject = new KieModuleKieProject( (InternalKieModule) kieModule, null );
+        return new KieContainerImpl( kieProject,
+                                     KieServices.Factory.get().getRepository(),
+                                     releaseId );
     }
 
     public boolean isBuilt() {
-        synchronized ( kieFileSystem ) {
-            return kieBuilder != null;
+        return published != null;
+    }
+
+    /**
+     * Number of times a full or incremental build has made a KieModule available to readers. Incremental builds can
+     * update the KieModule in place, so callers deriving state from the KieModule use this to detect it has changed.
+     * @return Number of published builds
+     */
+    public long getPublications() {
+        return publications;
+    }
+
+    /**
+     * Total time Threads have waited to acquire this Builder's lock, to perform (or start) a build.
+     * @return Wait time, in nanoseconds
+     */
+    public long getLockWaitTimeNanos() {
+        return lockWaitTimeNanos.sum();
+    }
+
+    /**
+     * Number of times this Builder's lock has been acquired.
+     * @return Lock acquisitions
+     */
+    public long getLockAcquisitions() {
+        return lockAcquisitions.sum();
+    }
+
+    private void lock() {
+        final long start = System.nanoTime();
+        buildLock.lock();
+        final long waited = System.nanoTime() - start;
+        lockWaitTimeNanos.add( waited );
+        lockAcquisitions.increment();
+        if ( logger.isDebugEnabled() && waited > LOCK_WAIT_LOG_THRESHOLD_NANOS ) {
+            logger.debug( "Waited " + TimeUnit.NANOSECONDS.toMillis( waited ) + "ms for Builder lock of Project '" + project.getProjectName() + "'." );
+        }
+    }
+
+    private void unlock() {
+        buildLock.unlock();
+    }
+
+    /**
+     * Make the KieModule built by the current KieBuilder available to readers. Must be called holding the lock.
+     */
+    private void publish() {
+        published = new PublishedKieModule( kieBuilder );
+        publications++;
+    }
+
+    private PublishedKieModule getPublished() {
+        final PublishedKieModule published = this.published;
+        if ( published == null ) {
+            throw new IllegalStateException( "Project '" + project.getProjectName() + "' could not be built." );
         }
+        return published;
     }
 
     private void visitPaths( final DirectoryStream<org.uberfire.java.nio.file.Path> directoryStream ) {
@@ -561,10 +837,10 @@ public class Builder {
 
                     //Add new resource
                     final String destinationPath = path.toUri().toString().substring( projectPrefix.length() + 1 );
-                    final InputStream is = ioService.newInputStream( path );
-                    final BufferedInputStream bis = new BufferedInputStream( is );
-                    kieFileSystem.write( destinationPath,
-                                         KieServices.Factory.get().getResources().newInputStreamResource( bis ) );
+                    final byte[] content = ioService.readAllBytes( path );
+                    writeResource( destinationPath,
+                                   content,
+                                   digest( content ) );
                     handles.put( getBaseFileName( destinationPath ),
                                  Paths.convert( path ) );
 
@@ -616,4 +892,82 @@ public class Builder {
         }
         return null;
     }
+
+    /**
+     * The KieModule of a completed build. Incremental builds update KieBuilder's KieModule in place, so readers are given
+     * a copy that never changes. The copy is taken by the first reader, without the Builder's lock, or by the next
+     * incremental build before it updates the KieModule, whichever comes first.
+     */
+    private static class PublishedKieModule {
+
+        private final InternalKieModule builtKieModule;
+        private final boolean hasErrors;
+        private volatile InternalKieModule kieModule;
+
+        private PublishedKieModule( final KieBuilder kieBuilder ) {
+            //KieBuilder does not return a KieModule containing errors
+            this.builtKieModule = (InternalKieModule) ( (InternalKieBuilder) kieBuilder ).getKieModuleIgnoringErrors();
+            this.hasErrors = kieBuilder.getResults().hasMessages( Message.Level.ERROR );
+        }
+
+        private boolean hasErrors() {
+            return hasErrors;
+        }
+
+        private InternalKieModule getKieModule() {
+            if ( hasErrors ) {
+                throw new RuntimeException( "Unable to get KieModule, Errors Existed" );
+            }
+            return getKieModuleIgnoringErrors();
+        }
+
+        private InternalKieModule getKieModuleIgnoringErrors() {
+            final InternalKieModule kieModule = this.kieModule;
+            if ( kieModule != null ) {
+                return kieModule;
+            }
+            return copy();
+        }
+
+        /**
+         * Copy the KieModule before KieBuilder updates it. Must be called holding the Builder's lock.
+         */
+        private void seal() {
+            if ( kieModule == null ) {
+                copy();
+            }
+        }
+
+        /**
+         * The jar of the KieModule as built. Must be called holding the Builder's lock.
+         */
+        private byte[] getBytes() {
+            return builtKieModule.getBytes();
+        }
+
+        //Readers copying the KieModule only wait for each other, or for an incremental build to seal this publication
+        private synchronized InternalKieModule copy() {
+            if ( kieModule == null ) {
+                kieModule = copyOf( builtKieModule );
+            }
+            return kieModule;
+        }
+
+        private static InternalKieModule copyOf( final InternalKieModule builtKieModule ) {
+            //KieBuilder builds MemoryKieModules. The copy shares the content of the files, and the compiled KieBases.
+            if ( builtKieModule instanceof MemoryKieModule ) {
+                final MemoryKieModule memoryKieModule = (MemoryKieModule) builtKieModule;
+                return memoryKieModule.cloneForIncrementalCompilation( memoryKieModule.getReleaseId(),
+                                                                       memoryKieModule.getKieModuleModel(),
+                                                                       memoryKieModule.getMemoryFileSystem().clone() );
+            }
+            final InternalKieModule kieModule = new MemoryKieModule( builtKieModule.getReleaseId(),
+                                                                     builtKieModule.getKieModuleModel(),
+                                                                     MemoryFileSystem.readFromJar( builtKieModule.getBytes() ) );
+            for ( InternalKieModule dependency : builtKieModule.getKieDependencies().values() ) {
+                kieModule.addKieDependency( dependency );
+            }
+            return kieModule;
+        }
+    }
 }
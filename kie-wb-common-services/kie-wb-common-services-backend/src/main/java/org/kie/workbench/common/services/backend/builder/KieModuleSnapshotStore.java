@@ -0,0 +1,282 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.builder;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import javax.enterprise.context.ApplicationScoped;
+
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevTree;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.guvnor.common.services.project.model.GAV;
+import org.kie.scanner.MavenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.java.nio.fs.jgit.JGitPathImpl;
+
+import static org.uberfire.commons.validation.PortablePreconditions.checkNotNull;
+
+/**
+ * Local store of the bytes of successfully built KieModules, so that a Project's KieModule can be re-used following a
+ * server restart without a full build. Snapshots are keyed by the Project's root and a revision id made of the id of
+ * the Project's folder in the latest commit and a digest of the Project's resolved dependencies; a snapshot recorded for
+ * other content, or other dependencies, is never returned. Snapshots are only stored when System Property
+ * {@link #SNAPSHOT_DIR} is set.
+ */
+@ApplicationScoped
+public class KieModuleSnapshotStore {
+
+    /**
+     * System Property to configure the directory in which snapshots are stored.
+     */
+    public static final String SNAPSHOT_DIR = "org.kie.workbench.builder.snapshot.dir";
+
+    private static final Logger logger = LoggerFactory.getLogger( KieModuleSnapshotStore.class );
+
+    private static final String SNAPSHOT_EXTENSION = ".snapshot";
+
+    private File directory;
+
+    public KieModuleSnapshotStore() {
+        this( getSnapshotDirectory() );
+    }
+
+    KieModuleSnapshotStore( final File directory ) {
+        this.directory = directory;
+    }
+
+    public boolean isEnabled() {
+        return directory != null;
+    }
+
+    /**
+     * Get the revision id of a Project: the id of the Project's folder in the latest commit of its branch, followed by a
+     * digest of the Project's dependencies as resolved from the Maven repository. Only the latest commit is read; the
+     * id changes whenever a commit changes the Project's content, or a dependency (e.g. a SNAPSHOT) is re-deployed.
+     * @param projectRoot Root of the Project
+     * @param dependencies Dependencies of the Project
+     * @return The revision id or null if the underlying FileSystem does not support versioning.
+     */
+    public String getRevisionId( final Path projectRoot,
+                                 final Collection<? extends GAV> dependencies ) {
+        checkNotNull( "projectRoot",
+                      projectRoot );
+        checkNotNull( "dependencies",
+                      dependencies );
+        if ( !isEnabled() ) {
+            return null;
+        }
+        try {
+            final String treeId = getTreeId( projectRoot );
+            if ( treeId == null ) {
+                return null;
+            }
+            return treeId + ":" + getDependenciesDigest( dependencies );
+        } catch ( Exception e ) {
+            logger.debug( "Unable to determine revision id for '" + projectRoot.toUri() + "': " + e.getMessage() );
+            return null;
+        }
+    }
+
+    /**
+     * Get the object id of a folder in the latest commit of its branch.
+     * @param folder Folder in a Git backed FileSystem
+     * @return The id or null if the FileSystem is not Git backed, or the folder has not been committed.
+     */
+    String getTreeId( final Path folder ) throws IOException {
+        if ( !( folder instanceof JGitPathImpl ) ) {
+            return null;
+        }
+        final JGitPathImpl gitPath = (JGitPathImpl) folder;
+        final Repository repository = gitPath.getFileSystem().gitRepo().getRepository();
+        final ObjectId commitId = repository.resolve( Constants.R_HEADS + gitPath.getRefTree() );
+        if ( commitId == null ) {
+            return null;
+        }
+        try ( RevWalk revWalk = new RevWalk( repository ) ) {
+            final RevTree tree = revWalk.parseCommit( commitId ).getTree();
+            final String path = gitPath.getPath().replaceAll( "^/+|/+$",
+                                                              "" );
+            if ( path.isEmpty() ) {
+                return tree.getId().name();
+            }
+            try ( TreeWalk treeWalk = TreeWalk.forPath( repository,
+                                                        path,
+                                                        tree ) ) {
+                return treeWalk == null ? null : treeWalk.getObjectId( 0 ).name();
+            }
+        }
+    }
+
+    private String getDependenciesDigest( final Collection<? extends GAV> dependencies ) {
+        //The resolved artifact changes when a version range or SNAPSHOT resolves to another build
+        final StringBuilder sb = new StringBuilder();
+        for ( GAV dependency : dependencies ) {
+            sb.append( dependency.toString() ).append( '=' );
+            final Artifact artifact = getMavenRepository().resolveArtifact( dependency.toString() );
+            if ( artifact == null || artifact.getFile() == null ) {
+                sb.append( "unresolved" );
+            } else {
+                sb.append( artifact.toString() ).append( ':' )
+                        .append( artifact.getFile().length() ).append( ':' )
+                        .append( artifact.getFile().lastModified() );
+            }
+            sb.append( '\n' );
+        }
+        return sha1( sb.toString() );
+    }
+
+    protected MavenRepository getMavenRepository() {
+        return MavenRepository.getMavenRepository();
+    }
+
+    /**
+     * Load the KieModule bytes for a Project.
+     * @param projectRoot Root of the Project
+     * @param revisionId Id of the Project's content, see {@link #getRevisionId(Path, Collection)}
+     * @return The KieModule bytes or null if there is no snapshot for the commit.
+     */
+    public byte[] load( final Path projectRoot,
+                        final String revisionId ) {
+        checkNotNull( "projectRoot",
+                      projectRoot );
+        if ( !isEnabled() || revisionId == null ) {
+            return null;
+        }
+        final File file = getSnapshotFile( projectRoot );
+        if ( !file.isFile() ) {
+            return null;
+        }
+        try ( DataInputStream dis = new DataInputStream( new BufferedInputStream( new FileInputStream( file ) ) ) ) {
+            final String snapshotProjectRoot = dis.readUTF();
+            final String snapshotRevisionId = dis.readUTF();
+            if ( !snapshotProjectRoot.equals( projectRoot.toUri().toString() ) || !snapshotRevisionId.equals( revisionId ) ) {
+                return null;
+            }
+            final byte[] bytes = new byte[ dis.readInt() ];
+            dis.readFully( bytes );
+            return bytes;
+
+        } catch ( IOException e ) {
+            logger.warn( "Unable to read KieModule snapshot '" + file.getAbsolutePath() + "': " + e.getMessage() );
+            return null;
+        }
+    }
+
+    /**
+     * Store the KieModule bytes for a Project, replacing any existing snapshot.
+     * @param projectRoot Root of the Project
+     * @param revisionId Id of the Project's content, see {@link #getRevisionId(Path, Collection)}
+     * @param bytes KieModule bytes
+     */
+    public void save( final Path projectRoot,
+                      final String revisionId,
+                      final byte[] bytes ) {
+        checkNotNull( "projectRoot",
+                      projectRoot );
+        checkNotNull( "bytes",
+                      bytes );
+        if ( !isEnabled() || revisionId == null ) {
+            return;
+        }
+        final File file = getSnapshotFile( projectRoot );
+        try {
+            if ( !directory.isDirectory() && !directory.mkdirs() ) {
+                logger.warn( "Unable to create KieModule snapshot directory '" + directory.getAbsolutePath() + "'." );
+                return;
+            }
+            //Write to a temporary file first so readers never see a partially written snapshot
+            final File temp = File.createTempFile( file.getName(),
+                                                   ".tmp",
+                                                   directory );
+            try ( DataOutputStream dos = new DataOutputStream( new BufferedOutputStream( new FileOutputStream( temp ) ) ) ) {
+                dos.writeUTF( projectRoot.toUri().toString() );
+                dos.writeUTF( revisionId );
+                dos.writeInt( bytes.length );
+                dos.write( bytes );
+            }
+            java.nio.file.Files.move( temp.toPath(),
+                                      file.toPath(),
+                                      StandardCopyOption.REPLACE_EXISTING,
+                                      StandardCopyOption.ATOMIC_MOVE );
+
+        } catch ( IOException e ) {
+            logger.warn( "Unable to write KieModule snapshot '" + file.getAbsolutePath() + "': " + e.getMessage() );
+        }
+    }
+
+    /**
+     * Remove the snapshot for a Project.
+     * @param projectRoot Root of the Project
+     */
+    public void delete( final Path projectRoot ) {
+        checkNotNull( "projectRoot",
+                      projectRoot );
+        if ( !isEnabled() ) {
+            return;
+        }
+        final File file = getSnapshotFile( projectRoot );
+        if ( file.exists() && !file.delete() ) {
+            logger.warn( "Unable to delete KieModule snapshot '" + file.getAbsolutePath() + "'." );
+        }
+    }
+
+    private File getSnapshotFile( final Path projectRoot ) {
+        return new File( directory,
+                         sha1( projectRoot.toUri().toString() ) + SNAPSHOT_EXTENSION );
+    }
+
+    private static String sha1( final String value ) {
+        try {
+            final byte[] digest = MessageDigest.getInstance( "SHA-1" ).digest( value.getBytes( StandardCharsets.UTF_8 ) );
+            final StringBuilder sb = new StringBuilder();
+            for ( byte b : digest ) {
+                sb.append( String.format( "%02x",
+                                          b ) );
+            }
+            return sb.toString();
+        } catch ( NoSuchAlgorithmException e ) {
+            throw new RuntimeException( e );
+        }
+    }
+
+    private static File getSnapshotDirectory() {
+        final String value = System.getProperty( SNAPSHOT_DIR );
+        if ( value == null || value.trim().isEmpty() ) {
+            return null;
+        }
+        return new File( value.trim() );
+    }
+
+}
@@ -19,7 +19,11 @@ import static java.util.stream.Collectors.toCollection;
 import static java.util.stream.StreamSupport.stream;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 import javax.annotation.PostConstruct;
@@ -32,6 +36,7 @@ import javax.inject.Inject;
 import javax.inject.Named;
 
 import org.guvnor.common.services.backend.cache.LRUCache;
+import org.guvnor.common.services.project.events.DeleteProjectEvent;
 import org.guvnor.common.services.project.builder.events.InvalidateDMOProjectCacheEvent;
 import org.guvnor.common.services.project.builder.service.BuildValidationHelper;
 import org.guvnor.common.services.project.model.POM;
@@ -73,6 +78,9 @@ public class LRUBuilderCache extends LRUCache<Project, Builder> {
     @Inject
     private PackageNameWhiteListServiceImpl packageNameWhiteListService;
 
+    @Inject
+    private KieModuleSnapshotStore snapshotStore;
+
     @Inject
     @JavaSourceFilter
     private Instance<Predicate<String>> classFilterBeans;
@@ -81,6 +89,8 @@ public class LRUBuilderCache extends LRUCache<Project, Builder> {
 
     private final List<Predicate<String>> classFilters = new ArrayList<>();
 
+    private final List<Consumer<Project>> invalidationListeners = new CopyOnWriteArrayList<>();
+
     @PostConstruct
     public void loadInstances() {
         stream( buildValidationHelperBeans.spliterator(), false ).collect( toCollection( () -> buildValidationHelpers ) );
@@ -104,6 +114,44 @@ public class LRUBuilderCache extends LRUCache<Project, Builder> {
         }
     }
 
+    public synchronized void onProjectDeleted( @Observes final DeleteProjectEvent event ) {
+        PortablePreconditions.checkNotNull( "event",
+                                            event );
+        if ( event.getProject() != null ) {
+            invalidateCache( event.getProject() );
+        }
+    }
+
+    @Override
+    public synchronized void invalidateCache( final Project project ) {
+        super.invalidateCache( project );
+        notifyInvalidated( project );
+    }
+
+    @Override
+    public synchronized void setEntry( final Project project,
+                                       final Builder builder ) {
+        final Set<Project> evicted = new HashSet<>( getKeys() );
+        super.setEntry( project,
+                        builder );
+        evicted.removeAll( getKeys() );
+        evicted.forEach( this::notifyInvalidated );
+    }
+
+    /**
+     * Add a listener notified of the Projects whose Builder is invalidated or evicted from the cache, so that values
+     * derived from the Builder and cached elsewhere are not kept after the Builder.
+     * @param listener Listener for the Project
+     */
+    public void addInvalidationListener( final Consumer<Project> listener ) {
+        invalidationListeners.add( PortablePreconditions.checkNotNull( "listener",
+                                                                       listener ) );
+    }
+
+    private void notifyInvalidated( final Project project ) {
+        invalidationListeners.forEach( listener -> listener.accept( project ) );
+    }
+
     public synchronized Builder assertBuilder( POM pom )
             throws NoBuilderFoundException {
         for (Project project : getKeys()) {
@@ -129,7 +177,8 @@ public class LRUBuilderCache extends LRUCache<Project, Builder> {
                                    dependenciesClassLoaderCache,
                                    pomModelCache,
                                    packageNameWhiteListService,
-                                   createSingleClassFilterPredicate() );
+                                   createSingleClassFilterPredicate(),
+                                   snapshotStore );
 
             setEntry( project,
                       builder );
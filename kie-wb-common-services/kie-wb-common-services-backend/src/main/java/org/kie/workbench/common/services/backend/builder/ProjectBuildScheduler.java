@@ -0,0 +1,310 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.builder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.guvnor.common.services.project.builder.model.BuildResults;
+import org.guvnor.common.services.project.builder.service.BuildService;
+import org.guvnor.common.services.project.model.Dependency;
+import org.guvnor.common.services.project.model.GAV;
+import org.guvnor.common.services.project.model.Project;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.uberfire.commons.validation.PortablePreconditions.checkNotNull;
+
+/**
+ * Builds a batch of Projects (e.g. after a repository has been cloned or the server restarted). Projects are ordered
+ * by the dependencies declared in their POMs so that a Project is only built once all other Projects in the batch it
+ * depends upon have been built. Independent Projects are built concurrently on a bounded pool of workers. Each build
+ * is delegated to {@link BuildService#build(Project)} and hence uses the same {@link LRUBuilderCache} entries as
+ * builds requested by users.
+ */
+@ApplicationScoped
+public class ProjectBuildScheduler {
+
+    /**
+     * System Property to configure the maximum number of Projects built concurrently.
+     */
+    public static final String BUILD_THREADS = "org.kie.workbench.build.scheduler.threads";
+
+    private static final Logger logger = LoggerFactory.getLogger( ProjectBuildScheduler.class );
+
+    private BuildService buildService;
+
+    private ExecutorService executor;
+
+    public ProjectBuildScheduler() {
+        //Empty constructor for Weld
+    }
+
+    @Inject
+    public ProjectBuildScheduler( final BuildService buildService ) {
+        this( buildService,
+              getBuildThreads() );
+    }
+
+    ProjectBuildScheduler( final BuildService buildService,
+                           final int threads ) {
+        this.buildService = buildService;
+        this.executor = Executors.newFixedThreadPool( threads,
+                                                      new BuildThreadFactory() );
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Build all Projects, respecting the dependencies between them.
+     * @param projects Projects to build.
+     * @return BuildResults for each Project, in the order in which the builds completed.
+     */
+    public Map<Project, BuildResults> build( final Collection<? extends Project> projects ) {
+        return build( projects,
+                      ( project, results ) -> {
+                      } );
+    }
+
+    /**
+     * Build all Projects, respecting the dependencies between them.
+     * @param projects Projects to build.
+     * @param listener Notified, on the calling Thread, as soon as each Project's build completes.
+     * @return BuildResults for each Project, in the order in which the builds completed.
+     */
+    public Map<Project, BuildResults> build( final Collection<? extends Project> projects,
+                                             final BiConsumer<Project, BuildResults> listener ) {
+        checkNotNull( "projects",
+                      projects );
+        checkNotNull( "listener",
+                      listener );
+
+        final BuildGraph graph = new BuildGraph( projects );
+        final Map<Project, BuildResults> results = new LinkedHashMap<Project, BuildResults>();
+        final CompletionService<ProjectBuild> completionService = new ExecutorCompletionService<ProjectBuild>( executor );
+
+        int inFlight = 0;
+        for ( Project project : graph.getReady() ) {
+            submit( completionService,
+                    project );
+            inFlight++;
+        }
+
+        while ( results.size() < graph.size() ) {
+            if ( inFlight == 0 ) {
+                //Nothing can progress; the remaining Projects have cyclic dependencies. Break the cycle.
+                final Project project = graph.breakCycle();
+                logger.warn( "Cyclic dependencies detected for Project '" + project.getProjectName() + "'. Building it before its dependencies." );
+                submit( completionService,
+                        project );
+                inFlight++;
+            }
+
+            final ProjectBuild completed = take( completionService );
+            inFlight--;
+            results.put( completed.project,
+                         completed.results );
+            listener.accept( completed.project,
+                             completed.results );
+
+            for ( Project project : graph.complete( completed.project ) ) {
+                submit( completionService,
+                        project );
+                inFlight++;
+            }
+        }
+
+        return results;
+    }
+
+    private void submit( final CompletionService<ProjectBuild> completionService,
+                         final Project project ) {
+        completionService.submit( () -> new ProjectBuild( project,
+                                                          buildService.build( project ) ) );
+    }
+
+    private ProjectBuild take( final CompletionService<ProjectBuild> completionService ) {
+        try {
+            return completionService.take().get();
+        } catch ( InterruptedException e ) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException( "Interrupted whilst waiting for Project builds to complete.",
+                                             e );
+        } catch ( ExecutionException e ) {
+            //BuildService.build() converts Exceptions into BuildResults, so this should only happen for Errors
+            throw new IllegalStateException( e.getCause() );
+        }
+    }
+
+    private static int getBuildThreads() {
+        final String value = System.getProperty( BUILD_THREADS );
+        if ( value != null ) {
+            try {
+                return Math.max( 1,
+                                 Integer.parseInt( value ) );
+            } catch ( NumberFormatException nfe ) {
+                logger.warn( "Invalid value '" + value + "' for '" + BUILD_THREADS + "'. Using default." );
+            }
+        }
+        return Math.max( 1,
+                         Runtime.getRuntime().availableProcessors() / 2 );
+    }
+
+    private static class ProjectBuild {
+
+        private final Project project;
+        private final BuildResults results;
+
+        private ProjectBuild( final Project project,
+                              final BuildResults results ) {
+            this.project = project;
+            this.results = results;
+        }
+    }
+
+    /**
+     * Dependency graph between the Projects of a single batch. Dependencies on artifacts outside of the batch are ignored.
+     * Not thread-safe; it is only accessed by the Thread coordinating the batch.
+     */
+    static class BuildGraph {
+
+        private final List<Project> projects = new ArrayList<Project>();
+        private final Map<Project, Integer> pendingUpstream = new HashMap<Project, Integer>();
+        private final Map<Project, List<Project>> downstream = new HashMap<Project, List<Project>>();
+
+        BuildGraph( final Collection<? extends Project> projects ) {
+            final Map<String, Project> projectsByGAV = new HashMap<String, Project>();
+            for ( Project project : projects ) {
+                if ( !pendingUpstream.containsKey( project ) ) {
+                    this.projects.add( project );
+                    pendingUpstream.put( project,
+                                         0 );
+                    downstream.put( project,
+                                    new ArrayList<Project>() );
+                    projectsByGAV.put( toKey( project.getPom().getGav() ),
+                                       project );
+                }
+            }
+
+            for ( Project project : this.projects ) {
+                for ( Dependency dependency : getDependencies( project ) ) {
+                    final Project upstream = projectsByGAV.get( toKey( dependency ) );
+                    if ( upstream != null && upstream != project && !downstream.get( upstream ).contains( project ) ) {
+                        downstream.get( upstream ).add( project );
+                        pendingUpstream.put( project,
+                                             pendingUpstream.get( project ) + 1 );
+                    }
+                }
+            }
+        }
+
+        int size() {
+            return projects.size();
+        }
+
+        List<Project> getReady() {
+            final List<Project> ready = new ArrayList<Project>();
+            for ( Project project : projects ) {
+                if ( pendingUpstream.get( project ) == 0 ) {
+                    pendingUpstream.remove( project );
+                    ready.add( project );
+                }
+            }
+            return ready;
+        }
+
+        /**
+         * Force the first Project still waiting on its dependencies to be ready.
+         * @return The Project to build
+         */
+        Project breakCycle() {
+            for ( Project project : projects ) {
+                if ( pendingUpstream.remove( project ) != null ) {
+                    return project;
+                }
+            }
+            throw new IllegalStateException( "No Projects are waiting to be built." );
+        }
+
+        /**
+         * Record a Project as built.
+         * @param project The built Project
+         * @return Projects that have become ready to build
+         */
+        List<Project> complete( final Project project ) {
+            final List<Project> ready = new ArrayList<Project>();
+            for ( Project dependant : downstream.get( project ) ) {
+                final Integer pending = pendingUpstream.get( dependant );
+                if ( pending == null ) {
+                    //Already scheduled when breaking a cycle
+                    continue;
+                }
+                if ( pending == 1 ) {
+                    pendingUpstream.remove( dependant );
+                    ready.add( dependant );
+                } else {
+                    pendingUpstream.put( dependant,
+                                         pending - 1 );
+                }
+            }
+            return ready;
+        }
+
+        private static List<Dependency> getDependencies( final Project project ) {
+            final List<Dependency> dependencies = project.getPom().getDependencies();
+            return dependencies == null ? Collections.<Dependency>emptyList() : dependencies;
+        }
+
+        private static String toKey( final GAV gav ) {
+            return gav.getGroupId() + ":" + gav.getArtifactId() + ":" + gav.getVersion();
+        }
+    }
+
+    private static class BuildThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread( final Runnable runnable ) {
+            final Thread thread = new Thread( runnable,
+                                              "kie-project-build-" + count.incrementAndGet() );
+            thread.setDaemon( true );
+            thread.setPriority( Thread.NORM_PRIORITY );
+            return thread;
+        }
+    }
+
+}
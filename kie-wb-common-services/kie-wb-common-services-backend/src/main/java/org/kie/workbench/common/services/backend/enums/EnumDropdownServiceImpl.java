@@ -18,23 +18,34 @@ package org.kie.workbench.common.services.backend.enums;
 
 import java.io.Serializable;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
+import javax.inject.Named;
 
+import org.drools.compiler.kie.builder.impl.InternalKieModule;
+import org.drools.core.common.ProjectClassLoader;
 import org.drools.core.util.MVELSafeHelper;
 import org.guvnor.common.services.backend.exceptions.ExceptionUtilities;
+import org.guvnor.common.services.project.model.Project;
 import org.jboss.errai.bus.server.annotations.Service;
 import org.kie.api.builder.KieModule;
 import org.kie.scanner.KieModuleMetaData;
+import org.kie.workbench.common.services.backend.builder.Builder;
 import org.kie.workbench.common.services.backend.builder.LRUBuilderCache;
+import org.kie.workbench.common.services.backend.builder.LRUProjectDependenciesClassLoaderCache;
 import org.kie.workbench.common.services.shared.enums.EnumDropdownService;
 import org.kie.workbench.common.services.shared.project.KieProject;
 import org.kie.workbench.common.services.shared.project.KieProjectService;
 import org.mvel2.MVEL;
 import org.mvel2.ParserConfiguration;
 import org.mvel2.ParserContext;
+import org.mvel2.templates.CompiledTemplate;
+import org.mvel2.templates.TemplateCompiler;
 import org.mvel2.templates.TemplateRuntime;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -52,6 +63,40 @@ public class EnumDropdownServiceImpl implements EnumDropdownService {
     @Inject
     private KieProjectService projectService;
 
+    @Inject
+    @Named("LRUProjectDependenciesClassLoaderCache")
+    private LRUProjectDependenciesClassLoaderCache dependenciesClassLoaderCache;
+
+    private static final int MAX_PROJECTS = 20;
+
+    private static final int MAX_EXPRESSIONS = 500;
+
+    //Compiled expressions by project root URI. Entries are removed when the project's Builder is invalidated or evicted.
+    private final Map<String, ProjectExpressions> projectExpressions = new LinkedHashMap<String, ProjectExpressions>( MAX_PROJECTS + 1,
+                                                                                                                    0.75f,
+                                                                                                                    true ) {
+        @Override
+        protected boolean removeEldestEntry( final Map.Entry<String, ProjectExpressions> eldest ) {
+            return size() > MAX_PROJECTS;
+        }
+    };
+    private long projectExpressionsVersion = 0;
+
+    @PostConstruct
+    public void init() {
+        builderCache.addInvalidationListener( this::invalidateProjectExpressions );
+    }
+
+    void invalidateProjectExpressions( final Project project ) {
+        if ( project.getRootPath() == null ) {
+            return;
+        }
+        synchronized ( projectExpressions ) {
+            projectExpressions.remove( project.getRootPath().toURI() );
+            projectExpressionsVersion++;
+        }
+    }
+
     @Override
     public String[] loadDropDownExpression( final Path resource,
                                             final String[] valuePairs,
@@ -63,21 +108,79 @@ public class EnumDropdownServiceImpl implements EnumDropdownService {
             logger.error( "A Project could not be resolved for path '" + resource.toURI() + "'. No enums will be returned." );
             return null;
         }
-        final KieModule module = builderCache.assertBuilder( project ).getKieModuleIgnoringErrors();
+        final Builder builder = builderCache.assertBuilder( project );
+        //read before the KieModule, so that a concurrent build can only cause the expressions to be compiled again
+        final long publications = builder.getPublications();
+        final KieModule module = builder.getKieModuleIgnoringErrors();
         if ( module == null ) {
             logger.error( "A KieModule could not be resolved for path '" + resource.toURI() + "'. No enums will be returned." );
             return null;
         }
-        final ClassLoader classLoader = KieModuleMetaData.Factory.newKieModuleMetaData( module ).getClassLoader();
 
-        return loadDropDownExpression( classLoader,
+        return loadDropDownExpression( getProjectExpressions( project,
+                                                              module,
+                                                              publications ),
                                        valuePairs,
                                        expression );
     }
 
+    /**
+     * Get the compiled expressions of a project. Guided rules and decision tables load dependent enums for every
+     * value, so the project ClassLoader and the compiled templates and expressions are reused until the project is
+     * built again. The ClassLoader loads the project classes from the KieModule, and the project dependencies from the
+     * ClassLoader cached for the project.
+     */
+    ProjectExpressions getProjectExpressions( final KieProject project,
+                                              final KieModule module,
+                                              final long publications ) {
+        final String key = project.getRootPath().toURI();
+        final ClassLoader dependenciesClassLoader = dependenciesClassLoaderCache.assertDependenciesClassLoader( project );
+        final long version;
+        synchronized ( projectExpressions ) {
+            final ProjectExpressions cached = projectExpressions.get( key );
+            if ( cached != null && cached.isFor( module,
+                                                 publications,
+                                                 dependenciesClassLoader ) ) {
+                return cached;
+            }
+            version = projectExpressionsVersion;
+        }
+
+        final ClassLoader classLoader;
+        if ( module instanceof InternalKieModule ) {
+            classLoader = ProjectClassLoader.createProjectClassLoader( dependenciesClassLoader,
+                                                                       ( (InternalKieModule) module ).getClassesMap( true ) );
+        } else {
+            classLoader = KieModuleMetaData.Factory.newKieModuleMetaData( module ).getClassLoader();
+        }
+        final ProjectExpressions expressions = new ProjectExpressions( module,
+                                                                       publications,
+                                                                       dependenciesClassLoader,
+                                                                       classLoader );
+        synchronized ( projectExpressions ) {
+            //Do not cache expressions for a Builder invalidated in the meantime
+            if ( version == projectExpressionsVersion ) {
+                projectExpressions.put( key,
+                                        expressions );
+            }
+        }
+        return expressions;
+    }
+
     protected String[] loadDropDownExpression( final ClassLoader classLoader,
                                                final String[] valuePairs,
-                                               String expression ) {
+                                               final String expression ) {
+        return loadDropDownExpression( new ProjectExpressions( null,
+                                                               0,
+                                                               null,
+                                                               classLoader ),
+                                       valuePairs,
+                                       expression );
+    }
+
+    private String[] loadDropDownExpression( final ProjectExpressions expressions,
+                                             final String[] valuePairs,
+                                             String expression ) {
         try {
             final Map<String, String> context = new HashMap<String, String>();
             for ( final String valuePair : valuePairs ) {
@@ -96,16 +199,11 @@ public class EnumDropdownServiceImpl implements EnumDropdownService {
             }
 
             // first interpolate the pairs
-            expression = (String) TemplateRuntime.eval( expression,
-                                                        context );
+            expression = (String) TemplateRuntime.execute( expressions.getTemplate( expression ),
+                                                           context );
 
             // now we can eval it for real...
-            final ParserConfiguration pconf = new ParserConfiguration();
-            final ParserContext pctx = new ParserContext( pconf );
-            pconf.setClassLoader( classLoader );
-
-            final Serializable compiled = MVEL.compileExpression( expression,
-                                                                  pctx );
+            final Serializable compiled = expressions.getExpression( expression );
             Object result = MVELSafeHelper.getEvaluator().executeExpression( compiled,
                                                                              new HashMap<String, Object>() );
 
@@ -129,4 +227,78 @@ public class EnumDropdownServiceImpl implements EnumDropdownService {
         }
     }
 
+    static class ProjectExpressions {
+
+        private final KieModule module;
+        private final long publications;
+        private final ClassLoader dependenciesClassLoader;
+        private final ClassLoader classLoader;
+
+        //Compiled templates by template text, and compiled expressions by interpolated expression text
+        private final Map<String, CompiledTemplate> templates = newLRUMap();
+        private final Map<String, Serializable> expressions = newLRUMap();
+
+        private ProjectExpressions( final KieModule module,
+                                    final long publications,
+                                    final ClassLoader dependenciesClassLoader,
+                                    final ClassLoader classLoader ) {
+            this.module = module;
+            this.publications = publications;
+            this.dependenciesClassLoader = dependenciesClassLoader;
+            this.classLoader = classLoader;
+        }
+
+        private boolean isFor( final KieModule module,
+                               final long publications,
+                               final ClassLoader dependenciesClassLoader ) {
+            return this.module == module && this.publications == publications && this.dependenciesClassLoader == dependenciesClassLoader;
+        }
+
+        CompiledTemplate getTemplate( final String template ) {
+            return get( templates,
+                        template,
+                        TemplateCompiler::compileTemplate );
+        }
+
+        Serializable getExpression( final String expression ) {
+            return get( expressions,
+                        expression,
+                        ( e ) -> {
+                            final ParserConfiguration pconf = new ParserConfiguration();
+                            final ParserContext pctx = new ParserContext( pconf );
+                            pconf.setClassLoader( classLoader );
+                            return MVEL.compileExpression( e,
+                                                           pctx );
+                        } );
+        }
+
+        private static <T> T get( final Map<String, T> compiled,
+                                  final String text,
+                                  final Function<String, T> compiler ) {
+            synchronized ( compiled ) {
+                final T value = compiled.get( text );
+                if ( value != null ) {
+                    return value;
+                }
+            }
+            //Compile outside the lock; compiling the same text twice concurrently is harmless
+            final T value = compiler.apply( text );
+            synchronized ( compiled ) {
+                compiled.put( text,
+                              value );
+            }
+            return value;
+        }
+
+        private static <T> Map<String, T> newLRUMap() {
+            return new LinkedHashMap<String, T>( MAX_EXPRESSIONS + 1,
+                                                 0.75f,
+                                                 true ) {
+                @Override
+                protected boolean removeEldestEntry( final Map.Entry<String, T> eldest ) {
+                    return size() > MAX_EXPRESSIONS;
+                }
+            };
+        }
+    }
 }
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.project;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+
+import org.guvnor.common.services.project.events.DeleteProjectEvent;
+import org.guvnor.common.services.project.events.NewProjectEvent;
+import org.guvnor.common.services.project.events.RenameProjectEvent;
+import org.guvnor.common.services.project.model.Project;
+import org.guvnor.structure.config.SystemRepositoryChangedEvent;
+import org.guvnor.structure.organizationalunit.NewOrganizationalUnitEvent;
+import org.guvnor.structure.organizationalunit.OrganizationalUnit;
+import org.guvnor.structure.organizationalunit.RemoveOrganizationalUnitEvent;
+import org.guvnor.structure.organizationalunit.RepoAddedToOrganizationalUnitEvent;
+import org.guvnor.structure.organizationalunit.RepoRemovedFromOrganizationalUnitEvent;
+import org.guvnor.structure.repositories.NewBranchEvent;
+import org.guvnor.structure.repositories.NewRepositoryEvent;
+import org.guvnor.structure.repositories.Repository;
+import org.guvnor.structure.repositories.RepositoryEnvironmentUpdatedEvent;
+import org.guvnor.structure.repositories.RepositoryRemovedEvent;
+import org.jboss.errai.security.shared.api.Group;
+import org.jboss.errai.security.shared.api.Role;
+import org.jboss.errai.security.shared.api.identity.User;
+
+/**
+ * Cache of the Organizational Units, Repositories and Projects a User is authorized to access, as resolved by the
+ * Project Explorer and Search. Entries are keyed by the User's identifier, roles and groups and hold unmodifiable
+ * snapshots that can be shared by concurrent requests. All entries are discarded when Organizational
+ * Units, Repositories or Projects change, including their security settings, and otherwise expire after a minute so
+ * that changes to authorization policies are eventually applied.
+ */
+@ApplicationScoped
+public class AuthorizedContentCache {
+
+    private static final int MAX_ENTRIES = 1000;
+
+    private static final long TIME_TO_LIVE_MILLIS = TimeUnit.MINUTES.toMillis( 1 );
+
+    private final Map<String, CachedValue> values = new LinkedHashMap<String, CachedValue>( MAX_ENTRIES + 1,
+                                                                                            0.75f,
+                                                                                            true ) {
+        @Override
+        protected boolean removeEldestEntry( final Map.Entry<String, CachedValue> eldest ) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    private long version = 0;
+
+    public Set<OrganizationalUnit> getOrganizationalUnits( final User identity,
+                                                           final Supplier<Set<OrganizationalUnit>> authorizedOrganizationalUnits ) {
+        return get( "ou:" + getIdentityKey( identity ),
+                    () -> Collections.unmodifiableSet( new HashSet<OrganizationalUnit>( authorizedOrganizationalUnits.get() ) ) );
+    }
+
+    public Map<String, Repository> getRepositories( final User identity,
+                                                    final OrganizationalUnit organizationalUnit,
+                                                    final Supplier<Map<String, Repository>> authorizedRepositories ) {
+        return get( "repository:" + getIdentityKey( identity ) + ":" + organizationalUnit.getName(),
+                    () -> Collections.unmodifiableMap( new HashMap<String, Repository>( authorizedRepositories.get() ) ) );
+    }
+
+    public Map<String, Project> getProjects( final User identity,
+                                             final Repository repository,
+                                             final String branch,
+                                             final Supplier<Map<String, Project>> authorizedProjects ) {
+        return get( "project:" + getIdentityKey( identity ) + ":" + repository.getAlias() + ":" + branch,
+                    () -> Collections.unmodifiableMap( new HashMap<String, Project>( authorizedProjects.get() ) ) );
+    }
+
+    /**
+     * Get a value a User is authorized to access. The value is resolved when not cached, and must not be modified
+     * once resolved as it is shared by concurrent requests.
+     * @param name Name of the value, unique amongst the values cached
+     * @param identity The User
+     * @param authorizedValue Resolves the value for the User
+     * @return The value
+     */
+    public <T> T get( final String name,
+                      final User identity,
+                      final Supplier<T> authorizedValue ) {
+        return get( name + ":" + getIdentityKey( identity ),
+                    authorizedValue );
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T get( final String key,
+                       final Supplier<T> supplier ) {
+        final long version;
+        synchronized ( values ) {
+            final CachedValue cachedValue = values.get( key );
+            if ( cachedValue != null && !cachedValue.isExpired() ) {
+                return (T) cachedValue.value;
+            }
+            version = this.version;
+        }
+
+        final T value = supplier.get();
+
+        synchronized ( values ) {
+            //Do not cache values resolved before the content changed
+            if ( version == this.version ) {
+                values.put( key,
+                            new CachedValue( value ) );
+            }
+        }
+        return value;
+    }
+
+    private String getIdentityKey( final User identity ) {
+        if ( identity == null ) {
+            return "";
+        }
+        final StringBuilder sb = new StringBuilder( String.valueOf( identity.getIdentifier() ) );
+        final Set<String> roles = new TreeSet<String>();
+        if ( identity.getRoles() != null ) {
+            for ( Role role : identity.getRoles() ) {
+                roles.add( role.getName() );
+            }
+        }
+        final Set<String> groups = new TreeSet<String>();
+        if ( identity.getGroups() != null ) {
+            for ( Group group : identity.getGroups() ) {
+                groups.add( group.getName() );
+            }
+        }
+        return sb.append( roles ).append( groups ).toString();
+    }
+
+    public void invalidate() {
+        synchronized ( values ) {
+            values.clear();
+            version++;
+        }
+    }
+
+    public void onOrganizationalUnitAdded( @Observes final NewOrganizationalUnitEvent event ) {
+        invalidate();
+    }
+
+    public void onOrganizationalUnitRemoved( @Observes final RemoveOrganizationalUnitEvent event ) {
+        invalidate();
+    }
+
+    public void onRepositoryAddedToOrganizationalUnit( @Observes final RepoAddedToOrganizationalUnitEvent event ) {
+        invalidate();
+    }
+
+    public void onRepositoryRemovedFromOrganizationalUnit( @Observes final RepoRemovedFromOrganizationalUnitEvent event ) {
+        invalidate();
+    }
+
+    public void onRepositoryAdded( @Observes final NewRepositoryEvent event ) {
+        invalidate();
+    }
+
+    public void onRepositoryRemoved( @Observes final RepositoryRemovedEvent event ) {
+        invalidate();
+    }
+
+    public void onRepositoryEnvironmentUpdated( @Observes final RepositoryEnvironmentUpdatedEvent event ) {
+        invalidate();
+    }
+
+    public void onBranchAdded( @Observes final NewBranchEvent event ) {
+        invalidate();
+    }
+
+    //Organizational Unit and Repository configuration, including security groups, is stored in the system repository
+    public void onSystemRepositoryChanged( @Observes final SystemRepositoryChangedEvent event ) {
+        invalidate();
+    }
+
+    public void onProjectAdded( @Observes final NewProjectEvent event ) {
+        invalidate();
+    }
+
+    public void onProjectRemoved( @Observes final DeleteProjectEvent event ) {
+        invalidate();
+    }
+
+    public void onProjectRenamed( @Observes final RenameProjectEvent event ) {
+        invalidate();
+    }
+
+    private static class CachedValue {
+
+        private final long created = System.currentTimeMillis();
+        private final Object value;
+
+        private CachedValue( final Object value ) {
+            this.value = value;
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() - created > TIME_TO_LIVE_MILLIS;
+        }
+    }
+}
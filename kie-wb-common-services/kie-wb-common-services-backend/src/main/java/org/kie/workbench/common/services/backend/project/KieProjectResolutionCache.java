@@ -0,0 +1,181 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.project;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+
+import org.guvnor.common.services.project.events.DeleteProjectEvent;
+import org.guvnor.common.services.project.events.RenameProjectEvent;
+import org.guvnor.common.services.project.model.Package;
+import org.guvnor.structure.repositories.RepositoryRemovedEvent;
+import org.kie.workbench.common.services.shared.project.KieProject;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.workbench.events.ResourceAddedEvent;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceChange;
+import org.uberfire.workbench.events.ResourceChangeType;
+import org.uberfire.workbench.events.ResourceCopiedEvent;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceRenamedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
+
+/**
+ * Cache of the Projects and Packages resolved by {@link KieResourceResolver}, keyed by the folder containing the
+ * resource. Projects are resolved by looking for pom.xml and kmodule.xml files in the VFS, and hence the cache is
+ * cleared whenever either of these files, or a whole Project or Repository, changes. Entries for deleted or renamed
+ * folders are removed. Projects and Packages are shared by all callers: they are complete once resolved, and must not
+ * be changed.
+ */
+@ApplicationScoped
+public class KieProjectResolutionCache {
+
+    private static final int MAX_ENTRIES = 1000;
+
+    private static final String POM_FILENAME = "pom.xml";
+    private static final String KMODULE_FILENAME = "kmodule.xml";
+
+    private final Map<Path, KieProject> projects = new LRUMap<KieProject>();
+    private final Map<Path, Package> packages = new LRUMap<Package>();
+
+    public synchronized KieProject getProject( final Path folder ) {
+        return projects.get( folder );
+    }
+
+    public synchronized void setProject( final Path folder,
+                                         final KieProject project ) {
+        projects.put( folder,
+                      project );
+    }
+
+    public synchronized Package getPackage( final Path folder ) {
+        return packages.get( folder );
+    }
+
+    public synchronized void setPackage( final Path folder,
+                                         final Package pkg ) {
+        packages.put( folder,
+                      pkg );
+    }
+
+    public synchronized void invalidate() {
+        projects.clear();
+        packages.clear();
+    }
+
+    public void onResourceAdded( @Observes final ResourceAddedEvent event ) {
+        invalidateIfProjectDescriptor( event.getPath() );
+    }
+
+    public void onResourceUpdated( @Observes final ResourceUpdatedEvent event ) {
+        invalidateIfProjectDescriptor( event.getPath() );
+    }
+
+    public void onResourceDeleted( @Observes final ResourceDeletedEvent event ) {
+        invalidateIfProjectDescriptor( event.getPath() );
+        invalidateFolders( event.getPath() );
+    }
+
+    public void onResourceCopied( @Observes final ResourceCopiedEvent event ) {
+        invalidateIfProjectDescriptor( event.getDestinationPath() );
+    }
+
+    public void onResourceRenamed( @Observes final ResourceRenamedEvent event ) {
+        invalidateIfProjectDescriptor( event.getPath() );
+        invalidateIfProjectDescriptor( event.getDestinationPath() );
+        invalidateFolders( event.getPath() );
+    }
+
+    public void onBatchResourceChanges( @Observes final ResourceBatchChangesEvent event ) {
+        for ( final Map.Entry<Path, Collection<ResourceChange>> entry : event.getBatch().entrySet() ) {
+            if ( isProjectDescriptor( entry.getKey() ) ) {
+                invalidate();
+                return;
+            }
+            for ( final ResourceChange change : entry.getValue() ) {
+                if ( change.getType() == ResourceChangeType.DELETE || change.getType() == ResourceChangeType.RENAME ) {
+                    invalidateFolders( entry.getKey() );
+                    break;
+                }
+            }
+        }
+    }
+
+    public void onProjectDeleted( @Observes final DeleteProjectEvent event ) {
+        invalidate();
+    }
+
+    public void onProjectRenamed( @Observes final RenameProjectEvent event ) {
+        invalidate();
+    }
+
+    public void onRepositoryRemoved( @Observes final RepositoryRemovedEvent event ) {
+        invalidate();
+    }
+
+    private void invalidateIfProjectDescriptor( final Path path ) {
+        if ( isProjectDescriptor( path ) ) {
+            invalidate();
+        }
+    }
+
+    /**
+     * Remove the entries for a deleted, or renamed, resource's folder and, should the resource be a folder, those
+     * for the resource and the folders it contains.
+     */
+    synchronized void invalidateFolders( final Path path ) {
+        if ( path == null ) {
+            return;
+        }
+        final String uri = path.toURI();
+        final int lastSeparator = uri.lastIndexOf( '/' );
+        final String parentUri = lastSeparator < 0 ? uri : uri.substring( 0, lastSeparator );
+        final Predicate<Path> isAffected = ( folder ) -> {
+            final String folderUri = folder.toURI();
+            return folderUri.equals( uri ) || folderUri.equals( parentUri ) || folderUri.startsWith( uri + "/" );
+        };
+        projects.keySet().removeIf( isAffected );
+        packages.keySet().removeIf( isAffected );
+    }
+
+    private boolean isProjectDescriptor( final Path path ) {
+        if ( path == null ) {
+            return false;
+        }
+        final String fileName = path.getFileName();
+        return POM_FILENAME.equals( fileName ) || KMODULE_FILENAME.equals( fileName );
+    }
+
+    private static class LRUMap<V> extends LinkedHashMap<Path, V> {
+
+        private LRUMap() {
+            super( MAX_ENTRIES + 1,
+                   0.75f,
+                   true );
+        }
+
+        @Override
+        protected boolean removeEldestEntry( final Map.Entry<Path, V> eldest ) {
+            return size() > MAX_ENTRIES;
+        }
+    }
+
+}
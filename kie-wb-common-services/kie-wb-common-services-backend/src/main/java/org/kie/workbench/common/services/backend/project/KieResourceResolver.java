@@ -41,6 +41,7 @@ public class KieResourceResolver
         extends ResourceResolver<KieProject> {
 
     private KModuleService kModuleService;
+    private KieProjectResolutionCache cache;
 
     public KieResourceResolver() {
 
@@ -52,13 +53,15 @@ public class KieResourceResolver
                                 final ConfigurationService configurationService,
                                 final CommentedOptionFactory commentedOptionFactory,
                                 final BackwardCompatibleUtil backward,
-                                final KModuleService kModuleService ) {
+                                final KModuleService kModuleService,
+                                final KieProjectResolutionCache cache ) {
         super( ioService,
                pomService,
                configurationService,
                commentedOptionFactory,
                backward );
         this.kModuleService = kModuleService;
+        this.cache = cache;
     }
 
     @Override
@@ -69,37 +72,58 @@ public class KieResourceResolver
                 return null;
             }
 
-            //Check if resource is the project root
-            org.uberfire.java.nio.file.Path path = Paths.convert( resource ).normalize();
+            return resolveProject( getFolder( resource ) );
 
-            //A project root is the folder containing the pom.xml file. This will be the parent of the "src" folder
-            if ( Files.isRegularFile( path ) ) {
-                path = path.getParent();
-            }
-            while ( path.getNameCount() > 0 && !path.getFileName().toString().equals( SOURCE_FILENAME ) ) {
-                if ( hasPom( path ) && hasKModule( path ) ) {
-                    return makeProject( path );
-                }
-                path = path.getParent();
+        } catch ( Exception e ) {
+            throw ExceptionUtilities.handleException( e );
+        }
+    }
+
+    private KieProject resolveProject( final org.uberfire.java.nio.file.Path folder ) {
+        //Projects are cached by the folder containing the resource
+        final Path folderPath = Paths.convert( folder );
+        KieProject project = cache.getProject( folderPath );
+        if ( project == null ) {
+            project = doResolveProject( folder );
+            if ( project != null ) {
+                cache.setProject( folderPath,
+                                  project );
             }
-            if ( path.getNameCount() == 0 ) {
-                return null;
+        }
+        return project;
+    }
+
+    private org.uberfire.java.nio.file.Path getFolder( final Path resource ) {
+        final org.uberfire.java.nio.file.Path path = Paths.convert( resource ).normalize();
+        if ( Files.isRegularFile( path ) ) {
+            return path.getParent();
+        }
+        return path;
+    }
+
+    private KieProject doResolveProject( final org.uberfire.java.nio.file.Path folder ) {
+        //A project root is the folder containing the pom.xml file. This will be the parent of the "src" folder
+        org.uberfire.java.nio.file.Path path = folder;
+        while ( path.getNameCount() > 0 && !path.getFileName().toString().equals( SOURCE_FILENAME ) ) {
+            if ( hasPom( path ) && hasKModule( path ) ) {
+                return makeProject( path );
             }
             path = path.getParent();
-            if ( path.getNameCount() == 0 || path == null ) {
-                return null;
-            }
-            if ( !hasPom( path ) ) {
-                return null;
-            }
-            if ( !hasKModule( path ) ) {
-                return null;
-            }
-            return makeProject( path );
-
-        } catch ( Exception e ) {
-            throw ExceptionUtilities.handleException( e );
         }
+        if ( path.getNameCount() == 0 ) {
+            return null;
+        }
+        path = path.getParent();
+        if ( path.getNameCount() == 0 || path == null ) {
+            return null;
+        }
+        if ( !hasPom( path ) ) {
+            return null;
+        }
+        if ( !hasKModule( path ) ) {
+            return null;
+        }
+        return makeProject( path );
     }
 
     @Override
@@ -122,7 +146,8 @@ public class KieResourceResolver
             }
 
             //If Path is not within a Project we cannot resolve a package
-            final Project project = resolveProject( resource );
+            final org.uberfire.java.nio.file.Path folder = getFolder( resource );
+            final Project project = resolveProject( folder );
             if ( project == null ) {
                 return null;
             }
@@ -132,8 +157,18 @@ public class KieResourceResolver
                 return null;
             }
 
-            return makePackage( project,
-                                resource );
+            //Packages are cached by the folder containing the resource
+            final Path folderPath = Paths.convert( folder );
+            org.guvnor.common.services.project.model.Package pkg = cache.getPackage( folderPath );
+            if ( pkg == null ) {
+                pkg = makePackage( project,
+                                   resource );
+                if ( pkg != null ) {
+                    cache.setPackage( folderPath,
+                                      pkg );
+                }
+            }
+            return pkg;
 
         } catch ( Exception e ) {
             throw ExceptionUtilities.handleException( e );
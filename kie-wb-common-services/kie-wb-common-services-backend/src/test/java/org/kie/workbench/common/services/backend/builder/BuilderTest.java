@@ -19,15 +19,25 @@ package org.kie.workbench.common.services.backend.builder;
 import java.io.File;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Predicate;
 
+import org.apache.commons.io.FileUtils;
+import org.drools.compiler.kie.builder.impl.InternalKieModule;
 import org.drools.core.rule.TypeMetaInfo;
 import org.guvnor.common.services.project.builder.model.BuildMessage;
 import org.guvnor.common.services.project.builder.model.BuildResults;
+import org.guvnor.common.services.project.builder.model.IncrementalBuildResults;
 import org.guvnor.common.services.project.builder.service.BuildService;
 import org.guvnor.common.services.project.builder.service.BuildValidationHelper;
 import org.guvnor.common.services.project.model.POM;
@@ -35,8 +45,11 @@ import org.guvnor.common.services.project.model.Project;
 import org.guvnor.common.services.shared.validation.model.ValidationMessage;
 import org.junit.After;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
+import org.kie.api.builder.KieModule;
 import org.kie.api.runtime.KieContainer;
 import org.kie.api.runtime.KieSession;
 import org.kie.scanner.KieModuleMetaData;
@@ -45,6 +58,7 @@ import org.kie.workbench.common.services.backend.whitelist.PackageNameSearchProv
 import org.kie.workbench.common.services.backend.whitelist.PackageNameWhiteListLoader;
 import org.kie.workbench.common.services.backend.whitelist.PackageNameWhiteListSaver;
 import org.kie.workbench.common.services.backend.whitelist.PackageNameWhiteListServiceImpl;
+import org.kie.workbench.common.services.shared.project.KieProject;
 import org.kie.workbench.common.services.shared.project.KieProjectService;
 import org.kie.workbench.common.services.shared.project.ProjectImportsService;
 import org.kie.workbench.common.services.shared.whitelist.PackageNameWhiteListService;
@@ -53,6 +67,8 @@ import org.mockito.runners.MockitoJUnitRunner;
 import org.uberfire.backend.server.util.Paths;
 import org.uberfire.io.IOService;
 import org.uberfire.java.nio.fs.file.SimpleFileSystemProvider;
+import org.uberfire.workbench.events.ResourceChange;
+import org.uberfire.workbench.events.ResourceUpdated;
 
 import static org.junit.Assert.*;
 import static org.mockito.Matchers.any;
@@ -64,6 +80,9 @@ public class BuilderTest
 
     private final Predicate<String> alwaysTrue = o -> true;
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Mock
     private PackageNameSearchProvider packageNameSearchProvider;
 
@@ -338,6 +357,278 @@ public class BuilderTest
                                new ArrayList<String>() );
     }
 
+    @Test
+    public void testBuilderSkipsUnchangedResources() throws Exception {
+        //Work on a copy of the Project, so that a resource can be changed
+        final URL url = this.getClass().getResource( "/GuvnorM2RepoDependencyExample1" );
+        final File projectFolder = temporaryFolder.newFolder( "GuvnorM2RepoDependencyExample1" );
+        FileUtils.copyDirectory( new File( url.toURI() ),
+                                 projectFolder );
+        final SimpleFileSystemProvider p = new SimpleFileSystemProvider();
+        final org.uberfire.java.nio.file.Path path = p.getPath( projectFolder.toURI() );
+
+        final Project project = projectService.resolveProject( Paths.convert( path ) );
+
+        final BuildValidationHelper validationHelper = mock( BuildValidationHelper.class );
+        when( validationHelper.accepts( any( org.uberfire.backend.vfs.Path.class ) ) ).thenReturn( true );
+        when( validationHelper.validate( any( org.uberfire.backend.vfs.Path.class ) ) ).thenReturn( Collections.<ValidationMessage>emptyList() );
+
+        final Builder builder = new Builder( project,
+                                             ioService,
+                                             projectService,
+                                             importsService,
+                                             Collections.singletonList( validationHelper ),
+                                             dependenciesClassLoaderCache,
+                                             pomModelCache,
+                                             getPackageNameWhiteListService(),
+                                             alwaysTrue );
+
+        final BuildResults results = builder.build();
+        assertTrue( results.getErrorMessages().isEmpty() );
+        final long publications = builder.getPublications();
+        final KieModule kieModule = builder.getKieModule();
+
+        //Forget the validations of the full build, but keep on accepting every resource
+        reset( validationHelper );
+        when( validationHelper.accepts( any( org.uberfire.backend.vfs.Path.class ) ) ).thenReturn( true );
+        when( validationHelper.validate( any( org.uberfire.backend.vfs.Path.class ) ) ).thenReturn( Collections.<ValidationMessage>emptyList() );
+
+        //Re-saving identical content should not lead to the resource being re-processed
+        final File resourceFile = new File( projectFolder,
+                                            "src/main/resources/rule1.drl" );
+        final org.uberfire.java.nio.file.Path resourcePath = p.getPath( resourceFile.toURI() );
+        final Map<org.uberfire.backend.vfs.Path, Collection<ResourceChange>> changes = new HashMap<org.uberfire.backend.vfs.Path, Collection<ResourceChange>>();
+        changes.put( Paths.convert( resourcePath ),
+                     Collections.<ResourceChange>singletonList( new ResourceUpdated( "" ) ) );
+
+        final IncrementalBuildResults incrementalResults = builder.applyBatchResourceChanges( changes );
+        assertTrue( incrementalResults.getAddedMessages().isEmpty() );
+        assertTrue( incrementalResults.getRemovedMessages().isEmpty() );
+
+        final IncrementalBuildResults updateResults = builder.updateResource( resourcePath );
+        assertTrue( updateResults.getAddedMessages().isEmpty() );
+        assertTrue( updateResults.getRemovedMessages().isEmpty() );
+
+        //Nothing was re-built, nor re-published
+        verify( validationHelper,
+                never() ).validate( any( org.uberfire.backend.vfs.Path.class ) );
+        assertEquals( publications,
+                      builder.getPublications() );
+        assertSame( kieModule,
+                    builder.getKieModule() );
+
+        //A changed resource is still processed
+        FileUtils.writeStringToFile( resourceFile,
+                                     FileUtils.readFileToString( resourceFile ) + "\n//changed\n" );
+        final IncrementalBuildResults changedResults = builder.updateResource( resourcePath );
+        assertTrue( changedResults.getAddedMessages().isEmpty() );
+
+        verify( validationHelper,
+                times( 1 ) ).validate( Paths.convert( resourcePath ) );
+        assertEquals( publications + 1,
+                      builder.getPublications() );
+    }
+
+    @Test
+    public void testBuilderPublishesKieModuleOnceBuilt() throws Exception {
+        final URL url = this.getClass().getResource( "/GuvnorM2RepoDependencyExample1" );
+        final SimpleFileSystemProvider p = new SimpleFileSystemProvider();
+        final org.uberfire.java.nio.file.Path path = p.getPath( url.toURI() );
+
+        final Project project = projectService.resolveProject( Paths.convert( path ) );
+
+        final Builder builder = new Builder( project,
+                                             ioService,
+                                             projectService,
+                                             importsService,
+                                             new ArrayList<BuildValidationHelper>(),
+                                             dependenciesClassLoaderCache,
+                                             pomModelCache,
+                                             getPackageNameWhiteListService(),
+                                             alwaysTrue );
+
+        assertFalse( builder.isBuilt() );
+        assertEquals( 0,
+                      builder.getLockAcquisitions() );
+        assertEquals( 0,
+                      builder.getPublications() );
+
+        final BuildResults results = builder.build();
+        assertTrue( results.getErrorMessages().isEmpty() );
+        assertTrue( builder.isBuilt() );
+        assertEquals( 1,
+                      builder.getLockAcquisitions() );
+        assertEquals( 1,
+                      builder.getPublications() );
+
+        //Reading the KieModule does not require the lock
+        assertNotNull( builder.getKieModule() );
+        assertNotNull( builder.getKieModuleIgnoringErrors() );
+        assertEquals( 1,
+                      builder.getLockAcquisitions() );
+        assertTrue( builder.getLockWaitTimeNanos() >= 0 );
+    }
+
+    @Test
+    public void testPublishedKieModuleIsNotChangedByIncrementalBuild() throws Exception {
+        final SimpleFileSystemProvider provider = new SimpleFileSystemProvider();
+        final org.uberfire.java.nio.file.Path path = provider.getPath( this.getClass().getResource( "/BuilderExampleBrokenSyntax" ).toURI() );
+
+        final Project project = projectService.resolveProject( Paths.convert( path ) );
+
+        final Builder builder = new Builder( project,
+                                             ioService,
+                                             projectService,
+                                             importsService,
+                                             new ArrayList<BuildValidationHelper>(),
+                                             dependenciesClassLoaderCache,
+                                             pomModelCache,
+                                             mock( PackageNameWhiteListService.class ),
+                                             alwaysTrue );
+
+        assertFalse( builder.build().getErrorMessages().isEmpty() );
+        final InternalKieModule kieModule1 = (InternalKieModule) builder.getKieModuleIgnoringErrors();
+        final Collection<String> fileNames1 = new HashSet<String>( kieModule1.getFileNames() );
+        assertTrue( fileNames1.contains( "rule1.drl" ) );
+
+        builder.deleteResource( path.resolve( "src/main/resources/rule1.drl" ) );
+
+        //The KieModule published by the full build is unchanged
+        assertEquals( fileNames1,
+                      new HashSet<String>( kieModule1.getFileNames() ) );
+        final InternalKieModule kieModule2 = (InternalKieModule) builder.getKieModule();
+        assertNotSame( kieModule1,
+                       kieModule2 );
+        assertFalse( kieModule2.getFileNames().contains( "rule1.drl" ) );
+        assertEquals( 2,
+                      builder.getPublications() );
+    }
+
+    @Test
+    public void testReadsDoNotWaitForIncrementalBuild() throws Exception {
+        final URL url = this.getClass().getResource( "/GuvnorM2RepoDependencyExample1" );
+        final SimpleFileSystemProvider p = new SimpleFileSystemProvider();
+        final org.uberfire.java.nio.file.Path path = p.getPath( url.toURI() );
+
+        final Project project = projectService.resolveProject( Paths.convert( path ) );
+
+        //The incremental build is held, whilst holding the Builder's lock, until the reads have completed
+        final AtomicBoolean holdBuild = new AtomicBoolean( false );
+        final CountDownLatch buildStarted = new CountDownLatch( 1 );
+        final CountDownLatch readsCompleted = new CountDownLatch( 1 );
+        final AtomicBoolean readsTimedOut = new AtomicBoolean( false );
+        final BuildValidationHelper validationHelper = mock( BuildValidationHelper.class );
+        when( validationHelper.accepts( any( org.uberfire.backend.vfs.Path.class ) ) ).thenAnswer( invocation -> {
+            if ( holdBuild.get() ) {
+                buildStarted.countDown();
+                readsTimedOut.set( !readsCompleted.await( 30,
+                                                          TimeUnit.SECONDS ) );
+            }
+            return false;
+        } );
+
+        final Builder builder = new Builder( project,
+                                             ioService,
+                                             projectService,
+                                             importsService,
+                                             Collections.singletonList( validationHelper ),
+                                             dependenciesClassLoaderCache,
+                                             pomModelCache,
+                                             getPackageNameWhiteListService(),
+                                             alwaysTrue );
+
+        assertTrue( builder.build().getErrorMessages().isEmpty() );
+        final KieModule kieModule1 = builder.getKieModule();
+
+        holdBuild.set( true );
+        final Thread incrementalBuild = new Thread( () -> builder.deleteResource( path.resolve( "src/main/resources/rule1.drl" ) ) );
+        incrementalBuild.start();
+        assertTrue( buildStarted.await( 30,
+                                        TimeUnit.SECONDS ) );
+
+        //Readers use the last publication whilst the incremental build holds the lock
+        final long lockAcquisitions = builder.getLockAcquisitions();
+        assertSame( kieModule1,
+                    builder.getKieModule() );
+        assertSame( kieModule1,
+                    builder.getKieModuleIgnoringErrors() );
+        assertNotNull( builder.getKieContainer() );
+        assertEquals( 1,
+                      builder.getPublications() );
+        assertEquals( lockAcquisitions,
+                      builder.getLockAcquisitions() );
+        readsCompleted.countDown();
+
+        incrementalBuild.join( TimeUnit.SECONDS.toMillis( 30 ) );
+        assertFalse( incrementalBuild.isAlive() );
+        assertFalse( readsTimedOut.get() );
+        assertEquals( 2,
+                      builder.getPublications() );
+        assertNotSame( kieModule1,
+                       builder.getKieModule() );
+    }
+
+    @Test
+    public void testBuilderRestoredFromSnapshot() throws Exception {
+        final URL url = this.getClass().getResource( "/GuvnorM2RepoDependencyExample2" );
+        final SimpleFileSystemProvider p = new SimpleFileSystemProvider();
+        final org.uberfire.java.nio.file.Path path = p.getPath( url.toURI() );
+
+        final Project project = projectService.resolveProject( Paths.convert( path ) );
+        final KieProject kieProject = projectService.resolveProject( project.getPomXMLPath() );
+
+        //The test FileSystem is not versioned, so use a fixed id for the Project's folder. Dependencies are resolved.
+        final File snapshotDirectory = temporaryFolder.newFolder( "snapshots" );
+        final KieModuleSnapshotStore snapshotStore = new KieModuleSnapshotStore( snapshotDirectory ) {
+            @Override
+            String getTreeId( final org.uberfire.java.nio.file.Path folder ) {
+                return "tree1";
+            }
+        };
+
+        final Builder builder1 = new Builder( project,
+                                              ioService,
+                                              projectService,
+                                              importsService,
+                                              new ArrayList<BuildValidationHelper>(),
+                                              dependenciesClassLoaderCache,
+                                              pomModelCache,
+                                              getPackageNameWhiteListService(),
+                                              alwaysTrue,
+                                              snapshotStore );
+        assertTrue( builder1.build().getErrorMessages().isEmpty() );
+        dependenciesClassLoaderCache.invalidateCache( kieProject );
+
+        //A new Builder, as following a restart, uses the snapshot without building
+        final Builder builder2 = new Builder( project,
+                                              ioService,
+                                              projectService,
+                                              importsService,
+                                              new ArrayList<BuildValidationHelper>(),
+                                              dependenciesClassLoaderCache,
+                                              pomModelCache,
+                                              getPackageNameWhiteListService(),
+                                              alwaysTrue,
+                                              snapshotStore );
+
+        final KieModuleMetaData metaData = builder2.getKieModuleMetaDataIgnoringErrors();
+        assertFalse( builder2.isBuilt() );
+
+        //Classes of the Project's dependencies are loadable
+        final String packageName = "org.kie.workbench.common.services.builder.tests.test1";
+        assertTrue( metaData.getPackages().contains( packageName ) );
+        assertNotNull( metaData.getClass( packageName,
+                                          "Bean" ) );
+        assertNotNull( dependenciesClassLoaderCache.getEntry( kieProject ) );
+        assertNotNull( dependenciesClassLoaderCache.getEntry( kieProject ).loadClass( packageName + ".Bean" ) );
+
+        //The KieContainer is usable
+        final KieContainer kieContainer = builder2.getKieContainer();
+        assertNotNull( kieContainer );
+        assertNotNull( kieContainer.newKieSession() );
+        assertFalse( builder2.isBuilt() );
+    }
+
     private PackageNameWhiteListService getPackageNameWhiteListService() {
         return new PackageNameWhiteListServiceImpl( ioService,
                                                     mock( KieProjectService.class ),
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.builder;
+
+import java.io.File;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import org.eclipse.aether.artifact.Artifact;
+import org.guvnor.common.services.project.model.GAV;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.kie.scanner.MavenRepository;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.io.IOService;
+import org.uberfire.io.impl.IOServiceDotFileImpl;
+import org.uberfire.java.nio.file.Path;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class KieModuleSnapshotStoreTest {
+
+    private static final List<GAV> NO_DEPENDENCIES = Collections.emptyList();
+
+    @ClassRule
+    public static TemporaryFolder gitFolder = new TemporaryFolder();
+
+    private static IOService ioService;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Mock
+    private MavenRepository mavenRepository;
+
+    @Mock
+    private Path projectRoot;
+
+    @Mock
+    private Path otherProjectRoot;
+
+    private KieModuleSnapshotStore store;
+
+    @Before
+    public void setUp() throws Exception {
+        when( projectRoot.toUri() ).thenReturn( URI.create( "default://master@repo/project1" ) );
+        when( otherProjectRoot.toUri() ).thenReturn( URI.create( "default://master@repo/project2" ) );
+        store = new KieModuleSnapshotStore( new File( folder.getRoot(),
+                                                      "snapshots" ) ) {
+            @Override
+            protected MavenRepository getMavenRepository() {
+                return mavenRepository;
+            }
+        };
+    }
+
+    @BeforeClass
+    public static void setupGit() throws Exception {
+        System.setProperty( "org.uberfire.nio.git.dir",
+                            gitFolder.getRoot().getAbsolutePath() );
+        System.setProperty( "org.uberfire.nio.git.daemon.enabled",
+                            "false" );
+        System.setProperty( "org.uberfire.nio.git.ssh.enabled",
+                            "false" );
+        ioService = new IOServiceDotFileImpl();
+        ioService.newFileSystem( URI.create( "git://snapshotstore" ),
+                                 new HashMap<String, Object>() );
+    }
+
+    @AfterClass
+    public static void disposeGit() {
+        ioService.dispose();
+    }
+
+    @Test
+    public void testSaveAndLoad() {
+        final byte[] bytes = new byte[]{ 1, 2, 3 };
+        store.save( projectRoot,
+                    "commit1",
+                    bytes );
+
+        assertArrayEquals( bytes,
+                           store.load( projectRoot,
+                                       "commit1" ) );
+        assertNull( store.load( otherProjectRoot,
+                                "commit1" ) );
+    }
+
+    @Test
+    public void testLoadDifferentCommit() {
+        store.save( projectRoot,
+                    "commit1",
+                    new byte[]{ 1, 2, 3 } );
+
+        assertNull( store.load( projectRoot,
+                                "commit2" ) );
+        assertNull( store.load( projectRoot,
+                                null ) );
+    }
+
+    @Test
+    public void testSaveReplacesExistingSnapshot() {
+        final byte[] bytes = new byte[]{ 4, 5, 6 };
+        store.save( projectRoot,
+                    "commit1",
+                    new byte[]{ 1, 2, 3 } );
+        store.save( projectRoot,
+                    "commit2",
+                    bytes );
+
+        assertNull( store.load( projectRoot,
+                                "commit1" ) );
+        assertArrayEquals( bytes,
+                           store.load( projectRoot,
+                                       "commit2" ) );
+    }
+
+    @Test
+    public void testDelete() {
+        store.save( projectRoot,
+                    "commit1",
+                    new byte[]{ 1, 2, 3 } );
+        store.delete( projectRoot );
+
+        assertNull( store.load( projectRoot,
+                                "commit1" ) );
+    }
+
+    @Test
+    public void testRevisionIdIsReadFromLatestCommit() {
+        final Path gitProjectRoot = ioService.get( URI.create( "git://master@snapshotstore/project1" ) );
+        ioService.write( gitProjectRoot.resolve( "pom.xml" ),
+                         "<project/>" );
+        ioService.write( ioService.get( URI.create( "git://master@snapshotstore/project2/pom.xml" ) ),
+                         "<project/>" );
+
+        final String revisionId = store.getRevisionId( gitProjectRoot,
+                                                       NO_DEPENDENCIES );
+        assertNotNull( revisionId );
+        assertEquals( revisionId,
+                      store.getRevisionId( gitProjectRoot,
+                                           NO_DEPENDENCIES ) );
+
+        //The id is that of the Project's folder, so commits to other Projects do not change it
+        ioService.write( ioService.get( URI.create( "git://master@snapshotstore/project2/pom.xml" ) ),
+                         "<project><name>project2</name></project>" );
+        assertEquals( revisionId,
+                      store.getRevisionId( gitProjectRoot,
+                                           NO_DEPENDENCIES ) );
+
+        ioService.write( gitProjectRoot.resolve( "src/main/resources/rule.drl" ),
+                         "package org.test" );
+        assertNotEquals( revisionId,
+                         store.getRevisionId( gitProjectRoot,
+                                              NO_DEPENDENCIES ) );
+    }
+
+    @Test
+    public void testRevisionIdChangesWhenDependencyIsRedeployed() throws Exception {
+        final Path gitProjectRoot = ioService.get( URI.create( "git://master@snapshotstore/project3" ) );
+        ioService.write( gitProjectRoot.resolve( "pom.xml" ),
+                         "<project/>" );
+
+        final GAV dependency = new GAV( "org.test",
+                                        "dependency",
+                                        "1.0-SNAPSHOT" );
+        final File jar = folder.newFile( "dependency-1.0-SNAPSHOT.jar" );
+        java.nio.file.Files.write( jar.toPath(),
+                                   "build1".getBytes( StandardCharsets.UTF_8 ) );
+        final Artifact artifact = mock( Artifact.class );
+        when( artifact.getFile() ).thenReturn( jar );
+        when( mavenRepository.resolveArtifact( dependency.toString() ) ).thenReturn( artifact );
+
+        final String revisionId = store.getRevisionId( gitProjectRoot,
+                                                       Collections.singletonList( dependency ) );
+        assertNotNull( revisionId );
+        assertNotEquals( revisionId,
+                         store.getRevisionId( gitProjectRoot,
+                                              NO_DEPENDENCIES ) );
+
+        //A SNAPSHOT re-deployed without a commit to the Project changes the id
+        java.nio.file.Files.write( jar.toPath(),
+                                   "build2 with more content".getBytes( StandardCharsets.UTF_8 ) );
+        assertNotEquals( revisionId,
+                         store.getRevisionId( gitProjectRoot,
+                                              Collections.singletonList( dependency ) ) );
+    }
+
+    @Test
+    public void testRevisionIdWithoutVersioning() {
+        //Only Git backed FileSystems are versioned
+        assertNull( store.getRevisionId( projectRoot,
+                                         NO_DEPENDENCIES ) );
+    }
+
+    @Test
+    public void testDisabled() {
+        final KieModuleSnapshotStore disabledStore = new KieModuleSnapshotStore( null );
+        disabledStore.save( projectRoot,
+                            "commit1",
+                            new byte[]{ 1, 2, 3 } );
+
+        assertFalse( disabledStore.isEnabled() );
+        assertNull( disabledStore.load( projectRoot,
+                                        "commit1" ) );
+        assertNull( disabledStore.getRevisionId( projectRoot,
+                                                 NO_DEPENDENCIES ) );
+        verify( mavenRepository,
+                never() ).resolveArtifact( anyString() );
+    }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.builder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.guvnor.common.services.project.builder.events.InvalidateDMOProjectCacheEvent;
+import org.guvnor.common.services.project.events.DeleteProjectEvent;
+import org.guvnor.common.services.project.model.Project;
+import org.junit.Before;
+import org.junit.Test;
+import org.uberfire.rpc.SessionInfo;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class LRUBuilderCacheTest {
+
+    private LRUBuilderCache cache;
+
+    private final List<Project> invalidated = new ArrayList<Project>();
+
+    @Before
+    public void setUp() {
+        cache = new LRUBuilderCache();
+        cache.addInvalidationListener( invalidated::add );
+    }
+
+    @Test
+    public void testInvalidateProjectCacheNotifiesListeners() {
+        final Project project = mock( Project.class );
+        cache.setEntry( project,
+                        mock( Builder.class ) );
+
+        cache.invalidateProjectCache( new InvalidateDMOProjectCacheEvent( mock( SessionInfo.class ),
+                                                                          project,
+                                                                          null ) );
+
+        assertNull( cache.getEntry( project ) );
+        assertEquals( 1,
+                      invalidated.size() );
+        assertSame( project,
+                    invalidated.get( 0 ) );
+    }
+
+    @Test
+    public void testProjectDeletedNotifiesListeners() {
+        final Project project = mock( Project.class );
+        cache.setEntry( project,
+                        mock( Builder.class ) );
+
+        final DeleteProjectEvent event = mock( DeleteProjectEvent.class );
+        when( event.getProject() ).thenReturn( project );
+        cache.onProjectDeleted( event );
+
+        assertNull( cache.getEntry( project ) );
+        assertEquals( 1,
+                      invalidated.size() );
+        assertSame( project,
+                    invalidated.get( 0 ) );
+    }
+
+    @Test
+    public void testEvictionNotifiesListeners() {
+        final List<Project> projects = new ArrayList<Project>();
+        for ( int i = 0; invalidated.isEmpty() && i < 1000; i++ ) {
+            final Project project = mock( Project.class );
+            projects.add( project );
+            cache.setEntry( project,
+                            mock( Builder.class ) );
+        }
+
+        //The least recently used Builder is evicted first
+        assertEquals( 1,
+                      invalidated.size() );
+        assertSame( projects.get( 0 ),
+                    invalidated.get( 0 ) );
+        assertNull( cache.getEntry( projects.get( 0 ) ) );
+        assertNotNull( cache.getEntry( projects.get( 1 ) ) );
+    }
+
+}
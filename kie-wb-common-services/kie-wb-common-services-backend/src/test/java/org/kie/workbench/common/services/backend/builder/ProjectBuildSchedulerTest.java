@@ -0,0 +1,145 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.builder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.guvnor.common.services.project.builder.model.BuildResults;
+import org.guvnor.common.services.project.builder.service.BuildService;
+import org.guvnor.common.services.project.model.Dependency;
+import org.guvnor.common.services.project.model.GAV;
+import org.guvnor.common.services.project.model.POM;
+import org.guvnor.common.services.project.model.Project;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ProjectBuildSchedulerTest {
+
+    @Mock
+    private BuildService buildService;
+
+    private ProjectBuildScheduler scheduler;
+
+    private final List<Project> buildOrder = Collections.synchronizedList( new ArrayList<Project>() );
+
+    @Before
+    public void setUp() {
+        scheduler = new ProjectBuildScheduler( buildService,
+                                               4 );
+        when( buildService.build( any( Project.class ) ) ).thenAnswer( ( invocation ) -> {
+            final Project project = (Project) invocation.getArguments()[ 0 ];
+            buildOrder.add( project );
+            return new BuildResults( project.getPom().getGav() );
+        } );
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.destroy();
+    }
+
+    @Test
+    public void testDependenciesAreBuiltFirst() {
+        final Project common = makeProject( "common" );
+        final Project model = makeProject( "model",
+                                           "common" );
+        final Project rules = makeProject( "rules",
+                                           "model",
+                                           "common" );
+        final Project other = makeProject( "other" );
+
+        final List<Project> notified = new ArrayList<Project>();
+        final Map<Project, BuildResults> results = scheduler.build( Arrays.asList( rules,
+                                                                                   other,
+                                                                                   model,
+                                                                                   common ),
+                                                                    ( project, buildResults ) -> notified.add( project ) );
+
+        assertEquals( 4,
+                      results.size() );
+        assertEquals( 4,
+                      notified.size() );
+        assertEquals( new ArrayList<Project>( results.keySet() ),
+                      notified );
+        assertTrue( buildOrder.indexOf( common ) < buildOrder.indexOf( model ) );
+        assertTrue( buildOrder.indexOf( model ) < buildOrder.indexOf( rules ) );
+        verify( buildService,
+                times( 4 ) ).build( any( Project.class ) );
+    }
+
+    @Test
+    public void testCyclicDependencies() {
+        final Project project1 = makeProject( "project1",
+                                              "project2" );
+        final Project project2 = makeProject( "project2",
+                                              "project1" );
+        final Project project3 = makeProject( "project3",
+                                              "project1" );
+
+        final Map<Project, BuildResults> results = scheduler.build( Arrays.asList( project1,
+                                                                                   project2,
+                                                                                   project3 ) );
+
+        assertEquals( 3,
+                      results.size() );
+        assertTrue( buildOrder.indexOf( project1 ) < buildOrder.indexOf( project3 ) );
+        verify( buildService,
+                times( 3 ) ).build( any( Project.class ) );
+    }
+
+    @Test
+    public void testEmptyBatch() {
+        final Map<Project, BuildResults> results = scheduler.build( Collections.<Project>emptyList() );
+
+        assertTrue( results.isEmpty() );
+        verify( buildService,
+                never() ).build( any( Project.class ) );
+    }
+
+    private Project makeProject( final String artifactId,
+                                 final String... dependencies ) {
+        final Project project = mock( Project.class );
+        final POM pom = mock( POM.class );
+        final List<Dependency> pomDependencies = new ArrayList<Dependency>();
+        for ( String dependency : dependencies ) {
+            pomDependencies.add( new Dependency( makeGAV( dependency ) ) );
+        }
+        when( project.getPom() ).thenReturn( pom );
+        when( pom.getGav() ).thenReturn( makeGAV( artifactId ) );
+        when( pom.getDependencies() ).thenReturn( pomDependencies );
+        return project;
+    }
+
+    private GAV makeGAV( final String artifactId ) {
+        return new GAV( "org.kie",
+                        artifactId,
+                        "1.0" );
+    }
+
+}
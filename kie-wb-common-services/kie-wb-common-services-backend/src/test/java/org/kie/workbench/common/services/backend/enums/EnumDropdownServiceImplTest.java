@@ -0,0 +1,168 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.enums;
+
+import java.util.HashMap;
+import java.util.function.Consumer;
+
+import org.drools.compiler.kie.builder.impl.InternalKieModule;
+import org.guvnor.common.services.project.model.Project;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.services.backend.builder.Builder;
+import org.kie.workbench.common.services.backend.builder.LRUBuilderCache;
+import org.kie.workbench.common.services.backend.builder.LRUProjectDependenciesClassLoaderCache;
+import org.kie.workbench.common.services.backend.enums.EnumDropdownServiceImpl.ProjectExpressions;
+import org.kie.workbench.common.services.shared.project.KieProject;
+import org.kie.workbench.common.services.shared.project.KieProjectService;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.vfs.Path;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class EnumDropdownServiceImplTest {
+
+    private static final String TEMPLATE = "['@{a}', 'b']";
+
+    private static final String EXPRESSION = "['x', 'b']";
+
+    private static final String[] VALUE_PAIRS = new String[]{ "a=x" };
+
+    @Mock
+    private LRUBuilderCache builderCache;
+
+    @Mock
+    private KieProjectService projectService;
+
+    @Mock
+    private LRUProjectDependenciesClassLoaderCache dependenciesClassLoaderCache;
+
+    @InjectMocks
+    private EnumDropdownServiceImpl service;
+
+    private Consumer<Project> invalidationListener;
+
+    private Path resource;
+
+    private KieProject project;
+
+    private Builder builder;
+
+    private InternalKieModule module;
+
+    @Before
+    public void setup() {
+        service.init();
+
+        final ArgumentCaptor<Consumer> listenerCaptor = ArgumentCaptor.forClass( Consumer.class );
+        verify( builderCache ).addInvalidationListener( listenerCaptor.capture() );
+        invalidationListener = listenerCaptor.getValue();
+
+        final Path rootPath = mock( Path.class );
+        when( rootPath.toURI() ).thenReturn( "default://master@repo/project" );
+        project = mock( KieProject.class );
+        when( project.getRootPath() ).thenReturn( rootPath );
+
+        resource = mock( Path.class );
+        when( projectService.resolveProject( resource ) ).thenReturn( project );
+
+        module = mock( InternalKieModule.class );
+        when( module.getClassesMap( true ) ).thenReturn( new HashMap<String, byte[]>() );
+        builder = mock( Builder.class );
+        when( builder.getKieModuleIgnoringErrors() ).thenReturn( module );
+        when( builderCache.assertBuilder( project ) ).thenReturn( builder );
+        when( dependenciesClassLoaderCache.assertDependenciesClassLoader( project ) ).thenReturn( getClass().getClassLoader() );
+    }
+
+    @Test
+    public void testExpressionsReusedForSamePublication() {
+        assertLoaded();
+        final ProjectExpressions expressions = service.getProjectExpressions( project,
+                                                                              module,
+                                                                              0 );
+        final Object template = expressions.getTemplate( TEMPLATE );
+        final Object expression = expressions.getExpression( EXPRESSION );
+
+        assertLoaded();
+        final ProjectExpressions reused = service.getProjectExpressions( project,
+                                                                         module,
+                                                                         0 );
+        assertSame( expressions,
+                    reused );
+        assertSame( template,
+                    reused.getTemplate( TEMPLATE ) );
+        assertSame( expression,
+                    reused.getExpression( EXPRESSION ) );
+
+        //The project dependencies are loaded from the cached ClassLoader
+        verify( dependenciesClassLoaderCache,
+                atLeastOnce() ).assertDependenciesClassLoader( project );
+    }
+
+    @Test
+    public void testExpressionsRecompiledWhenBuilderPublishes() {
+        assertLoaded();
+        final ProjectExpressions expressions = service.getProjectExpressions( project,
+                                                                              module,
+                                                                              0 );
+        final Object template = expressions.getTemplate( TEMPLATE );
+        final Object expression = expressions.getExpression( EXPRESSION );
+
+        when( builder.getPublications() ).thenReturn( 1L );
+
+        assertLoaded();
+        final ProjectExpressions recompiled = service.getProjectExpressions( project,
+                                                                             module,
+                                                                             1 );
+        assertNotSame( expressions,
+                       recompiled );
+        assertNotSame( template,
+                       recompiled.getTemplate( TEMPLATE ) );
+        assertNotSame( expression,
+                       recompiled.getExpression( EXPRESSION ) );
+    }
+
+    @Test
+    public void testExpressionsRemovedWhenBuilderInvalidated() {
+        assertLoaded();
+        final ProjectExpressions expressions = service.getProjectExpressions( project,
+                                                                              module,
+                                                                              0 );
+
+        //The Builder and KieModule are unchanged, but the expressions are no longer cached once the Builder is invalidated
+        invalidationListener.accept( project );
+
+        assertNotSame( expressions,
+                       service.getProjectExpressions( project,
+                                                      module,
+                                                      0 ) );
+    }
+
+    private void assertLoaded() {
+        assertArrayEquals( new String[]{ "x", "b" },
+                           service.loadDropDownExpression( resource,
+                                                           VALUE_PAIRS,
+                                                           TEMPLATE ) );
+    }
+
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.project;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.guvnor.common.services.project.events.DeleteProjectEvent;
+import org.guvnor.common.services.project.model.Package;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.services.shared.project.KieProject;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.backend.vfs.PathFactory;
+import org.uberfire.rpc.SessionInfo;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceChange;
+import org.uberfire.workbench.events.ResourceChangeType;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceUpdated;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class KieProjectResolutionCacheTest {
+
+    @Mock
+    private Path folderPath;
+
+    @Mock
+    private Path pomPath;
+
+    @Mock
+    private Path kmodulePath;
+
+    @Mock
+    private Path drlPath;
+
+    @Mock
+    private Path otherFolderPath;
+
+    private KieProject project;
+
+    @Mock
+    private Package pkg;
+
+    @Mock
+    private SessionInfo sessionInfo;
+
+    private KieProjectResolutionCache cache;
+
+    @Before
+    public void setUp() {
+        when( pomPath.getFileName() ).thenReturn( "pom.xml" );
+        when( kmodulePath.getFileName() ).thenReturn( "kmodule.xml" );
+        when( drlPath.getFileName() ).thenReturn( "rule.drl" );
+        when( folderPath.toURI() ).thenReturn( "default://p0/project/src/main/resources/org" );
+        when( otherFolderPath.toURI() ).thenReturn( "default://p0/project/src/main/resources/com" );
+        when( drlPath.toURI() ).thenReturn( "default://p0/project/src/main/resources/org/rule.drl" );
+
+        project = new KieProject( PathFactory.newPath( "project",
+                                                       "default://p0/project" ),
+                                  PathFactory.newPath( "pom.xml",
+                                                       "default://p0/project/pom.xml" ),
+                                  PathFactory.newPath( "kmodule.xml",
+                                                       "default://p0/project/src/main/resources/META-INF/kmodule.xml" ),
+                                  PathFactory.newPath( "project.imports",
+                                                       "default://p0/project/project.imports" ),
+                                  PathFactory.newPath( "project.repositories",
+                                                       "default://p0/project/project.repositories" ),
+                                  PathFactory.newPath( "package-names-white-list",
+                                                       "default://p0/project/package-names-white-list" ),
+                                  "project" );
+
+        cache = new KieProjectResolutionCache();
+        cache.setProject( folderPath,
+                          project );
+        cache.setPackage( folderPath,
+                          pkg );
+    }
+
+    @Test
+    public void testCachedEntries() {
+        assertEquals( project,
+                      cache.getProject( folderPath ) );
+        assertEquals( pkg,
+                      cache.getPackage( folderPath ) );
+    }
+
+    @Test
+    public void testEntriesAreShared() {
+        //Projects and Packages are treated alike: every caller is given the instance resolved
+        assertSame( project,
+                    cache.getProject( folderPath ) );
+        assertSame( cache.getProject( folderPath ),
+                    cache.getProject( folderPath ) );
+        assertSame( pkg,
+                    cache.getPackage( folderPath ) );
+    }
+
+    @Test
+    public void testFolderResourceDeleted() {
+        cache.setPackage( otherFolderPath,
+                          pkg );
+
+        cache.onResourceDeleted( new ResourceDeletedEvent( drlPath,
+                                                           "",
+                                                           sessionInfo ) );
+
+        assertNull( cache.getProject( folderPath ) );
+        assertNull( cache.getPackage( folderPath ) );
+        assertEquals( pkg,
+                      cache.getPackage( otherFolderPath ) );
+    }
+
+    @Test
+    public void testFolderRenamedInBatch() {
+        final Path folder = mock( Path.class );
+        when( folder.toURI() ).thenReturn( "default://p0/project/src/main/resources" );
+        final ResourceChange change = mock( ResourceChange.class );
+        when( change.getType() ).thenReturn( ResourceChangeType.RENAME );
+
+        final ResourceBatchChangesEvent event = mock( ResourceBatchChangesEvent.class );
+        when( event.getBatch() ).thenReturn( Collections.<Path, Collection<ResourceChange>>singletonMap( folder,
+                                                                                                        Collections.singletonList( change ) ) );
+        cache.setPackage( otherFolderPath,
+                          pkg );
+
+        cache.onBatchResourceChanges( event );
+
+        //Both folders are contained in the renamed folder
+        assertNull( cache.getPackage( folderPath ) );
+        assertNull( cache.getPackage( otherFolderPath ) );
+    }
+
+    @Test
+    public void testNonProjectDescriptorUpdated() {
+        cache.onResourceUpdated( new ResourceUpdatedEvent( drlPath,
+                                                           "",
+                                                           sessionInfo ) );
+
+        assertEquals( project,
+                      cache.getProject( folderPath ) );
+        assertEquals( pkg,
+                      cache.getPackage( folderPath ) );
+    }
+
+    @Test
+    public void testPomUpdated() {
+        cache.onResourceUpdated( new ResourceUpdatedEvent( pomPath,
+                                                           "",
+                                                           sessionInfo ) );
+
+        assertNull( cache.getProject( folderPath ) );
+        assertNull( cache.getPackage( folderPath ) );
+    }
+
+    @Test
+    public void testKModuleUpdatedInBatch() {
+        final Map<Path, Collection<ResourceChange>> batch = new HashMap<Path, Collection<ResourceChange>>();
+        batch.put( drlPath,
+                   Collections.<ResourceChange>singletonList( new ResourceUpdated( "" ) ) );
+        batch.put( kmodulePath,
+                   Collections.<ResourceChange>singletonList( new ResourceUpdated( "" ) ) );
+
+        final ResourceBatchChangesEvent event = mock( ResourceBatchChangesEvent.class );
+        when( event.getBatch() ).thenReturn( batch );
+
+        cache.onBatchResourceChanges( event );
+
+        assertNull( cache.getProject( folderPath ) );
+        assertNull( cache.getPackage( folderPath ) );
+    }
+
+    @Test
+    public void testProjectDeleted() {
+        cache.onProjectDeleted( mock( DeleteProjectEvent.class ) );
+
+        assertNull( cache.getProject( folderPath ) );
+        assertNull( cache.getPackage( folderPath ) );
+    }
+
+}
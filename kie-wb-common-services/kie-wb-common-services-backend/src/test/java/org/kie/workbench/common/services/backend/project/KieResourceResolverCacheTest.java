@@ -0,0 +1,106 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.project;
+
+import java.net.URL;
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.spi.Bean;
+
+import org.guvnor.common.services.project.model.Package;
+import org.guvnor.test.WeldJUnitRunner;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.services.shared.project.KieProject;
+import org.kie.workbench.common.services.shared.project.KieProjectService;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.rpc.SessionInfo;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(WeldJUnitRunner.class)
+public class KieResourceResolverCacheTest extends ProjectTestBase {
+
+    private KieProjectService projectService;
+    private KieProjectResolutionCache cache;
+
+    @Before
+    public void setUp() {
+        super.setUp();
+        projectService = getReference( KieProjectService.class );
+        cache = getReference( KieProjectResolutionCache.class );
+        cache.invalidate();
+    }
+
+    @Test
+    public void testResolveProjectReturnsCopies() throws Exception {
+        final Path rulePath = getPath( "/ProjectBackendTestProjectStructureValid/src/main/resources/org/kie/test/rule1.drl" );
+
+        final KieProject project1 = projectService.resolveProject( rulePath );
+        final KieProject project2 = projectService.resolveProject( rulePath );
+
+        assertNotNull( project1 );
+        assertNotSame( project1,
+                       project2 );
+        assertEquals( project1,
+                      project2 );
+        assertNotNull( project2.getPom() );
+
+        //Changes made by a caller are not visible to others
+        project1.setPom( null );
+        assertNotNull( projectService.resolveProject( rulePath ).getPom() );
+    }
+
+    @Test
+    public void testResolvePackageAfterFolderDeleted() throws Exception {
+        final Path folderPath = getPath( "/ProjectBackendTestProjectStructureValid/src/main/resources/org/kie/test" );
+        final Path rulePath = getPath( "/ProjectBackendTestProjectStructureValid/src/main/resources/org/kie/test/rule1.drl" );
+
+        final Package pkg = projectService.resolvePackage( rulePath );
+        assertEquals( "org.kie.test",
+                      pkg.getPackageName() );
+        assertNotNull( cache.getPackage( folderPath ) );
+        assertNotNull( cache.getProject( folderPath ) );
+
+        cache.onResourceDeleted( new ResourceDeletedEvent( rulePath,
+                                                           "",
+                                                           mock( SessionInfo.class ) ) );
+
+        assertNull( cache.getPackage( folderPath ) );
+        assertNull( cache.getProject( folderPath ) );
+
+        //The Package is resolved again when the cache has no entry
+        assertEquals( "org.kie.test",
+                      projectService.resolvePackage( rulePath ).getPackageName() );
+    }
+
+    private Path getPath( final String resource ) throws Exception {
+        final URL url = this.getClass().getResource( resource );
+        return paths.convert( fs.getPath( url.toURI() ) );
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T getReference( final Class<T> type ) {
+        final Bean bean = (Bean) beanManager.getBeans( type ).iterator().next();
+        final CreationalContext cc = beanManager.createCreationalContext( bean );
+        return (T) beanManager.getReference( bean,
+                                             type,
+                                             cc );
+    }
+}
@@ -30,6 +30,8 @@ import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
 import javax.validation.ConstraintViolation;
 
+import com.google.gwt.core.client.GWT;
+import com.google.gwt.core.client.Scheduler;
 import org.drools.workbench.models.datamodel.imports.Imports;
 import org.drools.workbench.models.datamodel.oracle.Annotation;
 import org.drools.workbench.models.datamodel.oracle.DataType;
@@ -159,6 +161,19 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
     // Keep the link between fact name and the full qualified class name inside the package
     private FactNameToFQCNHandleRegistry factNameToFQCNHandleRegistry = new FactNameToFQCNHandleRegistry();
 
+    // Index of the Project content, used to re-filter only the Types affected by changes
+    private ProjectTypeIndex projectTypeIndex = new ProjectTypeIndex();
+
+    // Package name and imports at the time of the last filter, and the Types added to the Project content since then
+    private String filteredPackageName = null;
+    private Set<String> filteredImports = new HashSet<String>();
+    private Set<String> unfilteredTypes = new HashSet<String>();
+    private boolean isFullFilterRequired = true;
+
+    // Fact Types for which incremental content has been requested, but not yet sent to the server, and their callbacks
+    private Map<String, List<RemoteCallback<PackageDataModelOracleIncrementalPayload>>> pendingUpdates = new HashMap<String, List<RemoteCallback<PackageDataModelOracleIncrementalPayload>>>();
+    private boolean isUpdateScheduled = false;
+
     @Inject
     public AsyncPackageDataModelOracleImpl( final Caller<IncrementalDataModelService> service,
                                             final Instance<DynamicValidator> validatorInstance ) {
@@ -320,23 +335,20 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
 
         //Load incremental content
         if ( isFactTypeAnEvent == null ) {
-            service.call( new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
-
-                @Override
-                public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
-                    AsyncPackageDataModelOracleUtilities.populateDataModelOracle( AsyncPackageDataModelOracleImpl.this,
-                                                                                  dataModel );
-                    Boolean isFactTypeAnEvent = filteredEventTypes.get( factType );
-                    if ( isFactTypeAnEvent == null ) {
-                        isFactTypeAnEvent = false;
-                        filteredEventTypes.put( factType,
-                                                isFactTypeAnEvent );
-                    }
-                    callback.callback( isFactTypeAnEvent );
-                }
-            } ).getUpdates( resourcePath,
-                            imports,
-                            factType );
+            getUpdates( factType,
+                        new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
+
+                            @Override
+                            public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
+                                Boolean isFactTypeAnEvent = filteredEventTypes.get( factType );
+                                if ( isFactTypeAnEvent == null ) {
+                                    isFactTypeAnEvent = false;
+                                    filteredEventTypes.put( factType,
+                                                            isFactTypeAnEvent );
+                                }
+                                callback.callback( isFactTypeAnEvent );
+                            }
+                        } );
 
         } else {
             callback.callback( isFactTypeAnEvent );
@@ -355,18 +367,15 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
 
         //Load incremental content
         if ( typeSource == null ) {
-            service.call( new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
+            getUpdates( factType,
+                        new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
 
-                @Override
-                public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
-                    AsyncPackageDataModelOracleUtilities.populateDataModelOracle( AsyncPackageDataModelOracleImpl.this,
-                                                                                  dataModel );
-                    final TypeSource typeSource = filteredTypeSources.get( factType );
-                    callback.callback( typeSource );
-                }
-            } ).getUpdates( resourcePath,
-                            imports,
-                            factType );
+                            @Override
+                            public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
+                                final TypeSource typeSource = filteredTypeSources.get( factType );
+                                callback.callback( typeSource );
+                            }
+                        } );
 
         } else {
             callback.callback( typeSource );
@@ -403,17 +412,14 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
 
         //Load incremental content
         if ( superTypes == null ) {
-            service.call( new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
+            getUpdates( factType,
+                        new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
 
-                @Override
-                public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
-                    AsyncPackageDataModelOracleUtilities.populateDataModelOracle( AsyncPackageDataModelOracleImpl.this,
-                                                                                  dataModel );
-                    callback.callback( filteredSuperTypes.get( factType ) );
-                }
-            } ).getUpdates( resourcePath,
-                            imports,
-                            factType );
+                            @Override
+                            public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
+                                callback.callback( filteredSuperTypes.get( factType ) );
+                            }
+                        } );
 
         } else {
             callback.callback( superTypes );
@@ -432,23 +438,20 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
 
         //Load incremental content
         if ( typeAnnotations == null ) {
-            service.call( new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
-
-                @Override
-                public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
-                    AsyncPackageDataModelOracleUtilities.populateDataModelOracle( AsyncPackageDataModelOracleImpl.this,
-                                                                                  dataModel );
-                    Set<Annotation> typeAnnotations = filteredTypeAnnotations.get( factType );
-                    if ( typeAnnotations == null ) {
-                        typeAnnotations = Collections.EMPTY_SET;
-                        filteredTypeAnnotations.put( factType,
-                                                     typeAnnotations );
-                    }
-                    callback.callback( typeAnnotations );
-                }
-            } ).getUpdates( resourcePath,
-                            imports,
-                            factType );
+            getUpdates( factType,
+                        new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
+
+                            @Override
+                            public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
+                                Set<Annotation> typeAnnotations = filteredTypeAnnotations.get( factType );
+                                if ( typeAnnotations == null ) {
+                                    typeAnnotations = Collections.EMPTY_SET;
+                                    filteredTypeAnnotations.put( factType,
+                                                                 typeAnnotations );
+                                }
+                                callback.callback( typeAnnotations );
+                            }
+                        } );
 
         } else {
             callback.callback( typeAnnotations );
@@ -467,23 +470,20 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
 
         //Load incremental content
         if ( typeFieldsAnnotations == null ) {
-            service.call( new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
-
-                @Override
-                public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
-                    AsyncPackageDataModelOracleUtilities.populateDataModelOracle( AsyncPackageDataModelOracleImpl.this,
-                                                                                  dataModel );
-                    Map<String, Set<Annotation>> typeFieldsAnnotations = filteredTypeFieldsAnnotations.get( factType );
-                    if ( typeFieldsAnnotations == null ) {
-                        typeFieldsAnnotations = Collections.EMPTY_MAP;
-                        filteredTypeFieldsAnnotations.put( factType,
-                                                           typeFieldsAnnotations );
-                    }
-                    callback.callback( typeFieldsAnnotations );
-                }
-            } ).getUpdates( resourcePath,
-                            imports,
-                            factType );
+            getUpdates( factType,
+                        new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
+
+                            @Override
+                            public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
+                                Map<String, Set<Annotation>> typeFieldsAnnotations = filteredTypeFieldsAnnotations.get( factType );
+                                if ( typeFieldsAnnotations == null ) {
+                                    typeFieldsAnnotations = Collections.EMPTY_MAP;
+                                    filteredTypeFieldsAnnotations.put( factType,
+                                                                       typeFieldsAnnotations );
+                                }
+                                callback.callback( typeFieldsAnnotations );
+                            }
+                        } );
 
         } else {
             callback.callback( typeFieldsAnnotations );
@@ -557,24 +557,21 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
 
         //Load incremental content
         if ( fields == null || fields.length == 0 ) {
-            service.call( new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
-
-                @Override
-                public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
-                    AsyncPackageDataModelOracleUtilities.populateDataModelOracle( AsyncPackageDataModelOracleImpl.this,
-                                                                                  dataModel );
-
-                    // This will stop an infinite loop if there are no fields to be found
-                    if ( dataModel.getModelFields().get( fgcnByFactName ) == null || dataModel.getModelFields().get( fgcnByFactName ).length == 0 ) {
-                        callback.callback( new ModelField[ 0 ] );
-                    } else {
-                        getFieldCompletions( factType,
-                                             callback );
-                    }
-                }
-            } ).getUpdates( resourcePath,
-                            imports,
-                            fgcnByFactName );
+            getUpdates( fgcnByFactName,
+                        new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
+
+                            @Override
+                            public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
+
+                                // This will stop an infinite loop if there are no fields to be found
+                                if ( dataModel.getModelFields().get( fgcnByFactName ) == null || dataModel.getModelFields().get( fgcnByFactName ).length == 0 ) {
+                                    callback.callback( new ModelField[ 0 ] );
+                                } else {
+                                    getFieldCompletions( factType,
+                                                         callback );
+                                }
+                            }
+                        } );
 
         } else {
             callback.callback( fields );
@@ -870,19 +867,16 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
 
         //Load incremental content
         if ( methodInformation == null ) {
-            service.call( new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
-
-                @Override
-                public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
-                    AsyncPackageDataModelOracleUtilities.populateDataModelOracle( AsyncPackageDataModelOracleImpl.this,
-                                                                                  dataModel );
-                    final List<MethodInfo> methodInformation = projectMethodInformation.get( fqcnByFactName );
-                    callback.callback( getMethodInfos( parameterCount,
-                                                       methodInformation ) );
-                }
-            } ).getUpdates( resourcePath,
-                            imports,
-                            fqcnByFactName );
+            getUpdates( fqcnByFactName,
+                        new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
+
+                            @Override
+                            public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
+                                final List<MethodInfo> methodInformation = projectMethodInformation.get( fqcnByFactName );
+                                callback.callback( getMethodInfos( parameterCount,
+                                                                   methodInformation ) );
+                            }
+                        } );
 
         } else {
             callback.callback( getMethodInfos( parameterCount,
@@ -921,19 +915,16 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
 
         //Load incremental content
         if ( methodInformation == null ) {
-            service.call( new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
-
-                @Override
-                public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
-                    AsyncPackageDataModelOracleUtilities.populateDataModelOracle( AsyncPackageDataModelOracleImpl.this,
-                                                                                  dataModel );
-                    final List<MethodInfo> methodInformation = projectMethodInformation.get( fqcnFactName );
-                    callback.callback( getMethodParams( methodInformation,
-                                                        methodNameWithParams ) );
-                }
-            } ).getUpdates( resourcePath,
-                            imports,
-                            fqcnFactName );
+            getUpdates( fqcnFactName,
+                        new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
+
+                            @Override
+                            public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
+                                final List<MethodInfo> methodInformation = projectMethodInformation.get( fqcnFactName );
+                                callback.callback( getMethodParams( methodInformation,
+                                                                    methodNameWithParams ) );
+                            }
+                        } );
 
         } else {
             callback.callback( getMethodParams( methodInformation,
@@ -967,19 +958,16 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
 
         //Load incremental content
         if ( methodInformation == null ) {
-            service.call( new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
-
-                @Override
-                public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
-                    AsyncPackageDataModelOracleUtilities.populateDataModelOracle( AsyncPackageDataModelOracleImpl.this,
-                                                                                  dataModel );
-                    final List<MethodInfo> methodInformation = projectMethodInformation.get( fqcnFactName );
-                    callback.callback( getMethodInfo( methodInformation,
-                                                      methodNameWithParams ) );
-                }
-            } ).getUpdates( resourcePath,
-                            imports,
-                            factType );
+            getUpdates( factType,
+                        new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
+
+                            @Override
+                            public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
+                                final List<MethodInfo> methodInformation = projectMethodInformation.get( fqcnFactName );
+                                callback.callback( getMethodInfo( methodInformation,
+                                                                  methodNameWithParams ) );
+                            }
+                        } );
 
         } else {
             callback.callback( getMethodInfo( methodInformation,
@@ -1039,17 +1027,14 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
 
         //Load incremental content
         if ( methodInformation == null ) {
-            service.call( new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
+            getUpdates( factType,
+                        new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
 
-                @Override
-                public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
-                    AsyncPackageDataModelOracleUtilities.populateDataModelOracle( AsyncPackageDataModelOracleImpl.this,
-                                                                                  dataModel );
-                    callback.callback( projectMethodInformation.get( factType ) );
-                }
-            } ).getUpdates( resourcePath,
-                            imports,
-                            factType );
+                            @Override
+                            public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
+                                callback.callback( projectMethodInformation.get( factType ) );
+                            }
+                        } );
 
         } else {
             callback.callback( methodInformation );
@@ -1154,7 +1139,40 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
 
     @Override
     public void filter() {
+        final Set<String> importStrings = new HashSet<String>( imports.getImportStrings() );
 
+        if ( isFullFilterRequired || filteredPackageName == null || !filteredPackageName.equals( packageName ) ) {
+            filterAll();
+
+        } else {
+            //Only re-filter Types added since the last filter and those affected by imports that have changed
+            final Set<String> types = new HashSet<String>( unfilteredTypes );
+            for ( String importString : importStrings ) {
+                if ( !filteredImports.contains( importString ) ) {
+                    types.addAll( projectTypeIndex.getTypesAffectedByImport( importString ) );
+                }
+            }
+            for ( String importString : filteredImports ) {
+                if ( !importStrings.contains( importString ) ) {
+                    types.addAll( projectTypeIndex.getTypesAffectedByImport( importString ) );
+                }
+            }
+            filterTypes( types );
+        }
+
+        //Filter and rename Global Types based on package name and imports
+        filteredGlobalTypes = new TreeMap<String, String>( SortHelper.ALPHABETICAL_ORDER_COMPARATOR );
+        filteredGlobalTypes.putAll( AsyncPackageDataModelOracleUtilities.filterGlobalTypes( packageName,
+                                                                                            imports,
+                                                                                            packageGlobalTypes ) );
+
+        filteredPackageName = packageName;
+        filteredImports = importStrings;
+        unfilteredTypes.clear();
+        isFullFilterRequired = false;
+    }
+
+    private void filterAll() {
         //Filter and rename Model Fields based on package name and imports
         filteredModelFields = new TreeMap<String, ModelField[]>( SortHelper.ALPHABETICAL_ORDER_COMPARATOR );
         filteredModelFields.putAll( AsyncPackageDataModelOracleUtilities.filterModelFields( packageName,
@@ -1166,12 +1184,6 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
         AsyncPackageDataModelOracleUtilities.visitMethodInformation( projectMethodInformation,
                                                                      factNameToFQCNHandleRegistry );
 
-        //Filter and rename Global Types based on package name and imports
-        filteredGlobalTypes = new TreeMap<String, String>( SortHelper.ALPHABETICAL_ORDER_COMPARATOR );
-        filteredGlobalTypes.putAll( AsyncPackageDataModelOracleUtilities.filterGlobalTypes( packageName,
-                                                                                            imports,
-                                                                                            packageGlobalTypes ) );
-
         //Filter and rename Collection Types based on package name and imports
         filteredCollectionTypes = new HashMap<String, Boolean>();
         filteredCollectionTypes.putAll( AsyncPackageDataModelOracleUtilities.filterCollectionTypes( packageName,
@@ -1222,6 +1234,163 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
                                                                                                              projectFieldParametersType ) );
     }
 
+
+    private void filterTypes( final Set<String> qualifiedTypes ) {
+        final Set<String> typeNames = new HashSet<String>();
+        for ( String qualifiedType : qualifiedTypes ) {
+            typeNames.add( AsyncPackageDataModelOracleUtilities.getTypeName( qualifiedType ) );
+        }
+
+        //Types sharing the same filtered name are re-filtered together, as they can replace each other's entries
+        for ( String typeName : typeNames ) {
+            final Set<String> types = projectTypeIndex.getTypesByName( typeName );
+            removeFilteredType( typeName,
+                                types );
+            addFilteredTypes( types );
+        }
+    }
+
+    private void removeFilteredType( final String typeName,
+                                     final Set<String> qualifiedTypes ) {
+        filteredModelFields.remove( typeName );
+        filteredCollectionTypes.remove( typeName );
+        filteredEventTypes.remove( typeName );
+        filteredTypeSources.remove( typeName );
+        filteredSuperTypes.remove( typeName );
+        filteredTypeAnnotations.remove( typeName );
+        filteredTypeFieldsAnnotations.remove( typeName );
+
+        for ( String qualifiedType : qualifiedTypes ) {
+            //Restore any "Workbench" enumeration hidden by the Project's enumeration
+            for ( String key : projectTypeIndex.getEnumKeys( qualifiedType ) ) {
+                final String filteredKey = typeName + "#" + AsyncPackageDataModelOracleUtilities.getFieldNameFromEnumeration( key );
+                filteredEnumLists.remove( filteredKey );
+                if ( packageWorkbenchEnumLists.containsKey( filteredKey ) ) {
+                    filteredEnumLists.put( filteredKey,
+                                           packageWorkbenchEnumLists.get( filteredKey ) );
+                }
+            }
+            //Field parameter types are renamed, not filtered, so remove both forms
+            for ( String key : projectTypeIndex.getFieldParametersTypeKeys( qualifiedType ) ) {
+                final String fieldName = AsyncPackageDataModelOracleUtilities.getFieldNameFromEnumeration( key );
+                filteredFieldParametersType.remove( typeName + "#" + fieldName );
+                filteredFieldParametersType.remove( key + "#" + fieldName );
+            }
+        }
+    }
+
+    private void addFilteredTypes( final Set<String> qualifiedTypes ) {
+        filteredModelFields.putAll( AsyncPackageDataModelOracleUtilities.filterModelFields( packageName,
+                                                                                            imports,
+                                                                                            ProjectTypeIndex.subMap( projectModelFields,
+                                                                                                                     qualifiedTypes ),
+                                                                                            factNameToFQCNHandleRegistry ) );
+        AsyncPackageDataModelOracleUtilities.visitMethodInformation( ProjectTypeIndex.subMap( projectMethodInformation,
+                                                                                              qualifiedTypes ),
+                                                                     factNameToFQCNHandleRegistry );
+        filteredCollectionTypes.putAll( AsyncPackageDataModelOracleUtilities.filterCollectionTypes( packageName,
+                                                                                                    imports,
+                                                                                                    ProjectTypeIndex.subMap( projectCollectionTypes,
+                                                                                                                             qualifiedTypes ) ) );
+        filteredEventTypes.putAll( AsyncPackageDataModelOracleUtilities.filterEventTypes( packageName,
+                                                                                          imports,
+                                                                                          ProjectTypeIndex.subMap( projectEventTypes,
+                                                                                                                   qualifiedTypes ) ) );
+        filteredTypeSources.putAll( AsyncPackageDataModelOracleUtilities.filterTypeSources( packageName,
+                                                                                            imports,
+                                                                                            ProjectTypeIndex.subMap( projectTypeSources,
+                                                                                                                     qualifiedTypes ) ) );
+        filteredSuperTypes.putAll( AsyncPackageDataModelOracleUtilities.filterSuperTypes( packageName,
+                                                                                          imports,
+                                                                                          ProjectTypeIndex.subMap( projectSuperTypes,
+                                                                                                                   qualifiedTypes ) ) );
+        filteredTypeAnnotations.putAll( AsyncPackageDataModelOracleUtilities.filterTypeAnnotations( packageName,
+                                                                                                    imports,
+                                                                                                    ProjectTypeIndex.subMap( projectTypeAnnotations,
+                                                                                                                             qualifiedTypes ) ) );
+        filteredTypeFieldsAnnotations.putAll( AsyncPackageDataModelOracleUtilities.filterTypeFieldsAnnotations( packageName,
+                                                                                                                imports,
+                                                                                                                ProjectTypeIndex.subMap( projectTypeFieldsAnnotations,
+                                                                                                                                         qualifiedTypes ) ) );
+
+        final Set<String> enumKeys = new HashSet<String>();
+        final Set<String> fieldParametersTypeKeys = new HashSet<String>();
+        for ( String qualifiedType : qualifiedTypes ) {
+            enumKeys.addAll( projectTypeIndex.getEnumKeys( qualifiedType ) );
+            fieldParametersTypeKeys.addAll( projectTypeIndex.getFieldParametersTypeKeys( qualifiedType ) );
+        }
+        filteredEnumLists.putAll( AsyncPackageDataModelOracleUtilities.filterEnumDefinitions( packageName,
+                                                                                              imports,
+                                                                                              ProjectTypeIndex.subMap( projectJavaEnumLists,
+                                                                                                                       enumKeys ) ) );
+        filteredFieldParametersType.putAll( AsyncPackageDataModelOracleUtilities.filterFieldParametersTypes( packageName,
+                                                                                                             imports,
+                                                                                                             ProjectTypeIndex.subMap( projectFieldParametersType,
+                                                                                                                                      fieldParametersTypeKeys ) ) );
+    }
+
+    // ####################################
+    // Incremental loading
+    // ####################################
+
+    /**
+     * Load incremental content for a Fact Type. Requests made whilst handling the same browser event are sent to the
+     * server in a single round-trip; the DMO is populated with the combined content before any callback is invoked.
+     * @param factType
+     * @param callback
+     */
+    private void getUpdates( final String factType,
+                             final RemoteCallback<PackageDataModelOracleIncrementalPayload> callback ) {
+        List<RemoteCallback<PackageDataModelOracleIncrementalPayload>> callbacks = pendingUpdates.get( factType );
+        if ( callbacks == null ) {
+            callbacks = new ArrayList<RemoteCallback<PackageDataModelOracleIncrementalPayload>>();
+            pendingUpdates.put( factType,
+                                callbacks );
+        }
+        callbacks.add( callback );
+
+        if ( !isUpdateScheduled ) {
+            isUpdateScheduled = true;
+            scheduleUpdates( new Scheduler.ScheduledCommand() {
+                @Override
+                public void execute() {
+                    sendUpdates();
+                }
+            } );
+        }
+    }
+
+    //Outside of the browser (e.g. unit tests) there is no event loop, so requests are sent immediately
+    void scheduleUpdates( final Scheduler.ScheduledCommand command ) {
+        if ( GWT.isClient() ) {
+            Scheduler.get().scheduleFinally( command );
+        } else {
+            command.execute();
+        }
+    }
+
+    private void sendUpdates() {
+        final Map<String, List<RemoteCallback<PackageDataModelOracleIncrementalPayload>>> updates = pendingUpdates;
+        pendingUpdates = new HashMap<String, List<RemoteCallback<PackageDataModelOracleIncrementalPayload>>>();
+        isUpdateScheduled = false;
+
+        service.call( new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
+
+            @Override
+            public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
+                AsyncPackageDataModelOracleUtilities.populateDataModelOracle( AsyncPackageDataModelOracleImpl.this,
+                                                                              dataModel );
+                for ( List<RemoteCallback<PackageDataModelOracleIncrementalPayload>> callbacks : updates.values() ) {
+                    for ( RemoteCallback<PackageDataModelOracleIncrementalPayload> callback : callbacks ) {
+                        callback.callback( dataModel );
+                    }
+                }
+            }
+        } ).getUpdates( resourcePath,
+                        imports,
+                        new HashSet<String>( updates.keySet() ) );
+    }
+
     // ####################################
     // Population of DMO
     // ####################################
@@ -1238,8 +1407,20 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
 
     @Override
     public void addModelFields( final Map<String, ModelField[]> modelFields ) {
-        for ( ModelField[] value : modelFields.values() ) {
-            if ( value != null ) {
+        for ( Map.Entry<String, ModelField[]> e : modelFields.entrySet() ) {
+            final ModelField[] value = e.getValue();
+            addUnfilteredType( e.getKey() );
+            if ( value == null ) {
+                continue;
+            }
+            for ( ModelField field : value ) {
+                projectTypeIndex.addReference( e.getKey(),
+                                               field.getClassName() );
+                projectTypeIndex.addReference( e.getKey(),
+                                               field.getType() );
+            }
+            //Lazy place-holders and fields already known do not need sorting
+            if ( value.length > 1 && value != projectModelFields.get( e.getKey() ) ) {
                 Arrays.sort( value, getModelFieldComparator() );
             }
         }
@@ -1249,24 +1430,42 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
 
     @Override
     public void addFieldParametersType( final Map<String, String> fieldParametersType ) {
+        for ( Map.Entry<String, String> e : fieldParametersType.entrySet() ) {
+            final String qualifiedType = AsyncPackageDataModelOracleUtilities.getQualifiedTypeFromEnumeration( e.getKey() );
+            addUnfilteredType( qualifiedType );
+            projectTypeIndex.addFieldParametersTypeKey( qualifiedType,
+                                                        e.getKey() );
+            if ( e.getValue() != null ) {
+                projectTypeIndex.addReference( qualifiedType,
+                                               AsyncPackageDataModelOracleUtilities.getQualifiedTypeFromEnumeration( e.getValue() ) );
+            }
+        }
         this.projectFieldParametersType.putAll( fieldParametersType );
     }
 
     @Override
     public void addEventTypes( final Map<String, Boolean> eventTypes ) {
+        addUnfilteredTypes( eventTypes.keySet() );
         this.projectEventTypes.putAll( eventTypes );
     }
 
     @Override
     public void addTypeSources( final Map<String, TypeSource> typeSources ) {
+        addUnfilteredTypes( typeSources.keySet() );
         this.projectTypeSources.putAll( typeSources );
     }
 
     @Override
     public void addSuperTypes( final Map<String, List<String>> superTypes ) {
-        for ( List<String> value : superTypes.values() ) {
+        for ( Map.Entry<String, List<String>> e : superTypes.entrySet() ) {
+            final List<String> value = e.getValue();
+            addUnfilteredType( e.getKey() );
             if ( value != null ) {
                 Collections.sort( value, SortHelper.ALPHABETICAL_ORDER_COMPARATOR );
+                for ( String superType : value ) {
+                    projectTypeIndex.addReference( e.getKey(),
+                                                   superType );
+                }
             }
         }
 
@@ -1275,21 +1474,30 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
 
     @Override
     public void addTypeAnnotations( final Map<String, Set<Annotation>> annotations ) {
+        addUnfilteredTypes( annotations.keySet() );
         this.projectTypeAnnotations.putAll( annotations );
     }
 
     @Override
     public void addTypeFieldsAnnotations( final Map<String, Map<String, Set<Annotation>>> typeFieldsAnnotations ) {
+        addUnfilteredTypes( typeFieldsAnnotations.keySet() );
         this.projectTypeFieldsAnnotations.putAll( typeFieldsAnnotations );
     }
 
     @Override
     public void addJavaEnumDefinitions( final Map<String, String[]> dataEnumLists ) {
+        for ( String key : dataEnumLists.keySet() ) {
+            final String qualifiedType = AsyncPackageDataModelOracleUtilities.getQualifiedTypeFromEnumeration( key );
+            addUnfilteredType( qualifiedType );
+            projectTypeIndex.addEnumKey( qualifiedType,
+                                         key );
+        }
         this.projectJavaEnumLists.putAll( dataEnumLists );
     }
 
     @Override
     public void addMethodInformation( final Map<String, List<MethodInfo>> methodInformation ) {
+        addUnfilteredTypes( methodInformation.keySet() );
         for ( List<MethodInfo> value : methodInformation.values() ) {
             if ( value != null ) {
                 Collections.sort( value, getMethodInfoComparator() );
@@ -1301,6 +1509,7 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
 
     @Override
     public void addCollectionTypes( final Map<String, Boolean> collectionTypes ) {
+        addUnfilteredTypes( collectionTypes.keySet() );
         this.projectCollectionTypes.putAll( collectionTypes );
     }
 
@@ -1312,6 +1521,8 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
 
     @Override
     public void addWorkbenchEnumDefinitions( final Map<String, String[]> dataEnumLists ) {
+        //"Workbench" enumerations can be hidden by the Project's enumerations, so everything needs re-filtering
+        isFullFilterRequired = true;
         this.packageWorkbenchEnumLists.putAll( dataEnumLists );
     }
 
@@ -1330,6 +1541,17 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
         this.packageGlobalTypes.putAll( packageGlobalTypes );
     }
 
+    private void addUnfilteredTypes( final Set<String> qualifiedTypes ) {
+        for ( String qualifiedType : qualifiedTypes ) {
+            addUnfilteredType( qualifiedType );
+        }
+    }
+
+    private void addUnfilteredType( final String qualifiedType ) {
+        projectTypeIndex.addType( qualifiedType );
+        unfilteredTypes.add( qualifiedType );
+    }
+
     private Comparator<ModelField> getModelFieldComparator() {
         return new Comparator<ModelField>() {
             @Override
@@ -29,6 +29,26 @@ public class FilteredEnumLists
     // This is used to calculate what fields an enum list may depend on.
     private transient Map<String, Object> enumLookupFields;
 
+    @Override
+    public String[] put(final String key,
+                        final String[] value) {
+        enumLookupFields = null;
+        return super.put(key,
+                         value);
+    }
+
+    @Override
+    public void putAll(final Map<? extends String, ? extends String[]> m) {
+        enumLookupFields = null;
+        super.putAll(m);
+    }
+
+    @Override
+    public String[] remove(final Object key) {
+        enumLookupFields = null;
+        return super.remove(key);
+    }
+
     /**
      * For simple cases - where a list of values are known based on a field.
      */
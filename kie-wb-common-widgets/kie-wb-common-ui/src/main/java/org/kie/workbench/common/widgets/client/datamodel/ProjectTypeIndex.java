@@ -0,0 +1,147 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.widgets.client.datamodel;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index of the Project content held by {@link AsyncPackageDataModelOracleImpl}, used to determine which filtered
+ * (current package and imports) entries need to change when a Type is loaded or an import is added or removed.
+ */
+class ProjectTypeIndex {
+
+    //Qualified Types by the name used to import them (inner classes are imported as "Outer.Inner" not "Outer$Inner")
+    private final Map<String, Set<String>> typesByImport = new HashMap<String, Set<String>>();
+
+    //Qualified Types by their filtered name; Types in different packages can share the same filtered name
+    private final Map<String, Set<String>> typesByName = new HashMap<String, Set<String>>();
+
+    //Qualified Types whose filtered content refers to another Type, keyed by the name used to import the other Type
+    private final Map<String, Set<String>> referencingTypes = new HashMap<String, Set<String>>();
+
+    //Keys of the Project's Java enumerations and field parameter types, by Qualified Type
+    private final Map<String, Set<String>> enumKeys = new HashMap<String, Set<String>>();
+    private final Map<String, Set<String>> fieldParametersTypeKeys = new HashMap<String, Set<String>>();
+
+    void addType( final String qualifiedType ) {
+        add( typesByImport,
+             toImport( qualifiedType ),
+             qualifiedType );
+        add( typesByName,
+             AsyncPackageDataModelOracleUtilities.getTypeName( qualifiedType ),
+             qualifiedType );
+    }
+
+    void addReference( final String qualifiedType,
+                       final String referencedType ) {
+        if ( referencedType == null ) {
+            return;
+        }
+        add( referencingTypes,
+             toImport( referencedType ),
+             qualifiedType );
+    }
+
+    void addEnumKey( final String qualifiedType,
+                     final String key ) {
+        add( enumKeys,
+             qualifiedType,
+             key );
+    }
+
+    void addFieldParametersTypeKey( final String qualifiedType,
+                                    final String key ) {
+        add( fieldParametersTypeKeys,
+             qualifiedType,
+             key );
+    }
+
+    /**
+     * Get the Qualified Types affected by an import being added or removed; i.e. the imported Type itself and those
+     * Types whose filtered content refers to it.
+     */
+    Set<String> getTypesAffectedByImport( final String importType ) {
+        final Set<String> types = new HashSet<String>();
+        types.addAll( get( typesByImport,
+                           importType ) );
+        types.addAll( get( referencingTypes,
+                           importType ) );
+        return types;
+    }
+
+    Set<String> getTypesByName( final String typeName ) {
+        return get( typesByName,
+                    typeName );
+    }
+
+    Set<String> getEnumKeys( final String qualifiedType ) {
+        return get( enumKeys,
+                    qualifiedType );
+    }
+
+    Set<String> getFieldParametersTypeKeys( final String qualifiedType ) {
+        return get( fieldParametersTypeKeys,
+                    qualifiedType );
+    }
+
+    /**
+     * Extract the entries for the given keys
+     */
+    static <V> Map<String, V> subMap( final Map<String, V> map,
+                                      final Collection<String> keys ) {
+        final Map<String, V> subMap = new HashMap<String, V>();
+        for ( String key : keys ) {
+            if ( map.containsKey( key ) ) {
+                subMap.put( key,
+                            map.get( key ) );
+            }
+        }
+        return subMap;
+    }
+
+    private static String toImport( final String qualifiedType ) {
+        return qualifiedType.replace( '$',
+                                      '.' );
+    }
+
+    private static void add( final Map<String, Set<String>> index,
+                             final String key,
+                             final String value ) {
+        Set<String> values = index.get( key );
+        if ( values == null ) {
+            values = new HashSet<String>();
+            index.put( key,
+                       values );
+        }
+        values.add( value );
+    }
+
+    private static Set<String> get( final Map<String, Set<String>> index,
+                                    final String key ) {
+        final Set<String> values = index.get( key );
+        if ( values == null ) {
+            return Collections.emptySet();
+        }
+        return values;
+    }
+
+}
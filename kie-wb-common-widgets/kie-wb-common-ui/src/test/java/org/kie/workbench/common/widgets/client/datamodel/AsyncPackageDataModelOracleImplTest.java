@@ -19,10 +19,13 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import javax.enterprise.inject.Instance;
 
+import com.google.gwt.core.client.Scheduler;
 import org.drools.workbench.models.datamodel.imports.Import;
 import org.drools.workbench.models.datamodel.imports.Imports;
 import org.drools.workbench.models.datamodel.oracle.DataType;
@@ -39,6 +42,7 @@ import org.junit.Test;
 import org.kie.workbench.common.services.datamodel.model.LazyModelField;
 import org.kie.workbench.common.services.datamodel.model.PackageDataModelOracleIncrementalPayload;
 import org.kie.workbench.common.services.datamodel.service.IncrementalDataModelService;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.uberfire.backend.vfs.Path;
 import org.uberfire.client.callbacks.Callback;
@@ -60,14 +64,17 @@ public class AsyncPackageDataModelOracleImplTest {
 
     @Before
     public void setUp() throws Exception {
-        AsyncPackageDataModelOracle oracle = new AsyncPackageDataModelOracleImpl( new Service(),
-                                                                                  validatorInstance );
         personPayload = createPersonPayload();
         addressPayload = createAddressPayload();
         giantPayload = createGiantPayload();
         stringPayload = createStringPayload();
         defaultPayload = createDefaultPayload();
 
+        this.oracle = setUpOracle( new AsyncPackageDataModelOracleImpl( new Service(),
+                                                                        validatorInstance ) );
+    }
+
+    private AsyncPackageDataModelOracle setUpOracle( final AsyncPackageDataModelOracle oracle ) {
         oracle.addGlobals( createGlobals() );
 
         oracle.setPackageName( "org" );
@@ -78,7 +85,7 @@ public class AsyncPackageDataModelOracleImplTest {
 
         oracle.filter( createImports() );
 
-        this.oracle = oracle;
+        return oracle;
     }
 
     private Map<String, List<MethodInfo>> createProjectMethodInformation() {
@@ -349,6 +356,47 @@ public class AsyncPackageDataModelOracleImplTest {
         verify( callback ).callback( any( ModelField[].class ) );
     }
 
+    @Test
+    public void testGetFieldCompletionsBatched() throws Exception {
+        final Service service = new Service();
+        final List<Scheduler.ScheduledCommand> scheduledCommands = new ArrayList<Scheduler.ScheduledCommand>();
+        final AsyncPackageDataModelOracle oracle = setUpOracle( new AsyncPackageDataModelOracleImpl( service,
+                                                                                                     validatorInstance ) {
+            @Override
+            void scheduleUpdates( final Scheduler.ScheduledCommand command ) {
+                scheduledCommands.add( command );
+            }
+        } );
+
+        final Callback<ModelField[]> personCallback = mock( Callback.class );
+        final Callback<ModelField[]> addressCallback = mock( Callback.class );
+        oracle.getFieldCompletions( "Person",
+                                    personCallback );
+        oracle.getFieldCompletions( "Address",
+                                    addressCallback );
+
+        //Nothing is sent until the end of the current event
+        assertEquals( 1,
+                      scheduledCommands.size() );
+        assertTrue( service.requests.isEmpty() );
+
+        scheduledCommands.get( 0 ).execute();
+
+        assertEquals( 1,
+                      service.requests.size() );
+        assertEquals( new HashSet<String>( Arrays.asList( "org.test.Person",
+                                                          "org.Address" ) ),
+                      service.requests.get( 0 ) );
+        final ArgumentCaptor<ModelField[]> personFieldsCaptor = ArgumentCaptor.forClass( ModelField[].class );
+        final ArgumentCaptor<ModelField[]> addressFieldsCaptor = ArgumentCaptor.forClass( ModelField[].class );
+        verify( personCallback ).callback( personFieldsCaptor.capture() );
+        verify( addressCallback ).callback( addressFieldsCaptor.capture() );
+        assertEquals( 2,
+                      personFieldsCaptor.getValue().length );
+        assertEquals( 3,
+                      addressFieldsCaptor.getValue().length );
+    }
+
     @Test
     public void testGetFieldCompletionsForField() throws Exception {
         Callback<ModelField[]> callback = spy( new Callback<ModelField[]>() {
@@ -554,6 +602,37 @@ public class AsyncPackageDataModelOracleImplTest {
         verify( getSuperTypesCallback ).callback( anyList() );
     }
 
+    @Test
+    public void testFilterImportChanges() {
+        final Imports imports = createImports();
+        imports.addImport( new Import( "org.test.Parent" ) );
+        oracle.filter( imports );
+
+        final Callback<List<String>> getSuperTypesCallback = mock( Callback.class );
+        oracle.getSuperTypes( "Person",
+                              getSuperTypesCallback );
+        verify( getSuperTypesCallback ).callback( Arrays.asList( "org.test.GrandParent",
+                                                                 "Parent" ) );
+
+        final Imports reducedImports = new Imports();
+        reducedImports.addImport( new Import( "java.lang.String" ) );
+        reducedImports.addImport( new Import( "org.globals.GiantContainerOfInformation" ) );
+        oracle.filter( reducedImports );
+
+        final String[] types = oracle.getFactTypes();
+        assertEquals( 4, types.length );
+        assertEquals( "Address", types[ 0 ] );
+        assertEquals( "Document", types[ 1 ] );
+        assertEquals( "GiantContainerOfInformation", types[ 2 ] );
+        assertEquals( "String", types[ 3 ] );
+        assertFalse( oracle.isFactTypeRecognized( "Person" ) );
+
+        oracle.filter( createImports() );
+
+        assertEquals( 5, oracle.getFactTypes().length );
+        assertEquals( "Person", oracle.getFactTypes()[ 3 ] );
+    }
+
     @Test
     public void testGetPackageNames() {
         List<String> packageNames = oracle.getPackageNames();
@@ -577,27 +656,47 @@ public class AsyncPackageDataModelOracleImplTest {
             implements Caller<IncrementalDataModelService> {
 
         private RemoteCallback<PackageDataModelOracleIncrementalPayload> callback;
+        private List<Set<String>> requests = new ArrayList<Set<String>>();
         private IncrementalDataModelService service = new IncrementalDataModelService() {
             @Override
             public PackageDataModelOracleIncrementalPayload getUpdates( Path resourcePath,
                                                                         Imports imports,
                                                                         String factType ) {
-                if ( factType.equals( "org.test.Person" ) ) {
-                    callback.callback( personPayload );
-                } else if ( factType.equals( "java.lang.String" ) ) {
-                    callback.callback( stringPayload );
-                } else if ( factType.equals( "org.Address" ) ) {
-                    callback.callback( addressPayload );
-                } else if ( factType.equals( "org.globals.GiantContainerOfInformation" ) ) {
-                    callback.callback( giantPayload );
-                } else {
-                    callback.callback( defaultPayload );
+                requests.add( Collections.singleton( factType ) );
+                callback.callback( getPayload( factType ) );
+
+                return null;
+            }
+
+            @Override
+            public PackageDataModelOracleIncrementalPayload getUpdates( Path resourcePath,
+                                                                        Imports imports,
+                                                                        Set<String> factTypes ) {
+                requests.add( factTypes );
+                final PackageDataModelOracleIncrementalPayload payload = new PackageDataModelOracleIncrementalPayload();
+                for ( String factType : factTypes ) {
+                    payload.getModelFields().putAll( getPayload( factType ).getModelFields() );
                 }
+                callback.callback( payload );
 
                 return null;
             }
         };
 
+        private PackageDataModelOracleIncrementalPayload getPayload( final String factType ) {
+            if ( factType.equals( "org.test.Person" ) ) {
+                return personPayload;
+            } else if ( factType.equals( "java.lang.String" ) ) {
+                return stringPayload;
+            } else if ( factType.equals( "org.Address" ) ) {
+                return addressPayload;
+            } else if ( factType.equals( "org.globals.GiantContainerOfInformation" ) ) {
+                return giantPayload;
+            } else {
+                return defaultPayload;
+            }
+        }
+
         @Override
         public IncrementalDataModelService call() {
             return service;
@@ -15,6 +15,8 @@
 
 package org.kie.workbench.common.widgets.client.datamodel;
 
+import java.util.Set;
+
 import org.drools.workbench.models.datamodel.imports.Imports;
 import org.drools.workbench.models.datamodel.oracle.PackageDataModelOracle;
 import org.guvnor.common.services.project.model.Package;
@@ -105,6 +107,18 @@ public class MockIncrementalDataModelServiceCaller implements Caller<Incremental
             return payload;
         }
 
+        @Override
+        public PackageDataModelOracleIncrementalPayload getUpdates( final Path resourcePath,
+                                                                    final Imports imports,
+                                                                    final Set<String> factTypes ) {
+            final PackageDataModelOracleIncrementalPayload payload = super.getUpdates( resourcePath,
+                                                                                       imports,
+                                                                                       factTypes );
+            final RemoteCallback r = remoteCallback;
+            r.callback( payload );
+            return payload;
+        }
+
     }
 
 }
@@ -29,7 +29,6 @@ import com.google.gwt.dom.client.Document;
 import com.google.gwt.dom.client.Element;
 import com.google.gwt.dom.client.TableCellElement;
 import com.google.gwt.dom.client.TableElement;
-import com.google.gwt.dom.client.TableRowElement;
 import com.google.gwt.dom.client.TableSectionElement;
 import com.google.gwt.event.shared.EventBus;
 import com.google.gwt.resources.client.ImageResource;
@@ -668,9 +667,10 @@ public abstract class AbstractMergableGridWidget<M, T> extends Widget
             return null;
         }
 
-        Coordinate hc = cv.getHtmlCoordinate();
-        TableRowElement tre = tbody.getRows().getItem( hc.getRow() ).<TableRowElement>cast();
-        TableCellElement tce = tre.getCells().getItem( hc.getCol() ).<TableCellElement>cast();
+        TableCellElement tce = revealCell( cv );
+        if ( tce == null ) {
+            return null;
+        }
         int offsetX = tce.getOffsetLeft();
         int offsetY = tce.getOffsetTop();
         int w = tce.getOffsetWidth();
@@ -737,6 +737,14 @@ public abstract class AbstractMergableGridWidget<M, T> extends Widget
     abstract void resizeColumn( DynamicColumn<?> col,
                                 int width );
 
+    /**
+     * Ensure the element for a cell is rendered. Implementations need not
+     * render cells outside of their visible region.
+     * @param cell
+     * @return The element for the cell, or null if it cannot be rendered
+     */
+    abstract TableCellElement revealCell( CellValue<? extends Comparable<?>> cell );
+
     /**
      * Add styling to cell to indicate a selected state
      * @param cell
@@ -789,6 +797,14 @@ public abstract class AbstractMergableGridWidget<M, T> extends Widget
         }
     }
 
+    /**
+     * Set the region of the grid visible within its container
+     * @param top Offset of the top of the visible region, in pixels
+     * @param height Height of the visible region, in pixels
+     */
+    abstract void setVisibleRegion( int top,
+                                    int height );
+
     /**
      * Show a column
      */
@@ -1018,9 +1034,14 @@ public abstract class AbstractMergableGridWidget<M, T> extends Widget
         clearSelection();
 
         // Delete columns and data from grid
-        for ( int iCol = 0; iCol < event.getNumberOfColumns(); iCol++ ) {
-            columns.remove( firstColumnIndex );
-            data.deleteColumn( firstColumnIndex );
+        data.beginUpdate();
+        try {
+            for ( int iCol = 0; iCol < event.getNumberOfColumns(); iCol++ ) {
+                columns.remove( firstColumnIndex );
+                data.deleteColumn( firstColumnIndex );
+            }
+        } finally {
+            data.endUpdate();
         }
         reindexColumns();
 
@@ -1042,14 +1063,19 @@ public abstract class AbstractMergableGridWidget<M, T> extends Widget
         clearSelection();
 
         // Add column definitions and data
-        for ( int iCol = 0; iCol < event.getColumns().size(); iCol++ ) {
-            DynamicColumn<T> column = event.getColumns().get( iCol );
-            List<CellValue<? extends Comparable<?>>> columnData = event.getColumnsData().get( iCol );
-            columns.add( index + iCol,
-                         column );
-            data.addColumn( index + iCol,
-                            columnData,
-                            column.isVisible() );
+        data.beginUpdate();
+        try {
+            for ( int iCol = 0; iCol < event.getColumns().size(); iCol++ ) {
+                DynamicColumn<T> column = event.getColumns().get( iCol );
+                List<CellValue<? extends Comparable<?>>> columnData = event.getColumnsData().get( iCol );
+                columns.add( index + iCol,
+                             column );
+                data.addColumn( index + iCol,
+                                columnData,
+                                column.isVisible() );
+            }
+        } finally {
+            data.endUpdate();
         }
         reindexColumns();
 
@@ -1145,34 +1171,38 @@ public abstract class AbstractMergableGridWidget<M, T> extends Widget
         }
 
         //Move source columns and data to destination
-        if ( targetColumnIndex > sourceColumnIndex ) {
-            for ( int iCol = 0; iCol < numberOfColumns; iCol++ ) {
+        data.beginUpdate();
+        try {
+            if ( targetColumnIndex > sourceColumnIndex ) {
+                for ( int iCol = 0; iCol < numberOfColumns; iCol++ ) {
 //                this.data.addColumn( targetColumnIndex,
 //                                     this.data.removeColumn( sourceColumnIndex ),
 //                                     this.columns.get( sourceColumnIndex ).isVisible() );
-                this.columns.add( targetColumnIndex,
-                                  this.columns.remove( sourceColumnIndex ) );
-                this.data.moveColumn( sourceColumnIndex,
-                                      targetColumnIndex );
+                    this.columns.add( targetColumnIndex,
+                                      this.columns.remove( sourceColumnIndex ) );
+                    this.data.moveColumn( sourceColumnIndex,
+                                          targetColumnIndex );
 
-            }
-        } else if ( targetColumnIndex < sourceColumnIndex ) {
-            for ( int iCol = 0; iCol < numberOfColumns; iCol++ ) {
+                }
+            } else if ( targetColumnIndex < sourceColumnIndex ) {
+                for ( int iCol = 0; iCol < numberOfColumns; iCol++ ) {
 //                this.data.addColumn( targetColumnIndex,
 //                                     this.data.removeColumn( sourceColumnIndex ),
 //                                     this.columns.get( sourceColumnIndex ).isVisible() );
-                this.columns.add( targetColumnIndex,
-                                  this.columns.remove( sourceColumnIndex ) );
-                this.data.moveColumn( sourceColumnIndex,
-                                      targetColumnIndex );
-                sourceColumnIndex++;
-                targetColumnIndex++;
+                    this.columns.add( targetColumnIndex,
+                                      this.columns.remove( sourceColumnIndex ) );
+                    this.data.moveColumn( sourceColumnIndex,
+                                          targetColumnIndex );
+                    sourceColumnIndex++;
+                    targetColumnIndex++;
+                }
             }
+        } finally {
+            data.endUpdate();
         }
 
         //Redraw the affected columns
         reindexColumns();
-        data.assertModelMerging();
         redrawColumns( startRedrawIndex,
                        endRedrawIndex );
 
@@ -1229,50 +1259,16 @@ public abstract class AbstractMergableGridWidget<M, T> extends Widget
             }
         }
 
-        //---Update selected cells (before ungrouping otherwise selections would need to be expanded too)---
-        changedBlock = new ArrayList<List<CellValue<? extends Comparable<?>>>>();
-        for ( CellValue<? extends Comparable<?>> cell : selections ) {
-            changedRow = new ArrayList<CellValue<? extends Comparable<?>>>();
-            Coordinate c = cell.getCoordinate();
-            if ( !columns.get( c.getCol() ).isSystemControlled() ) {
-                data.set( c,
-                          value );
-                if ( value != null ) {
-                    cell.removeState( CellValue.CellState.OTHERWISE );
-                }
-
-                //Copy data that is changing for an event to update the underlying model
-                if ( cell instanceof CellValue.GroupedCellValue ) {
-                    CellValue.GroupedCellValue gcv = (CellValue.GroupedCellValue) cell;
-                    for ( int iChildValueIndex = 0; iChildValueIndex < gcv.getGroupedCells().size(); iChildValueIndex++ ) {
-                        changedRow.add( data.get( c ) );
-                        changedBlock.add( changedRow );
-                    }
-                } else {
-                    changedRow.add( data.get( c ) );
-                    changedBlock.add( changedRow );
-                }
-            }
-        }
-        Coordinate originSelected = new Coordinate( rowMapper.mapToAbsoluteRow( firstSelection.getRow() ),
-                                                    firstSelection.getCol() );
-        changedData.put( originSelected,
-                         changedBlock );
-
-        //---Clear dependent cells' values---
-        final Context context = new Context( 0,
-                                             firstSelection.getCol(),
-                                             null );
-        final Set<Integer> dependentColumnIndexes = this.dropDownManager.getDependentColumnIndexes( context );
-        for ( Integer dependentColumnIndex : dependentColumnIndexes ) {
+        data.beginUpdate();
+        try {
+            //---Update selected cells (before ungrouping otherwise selections would need to be expanded too)---
             changedBlock = new ArrayList<List<CellValue<? extends Comparable<?>>>>();
             for ( CellValue<? extends Comparable<?>> cell : selections ) {
                 changedRow = new ArrayList<CellValue<? extends Comparable<?>>>();
-                Coordinate dc = new Coordinate( cell.getCoordinate().getRow(),
-                                                dependentColumnIndex );
-                if ( !columns.get( dc.getCol() ).isSystemControlled() ) {
-                    data.set( dc,
-                              null );
+                Coordinate c = cell.getCoordinate();
+                if ( !columns.get( c.getCol() ).isSystemControlled() ) {
+                    data.set( c,
+                              value );
                     if ( value != null ) {
                         cell.removeState( CellValue.CellState.OTHERWISE );
                     }
@@ -1281,20 +1277,59 @@ public abstract class AbstractMergableGridWidget<M, T> extends Widget
                     if ( cell instanceof CellValue.GroupedCellValue ) {
                         CellValue.GroupedCellValue gcv = (CellValue.GroupedCellValue) cell;
                         for ( int iChildValueIndex = 0; iChildValueIndex < gcv.getGroupedCells().size(); iChildValueIndex++ ) {
-                            changedRow.add( data.get( dc ) );
+                            changedRow.add( data.get( c ) );
                             changedBlock.add( changedRow );
                         }
                     } else {
-                        changedRow.add( data.get( dc ) );
+                        changedRow.add( data.get( c ) );
                         changedBlock.add( changedRow );
                     }
                 }
-
             }
-            Coordinate originDependent = new Coordinate( rowMapper.mapToAbsoluteRow( firstSelection.getRow() ),
-                                                         dependentColumnIndex );
-            changedData.put( originDependent,
+            Coordinate originSelected = new Coordinate( rowMapper.mapToAbsoluteRow( firstSelection.getRow() ),
+                                                        firstSelection.getCol() );
+            changedData.put( originSelected,
                              changedBlock );
+
+            //---Clear dependent cells' values---
+            final Context context = new Context( 0,
+                                                 firstSelection.getCol(),
+                                                 null );
+            final Set<Integer> dependentColumnIndexes = this.dropDownManager.getDependentColumnIndexes( context );
+            for ( Integer dependentColumnIndex : dependentColumnIndexes ) {
+                changedBlock = new ArrayList<List<CellValue<? extends Comparable<?>>>>();
+                for ( CellValue<? extends Comparable<?>> cell : selections ) {
+                    changedRow = new ArrayList<CellValue<? extends Comparable<?>>>();
+                    Coordinate dc = new Coordinate( cell.getCoordinate().getRow(),
+                                                    dependentColumnIndex );
+                    if ( !columns.get( dc.getCol() ).isSystemControlled() ) {
+                        data.set( dc,
+                                  null );
+                        if ( value != null ) {
+                            cell.removeState( CellValue.CellState.OTHERWISE );
+                        }
+
+                        //Copy data that is changing for an event to update the underlying model
+                        if ( cell instanceof CellValue.GroupedCellValue ) {
+                            CellValue.GroupedCellValue gcv = (CellValue.GroupedCellValue) cell;
+                            for ( int iChildValueIndex = 0; iChildValueIndex < gcv.getGroupedCells().size(); iChildValueIndex++ ) {
+                                changedRow.add( data.get( dc ) );
+                                changedBlock.add( changedRow );
+                            }
+                        } else {
+                            changedRow.add( data.get( dc ) );
+                            changedBlock.add( changedRow );
+                        }
+                    }
+
+                }
+                Coordinate originDependent = new Coordinate( rowMapper.mapToAbsoluteRow( firstSelection.getRow() ),
+                                                             dependentColumnIndex );
+                changedData.put( originDependent,
+                                 changedBlock );
+            }
+        } finally {
+            data.endUpdate();
         }
 
         //Ungroup if applicable
@@ -1312,8 +1347,7 @@ public abstract class AbstractMergableGridWidget<M, T> extends Widget
             //If the data is merged changes to the cells' value can cause the need for a greater range of 
             //rows to be redrawn as a cell's new value could cause the merged span to increase. This is also 
             //the only mechanism available to update multiple individual cells' values when multiple 
-            //cells are selected.
-            data.assertModelMerging();
+            //cells are selected. Merging has already been asserted once all cells' values were updated.
 
             // Partial redraw
             int baseRowIndex = selections.first().getCoordinate().getRow();
@@ -20,12 +20,14 @@ import java.util.Set;
 import com.google.gwt.cell.client.Cell;
 import com.google.gwt.cell.client.Cell.Context;
 import com.google.gwt.core.client.GWT;
+import com.google.gwt.core.client.Scheduler;
+import com.google.gwt.core.client.Scheduler.ScheduledCommand;
 import com.google.gwt.dom.client.DivElement;
 import com.google.gwt.dom.client.Document;
 import com.google.gwt.dom.client.Element;
 import com.google.gwt.dom.client.EventTarget;
 import com.google.gwt.dom.client.NativeEvent;
-import com.google.gwt.dom.client.Node;
+import com.google.gwt.dom.client.Style.Display;
 import com.google.gwt.dom.client.Style.Unit;
 import com.google.gwt.dom.client.TableCellElement;
 import com.google.gwt.dom.client.TableRowElement;
@@ -37,18 +39,40 @@ import com.google.gwt.user.client.DOM;
 import com.google.gwt.user.client.Event;
 import org.kie.workbench.common.widgets.decoratedgrid.client.resources.i18n.Constants;
 import org.kie.workbench.common.widgets.decoratedgrid.client.widget.data.Coordinate;
+import org.kie.workbench.common.widgets.decoratedgrid.client.widget.data.DynamicData;
 import org.kie.workbench.common.widgets.decoratedgrid.client.widget.data.DynamicDataRow;
+import org.kie.workbench.common.widgets.decoratedgrid.client.widget.data.RowViewport;
 import org.kie.workbench.common.widgets.decoratedgrid.client.widget.events.UpdateSelectedCellsEvent;
 
 /**
  * A Vertical implementation of MergableGridWidget, that renders columns as erm,
- * columns and rows as rows. Supports merging of cells between rows.
+ * columns and rows as rows. Supports merging of cells between rows. Only rows
+ * within, or close to, the visible region are rendered; the space occupied by
+ * the other rows is filled by spacers above and below the rendered rows.
  */
 public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractMergableGridWidget<M, T> {
 
+    //Number of rows rendered above and below the visible rows
+    private static final int BUFFER_ROWS = 20;
+
     //Deferred binding creates an appropriate class depending on browser
     private CellHeightCalculatorImpl cellHeightCalculator = GWT.create( CellHeightCalculatorImpl.class );
 
+    //Rows rendered in the TBODY element
+    private RowViewport viewport;
+
+    //Spacers for the rows above and below those rendered
+    private TableSectionElement topSpacer;
+    private TableSectionElement bottomSpacer;
+
+    //Whether rows have been added or removed since the rows were rendered
+    private boolean isRenderedRowsInvalid = false;
+
+    //Get the element that has focus
+    private native static Element getActiveElement()/*-{
+        return $doc.activeElement;
+    }-*/;
+
     public AbstractVerticalMergableGridWidget( ResourcesProvider<T> resources,
                                                AbstractCellFactory<T> cellFactory,
                                                AbstractCellValueFactory<T, ?> cellValueFactory,
@@ -61,6 +85,20 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
                dropDownManager,
                isReadOnly,
                eventBus );
+
+        topSpacer = makeSpacer();
+        bottomSpacer = makeSpacer();
+        table.insertBefore( topSpacer,
+                            tbody );
+        table.appendChild( bottomSpacer );
+    }
+
+    @Override
+    public void setData( DynamicData data ) {
+        super.setData( data );
+        this.viewport = new RowViewport( data,
+                                         resources.rowHeight(),
+                                         BUFFER_ROWS );
     }
 
     @Override
@@ -91,11 +129,16 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
             return;
         }
         TableRowElement tr = TableRowElement.as( trElem );
+
+        // Ignore events on the spacers
+        if ( tr.getParentElement() != tbody ) {
+            return;
+        }
         int htmlRow = tr.getSectionRowIndex();
 
         // Convert HTML coordinates to physical coordinates
-        CellValue<?> htmlCell = data.get( htmlRow ).get( htmlCol );
-        Coordinate eventPhysicalCoordinate = htmlCell.getPhysicalCoordinate();
+        Coordinate eventPhysicalCoordinate = viewport.getPhysicalCoordinate( htmlRow,
+                                                                             htmlCol );
         CellValue<?> eventPhysicalCell = data.get( eventPhysicalCoordinate.getRow() ).get( eventPhysicalCoordinate.getCol() );
 
         //Event handlers
@@ -133,7 +176,10 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
                         break;
                 }
                 eventPhysicalCoordinate = eventPhysicalCell.getCoordinate();
-                eventTableCell = tbody.getRows().getItem( eventPhysicalCell.getHtmlCoordinate().getRow() ).getCells().getItem( eventPhysicalCell.getHtmlCoordinate().getCol() );
+                eventTableCell = revealCell( eventPhysicalCell );
+                if ( eventTableCell == null ) {
+                    return;
+                }
             }
         }
 
@@ -159,25 +205,8 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
 
     @Override
     protected void redraw() {
-
-        TableSectionElement nbody = Document.get().createTBodyElement();
-
-        for ( int iRow = 0; iRow < data.size(); iRow++ ) {
-
-            DynamicDataRow rowData = data.get( iRow );
-
-            TableRowElement tre = Document.get().createTRElement();
-            tre.setClassName( getRowStyle( iRow ) );
-            populateTableRowElement( tre,
-                                     rowData );
-            nbody.appendChild( tre );
-        }
-
-        // Update table to DOM
-        table.replaceChild( nbody,
-                            tbody );
-        tbody = nbody;
-
+        viewport.refresh();
+        renderRows();
     }
 
     @Override
@@ -198,15 +227,19 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
         if ( startRedrawIndex > endRedrawIndex ) {
             throw new IllegalArgumentException( "startRedrawIndex cannot be greater than endRedrawIndex." );
         }
+        if ( isRenderedRowsInvalid ) {
+            assertRenderedRows();
+            return;
+        }
 
-        for ( int iRow = 0; iRow < data.size(); iRow++ ) {
-            TableRowElement tre = tbody.getRows().getItem( iRow );
-            DynamicDataRow rowData = data.get( iRow );
-            redrawTableRowElement( rowData,
+        for ( int iRow = viewport.getFirstRow(); iRow <= viewport.getLastRow(); iRow++ ) {
+            TableRowElement tre = tbody.getRows().getItem( iRow - viewport.getFirstRow() );
+            redrawTableRowElement( iRow,
                                    tre,
                                    startRedrawIndex,
                                    endRedrawIndex );
         }
+        resizeSpacers();
     }
 
     @Override
@@ -221,12 +254,13 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
 
         col.setWidth( width );
         int iCol = col.getColumnIndex();
-        for ( DynamicDataRow row : data ) {
-            CellValue<? extends Comparable<?>> cell = row
-                    .get( iCol );
-            Coordinate c = cell.getHtmlCoordinate();
-            TableRowElement tre = tbody.getRows().getItem( c.getRow() );
-            TableCellElement tce = tre.getCells().getItem( c.getCol() );
+        assertRenderedRows();
+        for ( int iRow = viewport.getFirstRow(); iRow <= viewport.getLastRow(); iRow++ ) {
+            TableCellElement tce = getTableCellElement( iRow,
+                                                        iCol );
+            if ( tce == null ) {
+                continue;
+            }
             DivElement div = tce.getFirstChild().<DivElement>cast();
             DivElement divText = tce.getFirstChild().getFirstChild().<DivElement>cast();
 
@@ -241,6 +275,152 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
 
     }
 
+    @Override
+    void setVisibleRegion( int top,
+                           int height ) {
+        if ( viewport == null ) {
+            return;
+        }
+        if ( viewport.setVisibleRegion( top,
+                                        height ) ) {
+            renderRows();
+        }
+    }
+
+    @Override
+    TableCellElement revealCell( CellValue<? extends Comparable<?>> cell ) {
+        if ( cell == null ) {
+            throw new IllegalArgumentException( "cell cannot be null" );
+        }
+        assertRenderedRows();
+        if ( viewport.reveal( cell.getCoordinate().getRow() ) ) {
+            renderRows();
+        }
+        return getTableCellElement( cell );
+    }
+
+    // Render the rows within the viewport, replacing those previously rendered
+    private void renderRows() {
+        Element activeElement = getActiveElement();
+        boolean isFocused = activeElement != null && tbody.isOrHasChild( activeElement );
+
+        TableSectionElement nbody = Document.get().createTBodyElement();
+        for ( int iRow = viewport.getFirstRow(); iRow <= viewport.getLastRow(); iRow++ ) {
+            nbody.appendChild( makeTableRowElement( iRow ) );
+        }
+
+        // Update table to DOM
+        table.replaceChild( nbody,
+                            tbody );
+        tbody = nbody;
+        isRenderedRowsInvalid = false;
+        resizeSpacers();
+
+        // Keyboard navigation needs the selected cell to keep focus
+        if ( isFocused ) {
+            focusSelection();
+        }
+    }
+
+    // Rows have been added or removed. Rows are rendered again once, after the operation changing them has completed
+    private void invalidateRenderedRows() {
+        if ( isRenderedRowsInvalid ) {
+            return;
+        }
+        isRenderedRowsInvalid = true;
+        Scheduler.get().scheduleFinally( new ScheduledCommand() {
+
+            public void execute() {
+                assertRenderedRows();
+            }
+
+        } );
+    }
+
+    // Ensure the rendered rows reflect rows that have been added or removed
+    private void assertRenderedRows() {
+        if ( isRenderedRowsInvalid ) {
+            viewport.refresh();
+            renderRows();
+        }
+    }
+
+    private void focusSelection() {
+        CellValue<?> activeCell = ( rangeExtentCell == null ? rangeOriginCell : rangeExtentCell );
+        if ( activeCell == null || !activeCell.isSelected() ) {
+            return;
+        }
+        if ( !viewport.isVisible( activeCell.getCoordinate().getRow() ) ) {
+            return;
+        }
+        TableCellElement tce = getTableCellElement( activeCell );
+        if ( tce != null ) {
+            tce.focus();
+        }
+    }
+
+    // Get the element rendered for a cell, which for merged cells could be in a preceding row
+    private TableCellElement getTableCellElement( CellValue<?> cell ) {
+        Coordinate c = cell.getCoordinate();
+        Coordinate rc = viewport.getRenderedCoordinate( c.getRow(),
+                                                        c.getCol() );
+        if ( rc == null ) {
+            return null;
+        }
+        TableRowElement tre = tbody.getRows().getItem( rc.getRow() );
+        return tre.getCells().getItem( rc.getCol() );
+    }
+
+    // Get the element rendered for a cell in the given row, if any
+    private TableCellElement getTableCellElement( int iRow,
+                                                  int iCol ) {
+        if ( viewport.getRowSpan( iRow,
+                                  iCol ) == 0 ) {
+            return null;
+        }
+        TableRowElement tre = tbody.getRows().getItem( iRow - viewport.getFirstRow() );
+        return tre.getCells().getItem( viewport.getCellIndex( iRow,
+                                                              iCol ) );
+    }
+
+    // Make a spacer to occupy the space of rows that are not rendered
+    private TableSectionElement makeSpacer() {
+        TableSectionElement spacer = Document.get().createTBodyElement();
+        TableRowElement tre = Document.get().createTRElement();
+        TableCellElement tce = Document.get().createTDElement();
+        tre.appendChild( tce );
+        spacer.appendChild( tre );
+        return spacer;
+    }
+
+    // Set the heights of the spacers to those of the rows above and below the rendered rows
+    private void resizeSpacers() {
+        resizeSpacer( topSpacer,
+                      viewport.getHeightAbove() );
+        resizeSpacer( bottomSpacer,
+                      viewport.getHeightBelow() );
+    }
+
+    private void resizeSpacer( TableSectionElement spacer,
+                               int height ) {
+        int visibleColumns = 0;
+        for ( DynamicColumn<T> column : columns ) {
+            if ( column.isVisible() ) {
+                visibleColumns++;
+            }
+        }
+        TableCellElement tce = spacer.getRows().getItem( 0 ).getCells().getItem( 0 );
+        tce.setColSpan( Math.max( 1,
+                                  visibleColumns ) );
+        tce.getStyle().setHeight( height,
+                                  Unit.PX );
+        if ( height == 0 ) {
+            spacer.getStyle().setDisplay( Display.NONE );
+        } else {
+            spacer.getStyle().clearDisplay();
+        }
+    }
+
     // Find the cell that contains the element. Note that the TD element is not
     // the parent. The parent is the div inside the TD cell.
     private TableCellElement findNearestParentCell( Element elem ) {
@@ -256,16 +436,6 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
         return null;
     }
 
-    // Row styles need to be re-applied after inserting and deleting rows
-    private void fixRowStyles( int iRow ) {
-        while ( iRow < tbody.getChildCount() ) {
-            Element e = Element.as( tbody.getChild( iRow ) );
-            TableRowElement tre = TableRowElement.as( e );
-            tre.setClassName( getRowStyle( iRow ) );
-            iRow++;
-        }
-    }
-
     // Get style applicable to row
     private String getRowStyle( int iRow ) {
         String evenRowStyle = resources.cellTableEvenRow();
@@ -364,20 +534,24 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
         bDragOperationPrimed = false;
     }
 
-    // Build a TableCellElement
+    // Build a TableCellElement. Merged cells are clipped to the rendered rows.
     @SuppressWarnings("rawtypes")
-    private TableCellElement makeTableCellElement( int iCol,
-                                                   DynamicDataRow rowData ) {
+    private TableCellElement makeTableCellElement( int iRow,
+                                                   int iCol ) {
 
         TableCellElement tce = null;
 
         // Column to handle rendering
         DynamicColumn<T> column = columns.get( iCol );
 
-        CellValue<? extends Comparable<?>> cellData = rowData.get( iCol );
-        int rowSpan = cellData.getRowSpan();
+        int rowSpan = viewport.getRowSpan( iRow,
+                                           iCol );
         if ( rowSpan > 0 ) {
 
+            DynamicDataRow rowData = data.get( viewport.getMergedCellStart( iRow,
+                                                                            iCol ) );
+            CellValue<? extends Comparable<?>> cellData = rowData.get( iCol );
+
             // Use Elements rather than Templates as it's easier to set attributes that need to be dynamic
             tce = Document.get().createTDElement();
             DivElement div = Document.get().createDivElement();
@@ -443,7 +617,7 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
             tce.setTabIndex( 0 );
 
             //Add on "Grouping" widget, if applicable
-            if ( rowSpan > 1 || cellData.isGrouped() ) {
+            if ( cellData.getRowSpan() > 1 || cellData.isGrouped() ) {
                 Element de = DOM.createDiv();
                 DivElement divGroup = DivElement.as( de );
                 divGroup.setTitle( Constants.INSTANCE.groupCells() );
@@ -461,19 +635,19 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
 
     }
 
-    // Populate the content of a TableRowElement. This is used to populate
-    // new, empty, TableRowElements with complete rows for insertion into an
+    // Build a TableRowElement with complete rows for insertion into an
     // HTML table based upon visible columns
-    private TableRowElement populateTableRowElement( TableRowElement tre,
-                                                     DynamicDataRow rowData ) {
+    private TableRowElement makeTableRowElement( int iRow ) {
 
+        TableRowElement tre = Document.get().createTRElement();
+        tre.setClassName( getRowStyle( iRow ) );
         tre.getStyle().setHeight( resources.rowHeight(),
                                   Unit.PX );
         for ( int iCol = 0; iCol < columns.size(); iCol++ ) {
             DynamicColumn<T> column = columns.get( iCol );
             if ( column.isVisible() ) {
-                TableCellElement tce = makeTableCellElement( iCol,
-                                                             rowData );
+                TableCellElement tce = makeTableCellElement( iRow,
+                                                             iCol );
                 if ( tce != null ) {
                     tre.appendChild( tce );
                 }
@@ -489,7 +663,7 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
     // inserted. It is important the indexes on the underlying data have
     // been set correctly before calling as they are used to determine the
     // correct HTML element in which to render a cell.
-    private void redrawTableRowElement( DynamicDataRow rowData,
+    private void redrawTableRowElement( int iRow,
                                         TableRowElement tre,
                                         int startColIndex,
                                         int endColIndex ) {
@@ -500,27 +674,26 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
             DynamicColumn<?> column = columns.get( iCol );
             if ( column.isVisible() ) {
 
+                TableCellElement newCell = makeTableCellElement( iRow,
+                                                                 iCol );
+                if ( newCell == null ) {
+                    continue;
+                }
+
                 int maxColumnIndex = tre.getCells().getLength() - 1;
-                int requiredColumnIndex = rowData.get( iCol ).getHtmlCoordinate().getCol();
+                int requiredColumnIndex = viewport.getCellIndex( iRow,
+                                                                 iCol );
                 if ( requiredColumnIndex > maxColumnIndex ) {
 
                     // Make a new TD element
-                    TableCellElement newCell = makeTableCellElement( iCol,
-                                                                     rowData );
-                    if ( newCell != null ) {
-                        tre.appendChild( newCell );
-                    }
+                    tre.appendChild( newCell );
 
                 } else {
 
                     // Reuse an existing TD element
-                    TableCellElement newCell = makeTableCellElement( iCol,
-                                                                     rowData );
-                    if ( newCell != null ) {
-                        TableCellElement oldCell = tre.getCells().getItem( requiredColumnIndex );
-                        tre.replaceChild( newCell,
-                                          oldCell );
-                    }
+                    TableCellElement oldCell = tre.getCells().getItem( requiredColumnIndex );
+                    tre.replaceChild( newCell,
+                                      oldCell );
                 }
             }
         }
@@ -529,23 +702,18 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
 
     @Override
     protected void createEmptyRowElement( int index ) {
-        tbody.insertRow( index );
-        fixRowStyles( index );
+        invalidateRenderedRows();
     }
 
     @Override
     protected void createRowElement( int index,
                                      DynamicDataRow rowData ) {
-        TableRowElement tre = tbody.insertRow( index );
-        populateTableRowElement( tre,
-                                 rowData );
-        fixRowStyles( index );
+        invalidateRenderedRows();
     }
 
     @Override
     protected void deleteRowElement( int index ) {
-        Node tre = tbody.getChild( index );
-        tbody.removeChild( tre );
+        invalidateRenderedRows();
     }
 
     @Override
@@ -567,19 +735,22 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
             throw new IllegalArgumentException( "startRedrawIndex cannot be greater than endRedrawIndex." );
         }
 
-        //Redraw replacement rows
-        for ( int iRow = startRedrawIndex; iRow <= endRedrawIndex; iRow++ ) {
-
-            DynamicDataRow rowData = data.get( iRow );
+        if ( isRenderedRowsInvalid ) {
+            assertRenderedRows();
+            return;
+        }
 
-            TableRowElement tre = Document.get().createTRElement();
-            populateTableRowElement( tre,
-                                     rowData );
+        //Redraw replacement rows, that are rendered
+        int firstRow = viewport.getFirstRow();
+        int startRow = Math.max( startRedrawIndex,
+                                 firstRow );
+        int endRow = Math.min( endRedrawIndex,
+                               viewport.getLastRow() );
+        for ( int iRow = startRow; iRow <= endRow; iRow++ ) {
+            TableRowElement tre = makeTableRowElement( iRow );
             tbody.replaceChild( tre,
-                                tbody.getChild( iRow ) );
+                                tbody.getChild( iRow - firstRow ) );
         }
-
-        fixRowStyles( startRedrawIndex );
     }
 
     @Override
@@ -590,8 +761,7 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
         if ( index > data.size() ) {
             throw new IllegalArgumentException( "Index cannot be greater than the number of rows." );
         }
-        tbody.deleteRow( index );
-        fixRowStyles( index );
+        invalidateRenderedRows();
     }
 
     @Override
@@ -601,13 +771,9 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
             throw new IllegalArgumentException( "cell cannot be null" );
         }
 
-        Coordinate hc = cell.getHtmlCoordinate();
-        TableRowElement tre = tbody.getRows().getItem( hc.getRow() )
-                .<TableRowElement>cast();
-        TableCellElement tce = tre.getCells().getItem( hc.getCol() )
-                .<TableCellElement>cast();
-
-        //Merging, grouping etc could have led to the selected HTML cell disappearing
+        //Merging, grouping etc could have led to the selected HTML cell disappearing, or it might not be rendered
+        assertRenderedRows();
+        TableCellElement tce = getTableCellElement( cell );
         if ( tce != null ) {
             String cellSelectedStyle = resources.cellTableCellSelected();
             String cellMultipleValuesStyle = resources.cellTableCellMultipleValues();
@@ -636,17 +802,16 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
             throw new IllegalArgumentException( "index cannot be greater than the number of rows" );
         }
 
-        for ( int iRow = 0; iRow < data.size(); iRow++ ) {
-            DynamicDataRow rowData = data.get( iRow );
-            CellValue<? extends Comparable<?>> cell = rowData.get( index );
-
-            if ( cell.getRowSpan() > 0 ) {
-                Coordinate hc = cell.getHtmlCoordinate();
-                TableRowElement tre = tbody.getRows().getItem( hc.getRow() );
-                TableCellElement tce = tre.getCells().getItem( hc.getCol() );
+        assertRenderedRows();
+        for ( int iRow = viewport.getFirstRow(); iRow <= viewport.getLastRow(); iRow++ ) {
+            TableCellElement tce = getTableCellElement( iRow,
+                                                        index );
+            if ( tce != null ) {
+                TableRowElement tre = tbody.getRows().getItem( iRow - viewport.getFirstRow() );
                 tre.removeChild( tce );
             }
         }
+        resizeSpacers();
     }
 
     @Override
@@ -655,11 +820,12 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
             throw new IllegalArgumentException( "cell cannot be null" );
         }
 
-        Coordinate hc = cell.getHtmlCoordinate();
-        TableRowElement tre = tbody.getRows().getItem( hc.getRow() )
-                .<TableRowElement>cast();
-        TableCellElement tce = tre.getCells().getItem( hc.getCol() )
-                .<TableCellElement>cast();
+        //Cells that are not rendered are styled when rendered
+        assertRenderedRows();
+        TableCellElement tce = getTableCellElement( cell );
+        if ( tce == null ) {
+            return;
+        }
 
         //Cell selected style takes precedence
         String cellSelectedStyle = resources.cellTableCellSelected();
@@ -681,21 +847,19 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
             throw new IllegalArgumentException( "index cannot be greater than the number of rows" );
         }
 
-        for ( int iRow = 0; iRow < data.size(); iRow++ ) {
-            DynamicDataRow rowData = data.get( iRow );
-            TableCellElement tce = makeTableCellElement( index,
-                                                         rowData );
+        assertRenderedRows();
+        for ( int iRow = viewport.getFirstRow(); iRow <= viewport.getLastRow(); iRow++ ) {
+            TableCellElement tce = makeTableCellElement( iRow,
+                                                         index );
             if ( tce != null ) {
-
-                CellValue<? extends Comparable<?>> cell = rowData.get( index );
-                Coordinate hc = cell.getHtmlCoordinate();
-
-                TableRowElement tre = tbody.getRows().getItem( hc.getRow() );
-                TableCellElement ntce = tre.insertCell( hc.getCol() );
+                TableRowElement tre = tbody.getRows().getItem( iRow - viewport.getFirstRow() );
+                TableCellElement ntce = tre.insertCell( viewport.getCellIndex( iRow,
+                                                                               index ) );
                 tre.replaceChild( tce,
                                   ntce );
             }
         }
+        resizeSpacers();
     }
 
 }
@@ -39,6 +39,15 @@ public class DynamicData
 
     private List<DynamicDataRow> data = new ArrayList<DynamicDataRow>();
 
+    //Nesting level of beginUpdate() and endUpdate() calls
+    private int updateDepth = 0;
+
+    //Whether merging needs to be asserted for the whole model once updates have ended
+    private boolean isModelInvalid = false;
+
+    //Cells whose values have been changed since updates began
+    private List<Coordinate> invalidatedCells = new ArrayList<Coordinate>();
+
     /**
      * Add column to data
      * @param index
@@ -243,6 +252,15 @@ public class DynamicData
         return dataClone;
     }
 
+    /**
+     * Return whether a column is visible
+     * @param index index of column
+     * @return True if the column is visible
+     */
+    public boolean isColumnVisible( int index ) {
+        return visibleColumns.get( index );
+    }
+
     public int indexOf( DynamicDataRow row ) {
         return data.indexOf( row );
     }
@@ -297,11 +315,15 @@ public class DynamicData
         //Delete "grouped" row and replace with individual rows
         List<DynamicDataRow> expandedRow = expandGroupedRow( row,
                                                              bRecursive );
-        deleteRow( startRowIndex );
-        data.addAll( startRowIndex,
-                     expandedRow );
-
-        assertModelMerging();
+        beginUpdate();
+        try {
+            deleteRow( startRowIndex );
+            data.addAll( startRowIndex,
+                         expandedRow );
+            assertModelMerging();
+        } finally {
+            endUpdate();
+        }
 
         //If the row is replaced with another grouped row ensure the row can be expanded
         row = data.get( startRowIndex );
@@ -325,7 +347,8 @@ public class DynamicData
     }
 
     /**
-     * Set the value at the specified coordinate
+     * Set the value at the specified coordinate. Merging is only re-asserted for
+     * the cells, in the same column, that could merge with the changed cell.
      * @param c
      * @param value
      */
@@ -335,7 +358,46 @@ public class DynamicData
             throw new IllegalArgumentException( "c cannot be null" );
         }
         data.get( c.getRow() ).get( c.getCol() ).setValue( value );
-        assertModelMerging();
+        if ( updateDepth > 0 ) {
+            invalidatedCells.add( c );
+            return;
+        }
+        assertColumnMerging( c.getRow(),
+                             c.getCol() );
+    }
+
+    /**
+     * Start a bulk update of the model. Merging and indexes are not maintained
+     * until the matching call to {@link #endUpdate()}, at which point they are
+     * asserted once for all changes made in between. Calls can be nested.
+     */
+    public void beginUpdate() {
+        updateDepth++;
+    }
+
+    /**
+     * End a bulk update of the model started by {@link #beginUpdate()}
+     */
+    public void endUpdate() {
+        if ( updateDepth == 0 ) {
+            throw new IllegalStateException( "endUpdate() called without beginUpdate()" );
+        }
+        updateDepth--;
+        if ( updateDepth > 0 ) {
+            return;
+        }
+
+        //Re-asserting merging for many individual cells costs more than a single pass of the whole model
+        if ( isModelInvalid || invalidatedCells.size() > data.size() ) {
+            invalidatedCells.clear();
+            assertModelMerging();
+            return;
+        }
+        for ( Coordinate c : invalidatedCells ) {
+            assertColumnMerging( c.getRow(),
+                                 c.getCol() );
+        }
+        invalidatedCells.clear();
     }
 
     /**
@@ -347,6 +409,10 @@ public class DynamicData
                                      boolean isVisible ) {
         this.visibleColumns.set( index,
                                  isVisible );
+        if ( updateDepth > 0 ) {
+            isModelInvalid = true;
+            return;
+        }
         assertModelIndexes();
     }
 
@@ -457,64 +523,82 @@ public class DynamicData
     // in which case the cell at physical coordinate (0,1) would have a (3)
     // mapping back to (0,0).
     private void assertModelIndexes() {
-
-        if ( data.size() == 0 ) {
-            return;
+        for ( int iRow = 0; iRow < data.size(); iRow++ ) {
+            assertRowIndexes( iRow );
         }
+    }
 
-        for ( int iRow = 0; iRow < data.size(); iRow++ ) {
-            DynamicDataRow row = data.get( iRow );
+    //Set the indexes of a single row. The indexes of the prior row must already be correct.
+    //Returns true if any of the row's HTML coordinates changed, in which case the following row needs re-indexing too.
+    private boolean assertRowIndexes( int iRow ) {
+        DynamicDataRow row = data.get( iRow );
 
-            int colCount = 0;
-            for ( int iCol = 0; iCol < row.size(); iCol++ ) {
+        //Physical coordinates are only set below for cells having a HTML element
+        for ( int iCol = 0; iCol < row.size(); iCol++ ) {
+            row.get( iCol ).setPhysicalCoordinate( new Coordinate( iRow,
+                                                                   iCol ) );
+        }
 
-                int newRow = iRow;
-                int newCol = colCount;
-                CellValue<? extends Comparable<?>> indexCell = row.get( iCol );
-                indexCell.setCoordinate( new Coordinate( iRow,
-                                                         iCol ) );
+        boolean isChanged = false;
+        int colCount = 0;
+        for ( int iCol = 0; iCol < row.size(); iCol++ ) {
 
-                // Don't index hidden columns; indexing is used to
-                // map between HTML elements and the data behind
-                if ( visibleColumns.get( iCol ) ) {
+            int newRow = iRow;
+            int newCol = colCount;
+            CellValue<? extends Comparable<?>> indexCell = row.get( iCol );
+            indexCell.setCoordinate( new Coordinate( iRow,
+                                                     iCol ) );
 
-                    if ( indexCell.getRowSpan() != 0 ) {
-                        newRow = iRow;
-                        newCol = colCount++;
+            // Don't index hidden columns; indexing is used to
+            // map between HTML elements and the data behind
+            if ( visibleColumns.get( iCol ) ) {
 
-                        CellValue<? extends Comparable<?>> cell = data.get( newRow ).get( newCol );
-                        cell.setPhysicalCoordinate( new Coordinate( iRow,
-                                                                    iCol ) );
+                if ( indexCell.getRowSpan() != 0 ) {
+                    newRow = iRow;
+                    newCol = colCount++;
+
+                    CellValue<? extends Comparable<?>> cell = data.get( newRow ).get( newCol );
+                    cell.setPhysicalCoordinate( new Coordinate( iRow,
+                                                                iCol ) );
 
-                    } else {
-                        DynamicDataRow priorRow = data.get( iRow - 1 );
-                        CellValue<? extends Comparable<?>> priorCell = priorRow.get( iCol );
-                        Coordinate priorHtmlCoordinate = priorCell.getHtmlCoordinate();
-                        newRow = priorHtmlCoordinate.getRow();
-                        newCol = priorHtmlCoordinate.getCol();
-                    }
                 } else {
-                    final int priorColIndex = ( iCol > 0 ? iCol - 1 : 0 );
-                    CellValue<? extends Comparable<?>> priorCell = row.get( priorColIndex );
+                    DynamicDataRow priorRow = data.get( iRow - 1 );
+                    CellValue<? extends Comparable<?>> priorCell = priorRow.get( iCol );
                     Coordinate priorHtmlCoordinate = priorCell.getHtmlCoordinate();
                     newRow = priorHtmlCoordinate.getRow();
                     newCol = priorHtmlCoordinate.getCol();
                 }
-                indexCell.setHtmlCoordinate( new Coordinate( newRow,
-                                                             newCol ) );
+            } else if ( iCol > 0 ) {
+                CellValue<? extends Comparable<?>> priorCell = row.get( iCol - 1 );
+                Coordinate priorHtmlCoordinate = priorCell.getHtmlCoordinate();
+                newRow = priorHtmlCoordinate.getRow();
+                newCol = priorHtmlCoordinate.getCol();
+            }
+            Coordinate htmlCoordinate = new Coordinate( newRow,
+                                                        newCol );
+            if ( !htmlCoordinate.equals( indexCell.getHtmlCoordinate() ) ) {
+                isChanged = true;
             }
+            indexCell.setHtmlCoordinate( htmlCoordinate );
         }
+        return isChanged;
     }
 
     /**
      * Ensure merging and indexing is reflected in the entire model. This should
      * be called whenever any changes are made to the underlying data externally
      * to the add/remove methods provided publicly herein, such as bulk move
-     * operations.
+     * operations. When called between {@link #beginUpdate()} and
+     * {@link #endUpdate()} the model is asserted once updates have ended.
      */
-    @SuppressWarnings({ "unchecked", "rawtypes" })
     public void assertModelMerging() {
 
+        if ( updateDepth > 0 ) {
+            isModelInvalid = true;
+            return;
+        }
+        isModelInvalid = false;
+
         if ( data.size() == 0 ) {
             return;
         }
@@ -527,76 +611,108 @@ public class DynamicData
         //Only apply merging if merged
         if ( isMerged ) {
 
-            int minRowIndex = 0;
-            int maxRowIndex = data.size();
-
-            //Add an empty row to the end of the data to simplify detection of merged cells that run to the end of the table
-            DynamicDataRow blankRow = new DynamicDataRow();
+            //Look in columns for cells with identical values
             for ( int iCol = 0; iCol < COLUMNS; iCol++ ) {
-                CellValue cv = new CellValue( null );
-                Coordinate c = new Coordinate( data.size(),
-                                               iCol );
-                cv.setCoordinate( c );
-                cv.setHtmlCoordinate( c );
-                cv.setPhysicalCoordinate( c );
-                blankRow.add( cv );
+                mergeColumn( iCol,
+                             0,
+                             data.size() - 1 );
             }
-            data.add( blankRow );
-            maxRowIndex++;
 
-            //Look in columns for cells with identical values
-            for ( int iCol = 0; iCol < COLUMNS; iCol++ ) {
-                CellValue<?> cell1 = data.get( minRowIndex ).get( iCol );
-                CellValue<?> cell2 = null;
-                for ( int iRow = minRowIndex + 1; iRow < maxRowIndex; iRow++ ) {
-                    cell1.setRowSpan( 1 );
-                    cell2 = data.get( iRow ).get( iCol );
-
-                    //Merge if both cells contain the same value and neither is grouped
-                    boolean bSplit = true;
-                    if ( !cell1.isEmpty() && !cell2.isEmpty() ) {
-                        if ( cell1.getValue().equals( cell2.getValue() ) ) {
-                            bSplit = false;
-                            if ( cell1 instanceof CellValue.GroupedCellValue ) {
-                                bSplit = true;
-                            }
-                            if ( cell2 instanceof CellValue.GroupedCellValue ) {
-                                bSplit = true;
-                            }
-                        }
-                    } else if ( cell1.isOtherwise() && cell2.isOtherwise() ) {
-                        bSplit = false;
-                        if ( cell1 instanceof CellValue.GroupedCellValue ) {
-                            CellValue.GroupedCellValue gcv = (CellValue.GroupedCellValue) cell1;
-                            if ( gcv.hasMultipleValues() ) {
-                                bSplit = true;
-                            }
-                        }
-                        if ( cell2 instanceof CellValue.GroupedCellValue ) {
-                            CellValue.GroupedCellValue gcv = (CellValue.GroupedCellValue) cell2;
-                            if ( gcv.hasMultipleValues() ) {
-                                bSplit = true;
-                            }
-                        }
-                    }
+        }
 
-                    if ( bSplit ) {
-                        mergeCells( cell1,
-                                    cell2 );
-                        cell1 = cell2;
-                    }
+        // Set indexes after merging has been corrected
+        assertModelIndexes();
 
-                }
-            }
+    }
 
-            //Remove dummy blank row
-            data.remove( blankRow );
+    //Re-assert merging following a change to the value of a single cell. Only the run of merged cells containing the
+    //changed cell and the runs either side of it can be affected; boundaries beyond these are between unchanged cells.
+    private void assertColumnMerging( int iRow,
+                                      int iCol ) {
 
+        if ( !isMerged ) {
+            return;
         }
 
-        // Set indexes after merging has been corrected
-        assertModelIndexes();
+        int iStartRowIndex = findMergedCellStart( iRow,
+                                                  iCol );
+        if ( iStartRowIndex > 0 ) {
+            iStartRowIndex = findMergedCellStart( iStartRowIndex - 1,
+                                                  iCol );
+        }
+        int iEndRowIndex = findMergedCellEnd( iRow,
+                                              iCol );
+        if ( iEndRowIndex < data.size() - 1 ) {
+            iEndRowIndex = findMergedCellEnd( iEndRowIndex + 1,
+                                              iCol );
+        }
 
+        mergeColumn( iCol,
+                     iStartRowIndex,
+                     iEndRowIndex );
+
+        //Re-index the affected rows, and any following rows whose cells are spanned by them
+        for ( int iIndexRow = iStartRowIndex; iIndexRow <= iEndRowIndex; iIndexRow++ ) {
+            assertRowIndexes( iIndexRow );
+        }
+        int iIndexRow = iEndRowIndex + 1;
+        while ( iIndexRow < data.size() && assertRowIndexes( iIndexRow ) ) {
+            iIndexRow++;
+        }
+    }
+
+    //Merge cells with identical values in a column between the two (inclusive) rows
+    private void mergeColumn( int iCol,
+                              int iStartRowIndex,
+                              int iEndRowIndex ) {
+        int iMergeStartRowIndex = iStartRowIndex;
+        CellValue<?> cell1 = data.get( iStartRowIndex ).get( iCol );
+        for ( int iRow = iStartRowIndex + 1; iRow <= iEndRowIndex; iRow++ ) {
+            CellValue<?> cell2 = data.get( iRow ).get( iCol );
+            if ( !isMergeable( cell1,
+                               cell2 ) ) {
+                mergeCells( iCol,
+                            iMergeStartRowIndex,
+                            iRow );
+                iMergeStartRowIndex = iRow;
+                cell1 = cell2;
+            }
+        }
+        mergeCells( iCol,
+                    iMergeStartRowIndex,
+                    iEndRowIndex + 1 );
+    }
+
+    //Merge if both cells contain the same value and neither is grouped
+    private boolean isMergeable( CellValue<?> cell1,
+                                 CellValue<?> cell2 ) {
+        boolean bSplit = true;
+        if ( !cell1.isEmpty() && !cell2.isEmpty() ) {
+            if ( cell1.getValue().equals( cell2.getValue() ) ) {
+                bSplit = false;
+                if ( cell1 instanceof CellValue.GroupedCellValue ) {
+                    bSplit = true;
+                }
+                if ( cell2 instanceof CellValue.GroupedCellValue ) {
+                    bSplit = true;
+                }
+            }
+        } else if ( cell1.isOtherwise() && cell2.isOtherwise() ) {
+            bSplit = false;
+            if ( cell1 instanceof CellValue.GroupedCellValue ) {
+                CellValue.GroupedCellValue gcv = (CellValue.GroupedCellValue) cell1;
+                if ( gcv.hasMultipleValues() ) {
+                    bSplit = true;
+                }
+            }
+            if ( cell2 instanceof CellValue.GroupedCellValue ) {
+                CellValue.GroupedCellValue gcv = (CellValue.GroupedCellValue) cell2;
+                if ( gcv.hasMultipleValues() ) {
+                    bSplit = true;
+                }
+            }
+        }
+        return !bSplit;
     }
 
     //Expand a grouped row and return a list of expanded rows
@@ -653,19 +769,34 @@ public class DynamicData
         return nc;
     }
 
-    //Merge between the two provided cells
-    private void mergeCells( CellValue<?> cell1,
-                             CellValue<?> cell2 ) {
-        int iStartRowIndex = cell1.getCoordinate().getRow();
-        int iEndRowIndex = cell2.getCoordinate().getRow();
-        int iColIndex = cell1.getCoordinate().getCol();
+    //Find the top row of the merged cell containing the given row
+    private int findMergedCellStart( int iRow,
+                                     int iCol ) {
+        while ( iRow > 0 && data.get( iRow ).get( iCol ).getRowSpan() == 0 ) {
+            iRow--;
+        }
+        return iRow;
+    }
+
+    //Find the bottom row of the merged cell containing the given row
+    private int findMergedCellEnd( int iRow,
+                                   int iCol ) {
+        int iStartRowIndex = findMergedCellStart( iRow,
+                                                  iCol );
+        return iStartRowIndex + data.get( iStartRowIndex ).get( iCol ).getRowSpan() - 1;
+    }
+
+    //Merge between the start row (inclusive) and end row (exclusive)
+    private void mergeCells( int iColIndex,
+                             int iStartRowIndex,
+                             int iEndRowIndex ) {
 
         //Any rows that are grouped need row span of zero
         for ( int iRow = iStartRowIndex; iRow < iEndRowIndex; iRow++ ) {
             DynamicDataRow row = data.get( iRow );
             row.get( iColIndex ).setRowSpan( 0 );
         }
-        cell1.setRowSpan( iEndRowIndex - iStartRowIndex );
+        data.get( iStartRowIndex ).get( iColIndex ).setRowSpan( iEndRowIndex - iStartRowIndex );
 
     }
 
@@ -0,0 +1,297 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.widgets.decoratedgrid.client.widget.data;
+
+import org.kie.workbench.common.widgets.decoratedgrid.client.widget.CellValue;
+
+/**
+ * The range of rows rendered by a grid that only renders the rows within, or
+ * close to, its visible region. All rows have the same height so vertical
+ * offsets map directly to row indexes. A merged cell starting above the first
+ * rendered row is rendered, clipped, in the first rendered row and a merged
+ * cell extending below the last rendered row is clipped to the last rendered
+ * row. Rendered coordinates are relative to the first rendered row.
+ */
+public class RowViewport {
+
+    //Number of rows assumed to be visible until the height of the visible region is known
+    private static final int DEFAULT_VISIBLE_ROWS = 50;
+
+    private DynamicData data;
+    private int rowHeight;
+    private int bufferRows;
+
+    private int visibleTop = 0;
+    private int visibleHeight = 0;
+
+    private int firstRow = 0;
+    private int lastRow = -1;
+
+    /**
+     * @param data The rows
+     * @param rowHeight Height of each row, in pixels
+     * @param bufferRows Number of rows to render above and below the visible rows
+     */
+    public RowViewport( DynamicData data,
+                        int rowHeight,
+                        int bufferRows ) {
+        if ( data == null ) {
+            throw new IllegalArgumentException( "data cannot be null" );
+        }
+        if ( rowHeight <= 0 ) {
+            throw new IllegalArgumentException( "rowHeight must be greater than zero" );
+        }
+        if ( bufferRows < 0 ) {
+            throw new IllegalArgumentException( "bufferRows cannot be less than zero" );
+        }
+        this.data = data;
+        this.rowHeight = rowHeight;
+        this.bufferRows = bufferRows;
+    }
+
+    /**
+     * Set the visible region of the grid. The rendered rows only change when
+     * rows that are not rendered become visible.
+     * @param top Offset of the top of the visible region, in pixels
+     * @param height Height of the visible region, in pixels
+     * @return true if the rendered rows have changed
+     */
+    public boolean setVisibleRegion( int top,
+                                     int height ) {
+        this.visibleTop = Math.max( 0,
+                                    top );
+        this.visibleHeight = Math.max( 0,
+                                       height );
+        if ( getFirstVisibleRow() >= firstRow && getLastVisibleRow() <= lastRow ) {
+            return false;
+        }
+        refresh();
+        return true;
+    }
+
+    /**
+     * Re-calculate the rendered rows for the visible region. This should be
+     * called whenever rows are added or removed.
+     */
+    public void refresh() {
+        firstRow = Math.max( 0,
+                             getFirstVisibleRow() - bufferRows );
+        lastRow = Math.min( data.size() - 1,
+                            getLastVisibleRow() + bufferRows );
+    }
+
+    /**
+     * Ensure a row is rendered. The row is expected to be scrolled into view
+     * and hence enough rows are rendered either side of it to fill the visible
+     * region.
+     * @param row Row index
+     * @return true if the rendered rows have changed
+     */
+    public boolean reveal( int row ) {
+        if ( contains( row ) ) {
+            return false;
+        }
+        int extent = getVisibleRowCount() + bufferRows;
+        firstRow = Math.max( 0,
+                             row - extent );
+        lastRow = Math.min( data.size() - 1,
+                            row + extent );
+        return true;
+    }
+
+    public int getFirstRow() {
+        return firstRow;
+    }
+
+    public int getLastRow() {
+        return lastRow;
+    }
+
+    /**
+     * Check whether a row is rendered
+     * @param row Row index
+     * @return
+     */
+    public boolean contains( int row ) {
+        return row >= firstRow && row <= lastRow;
+    }
+
+    /**
+     * Check whether a row is within the visible region
+     * @param row Row index
+     * @return
+     */
+    public boolean isVisible( int row ) {
+        return row >= getFirstVisibleRow() && row <= getLastVisibleRow();
+    }
+
+    /**
+     * Height of the rows above the first rendered row, in pixels
+     * @return
+     */
+    public int getHeightAbove() {
+        return firstRow * rowHeight;
+    }
+
+    /**
+     * Height of the rows below the last rendered row, in pixels
+     * @return
+     */
+    public int getHeightBelow() {
+        return Math.max( 0,
+                         data.size() - 1 - lastRow ) * rowHeight;
+    }
+
+    /**
+     * Get the row containing the top of the merged cell to which the given cell belongs
+     * @param row Row index
+     * @param col Column index
+     * @return
+     */
+    public int getMergedCellStart( int row,
+                                   int col ) {
+        CellValue<?> cell = data.get( row ).get( col );
+        if ( cell.getRowSpan() == 0 ) {
+            return cell.getHtmlCoordinate().getRow();
+        }
+        return row;
+    }
+
+    /**
+     * Get the number of rows spanned by the element rendered for a cell
+     * @param row Row index
+     * @param col Column index
+     * @return The number of rows, or zero if the cell is not rendered in the given row
+     */
+    public int getRowSpan( int row,
+                           int col ) {
+        if ( !contains( row ) || !data.isColumnVisible( col ) ) {
+            return 0;
+        }
+        int startRow = getMergedCellStart( row,
+                                           col );
+        if ( startRow != row && row != firstRow ) {
+            return 0;
+        }
+        int endRow = startRow + data.get( startRow ).get( col ).getRowSpan() - 1;
+        return Math.min( endRow,
+                         lastRow ) - row + 1;
+    }
+
+    /**
+     * Get the index, amongst the elements rendered in a row, of the element
+     * rendered for a cell in the same row. The cell must be rendered.
+     * @param row Row index
+     * @param col Column index
+     * @return
+     */
+    public int getCellIndex( int row,
+                             int col ) {
+        //Every visible column is rendered in the first row
+        if ( row == firstRow ) {
+            return getVisibleColumnIndex( col );
+        }
+        return data.get( row ).get( col ).getHtmlCoordinate().getCol();
+    }
+
+    /**
+     * Get the rendered coordinate of the element for a cell, that could be in
+     * a preceding row when the cell is merged
+     * @param row Row index
+     * @param col Column index
+     * @return The rendered coordinate, or null if the cell is not rendered
+     */
+    public Coordinate getRenderedCoordinate( int row,
+                                             int col ) {
+        if ( !data.isColumnVisible( col ) ) {
+            return null;
+        }
+        int startRow = getMergedCellStart( row,
+                                           col );
+        int endRow = startRow + data.get( startRow ).get( col ).getRowSpan() - 1;
+        if ( endRow < firstRow || startRow > lastRow ) {
+            return null;
+        }
+        int renderedRow = Math.max( startRow,
+                                    firstRow );
+        return new Coordinate( renderedRow - firstRow,
+                               getCellIndex( renderedRow,
+                                             col ) );
+    }
+
+    /**
+     * Get the physical coordinate of the cell for a rendered element. This is
+     * the top of the cell if merged.
+     * @param renderedRow Rendered row index
+     * @param renderedCol Rendered column index
+     * @return
+     */
+    public Coordinate getPhysicalCoordinate( int renderedRow,
+                                             int renderedCol ) {
+        int row = firstRow + renderedRow;
+        if ( renderedRow == 0 ) {
+            int col = getColumnIndex( renderedCol );
+            return new Coordinate( getMergedCellStart( row,
+                                                       col ),
+                                   col );
+        }
+        return data.get( row ).get( renderedCol ).getPhysicalCoordinate();
+    }
+
+    private int getFirstVisibleRow() {
+        return Math.max( 0,
+                         Math.min( data.size() - 1,
+                                   visibleTop / rowHeight ) );
+    }
+
+    private int getLastVisibleRow() {
+        return Math.min( data.size() - 1,
+                         getFirstVisibleRow() + getVisibleRowCount() - 1 );
+    }
+
+    private int getVisibleRowCount() {
+        if ( visibleHeight == 0 ) {
+            return DEFAULT_VISIBLE_ROWS;
+        }
+        //Partially visible rows at the top and bottom of the visible region
+        return ( visibleTop % rowHeight + visibleHeight + rowHeight - 1 ) / rowHeight;
+    }
+
+    //Number of visible columns preceding a column
+    private int getVisibleColumnIndex( int col ) {
+        int index = 0;
+        for ( int iCol = 0; iCol < col; iCol++ ) {
+            if ( data.isColumnVisible( iCol ) ) {
+                index++;
+            }
+        }
+        return index;
+    }
+
+    //Index of the n-th visible column
+    private int getColumnIndex( int visibleColumnIndex ) {
+        int index = -1;
+        int iCol = 0;
+        while ( index < visibleColumnIndex ) {
+            if ( data.isColumnVisible( iCol ) ) {
+                index++;
+            }
+            iCol++;
+        }
+        return iCol - 1;
+    }
+
+}
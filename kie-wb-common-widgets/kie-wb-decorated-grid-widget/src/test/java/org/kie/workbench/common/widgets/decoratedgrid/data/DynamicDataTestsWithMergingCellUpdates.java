@@ -0,0 +1,317 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.widgets.decoratedgrid.data;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.widgets.decoratedgrid.client.widget.CellValue;
+import org.kie.workbench.common.widgets.decoratedgrid.client.widget.data.Coordinate;
+import org.kie.workbench.common.widgets.decoratedgrid.client.widget.data.DynamicData;
+import org.kie.workbench.common.widgets.decoratedgrid.client.widget.data.DynamicDataRow;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for DynamicData where merging is maintained incrementally as cells' values are set
+ */
+public class DynamicDataTestsWithMergingCellUpdates extends BaseDynamicDataTests {
+
+    private static final String[][] VALUES = new String[][]{
+            { "1", "a", "x" },
+            { "1", "b", "x" },
+            { "1", "b", "x" },
+            { "2", "b", "x" },
+            { "2", "c", "x" }
+    };
+
+    @Before
+    public void setup() {
+        data = makeData( VALUES );
+    }
+
+    @Test
+    public void testSetSplitsMergedCell() {
+        //[1][1][1][2][2] --> [1][9][1][2][2]
+        assertRowSpans( 0,
+                        3, 0, 0, 2, 0 );
+
+        data.set( new Coordinate( 1,
+                                  0 ),
+                  "9" );
+
+        assertRowSpans( 0,
+                        1, 1, 1, 2, 0 );
+        assertMergingMatchesModel( data );
+    }
+
+    @Test
+    public void testSetJoinsMergedCells() {
+        //[1][1][1][2][2] --> [1][1][1][1][2]
+        data.set( new Coordinate( 3,
+                                  0 ),
+                  "1" );
+
+        assertRowSpans( 0,
+                        4, 0, 0, 0, 1 );
+        assertMergingMatchesModel( data );
+
+        //[1][1][1][1][2] --> [1][1][1][1][1]
+        data.set( new Coordinate( 4,
+                                  0 ),
+                  "1" );
+
+        assertRowSpans( 0,
+                        5, 0, 0, 0, 0 );
+        assertMergingMatchesModel( data );
+    }
+
+    @Test
+    public void testSetJoinsMergedCellsEitherSide() {
+        //[a][b][b][b][c] --> [b][b][b][b][c]
+        data.set( new Coordinate( 0,
+                                  1 ),
+                  "b" );
+
+        assertRowSpans( 1,
+                        4, 0, 0, 0, 1 );
+        assertMergingMatchesModel( data );
+
+        //[1][1][1][2][2] --> [1][1][1][1][1] --> [1][1][2][1][1], splitting a merged cell in the middle
+        data.set( new Coordinate( 3,
+                                  0 ),
+                  "1" );
+        data.set( new Coordinate( 4,
+                                  0 ),
+                  "1" );
+        data.set( new Coordinate( 2,
+                                  0 ),
+                  "2" );
+
+        assertRowSpans( 0,
+                        2, 0, 1, 2, 0 );
+        assertMergingMatchesModel( data );
+    }
+
+    @Test
+    public void testSetFirstRow() {
+        //[x][x][x][x][x] --> [y][x][x][x][x]
+        data.set( new Coordinate( 0,
+                                  2 ),
+                  "y" );
+
+        assertRowSpans( 2,
+                        1, 4, 0, 0, 0 );
+        assertMergingMatchesModel( data );
+
+        //[y][x][x][x][x] --> [x][x][x][x][x]
+        data.set( new Coordinate( 0,
+                                  2 ),
+                  "x" );
+
+        assertRowSpans( 2,
+                        5, 0, 0, 0, 0 );
+        assertMergingMatchesModel( data );
+    }
+
+    @Test
+    public void testSetLastRow() {
+        //[x][x][x][x][x] --> [x][x][x][x][y]
+        data.set( new Coordinate( 4,
+                                  2 ),
+                  "y" );
+
+        assertRowSpans( 2,
+                        4, 0, 0, 0, 1 );
+        assertMergingMatchesModel( data );
+
+        //[x][x][x][x][y] --> [x][x][x][x][x]
+        data.set( new Coordinate( 4,
+                                  2 ),
+                  "x" );
+
+        assertRowSpans( 2,
+                        5, 0, 0, 0, 0 );
+        assertMergingMatchesModel( data );
+    }
+
+    @Test
+    public void testSetWithoutMerging() {
+        data.setMerged( false );
+
+        data.set( new Coordinate( 3,
+                                  0 ),
+                  "1" );
+
+        assertRowSpans( 0,
+                        1, 1, 1, 1, 1 );
+        assertMergingMatchesModel( data );
+    }
+
+    @Test
+    public void testBatchedUpdatesMatchIndividualUpdates() {
+        final Coordinate[] coordinates = new Coordinate[]{
+                new Coordinate( 0, 0 ),
+                new Coordinate( 3, 0 ),
+                new Coordinate( 4, 1 ),
+                new Coordinate( 2, 2 )
+        };
+        final String[] values = new String[]{ "2", "1", "b", "y" };
+
+        final DynamicData batchedData = makeData( VALUES );
+        batchedData.beginUpdate();
+        for ( int i = 0; i < coordinates.length; i++ ) {
+            data.set( coordinates[ i ],
+                      values[ i ] );
+            batchedData.set( coordinates[ i ],
+                             values[ i ] );
+        }
+
+        //Merging is deferred until updates end
+        assertEquals( 3,
+                      batchedData.get( 0 ).get( 0 ).getRowSpan() );
+
+        batchedData.endUpdate();
+
+        assertMergingMatches( data,
+                              batchedData );
+        assertMergingMatchesModel( batchedData );
+    }
+
+    @Test
+    public void testBatchedUpdatesOfManyCellsMatchIndividualUpdates() {
+        //More cells are changed than there are rows, so merging is asserted for the whole model once updates end
+        final DynamicData batchedData = makeData( VALUES );
+        batchedData.beginUpdate();
+        for ( int iRow = 0; iRow < VALUES.length; iRow++ ) {
+            for ( int iCol = 0; iCol < 2; iCol++ ) {
+                final Coordinate c = new Coordinate( iRow,
+                                                     iCol );
+                data.set( c,
+                          "z" );
+                batchedData.set( c,
+                                 "z" );
+            }
+        }
+        batchedData.endUpdate();
+
+        assertRowSpans( 0,
+                        5, 0, 0, 0, 0 );
+        assertMergingMatches( data,
+                              batchedData );
+        assertMergingMatchesModel( batchedData );
+    }
+
+    @Test
+    public void testNestedBatchedUpdates() {
+        data.beginUpdate();
+        data.beginUpdate();
+        data.set( new Coordinate( 4,
+                                  0 ),
+                  "1" );
+        data.endUpdate();
+
+        //Merging is deferred until the outermost update ends
+        assertRowSpans( 0,
+                        3, 0, 0, 2, 0 );
+
+        data.set( new Coordinate( 3,
+                                  0 ),
+                  "1" );
+        data.endUpdate();
+
+        assertRowSpans( 0,
+                        5, 0, 0, 0, 0 );
+        assertMergingMatchesModel( data );
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testEndUpdateWithoutBeginUpdate() {
+        data.endUpdate();
+    }
+
+    private DynamicData makeData( final String[][] values ) {
+        final DynamicData dynamicData = new DynamicData();
+        for ( int iCol = 0; iCol < values[ 0 ].length; iCol++ ) {
+            dynamicData.addColumn( iCol,
+                                   EMPTY_COLUMN,
+                                   true );
+        }
+        for ( String[] rowValues : values ) {
+            final DynamicDataRow row = new DynamicDataRow();
+            for ( String value : rowValues ) {
+                row.add( new CellValue<String>( value ) );
+            }
+            dynamicData.addRow( row );
+        }
+        dynamicData.setMerged( true );
+        return dynamicData;
+    }
+
+    private void assertRowSpans( final int iCol,
+                                 final int... rowSpans ) {
+        for ( int iRow = 0; iRow < rowSpans.length; iRow++ ) {
+            assertEquals( "Row span of (" + iRow + "," + iCol + ")",
+                          rowSpans[ iRow ],
+                          data.get( iRow ).get( iCol ).getRowSpan() );
+        }
+    }
+
+    //Compare with merging asserted for the whole of a model containing the same values
+    private void assertMergingMatchesModel( final DynamicData actual ) {
+        final String[][] values = new String[ actual.size() ][];
+        for ( int iRow = 0; iRow < actual.size(); iRow++ ) {
+            final DynamicDataRow row = actual.get( iRow );
+            values[ iRow ] = new String[ row.size() ];
+            for ( int iCol = 0; iCol < row.size(); iCol++ ) {
+                values[ iRow ][ iCol ] = (String) row.get( iCol ).getValue();
+            }
+        }
+        final DynamicData expected = makeData( values );
+        expected.setMerged( actual.isMerged() );
+
+        assertMergingMatches( expected,
+                              actual );
+    }
+
+    private void assertMergingMatches( final DynamicData expected,
+                                       final DynamicData actual ) {
+        assertEquals( expected.size(),
+                      actual.size() );
+        for ( int iRow = 0; iRow < expected.size(); iRow++ ) {
+            for ( int iCol = 0; iCol < expected.get( iRow ).size(); iCol++ ) {
+                final String cell = "(" + iRow + "," + iCol + ")";
+                final CellValue<? extends Comparable<?>> expectedCell = expected.get( iRow ).get( iCol );
+                final CellValue<? extends Comparable<?>> actualCell = actual.get( iRow ).get( iCol );
+                assertEquals( "Value of " + cell,
+                              expectedCell.getValue(),
+                              actualCell.getValue() );
+                assertEquals( "Row span of " + cell,
+                              expectedCell.getRowSpan(),
+                              actualCell.getRowSpan() );
+                assertEquals( "Coordinate of " + cell,
+                              expectedCell.getCoordinate(),
+                              actualCell.getCoordinate() );
+                assertEquals( "HTML coordinate of " + cell,
+                              expectedCell.getHtmlCoordinate(),
+                              actualCell.getHtmlCoordinate() );
+                assertEquals( "Physical coordinate of " + cell,
+                              expectedCell.getPhysicalCoordinate(),
+                              actualCell.getPhysicalCoordinate() );
+            }
+        }
+    }
+
+}
@@ -0,0 +1,413 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.widgets.decoratedgrid.data;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.widgets.decoratedgrid.client.widget.CellValue;
+import org.kie.workbench.common.widgets.decoratedgrid.client.widget.data.Coordinate;
+import org.kie.workbench.common.widgets.decoratedgrid.client.widget.data.DynamicData;
+import org.kie.workbench.common.widgets.decoratedgrid.client.widget.data.DynamicDataRow;
+import org.kie.workbench.common.widgets.decoratedgrid.client.widget.data.RowViewport;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for RowViewport
+ */
+public class RowViewportTests {
+
+    private static final int ROWS = 100;
+
+    private static final int ROW_HEIGHT = 20;
+
+    private DynamicData data;
+
+    @Before
+    public void setup() {
+        //Column 0 is merged in blocks of 10 rows
+        //[k0][0][x]
+        //[k0][1][x]
+        //...
+        //[k9][99][x]
+        data = new DynamicData();
+        for ( int iCol = 0; iCol < 3; iCol++ ) {
+            data.addColumn( iCol,
+                            BaseDynamicDataTests.EMPTY_COLUMN,
+                            true );
+        }
+        for ( int iRow = 0; iRow < ROWS; iRow++ ) {
+            DynamicDataRow row = new DynamicDataRow();
+            row.add( new CellValue<String>( "k" + ( iRow / 10 ) ) );
+            row.add( new CellValue<String>( String.valueOf( iRow ) ) );
+            row.add( new CellValue<String>( "x" ) );
+            data.addRow( row );
+        }
+        data.setMerged( true );
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullData() {
+        new RowViewport( null,
+                         ROW_HEIGHT,
+                         0 );
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroRowHeight() {
+        new RowViewport( data,
+                         0,
+                         0 );
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeBufferRows() {
+        new RowViewport( data,
+                         ROW_HEIGHT,
+                         -1 );
+    }
+
+    @Test
+    public void testDefaultVisibleRows() {
+        //The height of the visible region is not yet known
+        RowViewport viewport = new RowViewport( data,
+                                                ROW_HEIGHT,
+                                                5 );
+        viewport.refresh();
+
+        assertEquals( 0,
+                      viewport.getFirstRow() );
+        assertEquals( 54,
+                      viewport.getLastRow() );
+        assertEquals( 0,
+                      viewport.getHeightAbove() );
+        assertEquals( 45 * ROW_HEIGHT,
+                      viewport.getHeightBelow() );
+    }
+
+    @Test
+    public void testVisibleRegion() {
+        RowViewport viewport = new RowViewport( data,
+                                                ROW_HEIGHT,
+                                                5 );
+        assertTrue( viewport.setVisibleRegion( 0,
+                                               200 ) );
+        assertEquals( 0,
+                      viewport.getFirstRow() );
+        assertEquals( 14,
+                      viewport.getLastRow() );
+
+        //Rows 50 to 59 are visible
+        assertTrue( viewport.setVisibleRegion( 1000,
+                                               200 ) );
+        assertEquals( 45,
+                      viewport.getFirstRow() );
+        assertEquals( 64,
+                      viewport.getLastRow() );
+        assertTrue( viewport.isVisible( 50 ) );
+        assertTrue( viewport.isVisible( 59 ) );
+        assertFalse( viewport.isVisible( 49 ) );
+        assertFalse( viewport.isVisible( 60 ) );
+        assertTrue( viewport.contains( 45 ) );
+        assertFalse( viewport.contains( 44 ) );
+        assertTrue( viewport.contains( 64 ) );
+        assertFalse( viewport.contains( 65 ) );
+    }
+
+    @Test
+    public void testVisibleRegionWithPartiallyVisibleRows() {
+        RowViewport viewport = new RowViewport( data,
+                                                ROW_HEIGHT,
+                                                0 );
+
+        //Rows 50 to 60 are visible, the first and last only partially
+        viewport.setVisibleRegion( 1010,
+                                   200 );
+        assertEquals( 50,
+                      viewport.getFirstRow() );
+        assertEquals( 60,
+                      viewport.getLastRow() );
+        assertTrue( viewport.isVisible( 60 ) );
+        assertFalse( viewport.isVisible( 61 ) );
+    }
+
+    @Test
+    public void testVisibleRegionWithinRenderedRows() {
+        RowViewport viewport = new RowViewport( data,
+                                                ROW_HEIGHT,
+                                                5 );
+        viewport.setVisibleRegion( 1000,
+                                   200 );
+
+        //Scrolling within the buffer does not change the rendered rows
+        assertFalse( viewport.setVisibleRegion( 1010,
+                                                200 ) );
+        assertFalse( viewport.setVisibleRegion( 900,
+                                                200 ) );
+        assertEquals( 45,
+                      viewport.getFirstRow() );
+        assertEquals( 64,
+                      viewport.getLastRow() );
+
+        //Scrolling beyond the buffer does
+        assertTrue( viewport.setVisibleRegion( 1200,
+                                               200 ) );
+        assertEquals( 55,
+                      viewport.getFirstRow() );
+        assertEquals( 74,
+                      viewport.getLastRow() );
+    }
+
+    @Test
+    public void testSpacerHeights() {
+        RowViewport viewport = new RowViewport( data,
+                                                ROW_HEIGHT,
+                                                5 );
+        viewport.setVisibleRegion( 1000,
+                                   200 );
+
+        //The spacers and rendered rows take up the height of all rows
+        assertEquals( 45 * ROW_HEIGHT,
+                      viewport.getHeightAbove() );
+        assertEquals( 35 * ROW_HEIGHT,
+                      viewport.getHeightBelow() );
+        assertEquals( ROWS * ROW_HEIGHT,
+                      viewport.getHeightAbove() + ( viewport.getLastRow() - viewport.getFirstRow() + 1 ) * ROW_HEIGHT + viewport.getHeightBelow() );
+    }
+
+    @Test
+    public void testVisibleRegionClamped() {
+        RowViewport viewport = new RowViewport( data,
+                                                ROW_HEIGHT,
+                                                5 );
+
+        viewport.setVisibleRegion( -50,
+                                   200 );
+        assertEquals( 0,
+                      viewport.getFirstRow() );
+        assertEquals( 14,
+                      viewport.getLastRow() );
+        assertEquals( 0,
+                      viewport.getHeightAbove() );
+
+        //Beyond the last row
+        viewport.setVisibleRegion( 100000,
+                                   200 );
+        assertEquals( 94,
+                      viewport.getFirstRow() );
+        assertEquals( 99,
+                      viewport.getLastRow() );
+        assertTrue( viewport.isVisible( 99 ) );
+        assertFalse( viewport.isVisible( 98 ) );
+        assertEquals( 0,
+                      viewport.getHeightBelow() );
+        assertEquals( 94 * ROW_HEIGHT,
+                      viewport.getHeightAbove() );
+    }
+
+    @Test
+    public void testRefreshFollowingRowDeletions() {
+        RowViewport viewport = new RowViewport( data,
+                                                ROW_HEIGHT,
+                                                5 );
+        viewport.setVisibleRegion( 1800,
+                                   200 );
+        assertEquals( 99,
+                      viewport.getLastRow() );
+
+        for ( int iRow = 0; iRow < 20; iRow++ ) {
+            data.deleteRow( data.size() - 1 );
+        }
+        viewport.refresh();
+
+        assertEquals( 74,
+                      viewport.getFirstRow() );
+        assertEquals( 79,
+                      viewport.getLastRow() );
+        assertEquals( 0,
+                      viewport.getHeightBelow() );
+    }
+
+    @Test
+    public void testEmptyData() {
+        data.clear();
+        RowViewport viewport = new RowViewport( data,
+                                                ROW_HEIGHT,
+                                                5 );
+        viewport.setVisibleRegion( 0,
+                                   200 );
+
+        assertEquals( 0,
+                      viewport.getFirstRow() );
+        assertEquals( -1,
+                      viewport.getLastRow() );
+        assertFalse( viewport.contains( 0 ) );
+        assertEquals( 0,
+                      viewport.getHeightAbove() );
+        assertEquals( 0,
+                      viewport.getHeightBelow() );
+    }
+
+    @Test
+    public void testRevealCell() {
+        RowViewport viewport = new RowViewport( data,
+                                                ROW_HEIGHT,
+                                                5 );
+        viewport.setVisibleRegion( 0,
+                                   200 );
+
+        //Already rendered
+        assertFalse( viewport.reveal( 10 ) );
+        assertEquals( 0,
+                      viewport.getFirstRow() );
+        assertEquals( 14,
+                      viewport.getLastRow() );
+
+        //Enough rows are rendered either side to fill the visible region
+        assertTrue( viewport.reveal( 60 ) );
+        assertEquals( 45,
+                      viewport.getFirstRow() );
+        assertEquals( 75,
+                      viewport.getLastRow() );
+
+        //Clamped to the last and first rows
+        assertTrue( viewport.reveal( 98 ) );
+        assertEquals( 83,
+                      viewport.getFirstRow() );
+        assertEquals( 99,
+                      viewport.getLastRow() );
+        assertTrue( viewport.reveal( 2 ) );
+        assertEquals( 0,
+                      viewport.getFirstRow() );
+        assertEquals( 17,
+                      viewport.getLastRow() );
+    }
+
+    @Test
+    public void testMergedCellsClippedToRenderedRows() {
+        //Rows 12 to 22 are rendered
+        RowViewport viewport = new RowViewport( data,
+                                                ROW_HEIGHT,
+                                                0 );
+        viewport.setVisibleRegion( 250,
+                                   200 );
+        assertEquals( 12,
+                      viewport.getFirstRow() );
+        assertEquals( 22,
+                      viewport.getLastRow() );
+
+        //Merged cell of rows 10 to 19 is rendered in the first row
+        assertEquals( 10,
+                      viewport.getMergedCellStart( 15,
+                                                   0 ) );
+        assertEquals( 8,
+                      viewport.getRowSpan( 12,
+                                           0 ) );
+        assertEquals( 0,
+                      viewport.getRowSpan( 15,
+                                           0 ) );
+
+        //Merged cell of rows 20 to 29 is clipped to the last row
+        assertEquals( 3,
+                      viewport.getRowSpan( 20,
+                                           0 ) );
+
+        assertEquals( 1,
+                      viewport.getRowSpan( 12,
+                                           1 ) );
+        assertEquals( 0,
+                      viewport.getRowSpan( 5,
+                                           1 ) );
+    }
+
+    @Test
+    public void testRenderedCoordinates() {
+        RowViewport viewport = new RowViewport( data,
+                                                ROW_HEIGHT,
+                                                0 );
+        viewport.setVisibleRegion( 250,
+                                   200 );
+
+        assertEquals( new Coordinate( 0,
+                                      0 ),
+                      viewport.getRenderedCoordinate( 15,
+                                                      0 ) );
+        assertEquals( new Coordinate( 8,
+                                      0 ),
+                      viewport.getRenderedCoordinate( 25,
+                                                      0 ) );
+        assertEquals( new Coordinate( 8,
+                                      1 ),
+                      viewport.getRenderedCoordinate( 20,
+                                                      1 ) );
+        assertEquals( new Coordinate( 9,
+                                      0 ),
+                      viewport.getRenderedCoordinate( 21,
+                                                      1 ) );
+
+        //Outside of the rendered rows
+        assertNull( viewport.getRenderedCoordinate( 5,
+                                                    0 ) );
+        assertNull( viewport.getRenderedCoordinate( 30,
+                                                    0 ) );
+
+        //Rendered and physical coordinates are the inverse of each other
+        assertEquals( new Coordinate( 10,
+                                      0 ),
+                      viewport.getPhysicalCoordinate( 0,
+                                                      0 ) );
+        assertEquals( new Coordinate( 12,
+                                      1 ),
+                      viewport.getPhysicalCoordinate( 0,
+                                                      1 ) );
+        assertEquals( new Coordinate( 21,
+                                      1 ),
+                      viewport.getPhysicalCoordinate( 9,
+                                                      0 ) );
+    }
+
+    @Test
+    public void testRenderedCoordinatesWithHiddenColumn() {
+        data.setColumnVisibility( 0,
+                                  false );
+        RowViewport viewport = new RowViewport( data,
+                                                ROW_HEIGHT,
+                                                0 );
+        viewport.setVisibleRegion( 250,
+                                   200 );
+
+        assertEquals( 0,
+                      viewport.getRowSpan( 12,
+                                           0 ) );
+        assertNull( viewport.getRenderedCoordinate( 12,
+                                                    0 ) );
+        assertEquals( new Coordinate( 0,
+                                      0 ),
+                      viewport.getRenderedCoordinate( 12,
+                                                      1 ) );
+        assertEquals( new Coordinate( 12,
+                                      1 ),
+                      viewport.getPhysicalCoordinate( 0,
+                                                      0 ) );
+
+        //Column 2 is a single merged cell starting in the first row
+        assertEquals( new Coordinate( 0,
+                                      2 ),
+                      viewport.getPhysicalCoordinate( 0,
+                                                      1 ) );
+    }
+
+}